@@ -16,11 +16,13 @@ import com.squareup.javapoet.TypeVariableName;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -48,6 +50,7 @@ import org.corfudb.runtime.object.ICorfuSMRProxy;
 import org.corfudb.runtime.object.ICorfuSMRUpcallTarget;
 import org.corfudb.runtime.object.IUndoFunction;
 import org.corfudb.runtime.object.IUndoRecordFunction;
+import org.corfudb.runtime.object.SMRMethodIds;
 
 /** <p>The annotation processor, which takes annotated Corfu objects and
  * generates a class which can be used by the runtime instead of requiring
@@ -571,6 +574,7 @@ public class ObjectAnnotationProcessor extends AbstractProcessor {
         addUndoRecordMap(typeSpecBuilder, originalName, interfacesToAdd, methodSet);
         addUndoMap(typeSpecBuilder, originalName, interfacesToAdd, methodSet);
         addResetSet(typeSpecBuilder, originalName, interfacesToAdd, methodSet);
+        addMethodTable(typeSpecBuilder, classElement, methodSet);
 
         typeSpecBuilder
                 .addSuperinterfaces(interfacesToAdd);
@@ -698,6 +702,51 @@ public class ObjectAnnotationProcessor extends AbstractProcessor {
 
     }
 
+    /** Add the method table, which lays out the methods with an upcall by method ID,
+     * and the getter for the table.
+     *
+     * @param typeSpecBuilder   The typespec builder to add the method table to
+     * @param classElement      The element the proxy is generated for
+     * @param methodSet         The set of methods to add for instrumentation.
+     */
+    private void addMethodTable(TypeSpec.Builder typeSpecBuilder, TypeElement classElement,
+                                Set<SmrMethodInfo> methodSet) {
+        // Sort the names, so that the generated table does not depend on the set order.
+        Set<String> upcallNames = methodSet.stream()
+                .filter(x -> x.method.getAnnotation(MutatorAccessor.class) != null
+                        || (x.method.getAnnotation(Mutator.class) != null
+                        && !x.method.getAnnotation(Mutator.class).noUpcall()))
+                .map(x -> getSmrFunctionName(x.method))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        String[] methodTable;
+        try {
+            methodTable = SMRMethodIds.buildTable(upcallNames);
+        } catch (IllegalArgumentException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot assign method IDs for "
+                    + classElement.getSimpleName() + ": " + e.getMessage()
+                    + ", rename one of the methods", classElement);
+            return;
+        }
+
+        String tableString = Arrays.stream(methodTable)
+                .map(x -> x == null ? "null" : "\"" + x + "\"")
+                .collect(Collectors.joining(", "));
+
+        FieldSpec tableField = FieldSpec.builder(String[].class,
+                "methodTable" + CORFUSMR_FIELD, Modifier.PUBLIC, Modifier.STATIC,
+                Modifier.FINAL)
+                .initializer("new $T{$L}", String[].class, tableString)
+                .build();
+
+        typeSpecBuilder.addField(tableField);
+        typeSpecBuilder.addMethod(MethodSpec.methodBuilder("getCorfuSMRMethodTable")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(String[].class)
+                .addStatement("return $L", "methodTable" + CORFUSMR_FIELD)
+                .build());
+    }
+
     private void addUpcallMap(TypeSpec.Builder typeSpecBuilder, TypeName originalName,
                               Set<TypeName> interfacesToAdd, Set<SmrMethodInfo> methodSet) {
 
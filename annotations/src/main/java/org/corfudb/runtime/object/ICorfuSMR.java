@@ -39,6 +39,11 @@ public interface ICorfuSMR<T> {
      */
     Set<String> getCorfuResetSet();
 
+    /** Get the table of the SMR methods with an upcall, laid out by method ID.
+     * @return  The method table, see {@link SMRMethodIds}.
+     */
+    String[] getCorfuSMRMethodTable();
+
     /** Return the stream ID that this object belongs to.
      * @return The stream ID this object belongs to. */
     default UUID getCorfuStreamID() {
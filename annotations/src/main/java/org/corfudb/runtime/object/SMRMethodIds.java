@@ -0,0 +1,72 @@
+package org.corfudb.runtime.object;
+
+import java.util.Collection;
+
+/** Numeric IDs for SMR methods, which are recorded on the log instead of
+ * the method names.
+ *
+ * <p>The ID of a method is derived from its name only, so it is stable
+ * across versions of a class and across the classes which share a method
+ * name. The annotation processor checks that the methods of a class have
+ * distinct IDs, and lays them out in a method table, where the method with
+ * ID {@code id} is at {@code id & (table.length - 1)}.</p>
+ */
+@SuppressWarnings("checkstyle:abbreviation")
+public final class SMRMethodIds {
+
+    /** The largest method ID, IDs fit in the 15 low bits of a short. */
+    public static final short MAX_ID = 0x7FFF;
+
+    /** Prevent instantiation of this class. */
+    private SMRMethodIds() {
+    }
+
+    /** Get the ID of an SMR method.
+     * @param smrMethod The name of the SMR method.
+     * @return          The ID of the method.
+     */
+    public static short getId(final String smrMethod) {
+        final int hash = smrMethod.hashCode();
+        return (short) ((hash ^ (hash >>> Short.SIZE)) & MAX_ID);
+    }
+
+    /** Get the slot of a method ID in a method table.
+     * @param methodTable   The method table.
+     * @param id            The ID of the method.
+     * @return              The slot of the method, if the table has it.
+     */
+    public static int getSlot(final String[] methodTable, final short id) {
+        return id & (methodTable.length - 1);
+    }
+
+    /** Build the smallest method table in which no methods share a slot.
+     * @param smrMethods    The names of the SMR methods.
+     * @return              The method table, with null for unused slots.
+     * @throws IllegalArgumentException If two methods have the same ID.
+     */
+    public static String[] buildTable(final Collection<String> smrMethods) {
+        int size = 1;
+        while (true) {
+            String[] table = new String[size];
+            boolean collision = false;
+            for (String smrMethod : smrMethods) {
+                final short id = getId(smrMethod);
+                final int slot = getSlot(table, id);
+                if (table[slot] == null) {
+                    table[slot] = smrMethod;
+                } else if (getId(table[slot]) == id) {
+                    throw new IllegalArgumentException("SMR methods "
+                            + table[slot] + " and " + smrMethod
+                            + " have the same ID " + id);
+                } else {
+                    collision = true;
+                    break;
+                }
+            }
+            if (!collision) {
+                return table;
+            }
+            size <<= 1;
+        }
+    }
+}
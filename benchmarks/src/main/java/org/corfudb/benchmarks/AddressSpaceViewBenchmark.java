@@ -0,0 +1,104 @@
+package org.corfudb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.AddressSpaceView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reads through the {@link AddressSpaceView}, both when the address is served
+ * from the runtime's read cache and when it has to be fetched from the log unit of a
+ * server running in the same JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AddressSpaceViewBenchmark {
+
+    /**
+     * The number of addresses read, which fits into the default read cache.
+     */
+    private static final int NUM_ADDRESSES = 1_000;
+
+    @Param({"64", "4096"})
+    private int payloadSize;
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private AddressSpaceView addressSpaceView;
+
+    private int nextAddress;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = LocalCorfuServer.start();
+        runtime = server.connectRuntime();
+        addressSpaceView = runtime.getAddressSpaceView();
+
+        byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < NUM_ADDRESSES; i++) {
+            TokenResponse token = runtime.getSequencerView().next();
+            addressSpaceView.write(token, payload);
+        }
+        for (long address = 0; address < NUM_ADDRESSES; address++) {
+            addressSpaceView.read(address);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.shutdown();
+        server.close();
+    }
+
+    private long nextAddress() {
+        long address = nextAddress++;
+        if (nextAddress == NUM_ADDRESSES) {
+            nextAddress = 0;
+        }
+        return address;
+    }
+
+    /**
+     * Read an address which is in the read cache.
+     *
+     * @return The data read.
+     */
+    @Benchmark
+    public ILogData readCacheHit() {
+        return addressSpaceView.read(nextAddress());
+    }
+
+    /**
+     * Read an address which is not in the read cache, so that it is loaded from the log
+     * unit and inserted into the cache. The cache is invalidated before every read, so it
+     * holds at most the entry of the previous read.
+     *
+     * @return The data read.
+     */
+    @Benchmark
+    public ILogData readCacheMiss() {
+        addressSpaceView.invalidateClientCache();
+        return addressSpaceView.read(nextAddress());
+    }
+}
@@ -0,0 +1,100 @@
+package org.corfudb.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.corfudb.infrastructure.BatchWriter;
+import org.corfudb.infrastructure.ServerContext;
+import org.corfudb.infrastructure.log.StreamLog;
+import org.corfudb.infrastructure.log.StreamLogFiles;
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.util.serializer.Serializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the write throughput of the {@link BatchWriter} on top of a file backed
+ * {@link StreamLogFiles}, with and without syncing every batch to secondary storage.
+ *
+ * <p>Writes are issued by several threads concurrently, as they would be by the log unit
+ * server, so that the writer is able to group them into batches.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(BatchWriterBenchmark.WRITER_THREADS)
+public class BatchWriterBenchmark {
+
+    static final int WRITER_THREADS = 8;
+
+    private static final long EPOCH = 0L;
+
+    @Param({"64", "4096"})
+    private int payloadSize;
+
+    @Param({"false", "true"})
+    private boolean sync;
+
+    private ServerContext serverContext;
+
+    private String logPath;
+
+    private StreamLog streamLog;
+
+    private BatchWriter batchWriter;
+
+    private ByteBuf payload;
+
+    private final AtomicLong nextAddress = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logPath = Files.createTempDirectory("corfu-batchwriter-benchmark").toString();
+        serverContext = new ServerContext(LocalCorfuServer.getServerOptions(0, logPath));
+        streamLog = new StreamLogFiles(serverContext, false);
+        batchWriter = new BatchWriter(streamLog, EPOCH, sync);
+        payload = Unpooled.buffer(payloadSize);
+        Serializers.CORFU.serialize(new byte[payloadSize], payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        batchWriter.close();
+        streamLog.close();
+        serverContext.close();
+        FileUtils.deleteDirectory(new File(logPath));
+    }
+
+    /**
+     * Write an entry at the next address and wait for the batch it was added to to complete.
+     */
+    @Benchmark
+    public void write() {
+        LogData entry = new LogData(DataType.DATA, payload.duplicate());
+        entry.setEpoch(EPOCH);
+        batchWriter.write(nextAddress.getAndIncrement(), entry).join();
+    }
+}
@@ -0,0 +1,127 @@
+package org.corfudb.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.protocols.wireprotocol.CorfuMsg;
+import org.corfudb.protocols.wireprotocol.CorfuMsgType;
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.protocols.wireprotocol.ReadRequest;
+import org.corfudb.protocols.wireprotocol.TokenRequest;
+import org.corfudb.protocols.wireprotocol.WriteRequest;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.util.serializer.Serializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding {@link CorfuMsg}s into, and decoding them from, the wire format used
+ * by the netty pipeline, for the messages on the read, write and token allocation paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CorfuMsgBenchmark {
+
+    private static final UUID CLIENT_ID = UUID.randomUUID();
+
+    private static final UUID STREAM_ID = CorfuRuntime.getStreamID("benchmark-stream");
+
+    @Param({"64", "4096"})
+    private int payloadSize;
+
+    private ByteBuf buffer;
+
+    private CorfuMsg tokenRequest;
+
+    private CorfuMsg readRequest;
+
+    private CorfuMsg writeRequest;
+
+    private ByteBuf encodedTokenRequest;
+
+    private ByteBuf encodedReadRequest;
+
+    private ByteBuf encodedWriteRequest;
+
+    @Setup
+    public void setup() {
+        tokenRequest = CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(1L, ImmutableList.of(STREAM_ID)));
+        readRequest = CorfuMsgType.READ_REQUEST.payloadMsg(new ReadRequest(0L));
+
+        ByteBuf payload = Unpooled.buffer(payloadSize);
+        Serializers.CORFU.serialize(new byte[payloadSize], payload);
+        LogData data = new LogData(DataType.DATA, payload);
+        data.setGlobalAddress(0L);
+        data.setBackpointerMap(Collections.singletonMap(STREAM_ID, 0L));
+        writeRequest = CorfuMsgType.WRITE.payloadMsg(new WriteRequest(data));
+
+        buffer = Unpooled.buffer();
+        encodedTokenRequest = encode(tokenRequest);
+        encodedReadRequest = encode(readRequest);
+        encodedWriteRequest = encode(writeRequest);
+    }
+
+    private static ByteBuf encode(CorfuMsg msg) {
+        msg.setClientID(CLIENT_ID);
+        ByteBuf b = Unpooled.buffer();
+        msg.serialize(b);
+        return b;
+    }
+
+    private ByteBuf encodeReusingBuffer(CorfuMsg msg) {
+        buffer.clear();
+        msg.serialize(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuf encodeTokenRequest() {
+        return encodeReusingBuffer(tokenRequest);
+    }
+
+    @Benchmark
+    public CorfuMsg decodeTokenRequest() {
+        return CorfuMsg.deserialize(encodedTokenRequest.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuf encodeReadRequest() {
+        return encodeReusingBuffer(readRequest);
+    }
+
+    @Benchmark
+    public CorfuMsg decodeReadRequest() {
+        return CorfuMsg.deserialize(encodedReadRequest.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuf encodeWriteRequest() {
+        return encodeReusingBuffer(writeRequest);
+    }
+
+    @Benchmark
+    public CorfuMsg decodeWriteRequest() {
+        return CorfuMsg.deserialize(encodedWriteRequest.duplicate());
+    }
+}
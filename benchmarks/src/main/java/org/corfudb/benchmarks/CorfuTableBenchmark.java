@@ -0,0 +1,177 @@
+package org.corfudb.benchmarks;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.CorfuTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CorfuTable} operations through the object layer, where every access
+ * goes through the {@link org.corfudb.runtime.object.VersionLockedObject} of the table,
+ * which is backed by a server running in the same JVM.
+ *
+ * <p>Reads are measured both on an object which is already synced to the tail of its
+ * stream, and on one which has to apply a remote update first.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CorfuTableBenchmark {
+
+    /**
+     * An index over the first letter of the values of the table.
+     */
+    static class FirstLetterIndexer implements CorfuTable.IndexRegistry<String, String> {
+
+        static final CorfuTable.IndexName BY_FIRST_LETTER = () -> "BY_FIRST_LETTER";
+
+        private static final CorfuTable.Index<String, String, ? extends Comparable<?>>
+                BY_FIRST_LETTER_INDEX = new CorfuTable.Index<>(BY_FIRST_LETTER,
+                (CorfuTable.IndexFunction<String, String, String>) (key, val) ->
+                        Character.toString(val.charAt(0)));
+
+        @Override
+        public Iterator<CorfuTable.Index<String, String, ? extends Comparable<?>>> iterator() {
+            return Stream.<CorfuTable.Index<String, String, ? extends Comparable<?>>>of(
+                    BY_FIRST_LETTER_INDEX).iterator();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <I extends Comparable<?>> Optional<CorfuTable.Index<String, String, I>>
+                get(CorfuTable.IndexName name) {
+            if (name != null && BY_FIRST_LETTER.get().equals(name.get())) {
+                return Optional.of((CorfuTable.Index<String, String, I>) BY_FIRST_LETTER_INDEX);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"1000"})
+    private int numKeys;
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private CorfuRuntime remoteRuntime;
+
+    private CorfuTable<String, String> table;
+
+    private CorfuTable<String, String> remoteTable;
+
+    private String[] keys;
+
+    private int nextKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = LocalCorfuServer.start();
+        runtime = server.connectRuntime();
+        remoteRuntime = server.connectRuntime();
+        table = openTable(runtime);
+        remoteTable = openTable(remoteRuntime);
+
+        keys = new String[numKeys];
+        for (int i = 0; i < numKeys; i++) {
+            keys[i] = LETTERS.charAt(i % LETTERS.length()) + Integer.toString(i);
+            table.put(keys[i], keys[i]);
+        }
+        table.size();
+        remoteTable.size();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.shutdown();
+        remoteRuntime.shutdown();
+        server.close();
+    }
+
+    private CorfuTable<String, String> openTable(CorfuRuntime rt) {
+        return rt.getObjectsView()
+                .build()
+                .setType(CorfuTable.class)
+                .setArguments(new FirstLetterIndexer())
+                .setStreamName("benchmark-table")
+                .open();
+    }
+
+    private String nextKey() {
+        String key = keys[nextKey++];
+        if (nextKey == keys.length) {
+            nextKey = 0;
+        }
+        return key;
+    }
+
+    /**
+     * Update an existing key, which appends an update to the log and applies it to the
+     * local object.
+     *
+     * @return The previous value.
+     */
+    @Benchmark
+    public String put() {
+        String key = nextKey();
+        return table.put(key, key);
+    }
+
+    /**
+     * Read a key from a table which is up to date with its stream.
+     *
+     * @return The value read.
+     */
+    @Benchmark
+    public String get() {
+        return table.get(nextKey());
+    }
+
+    /**
+     * Read a key from a table after another client has updated it, so that the update
+     * has to be read from the log and applied before the value is returned. The
+     * measurement includes the update by the other client.
+     *
+     * @return The value read.
+     */
+    @Benchmark
+    public String getAfterRemoteUpdate() {
+        String key = nextKey();
+        remoteTable.put(key, key);
+        return table.get(key);
+    }
+
+    /**
+     * Query the secondary index of the table.
+     *
+     * @return The entries whose value starts with the letter queried.
+     */
+    @Benchmark
+    public Collection<Map.Entry<String, String>> getByIndex() {
+        return table.getByIndex(FirstLetterIndexer.BY_FIRST_LETTER,
+                Character.toString(nextKey().charAt(0)));
+    }
+}
@@ -0,0 +1,109 @@
+package org.corfudb.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.AddressSpaceView;
+import org.corfudb.runtime.view.SequencerView;
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of the {@link HotPathMetrics} on the token and write paths, by
+ * comparing the throughput of token requests and writes with the metrics disabled and
+ * enabled, and the cost of recording a latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HotPathMetricsBenchmark {
+
+    private static final UUID STREAM = CorfuRuntime.getStreamID("benchmark-stream");
+
+    private static final int PAYLOAD_SIZE = 64;
+
+    /**
+     * Whether the hot path metrics are recorded.
+     */
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private SequencerView sequencer;
+
+    private AddressSpaceView addressSpaceView;
+
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HotPathMetrics.setEnabled(enabled);
+        server = LocalCorfuServer.start();
+        runtime = server.connectRuntime();
+        sequencer = runtime.getSequencerView();
+        addressSpaceView = runtime.getAddressSpaceView();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.shutdown();
+        server.close();
+        HotPathMetrics.setEnabled(false);
+    }
+
+    /**
+     * Allocate a token on a stream.
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse token() {
+        return sequencer.next(STREAM);
+    }
+
+    /**
+     * Allocate a token on a stream and write an entry at it.
+     *
+     * @return The token written.
+     */
+    @Benchmark
+    public TokenResponse write() {
+        TokenResponse token = sequencer.next(STREAM);
+        addressSpaceView.write(token, payload);
+        return token;
+    }
+
+    /**
+     * Record a latency, as the handlers do around each request.
+     *
+     * @return The histogram.
+     */
+    @Benchmark
+    public LatencyHistogram record() {
+        histogram.recordSince(System.nanoTime());
+        return histogram;
+    }
+}
@@ -0,0 +1,229 @@
+package org.corfudb.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+
+import io.netty.channel.Channel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.infrastructure.AbstractServer;
+import org.corfudb.infrastructure.BaseServer;
+import org.corfudb.infrastructure.CorfuServer;
+import org.corfudb.infrastructure.LayoutServer;
+import org.corfudb.infrastructure.LogUnitServer;
+import org.corfudb.infrastructure.ManagementServer;
+import org.corfudb.infrastructure.NettyServerRouter;
+import org.corfudb.infrastructure.SequencerServer;
+import org.corfudb.infrastructure.ServerContext;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.corfudb.util.Sleep;
+
+/**
+ * A single node Corfu server which runs inside the benchmark JVM, bound to a free port
+ * on the loopback interface.
+ *
+ * <p>The server is started with the same set of servers as {@link CorfuServer}, and
+ * bootstraps itself with a single node layout, so that runtimes can connect to it
+ * through the regular netty transport.</p>
+ */
+@Slf4j
+public class LocalCorfuServer implements AutoCloseable {
+
+    private static final String LOCALHOST = "localhost";
+
+    /**
+     * How long to wait for the server to bootstrap its layout and sequencer.
+     */
+    private static final Duration BOOTSTRAP_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Duration BOOTSTRAP_RETRY_INTERVAL = Duration.ofMillis(100);
+
+    @Getter
+    private final int port;
+
+    @Getter
+    private final ServerContext serverContext;
+
+    private final List<AbstractServer> servers;
+
+    private final Channel channel;
+
+    private LocalCorfuServer(int port, @Nonnull ServerContext serverContext,
+                             @Nonnull List<AbstractServer> servers, @Nonnull Channel channel) {
+        this.port = port;
+        this.serverContext = serverContext;
+        this.servers = servers;
+        this.channel = channel;
+    }
+
+    /**
+     * Start an in-memory server on a free local port.
+     *
+     * @return The started server.
+     */
+    public static LocalCorfuServer start() {
+        return start(null);
+    }
+
+    /**
+     * Start a server on a free local port.
+     *
+     * @param logPath The directory to store the log in, or null to keep the log in memory.
+     * @return The started server.
+     */
+    public static LocalCorfuServer start(@Nullable String logPath) {
+        return start(logPath, Collections.emptyMap());
+    }
+
+    /**
+     * Start a server on a free local port.
+     *
+     * @param logPath The directory to store the log in, or null to keep the log in memory.
+     * @param options Server options which override the defaults, keyed as they are parsed
+     *                from the command line by {@link CorfuServer}.
+     * @return The started server.
+     */
+    public static LocalCorfuServer start(@Nullable String logPath,
+                                         @Nonnull Map<String, Object> options) {
+        final int port = getFreePort();
+        Map<String, Object> serverOptions = getServerOptions(port, logPath);
+        serverOptions.putAll(options);
+        ServerContext serverContext = new ServerContext(serverOptions);
+        List<AbstractServer> servers = ImmutableList.<AbstractServer>builder()
+                .add(new BaseServer(serverContext))
+                .add(new SequencerServer(serverContext))
+                .add(new LayoutServer(serverContext))
+                .add(new LogUnitServer(serverContext))
+                .add(new ManagementServer(serverContext))
+                .build();
+
+        NettyServerRouter router = new NettyServerRouter(servers);
+        serverContext.setServerRouter(router);
+        Channel channel = CorfuServer.startAndListen(serverContext.getBossGroup(),
+                serverContext.getWorkerGroup(),
+                b -> CorfuServer.configureBootstrapOptions(serverContext, b),
+                serverContext,
+                router,
+                LOCALHOST,
+                port).channel();
+
+        log.info("start: Started benchmark server on {}:{}", LOCALHOST, port);
+        return new LocalCorfuServer(port, serverContext, servers, channel);
+    }
+
+    /**
+     * Generate the options for a single node server, as they would have been parsed
+     * from the command line by {@link CorfuServer}.
+     *
+     * @param port    The port to bind to.
+     * @param logPath The log directory, or null to keep the log in memory.
+     * @return The server options.
+     */
+    static Map<String, Object> getServerOptions(int port, @Nullable String logPath) {
+        Map<String, Object> opts = new HashMap<>();
+        opts.put("--initial-token", "-1");
+        opts.put("--single", true);
+        opts.put("--memory", logPath == null);
+        if (logPath != null) {
+            opts.put("--log-path", logPath);
+        }
+        opts.put("--no-verify", false);
+        opts.put("--no-sync", false);
+        opts.put("--address", LOCALHOST);
+        opts.put("--cache-heap-ratio", "0.5");
+        opts.put("--sequencer-cache-size", "250000");
+        opts.put("--batch-size", "100");
+        opts.put("--metadata-retention", "1000");
+        opts.put("--compact", "60");
+        opts.put("--Threads", "0");
+        opts.put("--HandshakeTimeout", "10");
+        opts.put("--Prefix", "");
+        opts.put("--cluster-id", "auto");
+        opts.put("--implementation", "nio");
+        opts.put("--enable-tls", false);
+        opts.put("--enable-tls-mutual-auth", false);
+        opts.put("--enable-sasl-plain-text-auth", false);
+        opts.put("<port>", Integer.toString(port));
+        return opts;
+    }
+
+    /**
+     * Get the endpoint clients connect to.
+     *
+     * @return The endpoint of this server.
+     */
+    public String getEndpoint() {
+        return LOCALHOST + ":" + port;
+    }
+
+    /**
+     * Connect a new runtime to this server, waiting until the server has bootstrapped
+     * its sequencer.
+     *
+     * @return A connected runtime.
+     */
+    public CorfuRuntime connectRuntime() {
+        return connectRuntime(CorfuRuntimeParameters.builder().build());
+    }
+
+    /**
+     * Connect a new runtime with the given parameters to this server, waiting until the
+     * server has bootstrapped its sequencer.
+     *
+     * @param parameters The runtime parameters.
+     * @return A connected runtime.
+     */
+    public CorfuRuntime connectRuntime(@Nonnull CorfuRuntimeParameters parameters) {
+        CorfuRuntime runtime = CorfuRuntime.fromParameters(parameters)
+                .parseConfigurationString(getEndpoint())
+                .connect();
+
+        final long deadline = System.nanoTime() + BOOTSTRAP_TIMEOUT.toNanos();
+        while (true) {
+            try {
+                runtime.getSequencerView().query();
+                return runtime;
+            } catch (RuntimeException e) {
+                if (System.nanoTime() > deadline) {
+                    runtime.shutdown();
+                    throw e;
+                }
+                log.debug("connectRuntime: Waiting for sequencer bootstrap, {}", e.toString());
+                Sleep.sleepUninterruptibly(BOOTSTRAP_RETRY_INTERVAL);
+            }
+        }
+    }
+
+    /**
+     * Shutdown the servers and release the event loops and files held by the server.
+     */
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        CorfuServer.cleanShutdown(servers);
+        serverContext.close();
+    }
+
+    private static int getFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.corfudb.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.wireprotocol.CorfuMsgType;
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.RuntimeLayout;
+import org.corfudb.runtime.view.replication.AlwaysHoleFillPolicy;
+import org.corfudb.runtime.view.replication.QuorumReplicationProtocol;
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LabeledMetrics;
+import org.corfudb.util.metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of reading a batch of addresses with the
+ * {@link QuorumReplicationProtocol}, with one request per replica for the whole batch, and
+ * with a quorum read per address as the protocol used to.
+ *
+ * <p>The number of read requests received by the server is taken from the
+ * {@link HotPathMetrics} of its handlers, and logged per batch at the end of each trial.</p>
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QuorumReadBenchmark {
+
+    private static final int PAYLOAD_SIZE = 64;
+
+    /**
+     * The number of addresses read by each operation.
+     */
+    @Param({"10", "100", "500"})
+    private int batchSize;
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private RuntimeLayout runtimeLayout;
+
+    private final QuorumReplicationProtocol protocol =
+            new QuorumReplicationProtocol(new AlwaysHoleFillPolicy());
+
+    private List<Long> addresses;
+
+    private long batches;
+
+    private long requestsBefore;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HotPathMetrics.setEnabled(true);
+        server = LocalCorfuServer.start();
+        runtime = server.connectRuntime();
+        runtimeLayout = runtime.getLayoutView().getRuntimeLayout();
+
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        for (int i = 0; i < batchSize; i++) {
+            TokenResponse token = runtime.getSequencerView().next();
+            runtime.getAddressSpaceView().write(token, payload);
+        }
+        addresses = LongStream.range(0, batchSize).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Get the number of read requests handled by the server.
+     */
+    private static long getReadRequests() {
+        LabeledMetrics<CorfuMsgType, LatencyHistogram> handlers = HotPathMetrics
+                .getDefaultMetrics()
+                .histograms("corfu_server_handler_seconds",
+                        "Time from the dispatch of each message type to its response.", "type",
+                        CorfuMsgType.values().length);
+        return handlers.get(CorfuMsgType.MULTIPLE_READ_REQUEST).getSnapshot().getCount()
+                + handlers.get(CorfuMsgType.READ_REQUEST).getSnapshot().getCount();
+    }
+
+    @Setup(Level.Iteration)
+    public void countRequests() {
+        batches = 0;
+        requestsBefore = getReadRequests();
+    }
+
+    @TearDown(Level.Iteration)
+    public void logRequests() {
+        long requests = getReadRequests() - requestsBefore;
+        log.info("logRequests: {} read requests for {} batches of {} addresses, {} per batch",
+                requests, batches, batchSize, batches == 0 ? 0 : (double) requests / batches);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.shutdown();
+        server.close();
+        HotPathMetrics.setEnabled(false);
+    }
+
+    /**
+     * Read the batch with one request per replica.
+     *
+     * @return The data read.
+     */
+    @Benchmark
+    public Map<Long, ILogData> batched() {
+        batches++;
+        return protocol.readAll(runtimeLayout, addresses);
+    }
+
+    /**
+     * Read the batch with a quorum read per address, in parallel.
+     *
+     * @return The data read.
+     */
+    @Benchmark
+    public Map<Long, ILogData> perAddress() {
+        batches++;
+        return addresses.parallelStream()
+                .collect(Collectors.toMap(Function.identity(),
+                        address -> protocol.read(runtimeLayout, address)));
+    }
+}
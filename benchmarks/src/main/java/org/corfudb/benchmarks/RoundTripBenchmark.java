@@ -0,0 +1,115 @@
+package org.corfudb.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.comm.ChannelImplementation;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.corfudb.runtime.clients.BaseClient;
+import org.corfudb.runtime.clients.LogUnitClient;
+import org.corfudb.runtime.view.SequencerView;
+import org.corfudb.util.CFUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the distribution of the round trip time of requests which the server handles on
+ * the I/O thread, for each transport and with or without the epoll tunables. JMH reports
+ * the percentiles of the sampled round trip times.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    /**
+     * The channel implementation of the server and the client.
+     */
+    @Param({"nio", "epoll"})
+    private String implementation;
+
+    /**
+     * Whether the server busy polls and sets TCP_QUICKACK, which only applies to epoll.
+     */
+    @Param({"false", "true"})
+    private boolean tuned;
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private BaseClient baseClient;
+
+    private LogUnitClient logUnitClient;
+
+    private SequencerView sequencer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = LocalCorfuServer.start(null, ImmutableMap.of(
+                "--implementation", implementation,
+                "--busy-poll", tuned,
+                "--tcp-quickack", tuned));
+        runtime = server.connectRuntime(CorfuRuntimeParameters.builder()
+                .socketType(ChannelImplementation.valueOf(implementation.toUpperCase()))
+                .build());
+        baseClient = runtime.getLayoutView().getRuntimeLayout()
+                .getBaseClient(server.getEndpoint());
+        logUnitClient = runtime.getLayoutView().getRuntimeLayout()
+                .getLogUnitClient(server.getEndpoint());
+        sequencer = runtime.getSequencerView();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.shutdown();
+        server.close();
+    }
+
+    /**
+     * Ping the server, which is handled by the base server.
+     *
+     * @return The response of the server.
+     */
+    @Benchmark
+    public boolean ping() {
+        return CFUtils.getUninterruptibly(baseClient.ping());
+    }
+
+    /**
+     * Query the global tail, which is handled by the sequencer server.
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse query() {
+        return sequencer.query();
+    }
+
+    /**
+     * Query the log tail, which is handled by the log unit server.
+     *
+     * @return The tail of the log unit.
+     */
+    @Benchmark
+    public long logTail() {
+        return CFUtils.getUninterruptibly(logUnitClient.getLogTail());
+    }
+}
@@ -0,0 +1,130 @@
+package org.corfudb.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.protocols.wireprotocol.ConflictFingerprints;
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.protocols.wireprotocol.TokenRequest;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.SequencerView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures token allocation by the {@link org.corfudb.infrastructure.SequencerServer} for
+ * each type of {@link TokenRequest}, issued by a runtime over the netty transport to a
+ * server running in the same JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SequencerServerBenchmark {
+
+    private static final UUID STREAM_A = CorfuRuntime.getStreamID("benchmark-stream-a");
+
+    private static final UUID STREAM_B = CorfuRuntime.getStreamID("benchmark-stream-b");
+
+    private static final byte[] CONFLICT_KEY = "key".getBytes(StandardCharsets.UTF_8);
+
+    private static final Map<UUID, ConflictFingerprints> CONFLICTS = ImmutableMap.of(STREAM_A,
+            ConflictFingerprints.of(new long[]{ConflictFingerprints.fingerprint(CONFLICT_KEY)}));
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private SequencerView sequencer;
+
+    private Token snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = LocalCorfuServer.start();
+        runtime = server.connectRuntime();
+        sequencer = runtime.getSequencerView();
+        snapshot = sequencer.query().getToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.shutdown();
+        server.close();
+    }
+
+    /**
+     * Query the global tail ({@link TokenRequest#TK_QUERY}).
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse query() {
+        return sequencer.query();
+    }
+
+    /**
+     * Query the tails of two streams ({@link TokenRequest#TK_QUERY}).
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse queryStreams() {
+        return sequencer.query(STREAM_A, STREAM_B);
+    }
+
+    /**
+     * Allocate a token which does not belong to any stream ({@link TokenRequest#TK_RAW}).
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse nextRaw() {
+        return sequencer.next();
+    }
+
+    /**
+     * Allocate a token on two streams ({@link TokenRequest#TK_MULTI_STREAM}).
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse nextMultiStream() {
+        return sequencer.next(STREAM_A, STREAM_B);
+    }
+
+    /**
+     * Allocate a token for a transaction which reads and writes a single key
+     * ({@link TokenRequest#TK_TX}). The snapshot of each transaction is the token allocated
+     * to the previous one, so that the conflict resolution runs on every request but no
+     * transaction aborts.
+     *
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse nextTransaction() {
+        TxResolutionInfo txInfo = new TxResolutionInfo(UUID.randomUUID(), snapshot,
+                CONFLICTS, CONFLICTS);
+        TokenResponse response = sequencer.next(txInfo, STREAM_A);
+        snapshot = response.getToken();
+        return response;
+    }
+}
@@ -0,0 +1,107 @@
+package org.corfudb.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.protocols.logprotocol.SMREntry;
+import org.corfudb.util.serializer.ISerializer;
+import org.corfudb.util.serializer.Serializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures serializing and deserializing log payloads with {@link Serializers#CORFU}, the
+ * serializer for log entries, and {@link Serializers#PRIMITIVE}, the serializer for
+ * primitive SMR arguments.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({"16", "1024"})
+    private int valueSize;
+
+    private ByteBuf buffer;
+
+    private SMREntry smrEntry;
+
+    private ByteBuf serializedSmrEntry;
+
+    private String stringValue;
+
+    private ByteBuf serializedString;
+
+    private ByteBuf serializedLong;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(valueSize);
+        for (int i = 0; i < valueSize; i++) {
+            sb.append((char) ('a' + i % ('z' - 'a' + 1)));
+        }
+        stringValue = sb.toString();
+        smrEntry = new SMREntry("put", new Object[]{"key", stringValue}, Serializers.PRIMITIVE);
+
+        buffer = Unpooled.buffer();
+        serializedSmrEntry = serialize(Serializers.CORFU, smrEntry);
+        serializedString = serialize(Serializers.PRIMITIVE, stringValue);
+        serializedLong = serialize(Serializers.PRIMITIVE, Long.MAX_VALUE);
+    }
+
+    private static ByteBuf serialize(ISerializer serializer, Object o) {
+        ByteBuf b = Unpooled.buffer();
+        serializer.serialize(o, b);
+        return b;
+    }
+
+    private ByteBuf serializeReusingBuffer(ISerializer serializer, Object o) {
+        buffer.clear();
+        serializer.serialize(o, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuf corfuSerializeSmrEntry() {
+        return serializeReusingBuffer(Serializers.CORFU, smrEntry);
+    }
+
+    @Benchmark
+    public Object corfuDeserializeSmrEntry() {
+        return Serializers.CORFU.deserialize(serializedSmrEntry.duplicate(), null);
+    }
+
+    @Benchmark
+    public ByteBuf primitiveSerializeString() {
+        return serializeReusingBuffer(Serializers.PRIMITIVE, stringValue);
+    }
+
+    @Benchmark
+    public Object primitiveDeserializeString() {
+        return Serializers.PRIMITIVE.deserialize(serializedString.duplicate(), null);
+    }
+
+    @Benchmark
+    public ByteBuf primitiveSerializeLong() {
+        return serializeReusingBuffer(Serializers.PRIMITIVE, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Object primitiveDeserializeLong() {
+        return Serializers.PRIMITIVE.deserialize(serializedLong.duplicate(), null);
+    }
+}
@@ -0,0 +1,109 @@
+package org.corfudb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.BaseClient;
+import org.corfudb.runtime.view.SequencerView;
+import org.corfudb.util.CFUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number of messages per second a server routes when many clients, each
+ * with its own connection, send requests concurrently. Every message goes through the
+ * epoch validation of the {@link org.corfudb.infrastructure.NettyServerRouter} and the
+ * epoch checks of the server handling it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(ServerRouterBenchmark.CLIENTS)
+public class ServerRouterBenchmark {
+
+    /**
+     * The number of concurrent clients, each using its own connection to the server.
+     */
+    static final int CLIENTS = 32;
+
+    /**
+     * The server shared by all the clients.
+     */
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        LocalCorfuServer server;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            server = LocalCorfuServer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            server.close();
+        }
+    }
+
+    /**
+     * A client with its own runtime, and so its own connection to the server.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        CorfuRuntime runtime;
+
+        BaseClient baseClient;
+
+        SequencerView sequencer;
+
+        @Setup(Level.Trial)
+        public void setup(Server server) {
+            runtime = server.server.connectRuntime();
+            baseClient = runtime.getLayoutView().getRuntimeLayout()
+                    .getBaseClient(server.server.getEndpoint());
+            sequencer = runtime.getSequencerView();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            runtime.shutdown();
+        }
+    }
+
+    /**
+     * Ping the server, which is handled by the base server.
+     *
+     * @param client The client of this thread.
+     * @return The response of the server.
+     */
+    @Benchmark
+    public boolean ping(Client client) {
+        return CFUtils.getUninterruptibly(client.baseClient.ping());
+    }
+
+    /**
+     * Query the global tail, which is handled by the sequencer server.
+     *
+     * @param client The client of this thread.
+     * @return The response of the sequencer.
+     */
+    @Benchmark
+    public TokenResponse query(Client client) {
+        return client.sequencer.query();
+    }
+}
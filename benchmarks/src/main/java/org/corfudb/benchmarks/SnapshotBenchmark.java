@@ -0,0 +1,137 @@
+package org.corfudb.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.CorfuTable;
+import org.corfudb.shell.SnapshotExporter;
+import org.corfudb.shell.SnapshotImporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures exporting tables to a snapshot directory, and importing them back as checkpoints,
+ * end to end: through a runtime connected to a server running in the same JVM, and through
+ * files on the local disk. The throughput in entries per second is the number of entries of
+ * all the tables divided by the time of an operation.
+ *
+ * <p>The import reads the directory exported during setup.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    /**
+     * The number of entries put by a single update while filling the tables.
+     */
+    private static final int FILL_BATCH_SIZE = 1000;
+
+    @Param({"16"})
+    private int numTables;
+
+    @Param({"10000"})
+    private int entriesPerTable;
+
+    @Param({"1", "8"})
+    private int parallelism;
+
+    private LocalCorfuServer server;
+
+    private CorfuRuntime runtime;
+
+    private List<String> tableNames;
+
+    private Path importDirectory;
+
+    private Path exportDirectory;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = LocalCorfuServer.start();
+        runtime = server.connectRuntime();
+
+        tableNames = new ArrayList<>(numTables);
+        for (int i = 0; i < numTables; i++) {
+            final String name = "benchmark-table-" + i;
+            final CorfuTable<String, String> table = runtime.getObjectsView()
+                    .build()
+                    .setType(CorfuTable.class)
+                    .setStreamName(name)
+                    .open();
+            final Map<String, String> batch = new HashMap<>();
+            for (int key = 0; key < entriesPerTable; key++) {
+                batch.put(Integer.toString(key), name + key);
+                if (batch.size() == FILL_BATCH_SIZE) {
+                    table.putAll(batch);
+                    batch.clear();
+                }
+            }
+            table.putAll(batch);
+            tableNames.add(name);
+        }
+
+        importDirectory = Files.createTempDirectory("corfu-snapshot-benchmark");
+        new SnapshotExporter(runtime, importDirectory, parallelism).export(tableNames);
+    }
+
+    @Setup(Level.Iteration)
+    public void createExportDirectory() throws IOException {
+        exportDirectory = Files.createTempDirectory("corfu-snapshot-benchmark");
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteExportDirectory() throws IOException {
+        FileUtils.deleteDirectory(exportDirectory.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        runtime.shutdown();
+        server.close();
+        FileUtils.deleteDirectory(importDirectory.toFile());
+    }
+
+    /**
+     * Export all the tables at the tail of the log.
+     *
+     * @return The snapshot token of the export.
+     */
+    @Benchmark
+    public Token export() throws IOException {
+        return new SnapshotExporter(runtime, exportDirectory, parallelism).export(tableNames);
+    }
+
+    /**
+     * Import all the tables exported during setup, as one checkpoint per table.
+     *
+     * @return The snapshot token of the export.
+     */
+    @Benchmark
+    public Token importTables() throws IOException {
+        return new SnapshotImporter(runtime, importDirectory, parallelism).importTables();
+    }
+}
@@ -0,0 +1,120 @@
+package org.corfudb.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.corfudb.infrastructure.ServerContext;
+import org.corfudb.infrastructure.log.StreamLog;
+import org.corfudb.infrastructure.log.StreamLogFiles;
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.protocols.wireprotocol.LogData;
+import org.corfudb.util.serializer.Serializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures appending entries to, and reading entries from, a file backed
+ * {@link StreamLogFiles}, without the log unit server in front of it.
+ *
+ * <p>Reads are served from a prefix of the log written during setup, which is spread
+ * over several segment files.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamLogFilesBenchmark {
+
+    /**
+     * The number of entries written before the measurement starts, which spans
+     * several segment files.
+     */
+    private static final int NUM_READ_ENTRIES = 25_000;
+
+    @Param({"64", "4096"})
+    private int payloadSize;
+
+    @Param({"false", "true"})
+    private boolean noVerify;
+
+    private ServerContext serverContext;
+
+    private String logPath;
+
+    private StreamLog streamLog;
+
+    private ByteBuf payload;
+
+    private long nextAppendAddress;
+
+    private long nextReadAddress;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logPath = Files.createTempDirectory("corfu-streamlog-benchmark").toString();
+        serverContext = new ServerContext(LocalCorfuServer.getServerOptions(0, logPath));
+        streamLog = new StreamLogFiles(serverContext, noVerify);
+        payload = Unpooled.buffer(payloadSize);
+        Serializers.CORFU.serialize(new byte[payloadSize], payload);
+
+        for (long address = 0; address < NUM_READ_ENTRIES; address++) {
+            streamLog.append(address, newEntry());
+        }
+        streamLog.sync(true);
+        nextAppendAddress = NUM_READ_ENTRIES;
+        nextReadAddress = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        streamLog.close();
+        serverContext.close();
+        FileUtils.deleteDirectory(new File(logPath));
+    }
+
+    private LogData newEntry() {
+        return new LogData(DataType.DATA, payload.duplicate());
+    }
+
+    /**
+     * Append an entry at the next address of the log.
+     */
+    @Benchmark
+    public void append() {
+        streamLog.append(nextAppendAddress++, newEntry());
+    }
+
+    /**
+     * Read back an entry which was written during setup.
+     *
+     * @return The entry read.
+     */
+    @Benchmark
+    public ILogData read() {
+        ILogData entry = streamLog.read(nextReadAddress++);
+        if (nextReadAddress == NUM_READ_ENTRIES) {
+            nextReadAddress = 0;
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,177 @@
+package org.corfudb.shell;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+
+import org.corfudb.protocols.logprotocol.MultiSMREntry;
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.util.serializer.SerializationBuffers;
+import org.corfudb.util.serializer.Serializers;
+
+/**
+ * A chunk of a table snapshot: a file which holds a part of the state of a table, as batches
+ * of updates which put its entries, in the form they are written to checkpoints.
+ *
+ * <p>A chunk starts with a header: a magic number, the version of the format, the id of the
+ * stream of the table and the token of the snapshot. The batches follow, each one serialized
+ * by {@link Serializers#CORFU} and preceded by its length. A length of 0 ends the chunk, so
+ * that a chunk which was not completely written is detected.</p>
+ */
+class SnapshotChunk {
+
+    static final String SUFFIX = ".chunk";
+
+    private static final int MAGIC = 0x43534e50;
+
+    private static final int VERSION = 1;
+
+    @Getter
+    private final Path path;
+
+    @Getter
+    private final UUID streamId;
+
+    @Getter
+    private final Token snapshot;
+
+    private SnapshotChunk(Path path, UUID streamId, Token snapshot) {
+        this.path = path;
+        this.streamId = streamId;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Get the name of a chunk file.
+     *
+     * @param streamId The id of the stream of the table.
+     * @param index    The index of the chunk among the chunks of the table.
+     * @return The file name of the chunk.
+     */
+    static String fileName(@Nonnull UUID streamId, int index) {
+        return streamId + "-" + index + SUFFIX;
+    }
+
+    /**
+     * Open a chunk and read its header.
+     *
+     * @param path The chunk file.
+     * @return The chunk.
+     * @throws IOException If the file could not be read, or is not a chunk.
+     */
+    static SnapshotChunk open(@Nonnull Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not a snapshot chunk");
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of " + path);
+            }
+            final UUID streamId = new UUID(in.readLong(), in.readLong());
+            final Token snapshot = new Token(in.readLong(), in.readLong());
+            return new SnapshotChunk(path, streamId, snapshot);
+        }
+    }
+
+    /**
+     * Read the batches of the chunk.
+     *
+     * @param runtime The runtime to deserialize the batches with.
+     * @param action  Consumes each batch, in the order they were written.
+     * @throws IOException If the chunk could not be read, or was not completely written.
+     */
+    void forEachBatch(@Nonnull CorfuRuntime runtime, @Nonnull Consumer<MultiSMREntry> action)
+            throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            // Skip the header, read by open().
+            in.readInt();
+            in.readInt();
+            in.readLong();
+            in.readLong();
+            in.readLong();
+            in.readLong();
+
+            int length;
+            while ((length = in.readInt()) != 0) {
+                final byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                final ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+                action.accept((MultiSMREntry) Serializers.CORFU.deserialize(buf, runtime));
+            }
+        }
+    }
+
+    /**
+     * Writes a chunk.
+     */
+    static class Writer implements AutoCloseable {
+
+        private final DataOutputStream out;
+
+        /**
+         * Create a chunk and write its header.
+         *
+         * @param path     The chunk file, which must not exist.
+         * @param streamId The id of the stream of the table.
+         * @param snapshot The token of the snapshot.
+         * @throws IOException If the file could not be written.
+         */
+        Writer(@Nonnull Path path, @Nonnull UUID streamId, @Nonnull Token snapshot)
+                throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(streamId.getMostSignificantBits());
+            out.writeLong(streamId.getLeastSignificantBits());
+            out.writeLong(snapshot.getEpoch());
+            out.writeLong(snapshot.getSequence());
+        }
+
+        /**
+         * Append a batch to the chunk.
+         *
+         * @param batch The updates of the batch.
+         * @throws IOException If the batch could not be written.
+         */
+        void write(@Nonnull MultiSMREntry batch) throws IOException {
+            final ByteBuf buf = SerializationBuffers.allocate();
+            try {
+                Serializers.CORFU.serialize(batch, buf);
+                out.writeInt(buf.readableBytes());
+                buf.readBytes(out, buf.readableBytes());
+            } finally {
+                buf.release();
+            }
+        }
+
+        /**
+         * Mark the chunk as completely written.
+         *
+         * @throws IOException If the chunk could not be written.
+         */
+        void finish() throws IOException {
+            out.writeInt(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
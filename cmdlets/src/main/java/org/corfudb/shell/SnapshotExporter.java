@@ -0,0 +1,275 @@
+package org.corfudb.shell;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.logprotocol.MultiSMREntry;
+import org.corfudb.protocols.logprotocol.SMREntry;
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.CorfuTable;
+import org.corfudb.runtime.object.transactions.TransactionType;
+import org.corfudb.runtime.view.ObjectOpenOptions;
+import org.corfudb.util.CFUtils;
+import org.corfudb.util.serializer.ISerializer;
+import org.corfudb.util.serializer.Serializers;
+
+/**
+ * Exports the state of tables at a consistent snapshot to a directory, so that it can be
+ * imported by a {@link SnapshotImporter}, for example into another cluster.
+ *
+ * <p>All the tables are read at the same snapshot token, each one by its own snapshot
+ * transaction, and several tables are read in parallel. The entries of each table are written
+ * to chunks of at most {@link #chunkSize} entries as they are read, without copying the table,
+ * see {@link SnapshotChunk}.</p>
+ */
+@Slf4j
+public class SnapshotExporter {
+
+    private final CorfuRuntime runtime;
+
+    private final Path directory;
+
+    private final int parallelism;
+
+    /** Number of entries in a batch, that is in a checkpoint CONTINUATION record once imported.
+     */
+    @Getter
+    @Setter
+    private int batchSize = 50;
+
+    /** Maximum number of entries in a chunk.
+     */
+    @Getter
+    @Setter
+    private int chunkSize = 100_000;
+
+    /** Serializer of the tables.
+     */
+    @Getter
+    @Setter
+    private ISerializer serializer = Serializers.JSON;
+
+    /**
+     * Create an exporter.
+     *
+     * @param runtime     The runtime to read the tables with.
+     * @param directory   The directory to write the chunks to.
+     * @param parallelism The number of tables read in parallel.
+     */
+    public SnapshotExporter(@Nonnull CorfuRuntime runtime, @Nonnull Path directory,
+                            int parallelism) {
+        this.runtime = runtime;
+        this.directory = directory;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Export tables at the current tail of the log.
+     *
+     * @param tableNames The names of the tables.
+     * @return The snapshot token the tables were read at.
+     * @throws IOException If the chunks could not be written.
+     */
+    public Token export(@Nonnull Collection<String> tableNames) throws IOException {
+        return export(tableNames, runtime.getSequencerView().query().getToken());
+    }
+
+    /**
+     * Export tables at a snapshot.
+     *
+     * @param tableNames The names of the tables.
+     * @param snapshot   The snapshot token to read the tables at.
+     * @return The snapshot token the tables were read at.
+     * @throws IOException If the chunks could not be written.
+     */
+    public Token export(@Nonnull Collection<String> tableNames, @Nonnull Token snapshot)
+            throws IOException {
+        Files.createDirectories(directory);
+        final long start = System.currentTimeMillis();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("SnapshotExporter-%d")
+                        .build());
+        try {
+            final List<Future<Long>> exports = new ArrayList<>(tableNames.size());
+            for (String tableName : tableNames) {
+                exports.add(executor.submit(() -> exportTable(tableName, snapshot)));
+            }
+            long entries = 0;
+            for (Future<Long> export : exports) {
+                entries += CFUtils.getUninterruptibly(export, IOException.class);
+            }
+            log.info("export: Exported {} entries of {} tables at {} to {} in {} ms", entries,
+                    tableNames.size(), snapshot, directory, System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Export a table, on the thread of the caller.
+     *
+     * @param tableName The name of the table.
+     * @param snapshot  The snapshot token to read the table at.
+     * @return The number of entries exported.
+     * @throws IOException If the chunks could not be written.
+     */
+    private long exportTable(String tableName, Token snapshot) throws IOException {
+        final UUID streamId = CorfuRuntime.getStreamID(tableName);
+        final CorfuTable<Object, Object> table = runtime.getObjectsView()
+                .build()
+                .setType(CorfuTable.class)
+                .setStreamID(streamId)
+                .setSerializer(serializer)
+                .addOption(ObjectOpenOptions.NO_CACHE)
+                .open();
+
+        final long entries;
+        final int chunks;
+        try (TableChunks tableChunks = new TableChunks(streamId, snapshot)) {
+            runtime.getObjectsView().TXBuild()
+                    .type(TransactionType.SNAPSHOT)
+                    .snapshot(snapshot)
+                    .build()
+                    .begin();
+            try {
+                // Sync the table first, so that the entries are then streamed by a single read
+                // of the table, which no other thread updates as it is not cached.
+                table.size();
+                table.forEach(tableChunks::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                runtime.getObjectsView().TXEnd();
+            }
+            tableChunks.finish();
+            entries = tableChunks.getEntries();
+            chunks = tableChunks.getChunks();
+        }
+
+        log.debug("exportTable: Exported {} entries of {} in {} chunks", entries, tableName,
+                chunks);
+        return entries;
+    }
+
+    /**
+     * Writes the entries of a table to consecutive chunks, as they are read.
+     */
+    private class TableChunks implements AutoCloseable {
+
+        private final UUID streamId;
+
+        private final Token snapshot;
+
+        /** Writer of the current chunk, null until an entry is added or once it is finished.
+         */
+        private SnapshotChunk.Writer writer;
+
+        private MultiSMREntry batch = new MultiSMREntry();
+
+        private int batchEntries = 0;
+
+        private int chunkEntries = 0;
+
+        @Getter
+        private int chunks = 0;
+
+        @Getter
+        private long entries = 0;
+
+        TableChunks(UUID streamId, Token snapshot) {
+            this.streamId = streamId;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Add an entry of the table, to the current chunk or to a new one if it is full.
+         *
+         * @param key   The key of the entry.
+         * @param value The value of the entry.
+         * @throws UncheckedIOException If the chunks could not be written.
+         */
+        void add(Object key, Object value) {
+            try {
+                if (chunkEntries == chunkSize) {
+                    finishChunk();
+                }
+                if (writer == null) {
+                    startChunk();
+                }
+                batch.addTo(new SMREntry("put", new Object[]{key, value}, serializer));
+                batchEntries++;
+                chunkEntries++;
+                entries++;
+                if (batchEntries == batchSize) {
+                    writeBatch();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Finish the last chunk, once all the entries are added.
+         *
+         * @throws IOException If the chunk could not be written.
+         */
+        void finish() throws IOException {
+            // An empty table still has a chunk, so that importing it clears the table.
+            if (writer == null) {
+                startChunk();
+            }
+            finishChunk();
+        }
+
+        private void startChunk() throws IOException {
+            writer = new SnapshotChunk.Writer(
+                    directory.resolve(SnapshotChunk.fileName(streamId, chunks)),
+                    streamId, snapshot);
+            chunks++;
+            chunkEntries = 0;
+        }
+
+        private void writeBatch() throws IOException {
+            if (batchEntries > 0) {
+                writer.write(batch);
+                batch = new MultiSMREntry();
+                batchEntries = 0;
+            }
+        }
+
+        private void finishChunk() throws IOException {
+            writeBatch();
+            writer.finish();
+            writer.close();
+            writer = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
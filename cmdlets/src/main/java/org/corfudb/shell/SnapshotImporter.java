@@ -0,0 +1,166 @@
+package org.corfudb.shell;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CheckpointWriter;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.util.CFUtils;
+
+/**
+ * Imports the tables exported by a {@link SnapshotExporter} as checkpoints.
+ *
+ * <p>Each table gets a checkpoint whose snapshot is the tail of the log at the start of the
+ * import, so that the imported state replaces the state of the table up to that point, and
+ * later updates of the table are applied on top of it. The CONTINUATION records of all the
+ * chunks are written in parallel, once the START records of all the tables are written.</p>
+ *
+ * <p>The checkpoints only replace the state seen by the clients which load the tables from
+ * them, that is the clients which open the tables after the import. The clients which already
+ * have a table in memory keep its state. To make the imported state the state of every client,
+ * prefix-trim the log up to the tail of the log at the start of the import, which is logged
+ * once the import completes, and restart the clients.</p>
+ */
+@Slf4j
+public class SnapshotImporter {
+
+    private final CorfuRuntime runtime;
+
+    private final Path directory;
+
+    private final int parallelism;
+
+    /** Author of the checkpoints.
+     */
+    @Getter
+    @Setter
+    private String author = "SnapshotImporter";
+
+    /**
+     * Create an importer.
+     *
+     * @param runtime     The runtime to write the checkpoints with.
+     * @param directory   The directory to read the chunks from.
+     * @param parallelism The number of chunks written in parallel.
+     */
+    public SnapshotImporter(@Nonnull CorfuRuntime runtime, @Nonnull Path directory,
+                            int parallelism) {
+        this.runtime = runtime;
+        this.directory = directory;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Import all the tables of the directory.
+     *
+     * @return The snapshot token the tables were exported at.
+     * @throws IOException If the chunks could not be read.
+     */
+    public Token importTables() throws IOException {
+        final long start = System.currentTimeMillis();
+        final List<SnapshotChunk> chunks = new ArrayList<>();
+        try (DirectoryStream<Path> files =
+                     Files.newDirectoryStream(directory, "*" + SnapshotChunk.SUFFIX)) {
+            for (Path file : files) {
+                chunks.add(SnapshotChunk.open(file));
+            }
+        }
+        if (chunks.isEmpty()) {
+            throw new IOException("No snapshot chunk in " + directory);
+        }
+        final Token snapshot = chunks.get(0).getSnapshot();
+        for (SnapshotChunk chunk : chunks) {
+            if (!chunk.getSnapshot().equals(snapshot)) {
+                throw new IOException("Chunks of snapshots " + snapshot + " and "
+                        + chunk.getSnapshot() + " in " + directory);
+            }
+        }
+
+        final Token tail = runtime.getSequencerView().query().getToken();
+        final Map<UUID, CheckpointWriter<Map>> writers = new HashMap<>();
+        for (SnapshotChunk chunk : chunks) {
+            writers.computeIfAbsent(chunk.getStreamId(),
+                    streamId -> new CheckpointWriter<>(runtime, streamId, author, null));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("SnapshotImporter-%d")
+                        .build());
+        try {
+            final List<Callable<Void>> startTasks = new ArrayList<>();
+            for (CheckpointWriter<Map> writer : writers.values()) {
+                startTasks.add(() -> {
+                    writer.startCheckpoint(tail, tail.getSequence());
+                    return null;
+                });
+            }
+            invokeAll(executor, startTasks);
+
+            final List<Callable<Void>> chunkTasks = new ArrayList<>();
+            for (SnapshotChunk chunk : chunks) {
+                final CheckpointWriter<Map> writer = writers.get(chunk.getStreamId());
+                chunkTasks.add(() -> {
+                    chunk.forEachBatch(runtime, writer::appendUpdates);
+                    return null;
+                });
+            }
+            invokeAll(executor, chunkTasks);
+
+            final List<Callable<Void>> finishTasks = new ArrayList<>();
+            for (CheckpointWriter<Map> writer : writers.values()) {
+                finishTasks.add(() -> {
+                    writer.finishCheckpoint();
+                    return null;
+                });
+            }
+            invokeAll(executor, finishTasks);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("importTables: Imported {} tables in {} chunks exported at {}, at {} in {} ms",
+                writers.size(), chunks.size(), snapshot, tail,
+                System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    /**
+     * Run tasks in parallel, and wait until all of them completed.
+     *
+     * @param executor The executor to run the tasks.
+     * @param tasks    The tasks.
+     * @throws IOException If a task failed to read a chunk.
+     */
+    private static void invokeAll(ExecutorService executor, List<Callable<Void>> tasks)
+            throws IOException {
+        final List<Future<Void>> futures = new ArrayList<>(tasks.size());
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        for (Future<Void> future : futures) {
+            CFUtils.getUninterruptibly(future, IOException.class);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.corfudb.shell;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.corfudb.util.GitRepositoryState;
+import org.docopt.Docopt;
+
+/**
+ * Exports tables at a consistent snapshot to a directory, or imports the tables of such a
+ * directory as checkpoints, see {@link SnapshotExporter} and {@link SnapshotImporter}.
+ */
+@Slf4j
+public class SnapshotMain {
+
+    private static final String USAGE = "Export and import snapshots of Corfu tables.\n"
+            + "\n"
+            + "Usage:\n"
+            + "\tcorfu_snapshot export [-c <config>] -d <dir> [-p <threads>] [-b <batch>] "
+            + "[-n <entries>] <table>...\n"
+            + "\tcorfu_snapshot import [-c <config>] -d <dir> [-p <threads>]\n"
+            + "\n"
+            + "Options:\n"
+            + " -c <config>, --config=<config>     The endpoint of a server of the cluster "
+            + "[default: localhost:9000].\n"
+            + " -d <dir>, --dir=<dir>              The directory of the snapshot.\n"
+            + " -p <threads>, --parallelism=<threads>  The number of tables exported, or of "
+            + "chunks imported, in parallel [default: 8].\n"
+            + " -b <batch>, --batch-size=<batch>   The number of entries per checkpoint "
+            + "record [default: 50].\n"
+            + " -n <entries>, --chunk-size=<entries>  The maximum number of entries per chunk "
+            + "file [default: 100000].\n"
+            + " -h, --help  Show this screen\n";
+
+    /**
+     * Main program entry point.
+     *
+     * @param args command line argument strings
+     */
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> opts = new Docopt(USAGE)
+                .withVersion(GitRepositoryState.getRepositoryState().describe)
+                .parse(args);
+
+        final Path directory = Paths.get((String) opts.get("--dir"));
+        final int parallelism = Integer.parseInt((String) opts.get("--parallelism"));
+        final CorfuRuntime runtime = CorfuRuntime.fromParameters(
+                CorfuRuntimeParameters.builder().build())
+                .parseConfigurationString((String) opts.get("--config"))
+                .connect();
+        try {
+            final Token snapshot;
+            if ((Boolean) opts.get("export")) {
+                final SnapshotExporter exporter =
+                        new SnapshotExporter(runtime, directory, parallelism);
+                exporter.setBatchSize(Integer.parseInt((String) opts.get("--batch-size")));
+                exporter.setChunkSize(Integer.parseInt((String) opts.get("--chunk-size")));
+                snapshot = exporter.export((List<String>) opts.get("<table>"));
+            } else {
+                snapshot = new SnapshotImporter(runtime, directory, parallelism).importTables();
+            }
+            log.info("main: Done with snapshot {} in {}", snapshot, directory);
+        } finally {
+            runtime.shutdown();
+        }
+    }
+}
@@ -58,6 +58,20 @@ public abstract class AbstractServer {
 
     public abstract ExecutorService getExecutor();
 
+    /**
+     * Run the handler of a message on the executor of the server. Overridden by the servers
+     * which schedule the requests of their clients fairly, and bound the requests waiting.
+     *
+     * @param msg  The message.
+     * @param task The task which handles the message.
+     * @return False if the server is too busy to accept the message, in which case the task
+     *         is not run.
+     */
+    public boolean submit(CorfuMsg msg, Runnable task) {
+        getExecutor().submit(task);
+        return true;
+    }
+
     /**
      * Shutdown the server.
      */
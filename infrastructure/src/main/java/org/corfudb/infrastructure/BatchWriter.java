@@ -1,7 +1,5 @@
 package org.corfudb.infrastructure;
 
-import com.github.benmanes.caffeine.cache.CacheWriter;
-import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.util.LinkedList;
@@ -22,18 +20,35 @@ import org.corfudb.infrastructure.log.StreamLog;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.exceptions.ServerBusyException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
 
 /**
- * BatchWriter is a class that will intercept write-through calls to batch and
- * sync writes.
+ * BatchWriter queues the operations on the stream log, and applies them in order on a single
+ * thread, syncing the writes of each batch to secondary storage at once.
+ *
+ * <p>Operations are asynchronous: they return a future which completes when the operation is
+ * applied, and for writes when the batch is synced. Writes are rejected with a
+ * {@link ServerBusyException} once {@link #maxQueueSize} operations are waiting, so that the
+ * queue does not grow without bound when the log cannot keep up.</p>
  */
 @Slf4j
-public class BatchWriter<K, V> implements CacheWriter<K, V>, AutoCloseable {
+public class BatchWriter implements AutoCloseable {
 
     static final int BATCH_SIZE = 50;
 
+    /**
+     * The default number of operations waiting beyond which writes are rejected.
+     */
+    static final int MAX_QUEUE_SIZE = 10_000;
+
+    /**
+     * The number of operations waiting beyond which writes are rejected. The other operations,
+     * such as seals, are always queued.
+     */
+    private final int maxQueueSize;
+
     final boolean sync;
 
     private StreamLog streamLog;
@@ -64,6 +79,21 @@ public class BatchWriter<K, V> implements CacheWriter<K, V>, AutoCloseable {
      * @param sync    If true, the batch writer will sync writes to secondary storage
      */
     public BatchWriter(StreamLog streamLog, long sealEpoch, boolean sync) {
+        this(streamLog, sealEpoch, sync, MAX_QUEUE_SIZE);
+    }
+
+    /**
+     * Returns a new BatchWriter for a stream log, which rejects writes once a number of
+     * operations are waiting.
+     *
+     * @param streamLog    stream log for writes (can be in memory or file)
+     * @param sealEpoch    All operations stamped with epoch less than the epochWaterMark are
+     *                     discarded.
+     * @param sync         If true, the batch writer will sync writes to secondary storage
+     * @param maxQueueSize The number of operations waiting beyond which writes are rejected.
+     */
+    public BatchWriter(StreamLog streamLog, long sealEpoch, boolean sync, int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
         this.sealEpoch = sealEpoch;
         this.sync = sync;
         this.streamLog = streamLog;
@@ -71,114 +101,117 @@ public class BatchWriter<K, V> implements CacheWriter<K, V>, AutoCloseable {
         writerService.submit(this::batchWriteProcessor);
     }
 
-    @Override
-    public void write(@Nonnull K key, @Nonnull V value) {
-        try {
-            CompletableFuture<Void> cf = new CompletableFuture();
-            operationsQueue.add(new BatchWriterOperation(BatchWriterOperation.Type.WRITE,
-                    (Long) key, (LogData) value, ((LogData) value).getEpoch(), null, cf));
-            cf.get();
-        } catch (Exception e) {
-            log.trace("Write Exception {}", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e);
-            }
-        }
+    /**
+     * Queue an operation.
+     *
+     * @return The future of the operation.
+     */
+    private <T> CompletableFuture<T> addOperation(Type type, Long address, LogData logData,
+                                                  long epoch, List<LogData> entries) {
+        CompletableFuture<T> cf = new CompletableFuture<>();
+        operationsQueue.add(new BatchWriterOperation(type, address, logData, epoch, entries, cf));
+        return cf;
     }
 
-    public void bulkWrite(List<LogData> entries, long epoch) {
-        try {
-            CompletableFuture<Void> cf = new CompletableFuture();
-            operationsQueue.add(new BatchWriterOperation(BatchWriterOperation.Type.RANGE_WRITE,
-                    null, null, epoch, entries, cf));
-        } catch (Exception e) {
-            log.trace("Write Exception {}", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e);
-            }
+    /**
+     * Get the number of operations waiting for the writer.
+     *
+     * @return The size of the operations queue.
+     */
+    public int getQueueSize() {
+        return operationsQueue.size();
+    }
+
+    /**
+     * Queue a write, unless {@link #maxQueueSize} operations are already waiting.
+     *
+     * @return The future of the write, completed exceptionally with a
+     *         {@link ServerBusyException} if the write was rejected.
+     */
+    private CompletableFuture<Void> addWrite(Type type, Long address, LogData logData,
+                                             long epoch, List<LogData> entries) {
+        if (operationsQueue.size() >= maxQueueSize) {
+            CompletableFuture<Void> cf = new CompletableFuture<>();
+            cf.completeExceptionally(new ServerBusyException());
+            return cf;
         }
+        return addOperation(type, address, logData, epoch, entries);
+    }
+
+    /**
+     * Write an entry to the log.
+     *
+     * @param address The address to write to.
+     * @param logData The entry, stamped with the epoch of the request.
+     * @return A future which completes when the write is synced, or exceptionally with the
+     *         cause of the failure, such as an OverwriteException.
+     */
+    public CompletableFuture<Void> write(long address, @Nonnull LogData logData) {
+        return addWrite(Type.WRITE, address, logData, logData.getEpoch(), null);
+    }
+
+    /**
+     * Write a range of entries to the log.
+     *
+     * @param entries The entries to write.
+     * @param epoch   The epoch of the request.
+     * @return A future which completes when the writes are synced.
+     */
+    public CompletableFuture<Void> bulkWrite(List<LogData> entries, long epoch) {
+        return addWrite(Type.RANGE_WRITE, null, null, epoch, entries);
     }
 
     /**
      * Trim addresses from log up to a prefix.
      *
      * @param address prefix address to trim to (inclusive)
+     * @return A future which completes when the log is trimmed.
      */
-    public void prefixTrim(@Nonnull Token address) {
-        try {
-            CompletableFuture<Void> cf = new CompletableFuture();
-            operationsQueue.add(new BatchWriterOperation(BatchWriterOperation.Type.PREFIX_TRIM,
-                    address.getSequence(), null, address.getEpoch(), null, cf));
-            cf.get();
-        } catch (Exception e) {
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e);
-            }
-        }
+    public CompletableFuture<Void> prefixTrim(@Nonnull Token address) {
+        return addOperation(Type.PREFIX_TRIM, address.getSequence(), null, address.getEpoch(), null);
     }
 
     /**
-     * Insert seal operation in queue and wait for queue to process all preceding operations.
+     * Insert seal operation in queue, which completes once the queue processed all preceding
+     * operations.
      * All operations in the queue after the sealEpoch operation, that have epoch less than
      * the sealEpoch epoch are discarded and their futures are completed exceptionally with a
      * WrongEpochException.
      *
      * @param epoch Epoch to seal with.
+     * @return A future which completes when the preceding operations are flushed.
      */
-    public void waitForSealComplete(long epoch) {
-        try {
-            CompletableFuture<Void> cf = new CompletableFuture<>();
-            operationsQueue.add(new BatchWriterOperation(Type.SEAL, null, null, epoch, null, cf));
-            cf.get();
-        } catch (Exception e) {
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e);
-            }
-        }
+    public CompletableFuture<Void> seal(long epoch) {
+        return addOperation(Type.SEAL, null, null, epoch, null);
     }
 
     /**
      * Reset the log unit node.
+     *
+     * @return A future which completes when the log is reset.
      */
-    public void reset(@Nonnull long epoch) {
-        try {
-            CompletableFuture<Void> cf = new CompletableFuture<>();
-            operationsQueue.add(new BatchWriterOperation(Type.RESET, null, null, epoch, null, cf));
-            cf.get();
-        } catch (Exception e) {
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e);
-            }
-        }
+    public CompletableFuture<Void> reset(long epoch) {
+        return addOperation(Type.RESET, null, null, epoch, null);
     }
 
-    public TailsResponse queryTails(long epoch) {
-        try {
-            CompletableFuture<TailsResponse> cf = new CompletableFuture<>();
-            operationsQueue.add(new BatchWriterOperation(Type.TAILS_QUERY, null,
-                    null, epoch, null, cf));
-            return cf.get();
-        } catch (Exception e) {
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e);
-            }
-        }
+    /**
+     * Query the tails of the stream log, ordered after the operations already queued.
+     *
+     * @param epoch The epoch of the request.
+     * @return A future of the tails.
+     */
+    public CompletableFuture<TailsResponse> queryTails(long epoch) {
+        return addOperation(Type.TAILS_QUERY, null, null, epoch, null);
     }
 
-    @Override
-    public void delete(K key, V value, RemovalCause removalCause) {
+    /**
+     * Query the global tail of the stream log, ordered after the operations already queued.
+     *
+     * @param epoch The epoch of the request.
+     * @return A future of the global tail.
+     */
+    public CompletableFuture<Long> queryLogTail(long epoch) {
+        return addOperation(Type.LOG_TAIL_QUERY, null, null, epoch, null);
     }
 
     private void handleOperationResults(BatchWriterOperation operation) {
@@ -262,6 +295,9 @@ public class BatchWriter<K, V> implements CacheWriter<K, V>, AutoCloseable {
                                 TailsResponse tails = streamLog.getTails();
                                 currOp.getFuture().complete(tails);
                                 break;
+                            case LOG_TAIL_QUERY:
+                                currOp.getFuture().complete(streamLog.getLogTail());
+                                break;
                             default:
                                 log.warn("Unknown BatchWriterOperation {}", currOp);
                         }
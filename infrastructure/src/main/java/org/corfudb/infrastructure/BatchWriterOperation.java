@@ -20,7 +20,8 @@ public class BatchWriterOperation {
         PREFIX_TRIM,
         SEAL,
         RESET,
-        TAILS_QUERY
+        TAILS_QUERY,
+        LOG_TAIL_QUERY
     }
 
     private final Type type;
@@ -9,6 +9,8 @@ import org.corfudb.protocols.wireprotocol.ExceptionMsg;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
 import org.corfudb.util.CorfuComponent;
 import org.corfudb.util.MetricsUtils;
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LatencyHistogram;
 
 import javax.annotation.Nonnull;
 import java.lang.invoke.LambdaMetafactory;
@@ -19,7 +21,9 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -56,6 +60,9 @@ public class CorfuMsgHandler {
     /** The handler map. */
     private Map<CorfuMsgType, Handler> handlerMap;
 
+    /** The types whose handlers can run on the I/O thread. */
+    private final Set<CorfuMsgType> inlineTypes = EnumSet.noneOf(CorfuMsgType.class);
+
     /** Get the types this handler will handle.
      *
      * @return  A set containing the types this handler will handle.
@@ -74,6 +81,16 @@ public class CorfuMsgHandler {
         return handlerMap.get(type);
     }
 
+    /** Whether the handler of a message type can run on the I/O thread which received
+     * the message, as declared by {@link ServerHandler#inline()}.
+     *
+     * @param type  The type of the message.
+     * @return      True, if the handler does not block and can run inline.
+     */
+    public boolean isInline(CorfuMsgType type) {
+        return inlineTypes.contains(type);
+    }
+
     /** Construct a new instance of CorfuMsgHandler. */
     public CorfuMsgHandler() {
         handlerMap = new EnumMap<>(CorfuMsgType.class);
@@ -193,6 +210,9 @@ public class CorfuMsgHandler {
                     generateConditionalHandler(server, annotation.type(), h);
             // Install the handler in the map
             handlerMap.put(annotation.type(), handler);
+            if (annotation.inline()) {
+                inlineTypes.add(annotation.type());
+            }
         } catch (Throwable e) {
             log.error("Exception during message handler registration", e);
             throw new UnrecoverableCorfuError(e);
@@ -213,6 +233,11 @@ public class CorfuMsgHandler {
             @Nonnull final Handler<CorfuMsg> handler) {
         // Generate a timer based on the Corfu message type
         final Timer timer = getTimer(type);
+        final LatencyHistogram latency = HotPathMetrics.getDefaultMetrics()
+                .<CorfuMsgType>histograms("corfu_server_handler_seconds",
+                        "Time from the dispatch of each message type to its response.", "type",
+                        CorfuMsgType.values().length)
+                .get(type);
 
         // Register the handler. Depending on metrics collection configuration by MetricsUtil,
         // handler will be instrumented by the metrics context.
@@ -227,12 +252,70 @@ public class CorfuMsgHandler {
                 return;
             }
 
+            // The latency is recorded once the response is sent, as many handlers respond
+            // asynchronously, after they return.
+            final IServerRouter router = HotPathMetrics.isEnabled()
+                    ? new LatencyRecordingRouter(r, msg, latency, System.nanoTime()) : r;
             try (Timer.Context context = MetricsUtils.getConditionalContext(timer)) {
-                handler.handle(msg, ctx, r);
+                handler.handle(msg, ctx, router);
             }
         };
     }
 
+    /**
+     * A router which records the latency of a request when the first response to it is sent,
+     * and delegates everything else to the router of the server.
+     */
+    private static class LatencyRecordingRouter implements IServerRouter {
+
+        private final IServerRouter router;
+
+        private final CorfuMsg request;
+
+        private final LatencyHistogram latency;
+
+        private final long start;
+
+        private volatile boolean recorded = false;
+
+        LatencyRecordingRouter(IServerRouter router, CorfuMsg request, LatencyHistogram latency,
+                               long start) {
+            this.router = router;
+            this.request = request;
+            this.latency = latency;
+            this.start = start;
+        }
+
+        @Override
+        public void sendResponse(ChannelHandlerContext ctx, CorfuMsg inMsg, CorfuMsg outMsg) {
+            router.sendResponse(ctx, inMsg, outMsg);
+            if (inMsg == request && !recorded) {
+                recorded = true;
+                latency.recordSince(start);
+            }
+        }
+
+        @Override
+        public long getServerEpoch() {
+            return router.getServerEpoch();
+        }
+
+        @Override
+        public void setServerEpoch(long newEpoch) {
+            router.setServerEpoch(newEpoch);
+        }
+
+        @Override
+        public void addServer(AbstractServer server) {
+            router.addServer(server);
+        }
+
+        @Override
+        public List<AbstractServer> getServers() {
+            return router.getServers();
+        }
+    }
+
     // Create a timer using cached timer name for the corresponding type
     private Timer getTimer(@Nonnull CorfuMsgType type) {
         timerNameCache.computeIfAbsent(type,
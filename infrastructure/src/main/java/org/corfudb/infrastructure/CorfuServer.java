@@ -18,6 +18,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.ServerChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
@@ -78,7 +79,9 @@ public class CorfuServer {
                     + "[-t <token>] [-c <ratio>] [-d <level>] [-p <seconds>] "
                     + "[--layout-server-threads=<layout_server_threads>] [--base-server-threads=<base_server_threads>] "
                     + "[--sequencer-threads=<sequencer_threads>] [--logunit-threads=<logunit_threads>] "
-                    + "[--management-server-threads=<management_server_threads>]"
+                    + "[--max-client-queue-depth=<depth>] "
+                    + "[--management-server-threads=<management_server_threads>] "
+                    + "[--phi-accrual-failure-detector] [--busy-poll] [--tcp-quickack] "
                     + "[-e [-u <keystore> -f <keystore_password_file>] [-r <truststore> -w <truststore_password_file>] "
                     + "[-b] [-g -o <username_file> -j <password_file>] "
                     + "[-k <seqcache>] [-T <threads>] [-B <size>] [-i <channel-implementation>] "
@@ -107,8 +110,8 @@ public class CorfuServer {
                     + " -q <interface-name>, --network-interface=<interface-name>                "
                     + "              The name of the network interface.\n"
                     + " -i <channel-implementation>, --implementation <channel-implementation>   "
-                    + "              The type of channel to use (auto, nio, epoll, kqueue)"
-                    + "[default: nio].\n"
+                    + "              The type of channel to use (auto, nio, epoll, kqueue), auto"
+                    + "              selects the native transport when available [default: auto].\n"
                     + " -m, --memory                                                             "
                     + "              Run the unit in-memory (non-persistent).\n"
                     + "                                                                          "
@@ -191,9 +194,25 @@ public class CorfuServer {
                     + " --management-server-threads=<management_server_threads>                  "
                     + "              Number of threads dedicated for the management server.\n"
                     + "                                                                          "
+                    + " --phi-accrual-failure-detector                                           "
+                    + "              Detect failures from a continuous heartbeat stream scored with\n"
+                    + "              a phi-accrual model rather than periodic polling rounds.\n"
+                    + "                                                                          "
+                    + " --busy-poll                                                              "
+                    + "              Busy poll the epoll instance in the worker threads, trading\n"
+                    + "              a core per worker thread for lower latency (epoll only).\n"
+                    + "                                                                          "
+                    + " --tcp-quickack                                                           "
+                    + "              Set TCP_QUICKACK on client connections (epoll only).\n"
+                    + "                                                                          "
                     + " --logunit-threads=<logunit_threads>                  "
                     + "              Number of threads dedicated for the logunit server.\n"
                     + "                                                                          "
+                    + " --max-client-queue-depth=<depth>                                         "
+                    + "              Maximum number of requests of a client waiting for the log\n"
+                    + "              unit or the sequencer, beyond which they are rejected as\n"
+                    + "              busy [default: 1024].\n"
+                    + "                                                                          "
                     + " --agent      Run with byteman agent to enable runtime code injection.\n  "
                     + " -h, --help                                                               "
                     + "              Show this screen\n"
@@ -398,6 +417,14 @@ public class CorfuServer {
             .childOption(ChannelOption.SO_REUSEADDR, true)
             .childOption(ChannelOption.TCP_NODELAY, true)
             .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        if (context.isTcpQuickAckEnabled()) {
+            if (context.getChannelImplementation().isEpoll()) {
+                bootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+            } else {
+                log.warn("configureBootstrapOptions: TCP_QUICKACK requires the epoll transport, "
+                        + "ignoring");
+            }
+        }
     }
 
 
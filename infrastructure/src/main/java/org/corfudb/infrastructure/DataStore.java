@@ -47,6 +47,9 @@ import static org.corfudb.infrastructure.utils.Persistence.syncDirectory;
  * <p>If 'opts' either has '--memory=true' or a log-path for storing files is not provided,
  * the store is just an in memory cache.
  *
+ * <p>Writes are serialized on the store, reads are not: the cache loads a missing key
+ * atomically, and a read racing a write of the same key sees either value.
+ *
  * <p>Created by mdhawan on 7/27/16.
  */
 
@@ -203,7 +206,7 @@ public class DataStore implements IDataStore {
     }
 
     @Override
-    public synchronized <T> T get(Class<T> tclass, String prefix, String key) {
+    public <T> T get(Class<T> tclass, String prefix, String key) {
         String path = getKey(prefix, key);
         Object val = cache.get(path, k -> {
             if (!inMem) {
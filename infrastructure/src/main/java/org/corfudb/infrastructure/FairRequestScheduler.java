@@ -0,0 +1,271 @@
+package org.corfudb.infrastructure;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LabeledMetrics;
+import org.corfudb.util.metrics.LatencyHistogram;
+
+/**
+ * Schedules the requests a server handles on its executor fairly between the clients which
+ * sent them, and bounds the number of requests each client may have waiting.
+ *
+ * <p>Each client has its own queue of at most {@link #maxQueueDepth} requests. A request
+ * which does not fit is rejected, so that the server replies that it is busy rather than
+ * queueing requests without bound. At most {@link #concurrency} requests run on the executor
+ * at once, and the queues are served by deficit round robin: at the start of its turn, a
+ * client is credited {@link #QUANTUM} times its weight, and its requests run while the credit
+ * covers their cost, such as the number of addresses of a read. A client sending many or
+ * large requests therefore gets its share of the executor, in proportion to its weight,
+ * without delaying the requests of the other clients.</p>
+ *
+ * <p>The time each request waits in its queue, the depth of the queues and the requests
+ * rejected are exported by the {@link HotPathMetrics}, labelled by client.</p>
+ */
+@Slf4j
+public class FairRequestScheduler {
+
+    /**
+     * The credit of a client of weight 1 for each of its turns.
+     */
+    static final int QUANTUM = 4;
+
+    /**
+     * The maximum cost of a request, so that a request waits for at most 64 turns of its
+     * client.
+     */
+    static final int MAX_COST = 64 * QUANTUM;
+
+    /**
+     * The weight of the clients whose weight was not set.
+     */
+    public static final int DEFAULT_WEIGHT = 1;
+
+    /**
+     * The maximum number of clients whose metrics are recorded separately.
+     */
+    private static final int MAX_CLIENT_LABELS = 32;
+
+    private final Executor executor;
+
+    /**
+     * The maximum number of requests running on the executor at once.
+     */
+    @Getter
+    private final int concurrency;
+
+    /**
+     * The maximum number of requests waiting for each client.
+     */
+    @Getter
+    private final int maxQueueDepth;
+
+    /**
+     * The weights of the clients, by client ID.
+     */
+    private final Map<UUID, Integer> weights = new ConcurrentHashMap<>();
+
+    /**
+     * The queues of the clients with waiting requests, by client ID. Guarded by this.
+     */
+    private final Map<UUID, ClientQueue> queues = new HashMap<>();
+
+    /**
+     * The queues of {@link #queues}, in the order of their turns. Guarded by this.
+     */
+    private final Deque<ClientQueue> turns = new ArrayDeque<>();
+
+    /**
+     * The number of requests running on the executor. Guarded by this.
+     */
+    private int running = 0;
+
+    private final LabeledMetrics<UUID, LongAdder> queueDepth;
+
+    private final LabeledMetrics<UUID, LatencyHistogram> queueLatency;
+
+    private final LabeledMetrics<UUID, LongAdder> rejected;
+
+    /**
+     * The waiting requests of a client.
+     */
+    @RequiredArgsConstructor
+    private static class ClientQueue {
+        final UUID clientId;
+        final Deque<Request> requests = new ArrayDeque<>();
+        long deficit = 0;
+        boolean inTurn = false;
+    }
+
+    /**
+     * A waiting request.
+     */
+    @AllArgsConstructor
+    private static class Request {
+        final Runnable task;
+        final int cost;
+        final boolean recordLatency;
+        final long enqueueTime;
+    }
+
+    /**
+     * Create a scheduler.
+     *
+     * @param metricPrefix  The prefix of the names of the metrics, such as corfu_logunit.
+     * @param executor      The executor to run the requests on.
+     * @param concurrency   The maximum number of requests running at once, usually the
+     *                      number of threads of the executor.
+     * @param maxQueueDepth The maximum number of requests waiting for each client.
+     */
+    public FairRequestScheduler(@Nonnull String metricPrefix, @Nonnull Executor executor,
+                                int concurrency, int maxQueueDepth) {
+        if (concurrency < 1 || maxQueueDepth < 1) {
+            throw new IllegalArgumentException("Invalid concurrency " + concurrency
+                    + " or maximum queue depth " + maxQueueDepth);
+        }
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.maxQueueDepth = maxQueueDepth;
+
+        final HotPathMetrics metrics = HotPathMetrics.getDefaultMetrics();
+        queueDepth = metrics.gauges(metricPrefix + "_client_queue_depth",
+                "Requests of each client waiting to be handled.", "client",
+                MAX_CLIENT_LABELS);
+        queueLatency = metrics.histograms(metricPrefix + "_client_queue_seconds",
+                "Time the requests of each client waited to be handled.", "client",
+                MAX_CLIENT_LABELS);
+        rejected = metrics.counters(metricPrefix + "_client_busy_total",
+                "Requests of each client rejected because its queue was full.", "client",
+                MAX_CLIENT_LABELS);
+    }
+
+    /**
+     * Set the weight of a client, which applies from its next turn.
+     *
+     * @param clientId The ID of the client.
+     * @param weight   The weight, at least 1.
+     */
+    public void setWeight(@Nonnull UUID clientId, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Invalid weight " + weight);
+        }
+        weights.put(clientId, weight);
+    }
+
+    /**
+     * Queue a request of a client, and run it once it is its turn.
+     *
+     * @param clientId The ID of the client which sent the request.
+     * @param cost     The cost of the request, between 1 and {@link #MAX_COST}.
+     * @param task     The task which handles the request.
+     * @return False if the queue of the client is full, in which case the task is not run.
+     */
+    public boolean submit(@Nonnull UUID clientId, int cost, @Nonnull Runnable task) {
+        final boolean recordLatency = HotPathMetrics.isEnabled();
+        final long enqueueTime = recordLatency ? System.nanoTime() : 0L;
+        synchronized (this) {
+            ClientQueue queue = queues.get(clientId);
+            if (queue == null) {
+                queue = new ClientQueue(clientId);
+                queues.put(clientId, queue);
+                turns.addLast(queue);
+            } else if (queue.requests.size() >= maxQueueDepth) {
+                rejected.get(clientId).increment();
+                log.trace("submit: Rejected request of {}, {} requests waiting", clientId,
+                        queue.requests.size());
+                return false;
+            }
+            queue.requests.addLast(new Request(task, Math.min(Math.max(cost, 1), MAX_COST),
+                    recordLatency, enqueueTime));
+            queueDepth.get(clientId).increment();
+            dispatch();
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of requests of a client waiting to run.
+     *
+     * @param clientId The ID of the client.
+     * @return The number of requests waiting.
+     */
+    public synchronized int getQueueDepth(@Nonnull UUID clientId) {
+        final ClientQueue queue = queues.get(clientId);
+        return queue == null ? 0 : queue.requests.size();
+    }
+
+    /**
+     * Run the waiting requests, in turn, while fewer than {@link #concurrency} requests run.
+     */
+    private synchronized void dispatch() {
+        while (running < concurrency && !turns.isEmpty()) {
+            final ClientQueue queue = turns.peekFirst();
+            final Request request = queue.requests.peekFirst();
+            if (!queue.inTurn) {
+                queue.inTurn = true;
+                queue.deficit += (long) QUANTUM
+                        * weights.getOrDefault(queue.clientId, DEFAULT_WEIGHT);
+                // Alone, a client need not wait for the turns to add up to its request.
+                if (turns.size() == 1) {
+                    queue.deficit = Math.max(queue.deficit, request.cost);
+                }
+            }
+            if (queue.deficit < request.cost) {
+                // The credit does not cover the request: the turn goes to the next client.
+                queue.inTurn = false;
+                turns.addLast(turns.pollFirst());
+                continue;
+            }
+
+            queue.deficit -= request.cost;
+            queue.requests.pollFirst();
+            if (queue.requests.isEmpty()) {
+                // A client without waiting requests keeps no credit.
+                queues.remove(queue.clientId);
+                turns.pollFirst();
+            }
+            queueDepth.get(queue.clientId).decrement();
+            if (request.recordLatency) {
+                queueLatency.get(queue.clientId).recordSince(request.enqueueTime);
+            }
+            run(request);
+        }
+    }
+
+    private void run(Request request) {
+        running++;
+        try {
+            executor.execute(() -> {
+                try {
+                    request.task.run();
+                } finally {
+                    complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The executor is shut down with the server.
+            running--;
+            log.debug("run: Dropped request, executor is shut down");
+        }
+    }
+
+    private synchronized void complete() {
+        running--;
+        dispatch();
+    }
+}
@@ -4,6 +4,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Range;
 import io.netty.channel.ChannelHandlerContext;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,30 +16,39 @@ import org.corfudb.infrastructure.log.StreamLogFiles;
 import org.corfudb.protocols.wireprotocol.CorfuMsg;
 import org.corfudb.protocols.wireprotocol.CorfuMsgType;
 import org.corfudb.protocols.wireprotocol.CorfuPayloadMsg;
+import org.corfudb.protocols.wireprotocol.ExceptionMsg;
 import org.corfudb.protocols.wireprotocol.FillHoleRequest;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.MultipleReadRequest;
 import org.corfudb.protocols.wireprotocol.RangeWriteMsg;
+import org.corfudb.protocols.wireprotocol.ReadChunkRequest;
 import org.corfudb.protocols.wireprotocol.ReadRequest;
 import org.corfudb.protocols.wireprotocol.ReadResponse;
-import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TrimRequest;
 import org.corfudb.protocols.wireprotocol.WriteRequest;
 import org.corfudb.runtime.exceptions.DataCorruptionException;
 import org.corfudb.runtime.exceptions.DataOutrankedException;
 import org.corfudb.runtime.exceptions.OverwriteException;
+import org.corfudb.runtime.exceptions.ServerBusyException;
 import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.exceptions.ValueAdoptedException;
 import org.corfudb.util.Utils;
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LabeledMetrics;
+import org.corfudb.util.metrics.LatencyHistogram;
 
 import java.lang.invoke.MethodHandles;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -59,6 +69,33 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class LogUnitServer extends AbstractServer {
 
+    /**
+     * The maximum size in bytes of the entries sent in response to a read chunk request.
+     */
+    public static final int MAX_READ_CHUNK_SIZE = 32 * 1024 * 1024;
+
+    /**
+     * The maximum number of streams whose appends are counted separately.
+     */
+    private static final int MAX_STREAM_LABELS = 1024;
+
+    private static final String CACHE_HIT_RATIO_GAUGE = "corfu_logunit_cache_hit_ratio";
+
+    private static final String BATCH_WRITER_QUEUE_GAUGE = "corfu_logunit_batch_writer_queue_size";
+
+    /**
+     * The time from the receipt of a write to its acknowledgement, once synced and cached.
+     */
+    private static final LatencyHistogram writeLatency = HotPathMetrics.getDefaultMetrics()
+            .histogram("corfu_logunit_write_seconds", "Time to persist and acknowledge a write.");
+
+    /**
+     * The number of entries written to each stream.
+     */
+    private static final LabeledMetrics<UUID, LongAdder> streamAppends =
+            HotPathMetrics.getDefaultMetrics().counters("corfu_logunit_stream_appends_total",
+                    "Entries written to each stream.", "stream", MAX_STREAM_LABELS);
+
     /**
      * The options map.
      */
@@ -76,22 +113,75 @@ public class LogUnitServer extends AbstractServer {
     private final CorfuMsgHandler handler = CorfuMsgHandler.generateHandler(MethodHandles.lookup(), this);
 
     /**
-     * This cache services requests for data at various addresses. In a memory implementation,
-     * it is not backed by anything, but in a disk implementation it is backed by persistent
-     * storage.
+     * This cache services requests for data at various addresses. It loads the entries it misses
+     * from the stream log, and is populated with the entries written once they are persisted
+     * by the batch writer.
      */
     private final LoadingCache<Long, ILogData> dataCache;
     private final StreamLog streamLog;
     private final StreamLogCompaction logCleaner;
-    private final BatchWriter<Long, ILogData> batchWriter;
+    private final BatchWriter batchWriter;
 
     private final ExecutorService executor;
 
+    /**
+     * Schedules the requests handled on {@link #executor} fairly between the clients, and
+     * bounds the requests waiting for each client.
+     */
+    private final FairRequestScheduler scheduler;
+
+    /**
+     * The number of entries of each client queued in the batch writer and not written yet.
+     * The handlers return once the entries are queued, so the scheduler does not bound them.
+     * A client is removed once it has no entry queued, so that the map only holds the clients
+     * which are writing.
+     */
+    private final Map<UUID, Integer> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of entries of each client queued in the batch writer.
+     */
+    private final int maxPendingWrites;
+
     @Override
     public ExecutorService getExecutor() {
         return executor;
     }
 
+    @Override
+    public boolean submit(CorfuMsg msg, Runnable task) {
+        return scheduler.submit(msg.getClientID(), getCost(msg), task);
+    }
+
+    /**
+     * Get the cost of a request for the scheduler, which is the number of entries it reads or
+     * writes.
+     *
+     * @param msg The request.
+     * @return The cost of the request.
+     */
+    @SuppressWarnings("unchecked")
+    private static int getCost(CorfuMsg msg) {
+        switch (msg.getMsgType()) {
+            case READ_REQUEST:
+                return getCost(((CorfuPayloadMsg<ReadRequest>) msg).getPayload().getRange());
+            case READ_CHUNK_REQUEST:
+                return getCost(((CorfuPayloadMsg<ReadChunkRequest>) msg).getPayload().getRange());
+            case MULTIPLE_READ_REQUEST:
+                return ((CorfuPayloadMsg<MultipleReadRequest>) msg).getPayload()
+                        .getAddresses().size();
+            case RANGE_WRITE:
+                return ((CorfuPayloadMsg<RangeWriteMsg>) msg).getPayload().getEntries().size();
+            default:
+                return 1;
+        }
+    }
+
+    private static int getCost(Range<Long> range) {
+        return (int) Math.min(Integer.MAX_VALUE,
+                range.upperEndpoint() - range.lowerEndpoint() + 1);
+    }
+
     /**
      * Returns a new LogUnitServer.
      * @param serverContext context object providing settings and objects
@@ -101,6 +191,9 @@ public class LogUnitServer extends AbstractServer {
         this.config = LogUnitServerConfig.parse(serverContext.getServerConfig());
         executor = Executors.newFixedThreadPool(serverContext.getLogunitThreadCount(),
                 new ServerThreadFactory("LogUnit-", new ServerThreadFactory.ExceptionHandler()));
+        scheduler = new FairRequestScheduler("corfu_logunit", executor,
+                serverContext.getLogunitThreadCount(), serverContext.getMaxClientQueueDepth());
+        maxPendingWrites = serverContext.getMaxClientQueueDepth();
 
         if (config.isMemoryMode()) {
             log.warn("Log unit opened in-memory mode (Maximum size={}). "
@@ -114,14 +207,20 @@ public class LogUnitServer extends AbstractServer {
             streamLog = new StreamLogFiles(serverContext, config.isNoVerify());
         }
 
-        batchWriter = new BatchWriter<>(streamLog, serverContext.getServerEpoch(), !config.isNoSync());
+        batchWriter = new BatchWriter(streamLog, serverContext.getServerEpoch(), !config.isNoSync());
 
         dataCache = Caffeine.newBuilder()
-                .<Long, ILogData>weigher((k, v) -> ((LogData) v).getData() == null ? 1 : ((LogData) v).getData().length)
+                .<Long, ILogData>weigher((k, v) -> getSize(v))
                 .maximumWeight(config.getMaxCacheSize())
                 .removalListener(this::handleEviction)
-                .writer(batchWriter)
+                .recordStats()
                 .build(this::handleRetrieval);
+        HotPathMetrics.getDefaultMetrics().gauge(CACHE_HIT_RATIO_GAUGE,
+                "Ratio of the reads served by the cache of the log unit.",
+                "node", serverContext.getLocalEndpoint(), () -> dataCache.stats().hitRate());
+        HotPathMetrics.getDefaultMetrics().gauge(BATCH_WRITER_QUEUE_GAUGE,
+                "Operations waiting for the batch writer.",
+                "node", serverContext.getLocalEndpoint(), batchWriter::getQueueSize);
 
         logCleaner = new StreamLogCompaction(streamLog, 10, 45, TimeUnit.MINUTES, ServerContext.SHUTDOWN_TIMER);
     }
@@ -129,10 +228,29 @@ public class LogUnitServer extends AbstractServer {
     /**
      * Service an incoming request for maximum global address the log unit server has written.
      */
-    @ServerHandler(type = CorfuMsgType.TAIL_REQUEST)
+    @ServerHandler(type = CorfuMsgType.TAIL_REQUEST, inline = true)
     public void handleTailRequest(CorfuMsg msg, ChannelHandlerContext ctx, IServerRouter r) {
-        TailsResponse tails = batchWriter.queryTails(msg.getEpoch());
-        r.sendResponse(ctx, msg, CorfuMsgType.TAIL_RESPONSE.payloadMsg(tails));
+        batchWriter.queryTails(msg.getEpoch()).whenCompleteAsync((tails, ex) -> {
+            if (ex != null) {
+                handleException(msg, ctx, r, ex);
+                return;
+            }
+            r.sendResponse(ctx, msg, CorfuMsgType.TAIL_RESPONSE.payloadMsg(tails));
+        }, executor);
+    }
+
+    /**
+     * Service an incoming request for the global tail of this logging unit.
+     */
+    @ServerHandler(type = CorfuMsgType.LOG_TAIL_REQUEST, inline = true)
+    public void handleLogTailRequest(CorfuMsg msg, ChannelHandlerContext ctx, IServerRouter r) {
+        batchWriter.queryLogTail(msg.getEpoch()).whenCompleteAsync((logTail, ex) -> {
+            if (ex != null) {
+                handleException(msg, ctx, r, ex);
+                return;
+            }
+            r.sendResponse(ctx, msg, CorfuMsgType.LOG_TAIL_RESPONSE.payloadMsg(logTail));
+        }, executor);
     }
 
     /**
@@ -145,25 +263,112 @@ public class LogUnitServer extends AbstractServer {
 
     /**
      * Service an incoming write request.
+     *
+     * <p>The handler does not wait for the write: the entry is queued in the batch writer,
+     * and once the batch is synced it is cached and the response is sent.</p>
      */
     @ServerHandler(type = CorfuMsgType.WRITE)
     public void write(CorfuPayloadMsg<WriteRequest> msg, ChannelHandlerContext ctx, IServerRouter r) {
         log.debug("log write: global: {}, streams: {}", msg.getPayload().getToken(),
                 msg.getPayload().getData().getBackpointerMap());
 
-        try {
-            LogData logData = (LogData) msg.getPayload().getData();
-            logData.setEpoch(msg.getEpoch());
-            dataCache.put(msg.getPayload().getGlobalAddress(), logData);
+        LogData logData = (LogData) msg.getPayload().getData();
+        logData.setEpoch(msg.getEpoch());
+        if (HotPathMetrics.isEnabled()) {
+            logData.getBackpointerMap().keySet()
+                    .forEach(stream -> streamAppends.get(stream).increment());
+        }
+        writeAndCache(msg.getPayload().getGlobalAddress(), logData, msg, ctx, r);
+    }
+
+    /**
+     * Write an entry, then populate the cache with it and acknowledge the write.
+     *
+     * @param address The address to write.
+     * @param logData The entry to write.
+     * @param msg     The write request.
+     * @param ctx     The channel context.
+     * @param r       The server router.
+     */
+    private void writeAndCache(long address, LogData logData, CorfuMsg msg,
+                               ChannelHandlerContext ctx, IServerRouter r) {
+        if (!reserveWrites(msg, 1, ctx, r)) {
+            return;
+        }
+        final boolean recordLatency = HotPathMetrics.isEnabled();
+        final long start = recordLatency ? System.nanoTime() : 0L;
+        batchWriter.write(address, logData).whenCompleteAsync((result, ex) -> {
+            releaseWrites(msg, 1);
+            if (ex != null) {
+                handleException(msg, ctx, r, ex);
+                return;
+            }
+            dataCache.put(address, logData);
             r.sendResponse(ctx, msg, CorfuMsgType.WRITE_OK.msg());
+            if (recordLatency) {
+                writeLatency.recordSince(start);
+            }
+        }, executor);
+    }
+
+    /**
+     * Reserve room in the batch writer for the entries of a request, so that a client
+     * flooding the server with writes does not fill the queue of the batch writer for the
+     * other clients. A request is rejected as busy if its client already has the maximum
+     * client queue depth of entries queued, unless it has none.
+     *
+     * @param msg     The write request.
+     * @param entries The number of entries the request writes.
+     * @param ctx     The channel context.
+     * @param r       The server router.
+     * @return False if the request was rejected.
+     */
+    private boolean reserveWrites(CorfuMsg msg, int entries, ChannelHandlerContext ctx,
+                                  IServerRouter r) {
+        final int total = pendingWrites.merge(msg.getClientID(), entries, Integer::sum);
+        if (total > maxPendingWrites && total != entries) {
+            releaseWrites(msg, entries);
+            log.trace("reserveWrites: Rejected write of {}, {} entries queued",
+                    msg.getClientID(), total - entries);
+            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_SERVER_BUSY.msg());
+            return false;
+        }
+        return true;
+    }
 
-        } catch (OverwriteException ex) {
-            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_OVERWRITE.payloadMsg(ex.getOverWriteCause().getId()));
-        } catch (DataOutrankedException e) {
+    private void releaseWrites(CorfuMsg msg, int entries) {
+        pendingWrites.computeIfPresent(msg.getClientID(),
+                (id, queued) -> queued == entries ? null : queued - entries);
+    }
+
+    /**
+     * Send the response for a request which failed asynchronously.
+     *
+     * @param msg The request.
+     * @param ctx The channel context.
+     * @param r   The server router.
+     * @param ex  The cause of the failure, possibly wrapped in a CompletionException.
+     */
+    private void handleException(CorfuMsg msg, ChannelHandlerContext ctx, IServerRouter r,
+                                 Throwable ex) {
+        final Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+        if (cause instanceof OverwriteException) {
+            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_OVERWRITE.payloadMsg(
+                    ((OverwriteException) cause).getOverWriteCause().getId()));
+        } else if (cause instanceof DataOutrankedException) {
             r.sendResponse(ctx, msg, CorfuMsgType.ERROR_DATA_OUTRANKED.msg());
-        } catch (ValueAdoptedException e) {
-            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_VALUE_ADOPTED.payloadMsg(e
-                    .getReadResponse()));
+        } else if (cause instanceof ValueAdoptedException) {
+            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_VALUE_ADOPTED.payloadMsg(
+                    ((ValueAdoptedException) cause).getReadResponse()));
+        } else if (cause instanceof TrimmedException) {
+            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_TRIMMED.msg());
+        } else if (cause instanceof ServerBusyException) {
+            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_SERVER_BUSY.msg());
+        } else {
+            log.error("handleException: Unhandled exception processing {} message",
+                    msg.getMsgType(), cause);
+            r.sendResponse(ctx, msg,
+                    CorfuMsgType.ERROR_SERVER_EXCEPTION.payloadMsg(new ExceptionMsg(cause)));
         }
     }
 
@@ -187,6 +392,45 @@ public class LogUnitServer extends AbstractServer {
         }
     }
 
+    /**
+     * Service a request for a chunk of a range of addresses. Entries are read until their size
+     * reaches the size requested, capped by {@link #MAX_READ_CHUNK_SIZE}, so that the memory
+     * held for the response is bounded whatever the size of the range.
+     *
+     * <p>The entries which are not cached are read from the stream log without being cached,
+     * so that scanning the log does not evict the entries being written and read. They are
+     * read from the stream log directly rather than through {@link #handleRetrieval}, which
+     * would serialize the scan with the loads of the cache.</p>
+     */
+    @ServerHandler(type = CorfuMsgType.READ_CHUNK_REQUEST)
+    private void readChunk(CorfuPayloadMsg<ReadChunkRequest> msg, ChannelHandlerContext ctx,
+                           IServerRouter r) {
+        final Range<Long> range = msg.getPayload().getRange();
+        final long maxChunkSize = Math.min(msg.getPayload().getMaxChunkSize(), MAX_READ_CHUNK_SIZE);
+        log.trace("readChunk: {}, max chunk size {}", range, maxChunkSize);
+
+        ReadResponse rr = new ReadResponse();
+        long chunkSize = 0;
+        try {
+            for (long l = range.lowerEndpoint();
+                    l <= range.upperEndpoint() && chunkSize < maxChunkSize; l++) {
+                ILogData e = dataCache.getIfPresent(l);
+                if (e == null) {
+                    e = streamLog.read(l);
+                }
+                if (e == null) {
+                    rr.put(l, LogData.getEmpty(l));
+                } else {
+                    rr.put(l, (LogData) e);
+                    chunkSize += getSize(e);
+                }
+            }
+            r.sendResponse(ctx, msg, CorfuMsgType.READ_RESPONSE.payloadMsg(rr));
+        } catch (DataCorruptionException e) {
+            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_DATA_CORRUPTION.msg());
+        }
+    }
+
     @ServerHandler(type = CorfuMsgType.MULTIPLE_READ_REQUEST)
     private void multiRead(CorfuPayloadMsg<MultipleReadRequest> msg, ChannelHandlerContext ctx, IServerRouter r) {
         log.trace("multiRead: {}", msg.getPayload().getAddresses());
@@ -210,35 +454,24 @@ public class LogUnitServer extends AbstractServer {
     @ServerHandler(type = CorfuMsgType.FILL_HOLE)
     private void fillHole(CorfuPayloadMsg<FillHoleRequest> msg, ChannelHandlerContext ctx,
                           IServerRouter r) {
-        try {
-            Token address = msg.getPayload().getAddress();
-            log.debug("fillHole: filling address {}, epoch {}", address, msg.getEpoch());
-            LogData hole = LogData.getHole(address.getSequence());
-            hole.setEpoch(msg.getEpoch());
-            dataCache.put(address.getSequence(), hole);
-            r.sendResponse(ctx, msg, CorfuMsgType.WRITE_OK.msg());
-
-        } catch (OverwriteException e) {
-            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_OVERWRITE.payloadMsg(e.getOverWriteCause().getId()));
-        } catch (DataOutrankedException e) {
-            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_DATA_OUTRANKED.msg());
-        } catch (ValueAdoptedException e) {
-
-            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_VALUE_ADOPTED.payloadMsg(e
-                    .getReadResponse()));
-        }
+        Token address = msg.getPayload().getAddress();
+        log.debug("fillHole: filling address {}, epoch {}", address, msg.getEpoch());
+        LogData hole = LogData.getHole(address.getSequence());
+        hole.setEpoch(msg.getEpoch());
+        writeAndCache(address.getSequence(), hole, msg, ctx, r);
     }
 
     @ServerHandler(type = CorfuMsgType.PREFIX_TRIM)
     private void prefixTrim(CorfuPayloadMsg<TrimRequest> msg, ChannelHandlerContext ctx,
                             IServerRouter r) {
-        try {
-            TrimRequest req = msg.getPayload();
-            batchWriter.prefixTrim(req.getAddress());
+        TrimRequest req = msg.getPayload();
+        batchWriter.prefixTrim(req.getAddress()).whenCompleteAsync((result, ex) -> {
+            if (ex != null) {
+                handleException(msg, ctx, r, ex);
+                return;
+            }
             r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
-        } catch (TrimmedException ex) {
-            r.sendResponse(ctx, msg, CorfuMsgType.ERROR_TRIMMED.msg());
-        }
+        }, executor);
     }
 
     @ServerHandler(type = CorfuMsgType.COMPACT_REQUEST)
@@ -271,8 +504,17 @@ public class LogUnitServer extends AbstractServer {
     private void rangeWrite(CorfuPayloadMsg<RangeWriteMsg> msg,
                                   ChannelHandlerContext ctx, IServerRouter r) {
         List<LogData> entries = msg.getPayload().getEntries();
-        batchWriter.bulkWrite(entries, msg.getEpoch());
-        r.sendResponse(ctx, msg, CorfuMsgType.WRITE_OK.msg());
+        if (!reserveWrites(msg, entries.size(), ctx, r)) {
+            return;
+        }
+        batchWriter.bulkWrite(entries, msg.getEpoch()).whenCompleteAsync((result, ex) -> {
+            releaseWrites(msg, entries.size());
+            if (ex != null) {
+                handleException(msg, ctx, r, ex);
+                return;
+            }
+            r.sendResponse(ctx, msg, CorfuMsgType.WRITE_OK.msg());
+        }, executor);
     }
 
     /**
@@ -281,10 +523,14 @@ public class LogUnitServer extends AbstractServer {
      * - A seal operation is inserted in the queue and then we wait to flush all operations
      *   in the queue before this operation.
      * - All operations after this operation but stamped with an older epoch will be failed.
+     *
+     * <p>This waits for the flush, as the epoch change is acknowledged once all the servers are
+     * sealed. It runs on the thread of the server changing the epoch, not on a log unit
+     * thread.</p>
      */
     @Override
     public void sealServerWithEpoch(long epoch) {
-        batchWriter.waitForSealComplete(epoch);
+        batchWriter.seal(epoch).join();
         log.info("LogUnit sealServerWithEpoch: sealed and flushed with epoch {}", epoch);
     }
 
@@ -295,7 +541,7 @@ public class LogUnitServer extends AbstractServer {
      * - The epochWaterMark is set to prevent resetting log unit multiple times during
      *   same epoch.
      * - After this the reset operation is inserted which resets and clears all data.
-     * - Finally the cache is invalidated to purge the existing entries.
+     * - Finally, once the reset completes, the cache is invalidated to purge the existing entries.
      */
     @ServerHandler(type = CorfuMsgType.RESET_LOGUNIT)
     private synchronized void resetLogUnit(CorfuPayloadMsg<Long> msg,
@@ -306,13 +552,30 @@ public class LogUnitServer extends AbstractServer {
         if (msg.getPayload() > serverContext.getLogUnitEpochWaterMark()
                 && msg.getPayload() == serverContext.getServerEpoch()) {
             serverContext.setLogUnitEpochWaterMark(msg.getPayload());
-            batchWriter.reset(msg.getPayload());
-            dataCache.invalidateAll();
-            log.info("LogUnit Server Reset.");
+            batchWriter.reset(msg.getPayload()).whenCompleteAsync((result, ex) -> {
+                if (ex != null) {
+                    handleException(msg, ctx, r, ex);
+                    return;
+                }
+                dataCache.invalidateAll();
+                log.info("LogUnit Server Reset.");
+                r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
+            }, executor);
         } else {
             log.info("LogUnit Server Reset request received but reset already done.");
+            r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
         }
-        r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
+    }
+
+    /**
+     * Get the size of an entry, as weighed by the cache.
+     *
+     * @param entry The entry.
+     * @return The size of its payload, or 1 if it has none.
+     */
+    private static int getSize(ILogData entry) {
+        byte[] data = ((LogData) entry).getData();
+        return data == null ? 1 : data.length;
     }
 
     /**
@@ -341,6 +604,10 @@ public class LogUnitServer extends AbstractServer {
     @Override
     public void shutdown() {
         super.shutdown();
+        HotPathMetrics.getDefaultMetrics()
+                .removeGauge(CACHE_HIT_RATIO_GAUGE, serverContext.getLocalEndpoint());
+        HotPathMetrics.getDefaultMetrics()
+                .removeGauge(BATCH_WRITER_QUEUE_GAUGE, serverContext.getLocalEndpoint());
         logCleaner.shutdown();
         batchWriter.close();
     }
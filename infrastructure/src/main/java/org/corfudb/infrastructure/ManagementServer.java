@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.corfudb.infrastructure.management.ClusterStateContext;
 import org.corfudb.infrastructure.management.ClusterStateContext.HeartbeatCounter;
 import org.corfudb.infrastructure.management.FailureDetector;
+import org.corfudb.infrastructure.management.IDetector;
+import org.corfudb.infrastructure.management.PhiAccrualFailureDetector;
 import org.corfudb.infrastructure.management.ReconfigurationEventHandler;
 import org.corfudb.infrastructure.orchestrator.Orchestrator;
 import org.corfudb.protocols.wireprotocol.ClusterState;
@@ -125,7 +127,9 @@ public class ManagementServer extends AbstractServer {
 
         HeartbeatCounter counter = new HeartbeatCounter();
 
-        FailureDetector failureDetector = new FailureDetector(counter, serverContext.getLocalEndpoint());
+        IDetector failureDetector = serverContext.isPhiAccrualFailureDetectorEnabled()
+                ? new PhiAccrualFailureDetector(counter, serverContext.getLocalEndpoint())
+                : new FailureDetector(counter, serverContext.getLocalEndpoint());
 
         // Creating a management agent.
         ClusterState defaultView = ClusterState.builder()
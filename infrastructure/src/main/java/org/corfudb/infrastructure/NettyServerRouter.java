@@ -135,17 +135,14 @@ public class NettyServerRouter extends ChannelInboundHandlerAdapter implements I
                         log.trace("Message routed to {}: {}", handler.getClass().getSimpleName(), msg);
                     }
 
-                    handler.getExecutor().submit(() -> {
-                        try {
-                            handler.handleMessage(m, ctx, this);
-                        } catch (Throwable t) {
-                            log.error("channelRead: Handling {} failed due to {}:{}",
-                                    m != null ? m.getMsgType() : "UNKNOWN",
-                                    t.getClass().getSimpleName(),
-                                    t.getMessage(),
-                                    t);
-                        }
-                    });
+                    // Handlers which do not block run on this I/O thread, which saves
+                    // the hop to the executor of the server.
+                    if (handler.getHandler().isInline(m.getMsgType())) {
+                        handleMessage(handler, m, ctx);
+                    } else if (!handler.submit(m, () -> handleMessage(handler, m, ctx))) {
+                        // The request was not queued, the client backs off and resends it.
+                        sendResponse(ctx, m, CorfuMsgType.ERROR_SERVER_BUSY.msg());
+                    }
                 }
             }
         } catch (Exception e) {
@@ -153,6 +150,25 @@ public class NettyServerRouter extends ChannelInboundHandlerAdapter implements I
         }
     }
 
+    /**
+     * Handle a message with the server registered for its type.
+     *
+     * @param handler The server which handles the message.
+     * @param m       The message.
+     * @param ctx     The context of the channel the message was received on.
+     */
+    private void handleMessage(AbstractServer handler, CorfuMsg m, ChannelHandlerContext ctx) {
+        try {
+            handler.handleMessage(m, ctx, this);
+        } catch (Throwable t) {
+            log.error("channelRead: Handling {} failed due to {}:{}",
+                    m != null ? m.getMsgType() : "UNKNOWN",
+                    t.getClass().getSimpleName(),
+                    t.getMessage(),
+                    t);
+        }
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.error("Error in handling inbound message, {}", cause);
@@ -0,0 +1,136 @@
+package org.corfudb.infrastructure;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import lombok.Getter;
+
+import org.corfudb.protocols.wireprotocol.ConflictFingerprints;
+import org.corfudb.runtime.view.Address;
+
+/**
+ * The conflict keys written by the latest transactions, in the order of their addresses.
+ * A read set encoded as a Bloom filter cannot be looked up key by key in the conflict key
+ * cache, so it is checked against the keys written after its snapshot instead.
+ *
+ * <p>The window keeps the last {@code capacity} keys written. The arrays grow up to the
+ * capacity, after which the oldest key is dropped for every key added.</p>
+ *
+ * <p>This class is not thread safe, the {@link SequencerServer} accesses it under its
+ * lock.</p>
+ */
+class RecentWritesWindow {
+
+    private static final int INITIAL_SIZE = 1024;
+
+    private final int capacity;
+
+    private long[] addresses;
+
+    private long[] fingerprints;
+
+    private UUID[] streams;
+
+    /**
+     * The slot the next key is written to, and the number of keys in the window.
+     */
+    private int next = 0;
+
+    private int size = 0;
+
+    /**
+     * The address the window was started at. The keys written at or before it are unknown.
+     */
+    @Getter
+    private long startTail = Address.NOT_FOUND;
+
+    /**
+     * The highest address of a key dropped from the window.
+     */
+    @Getter
+    private long evictedTail = Address.NOT_FOUND;
+
+    /**
+     * Create an empty window.
+     *
+     * @param capacity The maximum number of keys to keep.
+     */
+    RecentWritesWindow(int capacity) {
+        this.capacity = capacity;
+        final int initialSize = Math.min(capacity, INITIAL_SIZE);
+        addresses = new long[initialSize];
+        fingerprints = new long[initialSize];
+        streams = new UUID[initialSize];
+    }
+
+    /**
+     * Record a key written by a transaction. Keys are added in increasing address order.
+     *
+     * @param address     The address the key was written at.
+     * @param stream      The stream the key belongs to.
+     * @param fingerprint The fingerprint of the key.
+     */
+    void add(long address, UUID stream, long fingerprint) {
+        if (size == addresses.length && size < capacity) {
+            // Nothing was dropped yet, so the keys are in order from the first slot.
+            final int newSize = (int) Math.min((long) size * 2, capacity);
+            addresses = Arrays.copyOf(addresses, newSize);
+            fingerprints = Arrays.copyOf(fingerprints, newSize);
+            streams = Arrays.copyOf(streams, newSize);
+            // The next slot wrapped to the first one, the key goes after the last one.
+            next = size;
+        }
+        if (size == addresses.length) {
+            evictedTail = Math.max(evictedTail, addresses[next]);
+        } else {
+            size++;
+        }
+        addresses[next] = address;
+        fingerprints[next] = fingerprint;
+        streams[next] = stream;
+        next = (next + 1) % addresses.length;
+    }
+
+    /**
+     * Find the latest key written to a stream after a snapshot which a read set might
+     * contain.
+     *
+     * @param stream   The stream read.
+     * @param readSet  The keys read on the stream.
+     * @param snapshot The snapshot address of the reads.
+     * @return The slot of the conflicting key, or -1 if there is none in the window.
+     */
+    int findConflict(UUID stream, ConflictFingerprints readSet, long snapshot) {
+        for (int i = 0; i < size; i++) {
+            final int slot = (next - 1 - i + addresses.length) % addresses.length;
+            if (addresses[slot] <= snapshot) {
+                break;
+            }
+            if (streams[slot].equals(stream) && readSet.mightContain(fingerprints[slot])) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    long getAddress(int slot) {
+        return addresses[slot];
+    }
+
+    long getFingerprint(int slot) {
+        return fingerprints[slot];
+    }
+
+    /**
+     * Forget all the keys, the window then only knows the keys written after a tail.
+     *
+     * @param tail The last address whose keys are not known.
+     */
+    void reset(long tail) {
+        Arrays.fill(streams, null);
+        next = 0;
+        size = 0;
+        startTail = tail;
+        evictedTail = tail;
+    }
+}
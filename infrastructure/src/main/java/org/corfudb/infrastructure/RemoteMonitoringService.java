@@ -177,6 +177,11 @@ public class RemoteMonitoringService implements MonitoringService {
                         .setNameFormat(serverContext.getThreadPrefix() + "DetectionWorker-%d")
                         .build()
         );
+
+        // Run the detection tasks as soon as the detector suspects a node, rather than at the
+        // next monitoring interval.
+        failureDetector.setSuspicionListener(() -> detectionTasksScheduler.execute(
+                () -> LambdaUtils.runSansThrow(this::runDetectionTasks)));
     }
 
     private CorfuRuntime getCorfuRuntime() {
@@ -771,6 +776,7 @@ public class RemoteMonitoringService implements MonitoringService {
     @Override
     public void shutdown() {
         // Shutting the fault detector.
+        failureDetector.shutdown();
         detectionTasksScheduler.shutdownNow();
         failureDetectorWorker.shutdownNow();
         log.info("Fault Detection MonitoringService shutting down.");
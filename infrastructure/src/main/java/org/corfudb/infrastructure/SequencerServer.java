@@ -1,5 +1,6 @@
 package org.corfudb.infrastructure;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -10,6 +11,7 @@ import com.google.common.collect.ImmutableMap;
 import io.netty.channel.ChannelHandlerContext;
 
 import java.lang.invoke.MethodHandles;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,10 +19,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.Getter;
@@ -28,21 +33,29 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.corfudb.protocols.wireprotocol.CorfuMsg;
+import org.corfudb.protocols.wireprotocol.ConflictFingerprints;
 import org.corfudb.protocols.wireprotocol.CorfuMsgType;
 import org.corfudb.protocols.wireprotocol.CorfuPayloadMsg;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics.SequencerStatus;
+import org.corfudb.protocols.wireprotocol.SequencerStandbyUpdateMsg;
 import org.corfudb.protocols.wireprotocol.SequencerTailsRecoveryMsg;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenRequest;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TokenType;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.view.Address;
 import org.corfudb.runtime.view.Layout;
+import org.corfudb.util.CFUtils;
 import org.corfudb.util.CorfuComponent;
 import org.corfudb.util.MetricsUtils;
 import org.corfudb.util.Utils;
+import org.corfudb.util.concurrent.SingletonResource;
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LabeledMetrics;
+import org.corfudb.util.metrics.LatencyHistogram;
 
 /**
  * This server implements the sequencer functionality of Corfu.
@@ -80,6 +93,12 @@ import org.corfudb.util.Utils;
  * commits, the sequencer updates the tails of all the streams and the cache
  * of conflict parameters.
  *
+ * <p>The primary sequencer asynchronously replicates the changes to its stream tails
+ * and conflict parameters to the other (standby) sequencers of the layout, see
+ * {@link SequencerStandbyState}. A standby is promoted with only the tails of the
+ * streams written since its last update, and keeps the conflict window of the
+ * previous primary, so that in-flight transactions do not need to abort.
+ *
  * <p>Created by mwei on 12/8/15.
  */
 @Slf4j
@@ -108,10 +127,9 @@ public class SequencerServer extends AbstractServer {
     /**
      * - {@link SequencerServer::streamTailToGlobalTailMap}:
      * per streams map to last issued global-log position. used for
-     * backpointers.
+     * backpointers. The streams whose tail is below the trim mark are evicted.
      */
-    private final ConcurrentHashMap<UUID, Long> streamTailToGlobalTailMap = new
-            ConcurrentHashMap<>();
+    private final StreamTailMap streamTailToGlobalTailMap = new StreamTailMap();
 
     /**
      * TX conflict-resolution information:
@@ -129,13 +147,103 @@ public class SequencerServer extends AbstractServer {
      * which were evicted from the cache by the time this server is elected
      * the primary sequencer. This means that any snapshot timestamp below this
      * actual threshold would abort due to NEW_SEQUENCER cause.
+     *
+     * <p>The cache is keyed by the stream and the fingerprint of each conflict key, see
+     * {@link #getConflictKey}.</p>
+     */
+    private final Cache<Long, Long> conflictToGlobalTailCache;
+
+    /**
+     * The conflict keys of the latest transactions, which the read sets encoded as Bloom
+     * filters are checked against.
      */
-    private final Cache<String, Long> conflictToGlobalTailCache;
+    private final RecentWritesWindow recentWrites;
+
+    private final Counter bloomFilterChecks = ServerContext.getMetrics()
+            .counter(CorfuComponent.INFRA_SEQUENCER + "bloom-filter-checks");
+
+    private final Counter bloomFilterConflicts = ServerContext.getMetrics()
+            .counter(CorfuComponent.INFRA_SEQUENCER + "bloom-filter-conflicts");
 
     private long maxConflictWildcard = Address.NOT_FOUND;
 
     private long maxConflictNewSequencer = Address.NOT_FOUND;
 
+    /**
+     * Per stream, the address below which the conflict keys of the stream are not known.
+     * Streams which were written between the last update replicated to a standby and its
+     * promotion have no conflict keys for those writes, so snapshots below their tail
+     * abort on any conflict key of the stream.
+     */
+    private final Map<UUID, Long> conflictStreamWildcards = new HashMap<>();
+
+    /**
+     * The oldest epoch of the snapshot timestamps this sequencer has the conflict
+     * information for. A reset sequencer can only resolve snapshots taken in its own
+     * epoch, while a sequencer which kept or was promoted with the state of the previous
+     * primary can resolve snapshots taken before the epoch changed.
+     */
+    private long conflictStateEpoch = Layout.INVALID_EPOCH;
+
+    /**
+     * The multiplier mixing the stream ID into the conflict keys.
+     */
+    private static final long CONFLICT_KEY_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * How often the primary sends its state changes to the standby sequencers.
+     */
+    private static final Duration STANDBY_UPDATE_INTERVAL = Duration.ofMillis(50);
+
+    /**
+     * The maximum number of clients whose token latency is recorded separately.
+     */
+    private static final int MAX_CLIENT_LABELS = 32;
+
+    private static final String STREAM_TAILS_GAUGE = "corfu_sequencer_stream_tails";
+
+    private static final String STREAM_TAILS_BYTES_GAUGE = "corfu_sequencer_stream_tails_bytes";
+
+    /**
+     * The time to serve the token requests of each client.
+     */
+    private static final LabeledMetrics<UUID, LatencyHistogram> clientTokenLatency =
+            HotPathMetrics.getDefaultMetrics().histograms("corfu_sequencer_token_seconds",
+                    "Time to serve the token requests of each client.", "client",
+                    MAX_CLIENT_LABELS);
+
+    /**
+     * The state replicated from the primary, if this sequencer is a standby.
+     */
+    private final SequencerStandbyState standbyState;
+
+    /**
+     * The stream tails and conflict keys changed since the last update sent to the
+     * standby sequencers, and the global tail at that update.
+     */
+    private Map<UUID, Long> standbyStreamTailsDelta = new HashMap<>();
+
+    private Map<Long, Long> standbyConflictKeysDelta = new HashMap<>();
+
+    private long standbyDeltaBaseTail = Address.NON_ADDRESS;
+
+    /**
+     * True if this sequencer is the primary and the layout has standby sequencers.
+     */
+    private volatile boolean replicatingToStandbys = false;
+
+    /**
+     * The standby sequencers which rejected an update, and need the whole state.
+     */
+    private final Set<String> standbysRequiringFullSync = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService standbyReplicator;
+
+    private boolean standbyUpdatesStarted = false;
+
+    private final SingletonResource<CorfuRuntime> standbyRuntime =
+            SingletonResource.withInitial(this::getNewStandbyRuntime);
+
     /**
      * A map to cache the name of timers to avoid creating timer names on each call.
      */
@@ -156,7 +264,9 @@ public class SequencerServer extends AbstractServer {
     @Override
     public boolean isServerReadyToHandleMsg(CorfuMsg msg) {
         if ((sequencerEpoch != serverContext.getServerEpoch())
-                && (!msg.getMsgType().equals(CorfuMsgType.BOOTSTRAP_SEQUENCER))) {
+                && (!msg.getMsgType().equals(CorfuMsgType.BOOTSTRAP_SEQUENCER))
+                && (!msg.getMsgType().equals(CorfuMsgType.SEQUENCER_STANDBY_UPDATE))
+                && (!msg.getMsgType().equals(CorfuMsgType.SEQUENCER_STANDBY_TAIL_REQUEST))) {
             log.warn("Rejecting msg at sequencer : sequencerStateEpoch:{}, serverEpoch:{}, "
                     + "msg:{}", sequencerEpoch, serverContext.getServerEpoch(), msg);
             return false;
@@ -166,11 +276,22 @@ public class SequencerServer extends AbstractServer {
 
     private final ExecutorService executor;
 
+    /**
+     * Schedules the requests handled on {@link #executor} fairly between the clients, and
+     * bounds the requests waiting for each client.
+     */
+    private final FairRequestScheduler scheduler;
+
     @Override
     public ExecutorService getExecutor() {
         return executor;
     }
 
+    @Override
+    public boolean submit(CorfuMsg msg, Runnable task) {
+        return scheduler.submit(msg.getClientID(), 1, task);
+    }
+
     /**
      * Returns a new SequencerServer.
      * @param serverContext context object providing parameters and objects
@@ -180,6 +301,8 @@ public class SequencerServer extends AbstractServer {
         this.opts = serverContext.getServerConfig();
         this.executor = Executors.newFixedThreadPool(serverContext.getSequencerThreadCount(),
                 new ServerThreadFactory("sequencer-", new ServerThreadFactory.ExceptionHandler()));
+        this.scheduler = new FairRequestScheduler("corfu_sequencer", executor,
+                serverContext.getSequencerThreadCount(), serverContext.getMaxClientQueueDepth());
 
         long initialToken = Utils.parseLong(opts.get("--initial-token"));
         if (Address.nonAddress(initialToken)) {
@@ -195,7 +318,7 @@ public class SequencerServer extends AbstractServer {
         }
         conflictToGlobalTailCache = Caffeine.newBuilder()
                 .maximumSize(cacheSize)
-                .removalListener((String k, Long v, RemovalCause cause) -> {
+                .removalListener((Long k, Long v, RemovalCause cause) -> {
                     if (!RemovalCause.REPLACED.equals(cause)) {
                          log.trace("Updating maxConflictWildcard. Old value = '{}', new value='{}'"
                                         + " conflictParam = '{}'. Removal cause = '{}'",
@@ -205,8 +328,42 @@ public class SequencerServer extends AbstractServer {
                 })
                 .recordStats()
                 .build();
+        standbyState = new SequencerStandbyState(cacheSize);
+        recentWrites = new RecentWritesWindow((int) Math.min(cacheSize, Integer.MAX_VALUE));
 
         setUpTimerNameCache();
+        HotPathMetrics.getDefaultMetrics().gauge(STREAM_TAILS_GAUGE,
+                "Streams whose tail is kept by the sequencer.",
+                "node", serverContext.getLocalEndpoint(), streamTailToGlobalTailMap::getSize);
+        HotPathMetrics.getDefaultMetrics().gauge(STREAM_TAILS_BYTES_GAUGE,
+                "Memory taken by the stream tails of the sequencer.",
+                "node", serverContext.getLocalEndpoint(),
+                streamTailToGlobalTailMap::getMemoryFootprint);
+
+        standbyReplicator = Executors.newSingleThreadScheduledExecutor(
+                new ServerThreadFactory("sequencer-standby-",
+                        new ServerThreadFactory.ExceptionHandler()));
+    }
+
+    /**
+     * Start sending updates to the standby sequencers, once this sequencer is the primary
+     * of a layout which has standby sequencers.
+     */
+    private void startStandbyUpdates() {
+        Layout layout = serverContext.getCurrentLayout();
+        if (!standbyUpdatesStarted && layout != null && layout.getSequencers().size() > 1) {
+            standbyUpdatesStarted = true;
+            standbyReplicator.scheduleWithFixedDelay(this::updateStandbys,
+                    STANDBY_UPDATE_INTERVAL.toMillis(), STANDBY_UPDATE_INTERVAL.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get a runtime to send the updates to the standby sequencers with.
+     */
+    private CorfuRuntime getNewStandbyRuntime() {
+        return CorfuRuntime.fromParameters(serverContext.getDefaultRuntimeParameters());
     }
 
     /**
@@ -221,14 +378,16 @@ public class SequencerServer extends AbstractServer {
     }
 
     /**
-    * Get the conflict hash code for a stream ID and conflict param.
+    * Get the conflict key of a conflict param on a stream.
     *
     * @param streamId      The stream ID.
-    * @param conflictParam The conflict parameter.
-    * @return A conflict hash code.
+    * @param fingerprint   The fingerprint of the conflict parameter.
+    * @return A conflict key.
     */
-    private String getConflictHashCode(UUID streamId, byte[] conflictParam) {
-        return streamId.toString() + Utils.bytesToHex(conflictParam);
+    private static long getConflictKey(UUID streamId, long fingerprint) {
+        final long streamHash = streamId.getMostSignificantBits() * CONFLICT_KEY_MULTIPLIER
+                ^ streamId.getLeastSignificantBits();
+        return streamHash * CONFLICT_KEY_MULTIPLIER ^ fingerprint;
     }
 
     /**
@@ -248,8 +407,9 @@ public class SequencerServer extends AbstractServer {
 
         // A transaction can start with a timestamp issued from a previous
         // epoch, so we need to reject transactions that have a snapshot
-        // timestamp with a different epoch than the this sequencer's epoch.
-        if (txSnapshotTimestamp.getEpoch() != sequencerEpoch) {
+        // timestamp from an epoch this sequencer's state does not cover.
+        if (txSnapshotTimestamp.getEpoch() < conflictStateEpoch
+                || txSnapshotTimestamp.getEpoch() > sequencerEpoch) {
             log.debug("ABORT[{}] snapshot-ts[{}] current epoch[{}]", txInfo,
                     txSnapshotTimestamp, sequencerEpoch);
             return new TxResolutionResponse(TokenType.TX_ABORT_NEWSEQ);
@@ -261,26 +421,45 @@ public class SequencerServer extends AbstractServer {
             return new TxResolutionResponse(TokenType.TX_ABORT_SEQ_TRIM);
         }
 
-        for (Map.Entry<UUID, Set<byte[]>> conflictStream : txInfo.getConflictSet().entrySet()) {
+        for (Map.Entry<UUID, ConflictFingerprints> conflictStream
+                : txInfo.getConflictSet().entrySet()) {
 
             // if conflict-parameters are present, check for conflict based on conflict-parameter
             // updates
-            Set<byte[]> conflictParamSet = conflictStream.getValue();
-            if (conflictParamSet != null && conflictParamSet.size() > 0) {
+            ConflictFingerprints conflictParamSet = conflictStream.getValue();
+            if (conflictParamSet != null && !conflictParamSet.isEmpty()) {
+                // The conflict keys of this stream written below its wildcard are not
+                // known, so any conflict key of the stream might have been updated.
+                Long streamWildcard = conflictStreamWildcards.get(conflictStream.getKey());
+                if (streamWildcard != null && txSnapshotTimestamp.getSequence() < streamWildcard) {
+                    log.debug("ABORT[{}] snapshot-ts[{}] stream WILDCARD New Sequencer ts=[{}]",
+                            txInfo, txSnapshotTimestamp, streamWildcard);
+                    return new TxResolutionResponse(TokenType.TX_ABORT_NEWSEQ);
+                }
+
+                if (conflictParamSet.isBloomFilter()) {
+                    TxResolutionResponse response = checkBloomFilterConflicts(txInfo,
+                            conflictStream.getKey(), conflictParamSet);
+                    if (response != null) {
+                        return response;
+                    }
+                    continue;
+                }
+
                 // for each key pair, check for conflict;
                 // if not present, check against the wildcard
-                for (byte[] conflictParam : conflictParamSet) {
-
-                    String conflictKeyHash = getConflictHashCode(conflictStream.getKey(),
-                            conflictParam);
-                    Long keyAddress = conflictToGlobalTailCache.getIfPresent(conflictKeyHash);
+                for (int i = 0; i < conflictParamSet.getSize(); i++) {
+                    final long conflictParam = conflictParamSet.get(i);
+                    Long keyAddress = conflictToGlobalTailCache.getIfPresent(
+                            getConflictKey(conflictStream.getKey(), conflictParam));
 
                     log.trace("Commit-ck[{}] conflict-key[{}](ts={})",txInfo, conflictParam, keyAddress);
 
                     if (keyAddress != null && keyAddress > txSnapshotTimestamp.getSequence()) {
                         log.debug("ABORT[{}] conflict-key[{}](ts={})", txInfo, conflictParam, keyAddress);
                         return new TxResolutionResponse(TokenType.TX_ABORT_CONFLICT, keyAddress,
-                                conflictParam, conflictStream.getKey());
+                                ConflictFingerprints.toConflictKey(conflictParam),
+                                conflictStream.getKey());
                     }
 
                     // The maxConflictNewSequencer is modified whenever a server is elected
@@ -305,8 +484,10 @@ public class SequencerServer extends AbstractServer {
                 }
             } else { // otherwise, check for conflict based on streams updates
                 UUID streamId = conflictStream.getKey();
-                Long sequence = streamTailToGlobalTailMap.get(streamId);
-                if (sequence != null && sequence > txSnapshotTimestamp.getSequence()) {
+                // The streams evicted below the trim mark are not in the map, but the
+                // snapshots below the trim mark were aborted above.
+                long sequence = streamTailToGlobalTailMap.get(streamId);
+                if (sequence > txSnapshotTimestamp.getSequence()) {
                     log.debug("ABORT[{}] conflict-stream[{}](ts={})",
                             txInfo, Utils.toReadableId(streamId), sequence);
                     return new TxResolutionResponse(TokenType.TX_ABORT_CONFLICT);
@@ -317,6 +498,50 @@ public class SequencerServer extends AbstractServer {
         return new TxResolutionResponse(TokenType.NORMAL);
     }
 
+    /**
+     * Check a read set encoded as a Bloom filter against the keys written to its stream
+     * after the snapshot of the transaction, which are in the window of recent writes.
+     *
+     * @param txInfo   The transaction.
+     * @param streamId The stream read.
+     * @param readSet  The keys read on the stream.
+     * @return An abort response, or null if the reads do not conflict.
+     */
+    private TxResolutionResponse checkBloomFilterConflicts(TxResolutionInfo txInfo,
+                                                           UUID streamId,
+                                                           ConflictFingerprints readSet) {
+        final long snapshot = txInfo.getSnapshotTimestamp().getSequence();
+        final long streamTail = streamTailToGlobalTailMap.get(streamId);
+        if (streamTail <= snapshot) {
+            // Not written since the snapshot.
+            return null;
+        }
+
+        if (snapshot < recentWrites.getStartTail()) {
+            log.debug("ABORT[{}] snapshot-ts[{}] recent writes New Sequencer ts=[{}]",
+                    txInfo, snapshot, recentWrites.getStartTail());
+            return new TxResolutionResponse(TokenType.TX_ABORT_NEWSEQ);
+        }
+        if (snapshot < recentWrites.getEvictedTail()) {
+            log.debug("ABORT[{}] snapshot-ts[{}] recent writes WILDCARD ts=[{}]",
+                    txInfo, snapshot, recentWrites.getEvictedTail());
+            return new TxResolutionResponse(TokenType.TX_ABORT_SEQ_OVERFLOW);
+        }
+
+        bloomFilterChecks.inc();
+        final int slot = recentWrites.findConflict(streamId, readSet, snapshot);
+        if (slot < 0) {
+            return null;
+        }
+        bloomFilterConflicts.inc();
+        final long keyAddress = recentWrites.getAddress(slot);
+        final long conflictParam = recentWrites.getFingerprint(slot);
+        log.debug("ABORT[{}] bloom-filter conflict-key[{}](ts={})", txInfo, conflictParam,
+                keyAddress);
+        return new TxResolutionResponse(TokenType.TX_ABORT_CONFLICT, keyAddress,
+                ConflictFingerprints.toConflictKey(conflictParam), streamId);
+    }
+
     /**
      * Service a query request.
      *
@@ -339,7 +564,7 @@ public class SequencerServer extends AbstractServer {
             streamTails = Collections.emptyList();
         } else if (req.getStreams().size() == 1) {
             // single stream query
-            token = new Token(sequencerEpoch, streamTailToGlobalTailMap.getOrDefault(streams.get(0), Address.NON_EXIST));
+            token = new Token(sequencerEpoch, streamTailToGlobalTailMap.get(streams.get(0)));
             streamTails = Collections.emptyList();
         } else {
             // multiple stream query, the token is populated with the global tail and the tail queries are stored in
@@ -347,7 +572,7 @@ public class SequencerServer extends AbstractServer {
             token = new Token(sequencerEpoch, globalLogTail.get() - 1);
             streamTails = new ArrayList<>(streams.size());
             for (int x = 0; x < streams.size(); x++) {
-                streamTails.add(streamTailToGlobalTailMap.getOrDefault(streams.get(x), Address.NON_EXIST));
+                streamTails.add(streamTailToGlobalTailMap.get(streams.get(x)));
             }
         }
 
@@ -368,13 +593,17 @@ public class SequencerServer extends AbstractServer {
         }
 
         long entries = 0;
-        for (Map.Entry<String, Long> entry : conflictToGlobalTailCache.asMap().entrySet()) {
+        for (Map.Entry<Long, Long> entry : conflictToGlobalTailCache.asMap().entrySet()) {
             if (entry.getValue() < trimMark) {
                 conflictToGlobalTailCache.invalidate(entry.getKey());
                 entries++;
             }
         }
-        log.info("trimCache: Evicted {} entries", entries);
+        conflictStreamWildcards.values().removeIf(wildcard -> wildcard < trimMark);
+        final int streams = streamTailToGlobalTailMap.evictBelow(trimMark);
+        log.info("trimCache: Evicted {} entries and {} streams, {} streams left in {} bytes",
+                entries, streams, streamTailToGlobalTailMap.getSize(),
+                streamTailToGlobalTailMap.getMemoryFootprint());
         r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
     }
 
@@ -414,6 +643,19 @@ public class SequencerServer extends AbstractServer {
             return;
         }
 
+        // A promotion is only possible if the replicated state is still the one the
+        // stream tails were caught up from.
+        final long standbyTail = msg.getPayload().getStandbyTail();
+        if (Address.isAddress(standbyTail)) {
+            if (!standbyState.isComplete() || standbyState.getGlobalTail() != standbyTail) {
+                log.warn("Cannot promote standby sequencer, replicated tail {} does not match "
+                        + "the promotion tail {}", standbyState.getGlobalTail(), standbyTail);
+                r.sendResponse(ctx, msg, CorfuMsgType.NACK.msg());
+                return;
+            }
+            promoteStandby(initialToken, streamTails);
+        }
+
         // If the sequencer is reset, then we can't know when was
         // the latest update to any stream or conflict parameter.
         // hence, we will accept any bootstrap message with a higher epoch and forget any existing
@@ -421,29 +663,177 @@ public class SequencerServer extends AbstractServer {
         //
         // Note, this is correct, but conservative (may lead to false abort).
         // It is necessary because we reset the sequencer.
-        if (!bootstrapWithoutTailsUpdate) {
+        if (!bootstrapWithoutTailsUpdate && !Address.isAddress(standbyTail)) {
             // Evict all entries from the cache. This eviction triggers the callback modifying the maxConflictWildcard.
             conflictToGlobalTailCache.cleanUp();
 
             globalLogTail.set(initialToken);
             maxConflictWildcard = initialToken - 1;
             maxConflictNewSequencer = maxConflictWildcard;
+            conflictStreamWildcards.clear();
+            conflictStateEpoch = bootstrapMsgEpoch;
+            recentWrites.reset(initialToken - 1);
 
             // Clear the existing map as it could have been populated by an earlier reset.
             streamTailToGlobalTailMap.clear();
             streamTailToGlobalTailMap.putAll(streamTails);
+            streamTailToGlobalTailMap.evictBelow(trimMark);
         }
+        standbyState.clear();
+        standbyStreamTailsDelta = new HashMap<>();
+        standbyConflictKeysDelta = new HashMap<>();
+        standbyDeltaBaseTail = globalLogTail.get();
+        replicatingToStandbys = false;
+        startStandbyUpdates();
 
         // Mark the sequencer as ready after the tails have been populated.
         sequencerEpoch = bootstrapMsgEpoch;
         serverContext.setSequencerEpoch(bootstrapMsgEpoch);
 
-        log.info("Sequencer reset with token = {}, size {} streamTailToGlobalTailMap = {},"
-                        + " sequencerEpoch = {}",
-                globalLogTail.get(), streamTailToGlobalTailMap.size(), streamTailToGlobalTailMap, sequencerEpoch);
+        log.info("Sequencer reset with token = {}, {} stream tails in {} bytes, "
+                        + "sequencerEpoch = {}",
+                globalLogTail.get(), streamTailToGlobalTailMap.getSize(),
+                streamTailToGlobalTailMap.getMemoryFootprint(), sequencerEpoch);
         r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
     }
 
+    /**
+     * Take over the state replicated from the previous primary.
+     *
+     * @param initialToken The token to start distributing from, after the log tail.
+     * @param streamTails  The tails of the streams written after the replicated state.
+     */
+    private void promoteStandby(long initialToken, Map<UUID, Long> streamTails) {
+        streamTailToGlobalTailMap.clear();
+        streamTailToGlobalTailMap.putAll(standbyState.getStreamTails());
+        streamTails.forEach(streamTailToGlobalTailMap::putMax);
+
+        // The conflict keys of the transactions written after the replicated state are
+        // not known, only the streams they were written to.
+        conflictToGlobalTailCache.invalidateAll();
+        conflictToGlobalTailCache.putAll(standbyState.getConflictKeys().asMap());
+        conflictStreamWildcards.clear();
+        conflictStreamWildcards.putAll(standbyState.getConflictStreamWildcards());
+        streamTails.forEach((stream, tail) -> conflictStreamWildcards.merge(stream, tail, Math::max));
+
+        // Tokens issued by the previous primary are never reissued, even if not written.
+        globalLogTail.set(Math.max(initialToken, standbyState.getGlobalTail()));
+        trimMark = Math.max(trimMark, standbyState.getTrimMark());
+        streamTailToGlobalTailMap.evictBelow(trimMark);
+        maxConflictWildcard = standbyState.getMaxConflictWildcard();
+        maxConflictNewSequencer = maxConflictWildcard;
+        conflictStateEpoch = standbyState.getConflictStateEpoch();
+        // The standby does not replicate the recent writes.
+        recentWrites.reset(globalLogTail.get() - 1);
+
+        log.info("promoteStandby: Promoted with replicated tail {}, {} streams caught up, "
+                        + "token = {}", standbyState.getGlobalTail(), streamTails.size(),
+                globalLogTail.get());
+    }
+
+    /**
+     * Service an update of the state replicated from the primary sequencer.
+     */
+    @ServerHandler(type = CorfuMsgType.SEQUENCER_STANDBY_UPDATE)
+    public synchronized void handleStandbyUpdate(CorfuPayloadMsg<SequencerStandbyUpdateMsg> msg,
+                                                 ChannelHandlerContext ctx, IServerRouter r) {
+        // The primary does not replicate anyone's state.
+        if (sequencerEpoch == serverContext.getServerEpoch()
+                || !standbyState.apply(msg.getPayload())) {
+            r.sendResponse(ctx, msg, CorfuMsgType.NACK.msg());
+            return;
+        }
+        r.sendResponse(ctx, msg, CorfuMsgType.ACK.msg());
+    }
+
+    /**
+     * Service a request for the global tail of the state replicated from the primary.
+     */
+    @ServerHandler(type = CorfuMsgType.SEQUENCER_STANDBY_TAIL_REQUEST)
+    public synchronized void handleStandbyTailRequest(CorfuMsg msg, ChannelHandlerContext ctx,
+                                                      IServerRouter r) {
+        r.sendResponse(ctx, msg, CorfuMsgType.SEQUENCER_STANDBY_TAIL_RESPONSE
+                .payloadMsg(standbyState.getGlobalTail()));
+    }
+
+    /**
+     * Send the state changes since the last update to the standby sequencers of the
+     * layout, if this sequencer is the primary. Standbys which could not apply the
+     * last update are sent the whole state instead.
+     */
+    private void updateStandbys() {
+        try {
+            final Layout layout = serverContext.getCurrentLayout();
+            final List<String> standbys;
+            final SequencerStandbyUpdateMsg delta;
+            SequencerStandbyUpdateMsg fullSync = null;
+            synchronized (this) {
+                boolean primary = layout != null
+                        && sequencerEpoch == serverContext.getServerEpoch()
+                        && sequencerEpoch == layout.getEpoch();
+                standbys = primary
+                        ? layout.getSequencers().subList(1, layout.getSequencers().size())
+                        : Collections.emptyList();
+                if (standbys.isEmpty()) {
+                    replicatingToStandbys = false;
+                    standbysRequiringFullSync.clear();
+                    return;
+                }
+                // The changes made before the replication started are not in the delta.
+                if (!replicatingToStandbys) {
+                    replicatingToStandbys = true;
+                    standbysRequiringFullSync.addAll(standbys);
+                }
+
+                final long tail = globalLogTail.get();
+                if (tail == standbyDeltaBaseTail && standbyStreamTailsDelta.isEmpty()
+                        && standbyConflictKeysDelta.isEmpty()
+                        && standbysRequiringFullSync.isEmpty()) {
+                    return;
+                }
+                delta = new SequencerStandbyUpdateMsg(sequencerEpoch, conflictStateEpoch,
+                        standbyDeltaBaseTail, tail, trimMark, maxConflictWildcard,
+                        standbyStreamTailsDelta, standbyConflictKeysDelta,
+                        Collections.emptyMap(), false);
+                if (!standbysRequiringFullSync.isEmpty()) {
+                    fullSync = new SequencerStandbyUpdateMsg(sequencerEpoch, conflictStateEpoch,
+                            Address.NON_ADDRESS, tail, trimMark, maxConflictWildcard,
+                            streamTailToGlobalTailMap.toMap(),
+                            new HashMap<>(conflictToGlobalTailCache.asMap()),
+                            new HashMap<>(conflictStreamWildcards), true);
+                }
+                standbyStreamTailsDelta = new HashMap<>();
+                standbyConflictKeysDelta = new HashMap<>();
+                standbyDeltaBaseTail = tail;
+            }
+
+            final Map<String, CompletableFuture<Boolean>> responses = new HashMap<>();
+            for (String standby : standbys) {
+                SequencerStandbyUpdateMsg update = standbysRequiringFullSync.contains(standby)
+                        ? fullSync : delta;
+                responses.put(standby, standbyRuntime.get().getLayoutView()
+                        .getRuntimeLayout(layout).getSequencerClient(standby)
+                        .updateStandby(update));
+            }
+            responses.forEach((standby, response) -> {
+                boolean applied;
+                try {
+                    applied = CFUtils.getUninterruptibly(response);
+                } catch (RuntimeException e) {
+                    log.debug("updateStandbys: Failed to update {}, {}", standby, e.toString());
+                    applied = false;
+                }
+                if (applied) {
+                    standbysRequiringFullSync.remove(standby);
+                } else {
+                    standbysRequiringFullSync.add(standby);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("updateStandbys: Failed to update the standby sequencers", e);
+        }
+    }
+
     /**
      * Service an incoming metrics request with the metrics response.
      */
@@ -457,7 +847,8 @@ public class SequencerServer extends AbstractServer {
     }
 
     /**
-     * Service an incoming token request.
+     * Service an incoming token request. Token requests take the server lock, which the
+     * bootstrap and standby handlers hold for a while, so they are not handled inline.
      */
     @ServerHandler(type = CorfuMsgType.TOKEN_REQ)
     public synchronized void tokenRequest(CorfuPayloadMsg<TokenRequest> msg,
@@ -465,26 +856,33 @@ public class SequencerServer extends AbstractServer {
         TokenRequest req = msg.getPayload();
         final Timer timer = getTimer(req.getReqType());
 
+        final boolean recordLatency = HotPathMetrics.isEnabled();
+        final long start = recordLatency ? System.nanoTime() : 0L;
+
         // dispatch request handler according to request type while collecting the timer metrics
         try (Timer.Context context = MetricsUtils.getConditionalContext(timer)) {
             switch (req.getReqType()) {
                 case TokenRequest.TK_QUERY:
                     handleTokenQuery(msg, ctx, r);
-                    return;
+                    break;
 
                 case TokenRequest.TK_RAW:
                     handleRawToken(msg, ctx, r);
-                    return;
+                    break;
 
                 case TokenRequest.TK_TX:
                     handleTxToken(msg, ctx, r);
-                    return;
+                    break;
 
                 default:
                     handleAllocation(msg, ctx, r);
-                    return;
+                    break;
             }
         }
+
+        if (recordLatency && msg.getClientID() != null) {
+            clientTokenLatency.get(msg.getClientID()).recordSince(start);
+        }
     }
 
     /**
@@ -582,31 +980,32 @@ public class SequencerServer extends AbstractServer {
         for (UUID id : req.getStreams()) {
 
             // step 1. and 2. (comment above)
-            streamTailToGlobalTailMap.compute(id, (k, v) -> {
-                if (v == null) {
-                    backPointerMap.put(k, Address.NON_EXIST);
-                    return newTail - 1;
-                } else {
-                    backPointerMap.put(k, v);
-                    return newTail - 1;
-                }
-            });
+            backPointerMap.put(id, streamTailToGlobalTailMap.put(id, newTail - 1));
         }
 
         // update the cache of conflict parameters
         if (req.getTxnResolution() != null) {
-            req.getTxnResolution().getWriteConflictParams().entrySet()
-                    .stream()
-                    // for each entry
-                    .forEach(txEntry ->
-                            // and for each conflict param
-                            txEntry.getValue().stream().forEach(conflictParam ->
-                                    // insert an entry with the new timestamp
-                                    // using the hash code based on the param
-                                    // and the stream id.
-                                    conflictToGlobalTailCache.put(
-                                            getConflictHashCode(txEntry
-                                                    .getKey(), conflictParam), newTail - 1)));
+            // for each stream, and for each conflict param
+            req.getTxnResolution().getWriteConflictParams().forEach((stream, conflictParams) -> {
+                for (int i = 0; i < conflictParams.getSize(); i++) {
+                    // insert an entry with the new timestamp
+                    // using the key based on the param
+                    // and the stream id.
+                    final long conflictParam = conflictParams.get(i);
+                    final long conflictKey = getConflictKey(stream, conflictParam);
+                    conflictToGlobalTailCache.put(conflictKey, newTail - 1);
+                    recentWrites.add(newTail - 1, stream, conflictParam);
+                    if (replicatingToStandbys) {
+                        standbyConflictKeysDelta.put(conflictKey, newTail - 1);
+                    }
+                }
+            });
+        }
+
+        if (replicatingToStandbys) {
+            for (UUID id : req.getStreams()) {
+                standbyStreamTailsDelta.put(id, newTail - 1);
+            }
         }
 
         log.trace("token {} backpointers {}",
@@ -621,11 +1020,17 @@ public class SequencerServer extends AbstractServer {
     @Override
     public void shutdown() {
         super.shutdown();
+        HotPathMetrics.getDefaultMetrics()
+                .removeGauge(STREAM_TAILS_GAUGE, serverContext.getLocalEndpoint());
+        HotPathMetrics.getDefaultMetrics()
+                .removeGauge(STREAM_TAILS_BYTES_GAUGE, serverContext.getLocalEndpoint());
         executor.shutdownNow();
+        standbyReplicator.shutdownNow();
+        standbyRuntime.cleanup(CorfuRuntime::shutdown);
     }
 
     @VisibleForTesting
-    public Cache<String, Long> getConflictToGlobalTailCache() {
+    public Cache<Long, Long> getConflictToGlobalTailCache() {
         return conflictToGlobalTailCache;
     }
 }
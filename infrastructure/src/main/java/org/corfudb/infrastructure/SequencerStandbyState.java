@@ -0,0 +1,134 @@
+package org.corfudb.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.wireprotocol.SequencerStandbyUpdateMsg;
+import org.corfudb.runtime.view.Address;
+import org.corfudb.runtime.view.Layout;
+
+/**
+ * The state a standby sequencer replicates from the primary sequencer, so that it can
+ * be promoted without rebuilding the stream tails from the log units and without
+ * forgetting the conflict keys of the in-flight transactions.
+ *
+ * <p>The state is only complete if every update since the last full sync was applied,
+ * in order. An update which does not follow the previous one is rejected, and the
+ * state is invalid until the primary sends a full sync.</p>
+ *
+ * <p>This class is not thread safe, the {@link SequencerServer} accesses it under its
+ * lock.</p>
+ */
+@Slf4j
+class SequencerStandbyState {
+
+    /**
+     * The epoch of the primary the state is replicated from.
+     */
+    @Getter
+    private long sequencerEpoch = Layout.INVALID_EPOCH;
+
+    @Getter
+    private long conflictStateEpoch = Layout.INVALID_EPOCH;
+
+    /**
+     * The global tail of the primary at the last applied update, or
+     * {@link Address#NON_ADDRESS} if the state is not complete.
+     */
+    @Getter
+    private long globalTail = Address.NON_ADDRESS;
+
+    @Getter
+    private long trimMark = Address.NON_ADDRESS;
+
+    @Getter
+    private long maxConflictWildcard = Address.NOT_FOUND;
+
+    @Getter
+    private final Map<UUID, Long> streamTails = new HashMap<>();
+
+    @Getter
+    private final Map<UUID, Long> conflictStreamWildcards = new HashMap<>();
+
+    @Getter
+    private final Cache<Long, Long> conflictKeys;
+
+    /**
+     * Create an empty standby state.
+     *
+     * @param cacheSize The maximum number of conflict keys to keep, as for the primary.
+     */
+    SequencerStandbyState(long cacheSize) {
+        conflictKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .removalListener((Long k, Long v, RemovalCause cause) -> {
+                    if (!RemovalCause.REPLACED.equals(cause) && !RemovalCause.EXPLICIT.equals(cause)) {
+                        maxConflictWildcard = Math.max(v, maxConflictWildcard);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Whether the state is complete, and the standby can be promoted.
+     */
+    boolean isComplete() {
+        return globalTail != Address.NON_ADDRESS;
+    }
+
+    /**
+     * Apply an update from the primary.
+     *
+     * @param update The update.
+     * @return False if the update does not follow the last applied update, in which case
+     *         the state is invalid until the next full sync.
+     */
+    boolean apply(SequencerStandbyUpdateMsg update) {
+        if (update.getFullSync()) {
+            clear();
+            streamTails.putAll(update.getStreamTails());
+            conflictStreamWildcards.putAll(update.getConflictStreamWildcards());
+        } else if (!isComplete() || update.getSequencerEpoch() != sequencerEpoch
+                || update.getBaseTail() != globalTail) {
+            log.debug("apply: Update [epoch {}, base tail {}] does not follow state "
+                            + "[epoch {}, tail {}], requesting full sync",
+                    update.getSequencerEpoch(), update.getBaseTail(), sequencerEpoch, globalTail);
+            clear();
+            return false;
+        } else {
+            update.getStreamTails().forEach((stream, tail) -> streamTails.merge(stream, tail, Math::max));
+            update.getConflictStreamWildcards().forEach((stream, tail) ->
+                    conflictStreamWildcards.merge(stream, tail, Math::max));
+        }
+
+        conflictKeys.putAll(update.getConflictKeys());
+        sequencerEpoch = update.getSequencerEpoch();
+        conflictStateEpoch = update.getConflictStateEpoch();
+        globalTail = update.getGlobalTail();
+        trimMark = Math.max(trimMark, update.getTrimMark());
+        maxConflictWildcard = Math.max(maxConflictWildcard, update.getMaxConflictWildcard());
+        return true;
+    }
+
+    /**
+     * Forget the replicated state.
+     */
+    void clear() {
+        sequencerEpoch = Layout.INVALID_EPOCH;
+        conflictStateEpoch = Layout.INVALID_EPOCH;
+        globalTail = Address.NON_ADDRESS;
+        trimMark = Address.NON_ADDRESS;
+        maxConflictWildcard = Address.NOT_FOUND;
+        streamTails.clear();
+        conflictStreamWildcards.clear();
+        conflictKeys.invalidateAll();
+    }
+}
@@ -6,6 +6,8 @@ import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SelectStrategy;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -93,6 +95,12 @@ public class ServerContext implements AutoCloseable {
     public static final Duration SMALL_INTERVAL = Duration.ofMillis(60_000);
     public static final Duration SHUTDOWN_TIMER = Duration.ofSeconds(5);
 
+    /**
+     * The default maximum number of requests of each client waiting for the log unit or the
+     * sequencer.
+     */
+    public static final int DEFAULT_MAX_CLIENT_QUEUE_DEPTH = 1024;
+
 
     @Getter
     private final Map<String, Object> serverConfig;
@@ -132,6 +140,16 @@ public class ServerContext implements AutoCloseable {
     private final Set<String> dsFilePrefixesForCleanup =
             Sets.newHashSet(PREFIX_PHASE_1, PREFIX_PHASE_2, PREFIX_LAYOUTS);
 
+    /**
+     * In-memory copies of the values read on every message, so that reading them does not
+     * go through the {@link DataStore}. Each is published once the new value is persisted.
+     */
+    private volatile long serverEpoch;
+
+    private volatile long sequencerEpoch;
+
+    private volatile Layout currentLayout;
+
     /**
      * Returns a new ServerContext.
      *
@@ -141,6 +159,13 @@ public class ServerContext implements AutoCloseable {
         this.serverConfig = serverConfig;
         this.dataStore = new DataStore(serverConfig, this::dataStoreFileCleanup);
         generateNodeId();
+        Long persistedServerEpoch = dataStore.get(Long.class, PREFIX_EPOCH, KEY_EPOCH);
+        this.serverEpoch = persistedServerEpoch == null ? 0 : persistedServerEpoch;
+        Long persistedSequencerEpoch = dataStore.get(Long.class, KEY_SEQUENCER,
+                PREFIX_SEQUENCER_EPOCH);
+        this.sequencerEpoch = persistedSequencerEpoch == null
+                ? Layout.INVALID_EPOCH : persistedSequencerEpoch;
+        this.currentLayout = dataStore.get(Layout.class, PREFIX_LAYOUT, KEY_LAYOUT);
         this.failureHandlerPolicy = new ConservativeFailureHandlerPolicy();
         this.healingHandlerPolicy = new SequencerHealingPolicy();
 
@@ -186,7 +211,20 @@ public class ServerContext implements AutoCloseable {
 
     int getLogunitThreadCount() {
         Integer threadCount = getServerConfig(Integer.class, "--logunit-threads");
-        return threadCount == null ? BatchWriter.BATCH_SIZE + Runtime.getRuntime().availableProcessors() : threadCount;
+        // The log unit handlers do not block on the batch writer, so they need no more threads
+        // than processors to keep many writes in flight.
+        return threadCount == null ? Runtime.getRuntime().availableProcessors() : threadCount;
+    }
+
+    /**
+     * The maximum number of requests of each client waiting for the log unit or the
+     * sequencer, beyond which the requests of the client are rejected as busy.
+     *
+     * @return The maximum number of requests waiting for each client.
+     */
+    int getMaxClientQueueDepth() {
+        String depth = getServerConfig(String.class, "--max-client-queue-depth");
+        return depth == null ? DEFAULT_MAX_CLIENT_QUEUE_DEPTH : Integer.parseInt(depth);
     }
 
     int getManagementServerThreadCount() {
@@ -194,6 +232,33 @@ public class ServerContext implements AutoCloseable {
         return threadCount == null ? 4 : threadCount;
     }
 
+    boolean isPhiAccrualFailureDetectorEnabled() {
+        Boolean enabled = getServerConfig(Boolean.class, "--phi-accrual-failure-detector");
+        return enabled != null && enabled;
+    }
+
+    /**
+     * Whether the worker event loops busy poll the epoll instance rather than block on it,
+     * which trades a core per worker thread for a lower request latency.
+     *
+     * @return True, if busy polling is enabled.
+     */
+    boolean isBusyPollEnabled() {
+        Boolean enabled = getServerConfig(Boolean.class, "--busy-poll");
+        return enabled != null && enabled;
+    }
+
+    /**
+     * Whether TCP_QUICKACK is set on the accepted channels, so that requests are
+     * acknowledged immediately rather than with a delayed ack.
+     *
+     * @return True, if TCP_QUICKACK is enabled.
+     */
+    boolean isTcpQuickAckEnabled() {
+        Boolean enabled = getServerConfig(Boolean.class, "--tcp-quickack");
+        return enabled != null && enabled;
+    }
+
     /**
      * Cleanup the DataStore files with names that are prefixes of the specified
      * fileName when so that the number of these files don't exceed the user-defined
@@ -256,6 +321,7 @@ public class ServerContext implements AutoCloseable {
     public CorfuRuntimeParameters getDefaultRuntimeParameters() {
         return CorfuRuntime.CorfuRuntimeParameters.builder()
                 .nettyEventLoop(clientGroup)
+                .socketType(getChannelImplementation())
                 .shutdownNettyEventLoop(false)
                 .tlsEnabled((Boolean) serverConfig.get("--enable-tls"))
                 .keyStore((String) serverConfig.get("--keystore"))
@@ -377,7 +443,7 @@ public class ServerContext implements AutoCloseable {
      * @return The current stored {@link Layout}
      */
     public Layout getCurrentLayout() {
-        return getDataStore().get(Layout.class, PREFIX_LAYOUT, KEY_LAYOUT);
+        return currentLayout;
     }
 
     /**
@@ -385,8 +451,9 @@ public class ServerContext implements AutoCloseable {
      *
      * @param layout The {@link Layout} to set in the {@link DataStore}.
      */
-    public void setCurrentLayout(Layout layout) {
+    public synchronized void setCurrentLayout(Layout layout) {
         getDataStore().put(Layout.class, PREFIX_LAYOUT, KEY_LAYOUT, layout);
+        currentLayout = layout;
     }
 
     /**
@@ -401,9 +468,8 @@ public class ServerContext implements AutoCloseable {
     /**
      * The epoch of this router. This is managed by the base server implementation.
      */
-    public synchronized long getServerEpoch() {
-        Long epoch = dataStore.get(Long.class, PREFIX_EPOCH, KEY_EPOCH);
-        return epoch == null ? 0 : epoch;
+    public long getServerEpoch() {
+        return serverEpoch;
     }
 
     /**
@@ -415,6 +481,7 @@ public class ServerContext implements AutoCloseable {
         Long lastEpoch = dataStore.get(Long.class, PREFIX_EPOCH, KEY_EPOCH);
         if (lastEpoch == null || lastEpoch < serverEpoch) {
             dataStore.put(Long.class, PREFIX_EPOCH, KEY_EPOCH, serverEpoch);
+            this.serverEpoch = serverEpoch;
             r.setServerEpoch(serverEpoch);
             getServers().forEach(s -> s.sealServerWithEpoch(serverEpoch));
         } else if (serverEpoch == lastEpoch) {
@@ -481,6 +548,7 @@ public class ServerContext implements AutoCloseable {
      */
     public void setSequencerEpoch(long sequencerEpoch) {
         dataStore.put(Long.class, KEY_SEQUENCER, PREFIX_SEQUENCER_EPOCH, sequencerEpoch);
+        this.sequencerEpoch = sequencerEpoch;
     }
 
     /**
@@ -489,8 +557,7 @@ public class ServerContext implements AutoCloseable {
      * @return Sequencer epoch.
      */
     public long getSequencerEpoch() {
-        Long epoch = dataStore.get(Long.class, KEY_SEQUENCER, PREFIX_SEQUENCER_EPOCH);
-        return epoch == null ? Layout.INVALID_EPOCH : epoch;
+        return sequencerEpoch;
     }
 
     /**
@@ -648,11 +715,20 @@ public class ServerContext implements AutoCloseable {
         final int numThreads = requestedThreads == 0
                 ? Runtime.getRuntime().availableProcessors() * 2
                 : requestedThreads;
-        EventLoopGroup group = getChannelImplementation().getGenerator()
-            .generate(numThreads, threadFactory);
+        final EventLoopGroup group;
+        if (isBusyPollEnabled() && getChannelImplementation().isEpoll()) {
+            group = new EpollEventLoopGroup(numThreads, threadFactory,
+                    () -> (selectSupplier, hasTasks) -> SelectStrategy.BUSY_WAIT);
+        } else {
+            if (isBusyPollEnabled()) {
+                log.warn("getWorkerGroup: Busy polling requires the epoll transport, ignoring");
+            }
+            group = getChannelImplementation().getGenerator()
+                    .generate(numThreads, threadFactory);
+        }
 
-        log.info("getWorkerGroup: Type {} with {} threads",
-                group.getClass().getSimpleName(), numThreads);
+        log.info("getWorkerGroup: Type {} with {} threads, busy poll {}",
+                group.getClass().getSimpleName(), numThreads, isBusyPollEnabled());
         return group;
     }
 
@@ -20,4 +20,11 @@ public @interface ServerHandler {
      * @return the type of corfu message
      */
     CorfuMsgType type();
+
+    /**
+     * Whether the handler never blocks, so that it can run on the I/O thread which received
+     * the message instead of being dispatched to the executor of the server.
+     * @return true if the handler can run on the I/O thread
+     */
+    boolean inline() default false;
 }
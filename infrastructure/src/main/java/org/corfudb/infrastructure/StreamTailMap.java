@@ -0,0 +1,242 @@
+package org.corfudb.infrastructure;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.Getter;
+
+import org.corfudb.runtime.view.Address;
+
+/**
+ * The tail of each stream, that is the last address issued to the stream, which the
+ * {@link SequencerServer} returns as backpointers and checks transactions against.
+ *
+ * <p>The tails are stored in an open-addressing table of primitive arrays, keyed by the two
+ * halves of the stream ID, which takes {@link #SLOT_BYTES} bytes per slot instead of the
+ * boxed UUID, boxed tail and node of a hash map entry.</p>
+ *
+ * <p>The streams whose tail is below the trim mark are evicted by {@link #evictBelow(long)},
+ * which also shrinks the table. All their entries are trimmed, so they are answered as
+ * streams which were never written: readers rebuild them from their checkpoints, and the
+ * sequencer aborts the transactions whose snapshot is below the trim mark. The highest
+ * trim mark evicted at is kept as {@link #getEvictedBelow()}.</p>
+ *
+ * <p>This class is not thread safe, the {@link SequencerServer} accesses it under its
+ * lock.</p>
+ */
+class StreamTailMap {
+
+    /**
+     * The bytes taken by a slot of the table: the two halves of the stream ID, and the tail.
+     */
+    static final int SLOT_BYTES = 3 * Long.BYTES;
+
+    private static final int MIN_CAPACITY = 1024;
+
+    /**
+     * The tail of the empty slots, which is not a valid tail.
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] msbs;
+
+    private long[] lsbs;
+
+    private long[] tails;
+
+    @Getter
+    private int size = 0;
+
+    /**
+     * The streams whose tail was below this address are evicted, so the streams which are
+     * not in the map have no readable entries, whether they were evicted or never written.
+     */
+    @Getter
+    private long evictedBelow = Address.NON_ADDRESS;
+
+    /**
+     * Create an empty map.
+     */
+    StreamTailMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        tails = new long[capacity];
+        Arrays.fill(tails, EMPTY);
+    }
+
+    /**
+     * Get the capacity which keeps the table at most half full.
+     */
+    private static int capacityFor(int size) {
+        final int minSlots = Math.max(MIN_CAPACITY, size * 2);
+        return Integer.highestOneBit(minSlots - 1) << 1;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ Long.rotateLeft(lsb, Integer.SIZE)) * HASH_MULTIPLIER;
+        return (int) (h ^ (h >>> Integer.SIZE));
+    }
+
+    /**
+     * Find the slot of a stream, or the empty slot where it would be inserted.
+     */
+    private int slotOf(long msb, long lsb) {
+        final int mask = tails.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (tails[slot] != EMPTY && (msbs[slot] != msb || lsbs[slot] != lsb)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Get the tail of a stream.
+     *
+     * @param stream The stream ID.
+     * @return The tail of the stream, or {@link Address#NON_EXIST} if the stream was never
+     *         written or was evicted.
+     */
+    long get(UUID stream) {
+        final int slot = slotOf(stream.getMostSignificantBits(), stream.getLeastSignificantBits());
+        return tails[slot] == EMPTY ? Address.NON_EXIST : tails[slot];
+    }
+
+    /**
+     * Set the tail of a stream.
+     *
+     * @param stream The stream ID.
+     * @param tail   The new tail.
+     * @return The previous tail of the stream, or {@link Address#NON_EXIST}.
+     */
+    long put(UUID stream, long tail) {
+        final long msb = stream.getMostSignificantBits();
+        final long lsb = stream.getLeastSignificantBits();
+        int slot = slotOf(msb, lsb);
+        final long previous = tails[slot];
+        if (previous != EMPTY) {
+            tails[slot] = tail;
+            return previous;
+        }
+
+        if ((size + 1) * 2 > tails.length) {
+            resize(capacityFor(size + 1));
+            slot = slotOf(msb, lsb);
+        }
+        msbs[slot] = msb;
+        lsbs[slot] = lsb;
+        tails[slot] = tail;
+        size++;
+        return Address.NON_EXIST;
+    }
+
+    /**
+     * Set the tail of a stream, unless it already has a higher tail.
+     *
+     * @param stream The stream ID.
+     * @param tail   The tail.
+     */
+    void putMax(UUID stream, long tail) {
+        final long previous = get(stream);
+        if (previous == Address.NON_EXIST || previous < tail) {
+            put(stream, tail);
+        }
+    }
+
+    /**
+     * Set the tails of streams.
+     *
+     * @param streamTails The tail of each stream.
+     */
+    void putAll(Map<UUID, Long> streamTails) {
+        if ((size + streamTails.size()) * 2 > tails.length) {
+            resize(capacityFor(size + streamTails.size()));
+        }
+        streamTails.forEach(this::put);
+    }
+
+    /**
+     * Remove all the streams, and release the memory of the table.
+     */
+    void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Evict the streams whose tail is below an address, and shrink the table to fit the
+     * remaining streams.
+     *
+     * @param trimMark The address below which the log is trimmed.
+     * @return The number of streams evicted.
+     */
+    int evictBelow(long trimMark) {
+        evictedBelow = Math.max(evictedBelow, trimMark);
+        int remaining = 0;
+        for (long tail : tails) {
+            if (tail != EMPTY && tail >= evictedBelow) {
+                remaining++;
+            }
+        }
+        final int evicted = size - remaining;
+        if (evicted > 0 || tails.length > capacityFor(size)) {
+            rebuild(capacityFor(remaining), evictedBelow);
+        }
+        return evicted;
+    }
+
+    private void resize(int capacity) {
+        rebuild(capacity, Long.MIN_VALUE);
+    }
+
+    /**
+     * Move the streams whose tail is not below an address to a new table.
+     */
+    private void rebuild(int capacity, long minTail) {
+        final long[] oldMsbs = msbs;
+        final long[] oldLsbs = lsbs;
+        final long[] oldTails = tails;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldTails.length; i++) {
+            if (oldTails[i] != EMPTY && oldTails[i] >= minTail) {
+                final int slot = slotOf(oldMsbs[i], oldLsbs[i]);
+                msbs[slot] = oldMsbs[i];
+                lsbs[slot] = oldLsbs[i];
+                tails[slot] = oldTails[i];
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Copy the tails into a map, to send them to another sequencer.
+     *
+     * @return The tail of each stream.
+     */
+    Map<UUID, Long> toMap() {
+        final Map<UUID, Long> map = new HashMap<>(size * 2);
+        for (int i = 0; i < tails.length; i++) {
+            if (tails[i] != EMPTY) {
+                map.put(new UUID(msbs[i], lsbs[i]), tails[i]);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Get the memory taken by the table.
+     *
+     * @return The size of the arrays of the table, in bytes.
+     */
+    long getMemoryFootprint() {
+        return (long) tails.length * SLOT_BYTES;
+    }
+}
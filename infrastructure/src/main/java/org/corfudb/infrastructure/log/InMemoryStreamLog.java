@@ -85,6 +85,11 @@ public class InMemoryStreamLog implements StreamLog, StreamLogWithRankedAddressS
         return new TailsResponse(logMetadata.getGlobalTail(), tails);
     }
 
+    @Override
+    public synchronized long getLogTail() {
+        return logMetadata.getGlobalTail();
+    }
+
     @Override
     public long getTrimMark() {
         return startingAddress;
@@ -54,6 +54,11 @@ public interface StreamLog {
      */
     TailsResponse getTails();
 
+    /**
+     * Get the global tail, without the stream tails.
+     */
+    long getLogTail();
+
     /**
      * Get the first untrimmed address in the address space.
      */
@@ -7,6 +7,7 @@ import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -25,6 +26,7 @@ import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.runtime.exceptions.DataCorruptionException;
 import org.corfudb.runtime.exceptions.OverwriteCause;
 import org.corfudb.runtime.exceptions.OverwriteException;
+import org.corfudb.util.serializer.SerializationBuffers;
 
 import javax.annotation.Nullable;
 import java.io.File;
@@ -177,25 +179,50 @@ public class StreamLogFiles implements StreamLog, StreamLogWithRankedAddressSpac
         fileChannel.force(true);
     }
 
-    private static Metadata getMetadata(AbstractMessage message) {
+    private static Metadata getMetadata(int payloadChecksum, int length) {
         return Metadata.newBuilder()
-                .setPayloadChecksum(Checksum.getChecksum(message.toByteArray()))
-                .setLengthChecksum(Checksum.getChecksum(message.getSerializedSize()))
-                .setLength(message.getSerializedSize())
+                .setPayloadChecksum(payloadChecksum)
+                .setLengthChecksum(Checksum.getChecksum(length))
+                .setLength(length)
                 .build();
     }
 
-    private static ByteBuffer getByteBuffer(Metadata metadata, AbstractMessage message) {
-        ByteBuffer buf = ByteBuffer.allocate(metadata.getSerializedSize() + message.getSerializedSize());
-        buf.put(metadata.toByteArray());
-        buf.put(message.toByteArray());
-        buf.flip();
-        return buf;
+    /**
+     * Write a record, that is a message preceded by its metadata, to a buffer. The message is
+     * serialized once, in place, and its checksum is computed over the bytes written.
+     *
+     * @param buf     The buffer to write the record to.
+     * @param message The message to write.
+     * @return The metadata of the record.
+     * @throws IOException IO exception
+     */
+    private static Metadata serializeRecord(ByteBuf buf, AbstractMessage message) throws IOException {
+        final int length = message.getSerializedSize();
+        final int metadataIndex = buf.writerIndex();
+        final int payloadIndex = metadataIndex + METADATA_SIZE;
+        buf.ensureWritable(METADATA_SIZE + length);
+
+        CodedOutputStream payloadOut = CodedOutputStream.newInstance(
+                buf.nioBuffer(payloadIndex, length));
+        message.writeTo(payloadOut);
+        payloadOut.flush();
+
+        Metadata metadata = getMetadata(
+                Checksum.getChecksum(buf.nioBuffer(payloadIndex, length)), length);
+        CodedOutputStream metadataOut = CodedOutputStream.newInstance(
+                buf.nioBuffer(metadataIndex, METADATA_SIZE));
+        metadata.writeTo(metadataOut);
+        metadataOut.flush();
+
+        buf.writerIndex(payloadIndex + length);
+        return metadata;
     }
 
-    static ByteBuffer getByteBufferWithMetaData(AbstractMessage message) {
-        Metadata metadata = getMetadata(message);
-        return getByteBuffer(metadata, message);
+    static ByteBuffer getByteBufferWithMetaData(AbstractMessage message) throws IOException {
+        final int size = METADATA_SIZE + message.getSerializedSize();
+        ByteBuf buf = Unpooled.buffer(size, size);
+        serializeRecord(buf, message);
+        return buf.nioBuffer();
     }
 
     @Override
@@ -204,6 +231,11 @@ public class StreamLogFiles implements StreamLog, StreamLogWithRankedAddressSpac
         return new TailsResponse(logMetadata.getGlobalTail(), tails);
     }
 
+    @Override
+    public long getLogTail() {
+        return logMetadata.getGlobalTail();
+    }
+
     private void syncTailSegment(long address) {
         // TODO(Maithem) since writing a record and setting the tail segment is not
         // an atomic operation, it is possible to set an incorrect tail segment. In
@@ -753,41 +785,42 @@ public class StreamLogFiles implements StreamLog, StreamLogWithRankedAddressSpac
                                                     List<LogData> entries) throws IOException {
         Map<Long, AddressMetaData> recordsMap = new HashMap<>();
 
-        List<ByteBuffer> entryBuffs = new ArrayList<>();
+        List<LogEntry> logEntries = new ArrayList<>(entries.size());
         int totalBytes = 0;
-
-        List<Metadata> metadataList = new ArrayList<>();
-
         for (LogData curr : entries) {
             LogEntry logEntry = getLogEntry(curr.getGlobalAddress(), curr);
-            Metadata metadata = getMetadata(logEntry);
-            metadataList.add(metadata);
-            ByteBuffer record = getByteBuffer(metadata, logEntry);
-            totalBytes += record.limit();
-            entryBuffs.add(record);
+            logEntries.add(logEntry);
+            totalBytes += METADATA_SIZE + logEntry.getSerializedSize();
         }
 
-        ByteBuffer allRecordsBuf = ByteBuffer.allocate(totalBytes);
-
-        try (MultiReadWriteLock.AutoCloseableLock ignored =
-                     segmentLocks.acquireWriteLock(segment.getSegment())) {
-            for (int ind = 0; ind < entryBuffs.size(); ind++) {
-                long channelOffset = segment.getWriteChannel().position()
-                        + allRecordsBuf.position() + METADATA_SIZE;
-                allRecordsBuf.put(entryBuffs.get(ind));
-                Metadata metadata = metadataList.get(ind);
-                recordsMap.put(entries.get(ind).getGlobalAddress(),
-                        new AddressMetaData(metadata.getPayloadChecksum(),
-                                metadata.getLength(), channelOffset));
+        ByteBuf allRecordsBuf = SerializationBuffers.allocate(totalBytes);
+        try {
+            List<Metadata> metadataList = new ArrayList<>(logEntries.size());
+            for (LogEntry logEntry : logEntries) {
+                metadataList.add(serializeRecord(allRecordsBuf, logEntry));
             }
 
-            allRecordsBuf.flip();
-            safeWrite(segment.getWriteChannel(), allRecordsBuf);
-            channelsToSync.add(segment.getWriteChannel());
-            // Sync the global and stream tail(s)
-            // TODO(Maithem): on ioexceptions the StreamLogFiles needs to be reinitialized
-            syncTailSegment(entries.get(entries.size() - 1).getGlobalAddress());
-            logMetadata.update(entries);
+            try (MultiReadWriteLock.AutoCloseableLock ignored =
+                         segmentLocks.acquireWriteLock(segment.getSegment())) {
+                long channelOffset = segment.getWriteChannel().position();
+                for (int ind = 0; ind < metadataList.size(); ind++) {
+                    Metadata metadata = metadataList.get(ind);
+                    channelOffset += METADATA_SIZE;
+                    recordsMap.put(entries.get(ind).getGlobalAddress(),
+                            new AddressMetaData(metadata.getPayloadChecksum(),
+                                    metadata.getLength(), channelOffset));
+                    channelOffset += metadata.getLength();
+                }
+
+                safeWrite(segment.getWriteChannel(), allRecordsBuf.nioBuffer());
+                channelsToSync.add(segment.getWriteChannel());
+                // Sync the global and stream tail(s)
+                // TODO(Maithem): on ioexceptions the StreamLogFiles needs to be reinitialized
+                syncTailSegment(entries.get(entries.size() - 1).getGlobalAddress());
+                logMetadata.update(entries);
+            }
+        } finally {
+            allRecordsBuf.release();
         }
 
         return recordsMap;
@@ -834,18 +867,22 @@ public class StreamLogFiles implements StreamLog, StreamLogWithRankedAddressSpac
     private AddressMetaData writeRecord(SegmentHandle segment, long address,
                                         LogData entry) throws IOException {
         LogEntry logEntry = getLogEntry(address, entry);
-        Metadata metadata = getMetadata(logEntry);
-
-        ByteBuffer record = getByteBuffer(metadata, logEntry);
+        ByteBuf record = SerializationBuffers.allocate(METADATA_SIZE + logEntry.getSerializedSize());
+        Metadata metadata;
         long channelOffset;
 
-        try (MultiReadWriteLock.AutoCloseableLock ignored =
-                     segmentLocks.acquireWriteLock(segment.getSegment())) {
-            channelOffset = segment.getWriteChannel().position() + METADATA_SIZE;
-            safeWrite(segment.getWriteChannel(), record);
-            channelsToSync.add(segment.getWriteChannel());
-            syncTailSegment(address);
-            logMetadata.update(entry);
+        try {
+            metadata = serializeRecord(record, logEntry);
+            try (MultiReadWriteLock.AutoCloseableLock ignored =
+                         segmentLocks.acquireWriteLock(segment.getSegment())) {
+                channelOffset = segment.getWriteChannel().position() + METADATA_SIZE;
+                safeWrite(segment.getWriteChannel(), record.nioBuffer());
+                channelsToSync.add(segment.getWriteChannel());
+                syncTailSegment(address);
+                logMetadata.update(entry);
+            }
+        } finally {
+            record.release();
         }
 
         return new AddressMetaData(metadata.getPayloadChecksum(), metadata.getLength(), channelOffset);
@@ -1140,12 +1177,18 @@ public class StreamLogFiles implements StreamLog, StreamLogWithRankedAddressSpac
          * @return checksum of bytes
          */
         public static int getChecksum(byte[] bytes) {
-            Hasher hasher = Hashing.crc32c().newHasher();
-            for (byte a : bytes) {
-                hasher.putByte(a);
-            }
+            return Hashing.crc32c().hashBytes(bytes).asInt();
+        }
 
-            return hasher.hash().asInt();
+        /**
+         * Returns checksum used for log.
+         *
+         * @param buffer data over which to compute the checksum, from its position to its limit
+         * @return checksum of the remaining bytes of buffer
+         */
+        public static int getChecksum(ByteBuffer buffer) {
+            Hasher hasher = Hashing.crc32c().newHasher();
+            return hasher.putBytes(buffer).hash().asInt();
         }
 
         public static int getChecksum(int num) {
@@ -0,0 +1,148 @@
+package org.corfudb.infrastructure.management;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The intervals between the latest heartbeats received over a link, from which the
+ * phi-accrual failure detector scores how suspicious the silence since the last heartbeat is.
+ *
+ * <p>The intervals are modelled with a normal distribution of their mean and standard
+ * deviation. Phi is -log10 of the probability that a heartbeat arrives later than the time
+ * elapsed since the last one, so a phi of 8 means such a delay happens once in 10^8
+ * heartbeats. See Hayashibara et al., "The phi accrual failure detector".</p>
+ *
+ * <p>This class is thread safe.</p>
+ */
+class HeartbeatArrivalWindow {
+
+    /**
+     * The latest intervals in nanoseconds, a ring of at most {@code intervals.length} entries.
+     */
+    private final long[] intervals;
+
+    private int next = 0;
+
+    private int size = 0;
+
+    private double sum = 0;
+
+    private double squaresSum = 0;
+
+    /**
+     * The interval assumed until the first heartbeat arrives, in nanoseconds.
+     */
+    private final long firstHeartbeatEstimate;
+
+    /**
+     * The lower bound of the standard deviation, so that a link with very regular heartbeats
+     * is not suspected as soon as one is a little late.
+     */
+    private final double minStdDeviation;
+
+    /**
+     * A delay which is added to the mean interval, as heartbeats may be delayed by GC pauses
+     * or a busy network without the node having failed.
+     */
+    private final long acceptableHeartbeatPause;
+
+    /**
+     * The arrival time of the last heartbeat in nanoseconds, or the time the window was
+     * created or reset if none arrived since.
+     */
+    private long lastArrival;
+
+    /**
+     * Create an empty window.
+     *
+     * @param windowSize               The number of intervals to keep.
+     * @param firstHeartbeatEstimate   The interval assumed until heartbeats arrive.
+     * @param minStdDeviation          The lower bound of the standard deviation.
+     * @param acceptableHeartbeatPause The delay added to the mean interval.
+     * @param unit                     The unit of the durations.
+     * @param now                      The current time in nanoseconds.
+     */
+    HeartbeatArrivalWindow(int windowSize, long firstHeartbeatEstimate, long minStdDeviation,
+                           long acceptableHeartbeatPause, TimeUnit unit, long now) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Invalid window size " + windowSize);
+        }
+        this.intervals = new long[windowSize];
+        this.firstHeartbeatEstimate = unit.toNanos(firstHeartbeatEstimate);
+        this.minStdDeviation = unit.toNanos(minStdDeviation);
+        this.acceptableHeartbeatPause = unit.toNanos(acceptableHeartbeatPause);
+        this.lastArrival = now;
+    }
+
+    /**
+     * Record the arrival of a heartbeat.
+     *
+     * @param now The arrival time in nanoseconds.
+     */
+    synchronized void heartbeat(long now) {
+        final long interval = now - lastArrival;
+        lastArrival = now;
+        if (size == intervals.length) {
+            sum -= intervals[next];
+            squaresSum -= (double) intervals[next] * intervals[next];
+        } else {
+            size++;
+        }
+        intervals[next] = interval;
+        sum += interval;
+        squaresSum += (double) interval * interval;
+        next = (next + 1) % intervals.length;
+    }
+
+    /**
+     * Forget the intervals recorded, for instance when a link comes back after a failure,
+     * whose silence would otherwise inflate the mean interval.
+     *
+     * @param now The current time in nanoseconds.
+     */
+    synchronized void reset(long now) {
+        next = 0;
+        size = 0;
+        sum = 0;
+        squaresSum = 0;
+        lastArrival = now;
+    }
+
+    /**
+     * Get the suspicion of the link.
+     *
+     * @param now The current time in nanoseconds.
+     * @return Phi, the suspicion level of the time elapsed since the last heartbeat.
+     */
+    synchronized double phi(long now) {
+        final double mean;
+        final double variance;
+        if (size == 0) {
+            mean = firstHeartbeatEstimate;
+            variance = Math.pow(firstHeartbeatEstimate / 4.0, 2);
+        } else {
+            mean = sum / size;
+            variance = Math.max(0, squaresSum / size - mean * mean);
+        }
+        final double stdDeviation = Math.max(Math.sqrt(variance), minStdDeviation);
+        return phi(now - lastArrival, mean + acceptableHeartbeatPause, stdDeviation);
+    }
+
+    /**
+     * Compute phi with a logistic approximation of the cumulative normal distribution,
+     * which is accurate to 0.00014 and does not lose precision in the tail.
+     *
+     * @param elapsed      The time since the last heartbeat.
+     * @param mean         The mean interval.
+     * @param stdDeviation The standard deviation of the intervals.
+     * @return Phi.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    static double phi(double elapsed, double mean, double stdDeviation) {
+        final double y = (elapsed - mean) / stdDeviation;
+        final double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        }
+        return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+}
@@ -20,4 +20,19 @@ public interface IDetector {
      * @return A poll report containing the results of the poll.
      */
     PollReport poll(@Nonnull Layout layout, @Nonnull CorfuRuntime corfuRuntime, SequencerMetrics sequencerMetrics);
+
+    /**
+     * Registers a task to run as soon as the detector suspects a node, ahead of the next poll.
+     * Detectors which only detect failures when polled ignore it.
+     *
+     * @param listener Task to run on suspicion.
+     */
+    default void setSuspicionListener(@Nonnull Runnable listener) {
+    }
+
+    /**
+     * Stops the background tasks of the detector, if any.
+     */
+    default void shutdown() {
+    }
 }
@@ -0,0 +1,365 @@
+package org.corfudb.infrastructure.management;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.corfudb.infrastructure.management.ClusterStateContext.HeartbeatCounter;
+import org.corfudb.protocols.wireprotocol.ClusterState;
+import org.corfudb.protocols.wireprotocol.NodeState;
+import org.corfudb.protocols.wireprotocol.NodeState.HeartbeatTimestamp;
+import org.corfudb.protocols.wireprotocol.SequencerMetrics;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity.ConnectionStatus;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.ManagementClient;
+import org.corfudb.runtime.exceptions.WrongEpochException;
+import org.corfudb.runtime.view.Layout;
+import org.corfudb.util.LambdaUtils;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * PhiAccrualFailureDetector sends a continuous stream of {@link NodeState} requests to all the
+ * servers in the layout, and scores the silence of every link with the phi-accrual model, see
+ * {@link HeartbeatArrivalWindow}.
+ * Unlike the {@link FailureDetector}, a poll does not ping the cluster: it returns at once with
+ * the links whose phi is above the threshold as failed, and the latest {@link NodeState}-s
+ * received to build the {@link ClusterState}.
+ * As soon as the phi of a link crosses the threshold, the suspicion listener is notified, so
+ * that the {@link ClusterAdvisor} does not wait for the next monitoring interval.
+ * - At most one heartbeat is in flight per link. A link which stops responding does not get
+ * new heartbeats until the router times out the last one, and its phi keeps growing.
+ * - A node responding with a {@link WrongEpochException} is alive, its epoch is reported.
+ */
+@Slf4j
+public class PhiAccrualFailureDetector implements IDetector {
+
+    /**
+     * Interval between heartbeats in milliseconds.
+     */
+    @Getter
+    @Setter
+    private long heartbeatInterval = 100L;
+
+    /**
+     * Suspicion level above which a link is failed. A phi of 8 is a probability of 10^-8 that
+     * a heartbeat is as late as the last one.
+     */
+    @Getter
+    @Setter
+    private double phiThreshold = 8.0;
+
+    /**
+     * Number of heartbeat intervals each link keeps to estimate its distribution.
+     */
+    @Getter
+    @Setter
+    private int windowSize = 100;
+
+    /**
+     * Lower bound of the standard deviation of the heartbeat intervals in milliseconds.
+     */
+    @Getter
+    @Setter
+    private long minStdDeviation = 50L;
+
+    /**
+     * Delay in milliseconds added to the mean heartbeat interval before the silence of a link
+     * is suspicious, which absorbs GC pauses and transient network delays.
+     */
+    @Getter
+    @Setter
+    private long acceptableHeartbeatPause = 200L;
+
+    @NonNull
+    private final HeartbeatCounter heartbeatCounter;
+
+    @NonNull
+    private final String localEndpoint;
+
+    /**
+     * The heartbeat state of each server in the layout.
+     */
+    private final Map<String, Link> links = new ConcurrentHashMap<>();
+
+    /**
+     * Sends the heartbeats, started on the first poll.
+     */
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private volatile Layout layout;
+
+    private volatile CorfuRuntime corfuRuntime;
+
+    private volatile Runnable suspicionListener = () -> { };
+
+    /**
+     * The heartbeat state of a link.
+     */
+    private class Link {
+        private final HeartbeatArrivalWindow arrivals = new HeartbeatArrivalWindow(windowSize,
+                heartbeatInterval, minStdDeviation, acceptableHeartbeatPause,
+                TimeUnit.MILLISECONDS, System.nanoTime());
+
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+
+        /**
+         * The latest node state received, or null if the node did not respond yet.
+         */
+        private volatile NodeState nodeState;
+
+        /**
+         * The epoch of the node if it responded with a wrong epoch, or null.
+         */
+        private volatile Long wrongEpoch;
+
+        private volatile boolean suspected = false;
+    }
+
+    public PhiAccrualFailureDetector(HeartbeatCounter heartbeatCounter, String localEndpoint) {
+        this.heartbeatCounter = heartbeatCounter;
+        this.localEndpoint = localEndpoint;
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("PhiAccrualHeartbeat-%d")
+                        .build());
+    }
+
+    @Override
+    public void setSuspicionListener(@Nonnull Runnable listener) {
+        this.suspicionListener = listener;
+    }
+
+    /**
+     * Reports the links suspected at the time of the call.
+     * The first call starts the heartbeats, later ones update the layout they are sent to.
+     *
+     * @param layout Current Layout
+     */
+    @Override
+    public PollReport poll(
+            @Nonnull Layout layout, @Nonnull CorfuRuntime corfuRuntime, @NonNull SequencerMetrics sequencerMetrics) {
+
+        log.trace("Poll report. Layout: {}", layout);
+
+        this.layout = layout;
+        this.corfuRuntime = corfuRuntime;
+        if (started.compareAndSet(false, true)) {
+            heartbeatScheduler.scheduleAtFixedRate(
+                    () -> LambdaUtils.runSansThrow(this::sendHeartbeats),
+                    0,
+                    heartbeatInterval,
+                    TimeUnit.MILLISECONDS
+            );
+        }
+
+        final long now = System.nanoTime();
+        final long epoch = layout.getEpoch();
+        Set<String> allServers = layout.getAllServers();
+
+        Map<String, Long> wrongEpochs = new HashMap<>();
+        Set<String> failedNodes = new HashSet<>();
+        Set<String> connectedNodes = new HashSet<>();
+        Map<String, NodeState> nodeStates = new HashMap<>();
+
+        allServers.forEach(server -> {
+            Link link = links.computeIfAbsent(server, s -> new Link());
+            if (isSuspected(server, link, now)) {
+                failedNodes.add(server);
+                if (!server.equals(localEndpoint)) {
+                    nodeStates.put(server, NodeState.getUnavailableNodeState(server));
+                }
+                return;
+            }
+
+            Long wrongEpoch = link.wrongEpoch;
+            if (wrongEpoch != null) {
+                wrongEpochs.put(server, wrongEpoch);
+            } else {
+                connectedNodes.add(server);
+            }
+
+            //Ignore local node state. Local NodeState will be built lately
+            if (server.equals(localEndpoint)) {
+                return;
+            }
+
+            NodeState nodeState = link.nodeState;
+            if (wrongEpoch != null) {
+                nodeStates.put(server, NodeState.getUnavailableNodeState(server));
+            } else if (nodeState == null) {
+                // The cluster state is not ready until every node responded or is suspected.
+                nodeStates.put(server, NodeState.getNotReadyNodeState(
+                        server, epoch, NodeState.INVALID_HEARTBEAT_COUNTER));
+            } else {
+                nodeStates.put(server, nodeState);
+            }
+        });
+
+        Set<String> localNodeConnections = new HashSet<>(connectedNodes);
+        localNodeConnections.addAll(wrongEpochs.keySet());
+        NodeState localNodeState = getLocalNodeState(allServers, localNodeConnections, epoch, sequencerMetrics);
+        nodeStates.put(localNodeState.getConnectivity().getEndpoint(), localNodeState);
+
+        return PollReport.builder()
+                .pollEpoch(epoch)
+                .connectedNodes(ImmutableSet.copyOf(connectedNodes))
+                .failedNodes(ImmutableSet.copyOf(failedNodes))
+                .wrongEpochs(ImmutableMap.copyOf(wrongEpochs))
+                .currentLayoutSlotUnFilled(isCurrentLayoutSlotUnFilled(layout, wrongEpochs.keySet()))
+                .clusterState(ClusterState.builder().nodes(ImmutableMap.copyOf(nodeStates)).build())
+                .build();
+    }
+
+    /**
+     * Heartbeat step, run every heartbeat interval:
+     * - check the suspicion of every link and notify the listener of links crossing the threshold
+     * - send a {@link NodeState} request to every server without a request in flight
+     * - forget the servers removed from the layout
+     */
+    private void sendHeartbeats() {
+        final Layout currentLayout = layout;
+        final CorfuRuntime runtime = corfuRuntime;
+        final long now = System.nanoTime();
+        final Set<String> allServers = currentLayout.getAllServers();
+
+        boolean newSuspicion = false;
+        for (String server : allServers) {
+            Link link = links.computeIfAbsent(server, s -> new Link());
+
+            if (!link.suspected && isSuspected(server, link, now)) {
+                link.suspected = true;
+                newSuspicion = true;
+                log.info("sendHeartbeats: Suspecting {}, phi = {}", server, link.arrivals.phi(now));
+            }
+
+            if (!link.inFlight.compareAndSet(false, true)) {
+                continue;
+            }
+
+            CompletableFuture<NodeState> heartbeat;
+            try {
+                heartbeat = new ManagementClient(runtime.getRouter(server), currentLayout.getEpoch())
+                        .sendNodeStateRequest();
+            } catch (Exception e) {
+                log.trace("sendHeartbeats: Cannot send heartbeat to {}", server, e);
+                link.inFlight.set(false);
+                continue;
+            }
+            heartbeat.whenComplete((nodeState, ex) -> {
+                onHeartbeatResponse(link, nodeState, ex);
+                link.inFlight.set(false);
+            });
+        }
+        links.keySet().retainAll(allServers);
+
+        if (newSuspicion) {
+            suspicionListener.run();
+        }
+    }
+
+    /**
+     * Record the response of a heartbeat. A node which does not respond is not heard from, only
+     * the suspicion of its link grows.
+     *
+     * @param link      The link of the node.
+     * @param nodeState The state of the node, or null if the request failed.
+     * @param ex        The cause of the failure, or null.
+     */
+    private void onHeartbeatResponse(Link link, NodeState nodeState, Throwable ex) {
+        final long now = System.nanoTime();
+        final Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+        if (cause != null && !(cause instanceof WrongEpochException)) {
+            return;
+        }
+
+        if (link.suspected) {
+            // The silence of a failed link is not an interval of a healthy one.
+            link.arrivals.reset(now);
+            link.suspected = false;
+        } else {
+            link.arrivals.heartbeat(now);
+        }
+
+        if (cause != null) {
+            link.wrongEpoch = ((WrongEpochException) cause).getCorrectEpoch();
+        } else {
+            link.nodeState = nodeState;
+            link.wrongEpoch = null;
+        }
+    }
+
+    private boolean isSuspected(String server, Link link, long now) {
+        double phi = link.arrivals.phi(now);
+        log.trace("isSuspected: {} phi = {}", server, phi);
+        return phi > phiThreshold;
+    }
+
+    /**
+     * Helper method to build local {@link NodeState} based on the suspicion of the links
+     *
+     * @param allServers        all servers in the cluster
+     * @param allConnectedNodes all connected nodes in the cluster
+     * @param epoch             current epoch
+     * @param sequencerMetrics  metrics
+     * @return local node state
+     */
+    private NodeState getLocalNodeState(Set<String> allServers, Set<String> allConnectedNodes, long epoch,
+                                        SequencerMetrics sequencerMetrics) {
+        Map<String, ConnectionStatus> connectivity = new HashMap<>();
+        allServers.forEach(server -> {
+            connectivity.put(server, ConnectionStatus.fromBool(allConnectedNodes.contains(server)));
+        });
+
+        NodeConnectivity localConnectivity = NodeConnectivity.connectivity(
+                localEndpoint, ImmutableMap.copyOf(connectivity)
+        );
+
+        return NodeState.builder()
+                .connectivity(localConnectivity)
+                .heartbeat(new HeartbeatTimestamp(epoch, heartbeatCounter.incrementHeartbeat()))
+                .sequencerMetrics(sequencerMetrics)
+                .build();
+    }
+
+    /**
+     * All active Layout servers have been sealed but there is no client to take this forward and
+     * fill the slot by proposing a new layout, see {@link FailureDetector}.
+     *
+     * @param layout current layout
+     * @return True if latest layout slot is vacant. Else False.
+     */
+    private boolean isCurrentLayoutSlotUnFilled(Layout layout, Set<String> wrongEpochs) {
+        List<String> allActiveLayoutServers = layout.getActiveLayoutServers();
+        boolean result = wrongEpochs.containsAll(allActiveLayoutServers);
+        if (result) {
+            log.info("Current layout slot is empty. Filling slot with current layout. wrong epochs: {}, "
+                    + "active layout servers: {}", wrongEpochs, allActiveLayoutServers);
+        }
+        return result;
+    }
+
+    @Override
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+    }
+}
@@ -1,13 +1,13 @@
 package org.corfudb.infrastructure.orchestrator.actions;
 
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Range;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.ExecutionException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -52,8 +52,6 @@ public class StateTransfer {
             return;
         }
 
-        int batchSize = runtime.getParameters().getBulkReadSize();
-
         long trimMark = runtime.getAddressSpaceView().getTrimMark().getSequence();
         // Send the trimMark to the new/healing nodes.
         // If this times out or fails, the Action performing the stateTransfer fails and retries.
@@ -71,25 +69,25 @@ public class StateTransfer {
                 })
                 .forEach(CFUtils::getUninterruptibly);
 
-        if (trimMark > segment.getEnd()) {
+        // State transfer should start from segment start address or trim mark whichever is lower.
+        long segmentStart = Math.max(trimMark, segment.getStart());
+
+        if (segmentStart >= segment.getEnd()) {
             log.info("stateTransfer: Nothing to transfer, trimMark {} greater than end of segment {}",
                     trimMark, segment.getEnd());
             return;
         }
 
-        // State transfer should start from segment start address or trim mark whichever is lower.
-        long segmentStart = Math.max(trimMark, segment.getStart());
-
-        for (long chunkStart = segmentStart; chunkStart < segment.getEnd()
-                ; chunkStart = chunkStart + batchSize) {
-            long chunkEnd = Math.min((chunkStart + batchSize - 1), segment.getEnd() - 1);
-
+        // The segment is read one chunk at a time, the size of which is bounded by the read
+        // chunk size of the runtime, and each chunk is written before the next one is read.
+        Iterator<SortedMap<Long, ILogData>> chunks = runtime.getAddressSpaceView()
+                .readChunks(Range.closed(segmentStart, segment.getEnd() - 1));
+        long chunkStart = segmentStart;
+        while (chunks.hasNext()) {
             long ts1 = System.currentTimeMillis();
 
-            Map<Long, ILogData> dataMap = runtime.getAddressSpaceView()
-                    .cacheFetch(ContiguousSet.create(
-                            Range.closed(chunkStart, chunkEnd),
-                            DiscreteDomain.longs()));
+            Map<Long, ILogData> dataMap = chunks.next();
+            long chunkEnd = chunkStart + dataMap.size() - 1;
 
             long ts2 = System.currentTimeMillis();
 
@@ -121,6 +119,7 @@ public class StateTransfer {
                 log.info("stateTransfer: Transferred address chunk [{}, {}] to {} in {} ms",
                         chunkStart, chunkEnd, endpoint, (ts2 - ts1));
             }
+            chunkStart = chunkEnd + 1;
         }
     }
 }
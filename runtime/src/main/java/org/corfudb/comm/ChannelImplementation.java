@@ -62,6 +62,16 @@ public enum ChannelImplementation {
     @Getter
     final EventLoopGroupGenerator generator;
 
+    /**
+     * Whether this implementation uses the native epoll transport, which supports the
+     * epoll specific tunables such as busy polling and TCP_QUICKACK.
+     *
+     * @return True, if the channels of this implementation are epoll channels.
+     */
+    public boolean isEpoll() {
+        return EpollSocketChannel.class.equals(channelClass);
+    }
+
     /**
      * A functional interface for generating event loops.
      */
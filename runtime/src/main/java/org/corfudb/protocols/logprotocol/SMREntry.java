@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.ToString;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.object.SMRMethodIds;
 import org.corfudb.util.serializer.ISerializer;
 import org.corfudb.util.serializer.Serializers;
 
@@ -24,14 +25,27 @@ import org.corfudb.util.serializer.Serializers;
 @NoArgsConstructor
 public class SMREntry extends LogEntry implements ISMRConsumable {
 
+    private static final int METHOD_ID_FLAG = 0x8000;
+
+    /** The method ID of an entry which records the name of its method. */
+    public static final short NO_METHOD_ID = -1;
+
     /**
-     * The name of the SMR method. Note that this is limited to the size of a short.
+     * The name of the SMR method. Note that this is limited to the size of a short. An
+     * entry read with a method ID has no name until an object resolves the ID.
      */
     @Deprecated // TODO: Add replacement method that conforms to style
     @SuppressWarnings("checkstyle:MemberName") // Due to deprecation
     @Getter
     private String SMRMethod;
 
+    /**
+     * The ID of the SMR method, which is recorded on the log instead of its name, or
+     * {@link #NO_METHOD_ID} if the entry records the name.
+     */
+    @Getter
+    private short methodId = NO_METHOD_ID;
+
     /**
      * The arguments to the SMR method, which could be 0.
      */
@@ -87,12 +101,28 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
 
     /** SMREntry constructor. */
     public SMREntry(String smrMethod, @NonNull Object[] smrArguments, ISerializer serializer) {
+        this(smrMethod, smrArguments, serializer, false);
+    }
+
+    /** SMREntry constructor, which records the ID of the method instead of its name
+     * if recordMethodId is set, see {@link SMRMethodIds}. */
+    public SMREntry(String smrMethod, @NonNull Object[] smrArguments, ISerializer serializer,
+                    boolean recordMethodId) {
         super(LogEntryType.SMR);
         this.SMRMethod = smrMethod;
+        if (recordMethodId) {
+            this.methodId = SMRMethodIds.getId(smrMethod);
+        }
         this.SMRArguments = smrArguments;
         this.serializerType = serializer;
     }
 
+    /** Set the name of the SMR method, once resolved from the method ID. */
+    @SuppressWarnings("checkstyle:abbreviation")
+    public void setSMRMethod(String smrMethod) {
+        this.SMRMethod = smrMethod;
+    }
+
     /**
      * This function provides the remaining buffer. Child entries
      * should initialize their contents based on the buffer.
@@ -103,9 +133,13 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
     void deserializeBuffer(ByteBuf b, CorfuRuntime rt) {
         super.deserializeBuffer(b, rt);
         short methodLength = b.readShort();
-        byte[] methodBytes = new byte[methodLength];
-        b.readBytes(methodBytes, 0, methodLength);
-        SMRMethod = new String(methodBytes);
+        if (methodLength < 0) {
+            methodId = (short) (methodLength & SMRMethodIds.MAX_ID);
+        } else {
+            byte[] methodBytes = new byte[methodLength];
+            b.readBytes(methodBytes, 0, methodLength);
+            SMRMethod = new String(methodBytes);
+        }
         serializerType = Serializers.getSerializer(b.readByte());
         byte numArguments = b.readByte();
         Object[] arguments = new Object[numArguments];
@@ -121,8 +155,13 @@ public class SMREntry extends LogEntry implements ISMRConsumable {
     @Override
     public void serialize(ByteBuf b) {
         super.serialize(b);
-        b.writeShort(SMRMethod.length());
-        b.writeBytes(SMRMethod.getBytes());
+        if (methodId != NO_METHOD_ID) {
+            // The sign bit tells the method ID apart from the length of a method name.
+            b.writeShort(methodId | METHOD_ID_FLAG);
+        } else {
+            b.writeShort(SMRMethod.length());
+            b.writeBytes(SMRMethod.getBytes());
+        }
         b.writeByte(serializerType.getType());
         b.writeByte(SMRArguments.length);
         Arrays.stream(SMRArguments)
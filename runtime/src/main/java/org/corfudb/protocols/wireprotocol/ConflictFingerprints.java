@@ -0,0 +1,192 @@
+package org.corfudb.protocols.wireprotocol;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.primitives.Longs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import lombok.Getter;
+
+import net.openhft.hashing.LongHashFunction;
+
+import org.corfudb.util.Utils;
+
+/**
+ * The conflict keys a transaction read or wrote on a stream, as 64-bit fingerprints of
+ * their hashes, sorted and without duplicates.
+ *
+ * <p>A large read set can instead be encoded as a Bloom filter of its fingerprints, which
+ * only answers whether it might contain a key. A key the transaction did not read is then
+ * taken as read at the false positive rate of the filter.</p>
+ */
+public class ConflictFingerprints implements ICorfuPayload<ConflictFingerprints> {
+
+    private static final byte SORTED = 0;
+
+    private static final byte BLOOM_FILTER = 1;
+
+    /**
+     * The fingerprints, or null if encoded as a Bloom filter.
+     */
+    private final long[] fingerprints;
+
+    private final BloomFilter<Long> bloomFilter;
+
+    /**
+     * The number of distinct fingerprints.
+     */
+    @Getter
+    private final int size;
+
+    private ConflictFingerprints(long[] fingerprints, BloomFilter<Long> bloomFilter, int size) {
+        this.fingerprints = fingerprints;
+        this.bloomFilter = bloomFilter;
+        this.size = size;
+    }
+
+    /**
+     * Get the fingerprint of a conflict key.
+     *
+     * @param hash The hash of the key, see {@link org.corfudb.util.serializer.ISerializer#hash}.
+     * @return The fingerprint, which is the hash itself for 64-bit hashes.
+     */
+    public static long fingerprint(byte[] hash) {
+        if (hash.length == Long.BYTES) {
+            return Longs.fromByteArray(hash);
+        }
+        return LongHashFunction.xx().hashBytes(hash);
+    }
+
+    /**
+     * Get the key reported for a conflict on a fingerprint, see
+     * {@link TokenResponse#getConflictKey()}.
+     *
+     * @param fingerprint The fingerprint.
+     * @return The fingerprint as a big endian array.
+     */
+    public static byte[] toConflictKey(long fingerprint) {
+        return Utils.longToBigEndianByteArray(fingerprint);
+    }
+
+    /**
+     * Create a set of fingerprints.
+     *
+     * @param fingerprints The fingerprints, possibly with duplicates. The array is sorted in
+     *                     place and owned by the returned set.
+     * @return The set of fingerprints.
+     */
+    public static ConflictFingerprints of(long[] fingerprints) {
+        Arrays.sort(fingerprints);
+        int size = 0;
+        for (int i = 0; i < fingerprints.length; i++) {
+            if (i == 0 || fingerprints[i] != fingerprints[i - 1]) {
+                fingerprints[size++] = fingerprints[i];
+            }
+        }
+        return new ConflictFingerprints(size == fingerprints.length ? fingerprints
+                : Arrays.copyOf(fingerprints, size), null, size);
+    }
+
+    /**
+     * Encode these fingerprints as a Bloom filter.
+     *
+     * @param falsePositiveRate The false positive rate of the filter.
+     * @return The fingerprints as a Bloom filter.
+     */
+    public ConflictFingerprints toBloomFilter(double falsePositiveRate) {
+        if (isBloomFilter()) {
+            return this;
+        }
+        BloomFilter<Long> filter = BloomFilter.create(Funnels.longFunnel(), size,
+                falsePositiveRate);
+        for (long fingerprint : fingerprints) {
+            filter.put(fingerprint);
+        }
+        return new ConflictFingerprints(null, filter, size);
+    }
+
+    public boolean isBloomFilter() {
+        return bloomFilter != null;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether this set might contain a fingerprint. This is exact, unless the fingerprints
+     * are encoded as a Bloom filter.
+     *
+     * @param fingerprint The fingerprint to look up.
+     * @return False if this set does not contain the fingerprint.
+     */
+    public boolean mightContain(long fingerprint) {
+        return isBloomFilter() ? bloomFilter.mightContain(fingerprint)
+                : Arrays.binarySearch(fingerprints, fingerprint) >= 0;
+    }
+
+    /**
+     * Get the fingerprint at an index, in increasing order.
+     *
+     * @param index The index of the fingerprint.
+     * @return The fingerprint.
+     * @throws IllegalStateException If the fingerprints are encoded as a Bloom filter.
+     */
+    public long get(int index) {
+        if (isBloomFilter()) {
+            throw new IllegalStateException("Cannot enumerate the keys of a Bloom filter");
+        }
+        return fingerprints[index];
+    }
+
+    public ConflictFingerprints(ByteBuf buf) {
+        if (buf.readByte() == BLOOM_FILTER) {
+            size = buf.readInt();
+            fingerprints = null;
+            try {
+                bloomFilter = BloomFilter.readFrom(new ByteBufInputStream(buf),
+                        Funnels.longFunnel());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            size = buf.readInt();
+            fingerprints = new long[size];
+            for (int i = 0; i < size; i++) {
+                fingerprints[i] = buf.readLong();
+            }
+            bloomFilter = null;
+        }
+    }
+
+    @Override
+    public void doSerialize(ByteBuf buf) {
+        if (isBloomFilter()) {
+            buf.writeByte(BLOOM_FILTER);
+            buf.writeInt(size);
+            try {
+                bloomFilter.writeTo(new ByteBufOutputStream(buf));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            buf.writeByte(SORTED);
+            buf.writeInt(size);
+            for (long fingerprint : fingerprints) {
+                buf.writeLong(fingerprint);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isBloomFilter() ? "BloomFilter[" + size + "]" : Arrays.toString(fingerprints);
+    }
+}
@@ -51,12 +51,16 @@ public enum CorfuMsgType {
     SEQUENCER_TRIM_REQ(23, new TypeToken<CorfuPayloadMsg<Long>>() {}),
     SEQUENCER_METRICS_REQUEST(24, TypeToken.of(CorfuMsg.class), true),
     SEQUENCER_METRICS_RESPONSE(25, new TypeToken<CorfuPayloadMsg<SequencerMetrics>>(){}, true),
+    SEQUENCER_STANDBY_UPDATE(26, new TypeToken<CorfuPayloadMsg<SequencerStandbyUpdateMsg>>(){}, true),
+    SEQUENCER_STANDBY_TAIL_REQUEST(27, TypeToken.of(CorfuMsg.class)),
+    SEQUENCER_STANDBY_TAIL_RESPONSE(28, new TypeToken<CorfuPayloadMsg<Long>>(){}),
 
     // Logging Unit Messages
     WRITE(30, new TypeToken<CorfuPayloadMsg<WriteRequest>>() {}),
     READ_REQUEST(31, new TypeToken<CorfuPayloadMsg<ReadRequest>>() {}),
     READ_RESPONSE(32, new TypeToken<CorfuPayloadMsg<ReadResponse>>() {}),
     MULTIPLE_READ_REQUEST(35, new TypeToken<CorfuPayloadMsg<MultipleReadRequest>>() {}),
+    READ_CHUNK_REQUEST(36, new TypeToken<CorfuPayloadMsg<ReadChunkRequest>>() {}),
     FILL_HOLE(34, new TypeToken<CorfuPayloadMsg<FillHoleRequest>>() {}),
     PREFIX_TRIM(38, new TypeToken<CorfuPayloadMsg<TrimRequest>>() {}),
     TAIL_REQUEST(41, TypeToken.of(CorfuMsg.class)),
@@ -66,6 +70,8 @@ public enum CorfuMsgType {
     TRIM_MARK_REQUEST(45, TypeToken.of(CorfuMsg.class)),
     TRIM_MARK_RESPONSE(46, new TypeToken<CorfuPayloadMsg<Long>>(){}),
     RESET_LOGUNIT(47, new TypeToken<CorfuPayloadMsg<Long>>(){}, true),
+    LOG_TAIL_REQUEST(48, TypeToken.of(CorfuMsg.class)),
+    LOG_TAIL_RESPONSE(49, new TypeToken<CorfuPayloadMsg<Long>>(){}),
 
     WRITE_OK(50, TypeToken.of(CorfuMsg.class)),
     ERROR_TRIMMED(51, TypeToken.of(CorfuMsg.class)),
@@ -97,6 +103,7 @@ public enum CorfuMsgType {
     MANAGEMENT_LAYOUT_REQUEST(79, TypeToken.of(CorfuMsg.class), true),
 
     ERROR_SERVER_EXCEPTION(200, new TypeToken<CorfuPayloadMsg<ExceptionMsg>>() {}, true),
+    ERROR_SERVER_BUSY(201, TypeToken.of(CorfuMsg.class), true),
 
     // Handshake Messages
     HANDSHAKE_INITIATE(80, new TypeToken<CorfuPayloadMsg<HandshakeMsg>>() {}, true),
@@ -13,6 +13,7 @@ import org.corfudb.protocols.logprotocol.CheckpointEntry;
 import org.corfudb.protocols.logprotocol.LogEntry;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.exceptions.WriteSizeException;
+import org.corfudb.util.serializer.SerializationBuffers;
 import org.corfudb.util.serializer.Serializers;
 
 /**
@@ -99,9 +100,15 @@ public class LogData implements ICorfuPayload<LogData>, IMetadata, ILogData {
     @Override
     public synchronized void acquireBuffer() {
         if (serializedCache == null) {
-            serializedCache = Unpooled.buffer();
-            doSerializeInternal(serializedCache);
-            lastKnownSize = serializedCache.array().length;
+            final ByteBuf buf = SerializationBuffers.allocate();
+            try {
+                doSerializeInternal(buf);
+            } catch (RuntimeException e) {
+                buf.release();
+                throw e;
+            }
+            serializedCache = buf;
+            lastKnownSize = buf.readableBytes();
         } else {
             serializedCache.retain();
         }
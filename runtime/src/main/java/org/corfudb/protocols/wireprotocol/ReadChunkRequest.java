@@ -0,0 +1,47 @@
+package org.corfudb.protocols.wireprotocol;
+
+import com.google.common.collect.Range;
+
+import io.netty.buffer.ByteBuf;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A request to read a range of addresses one chunk at a time.
+ *
+ * <p>The log unit responds with the entries of a prefix of the range, which starts at its lower
+ * endpoint and stops once the entries read reach the maximum chunk size. The client requests
+ * the rest of the range once it has consumed the chunk.</p>
+ */
+@Data
+@AllArgsConstructor
+public class ReadChunkRequest implements ICorfuPayload<ReadChunkRequest> {
+
+    /**
+     * The addresses to read.
+     */
+    final Range<Long> range;
+
+    /**
+     * The size of the entries in bytes above which the log unit stops reading. The chunk
+     * contains at least one entry, so it may exceed this size by the size of an entry.
+     */
+    final int maxChunkSize;
+
+    /**
+     * Deserialization Constructor from ByteBuf to ReadChunkRequest.
+     *
+     * @param buf The buffer to deserialize
+     */
+    public ReadChunkRequest(ByteBuf buf) {
+        range = ICorfuPayload.rangeFromBuffer(buf, Long.class);
+        maxChunkSize = ICorfuPayload.fromBuffer(buf, Integer.class);
+    }
+
+    @Override
+    public void doSerialize(ByteBuf buf) {
+        ICorfuPayload.serialize(buf, range);
+        ICorfuPayload.serialize(buf, maxChunkSize);
+    }
+}
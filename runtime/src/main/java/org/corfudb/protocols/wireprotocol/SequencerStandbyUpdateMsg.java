@@ -0,0 +1,89 @@
+package org.corfudb.protocols.wireprotocol;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The state changes a primary sequencer replicates to a standby sequencer.
+ *
+ * <p>An update either carries the changes made to the stream tails and conflict keys
+ * while the global tail moved from {@link #baseTail} to {@link #globalTail}, or, if
+ * {@link #fullSync} is set, the whole state of the primary.</p>
+ */
+@Data
+@AllArgsConstructor
+public class SequencerStandbyUpdateMsg implements ICorfuPayload<SequencerStandbyUpdateMsg> {
+
+    /**
+     * The epoch of the primary sequencer.
+     */
+    private Long sequencerEpoch;
+
+    /**
+     * The oldest epoch whose snapshots the state of the primary can resolve conflicts for.
+     */
+    private Long conflictStateEpoch;
+
+    /**
+     * The global tail the previous update left the standby at.
+     */
+    private Long baseTail;
+
+    /**
+     * The global tail of the primary.
+     */
+    private Long globalTail;
+
+    private Long trimMark;
+
+    private Long maxConflictWildcard;
+
+    private Map<UUID, Long> streamTails;
+
+    /**
+     * The conflict keys, as keyed in the conflict key cache of the sequencer.
+     */
+    private Map<Long, Long> conflictKeys;
+
+    /**
+     * Per stream, the address below which the conflict keys of the stream are not known.
+     */
+    private Map<UUID, Long> conflictStreamWildcards;
+
+    /**
+     * True if this update replaces the state of the standby rather than extending it.
+     */
+    private Boolean fullSync;
+
+    public SequencerStandbyUpdateMsg(ByteBuf buf) {
+        sequencerEpoch = ICorfuPayload.fromBuffer(buf, Long.class);
+        conflictStateEpoch = ICorfuPayload.fromBuffer(buf, Long.class);
+        baseTail = ICorfuPayload.fromBuffer(buf, Long.class);
+        globalTail = ICorfuPayload.fromBuffer(buf, Long.class);
+        trimMark = ICorfuPayload.fromBuffer(buf, Long.class);
+        maxConflictWildcard = ICorfuPayload.fromBuffer(buf, Long.class);
+        streamTails = ICorfuPayload.mapFromBuffer(buf, UUID.class, Long.class);
+        conflictKeys = ICorfuPayload.mapFromBuffer(buf, Long.class, Long.class);
+        conflictStreamWildcards = ICorfuPayload.mapFromBuffer(buf, UUID.class, Long.class);
+        fullSync = ICorfuPayload.fromBuffer(buf, Boolean.class);
+    }
+
+    @Override
+    public void doSerialize(ByteBuf buf) {
+        ICorfuPayload.serialize(buf, sequencerEpoch);
+        ICorfuPayload.serialize(buf, conflictStateEpoch);
+        ICorfuPayload.serialize(buf, baseTail);
+        ICorfuPayload.serialize(buf, globalTail);
+        ICorfuPayload.serialize(buf, trimMark);
+        ICorfuPayload.serialize(buf, maxConflictWildcard);
+        ICorfuPayload.serialize(buf, streamTails);
+        ICorfuPayload.serialize(buf, conflictKeys);
+        ICorfuPayload.serialize(buf, conflictStreamWildcards);
+        ICorfuPayload.serialize(buf, fullSync);
+    }
+}
@@ -8,6 +8,8 @@ import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import org.corfudb.runtime.view.Address;
+
 /**
  * Created by rmichoud on 6/20/17.
  */
@@ -26,11 +28,25 @@ public class SequencerTailsRecoveryMsg implements ICorfuPayload<SequencerTailsRe
      */
     private Boolean bootstrapWithoutTailsUpdate;
 
+    /**
+     * If this message promotes a standby sequencer, the global tail of the replicated state
+     * the stream tails were caught up from. The stream tails are then only the tails of the
+     * streams written after that tail. {@link Address#NON_ADDRESS} otherwise.
+     */
+    private Long standbyTail;
+
+    public SequencerTailsRecoveryMsg(Long globalTail, Map<UUID, Long> streamTails,
+                                     Long sequencerEpoch, Boolean bootstrapWithoutTailsUpdate) {
+        this(globalTail, streamTails, sequencerEpoch, bootstrapWithoutTailsUpdate,
+                Address.NON_ADDRESS);
+    }
+
     public SequencerTailsRecoveryMsg(ByteBuf buf) {
         globalTail = ICorfuPayload.fromBuffer(buf, Long.class);
         streamTails = ICorfuPayload.mapFromBuffer(buf, UUID.class, Long.class);
         sequencerEpoch = ICorfuPayload.fromBuffer(buf, Long.class);
         bootstrapWithoutTailsUpdate = ICorfuPayload.fromBuffer(buf, Boolean.class);
+        standbyTail = ICorfuPayload.fromBuffer(buf, Long.class);
     }
 
     @Override
@@ -40,6 +56,7 @@ public class SequencerTailsRecoveryMsg implements ICorfuPayload<SequencerTailsRe
         ICorfuPayload.serialize(buf, streamTails);
         ICorfuPayload.serialize(buf, sequencerEpoch);
         ICorfuPayload.serialize(buf, bootstrapWithoutTailsUpdate);
+        ICorfuPayload.serialize(buf, standbyTail);
     }
 }
 
@@ -6,7 +6,6 @@ import io.netty.buffer.ByteBuf;
 
 import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
 import lombok.Getter;
@@ -28,13 +27,18 @@ public class TxResolutionInfo implements ICorfuPayload<TxResolutionInfo> {
     @Setter
     Token snapshotTimestamp;
 
-    /** A set of poisoned streams, which have a conflict against all updates. */
-
+    /**
+     * The fingerprints of the conflict keys read, per stream. A stream with no keys
+     * conflicts with any update to the stream.
+     */
     @Getter
-    final Map<UUID, Set<byte[]>> conflictSet;
+    final Map<UUID, ConflictFingerprints> conflictSet;
 
+    /**
+     * The fingerprints of the conflict keys written, per stream.
+     */
     @Getter
-    final Map<UUID, Set<byte[]>>  writeConflictParams;
+    final Map<UUID, ConflictFingerprints> writeConflictParams;
 
     /**
      * Constructor for TxResolutionInfo.
@@ -57,8 +61,9 @@ public class TxResolutionInfo implements ICorfuPayload<TxResolutionInfo> {
      * @param conflictMap map of conflict parameters, arranged by stream IDs
      * @param writeConflictParams map of write conflict parameters, arranged by stream IDs
      */
-    public TxResolutionInfo(UUID txId, Token snapshotTimestamp, Map<UUID, Set<byte[]>>
-            conflictMap, Map<UUID, Set<byte[]>> writeConflictParams) {
+    public TxResolutionInfo(UUID txId, Token snapshotTimestamp,
+                            Map<UUID, ConflictFingerprints> conflictMap,
+                            Map<UUID, ConflictFingerprints> writeConflictParams) {
         this.TXid = txId;
         this.snapshotTimestamp = snapshotTimestamp;
         this.conflictSet = conflictMap;
@@ -70,8 +75,8 @@ public class TxResolutionInfo implements ICorfuPayload<TxResolutionInfo> {
      *
      * <p>The first entry is a long, the snapshot timestamp.
      * The second is an int, the size of the map.
-     * Next, entries are serialized one by one, first the key, then each value,
-     * itself a set of objects.</p>
+     * Next, entries are serialized one by one, first the key, then the fingerprints
+     * of the stream.</p>
      *
      * @param buf        The buffer to deserialize.
      */
@@ -83,20 +88,22 @@ public class TxResolutionInfo implements ICorfuPayload<TxResolutionInfo> {
 
         // conflictSet
         int numEntries = buf.readInt();
-        ImmutableMap.Builder<UUID, Set<byte[]>> conflictMapBuilder = new ImmutableMap.Builder<>();
+        ImmutableMap.Builder<UUID, ConflictFingerprints> conflictMapBuilder =
+                new ImmutableMap.Builder<>();
         for (int i = 0; i < numEntries; i++) {
             UUID k = ICorfuPayload.fromBuffer(buf, UUID.class);
-            Set<byte[]> v = ICorfuPayload.setFromBuffer(buf, byte[].class);
+            ConflictFingerprints v = ICorfuPayload.fromBuffer(buf, ConflictFingerprints.class);
             conflictMapBuilder.put(k, v);
         }
         conflictSet = conflictMapBuilder.build();
 
         // writeConflictParams
         numEntries = buf.readInt();
-        ImmutableMap.Builder<UUID, Set<byte[]>> writeMapBuilder = new ImmutableMap.Builder<>();
+        ImmutableMap.Builder<UUID, ConflictFingerprints> writeMapBuilder =
+                new ImmutableMap.Builder<>();
         for (int i = 0; i < numEntries; i++) {
             UUID k = ICorfuPayload.fromBuffer(buf, UUID.class);
-            Set<byte[]> v = ICorfuPayload.setFromBuffer(buf, byte[].class);
+            ConflictFingerprints v = ICorfuPayload.fromBuffer(buf, ConflictFingerprints.class);
             writeMapBuilder.put(k, v);
         }
 
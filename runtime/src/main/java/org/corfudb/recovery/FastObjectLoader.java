@@ -16,6 +16,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -738,8 +739,10 @@ public class FastObjectLoader {
         while (nextRead <= logTail) {
             final long start = nextRead;
             final long stopNotIncluded = Math.min(start + batchReadSize, logTail + 1);
-            nextRead = stopNotIncluded;
-            final Map<Long, ILogData> range = getLogData(runtime, start, stopNotIncluded);
+            // The read may stop before the end of the batch, once the size of the entries
+            // reaches the read chunk size of the runtime.
+            final SortedMap<Long, ILogData> range = getLogData(runtime, start, stopNotIncluded);
+            nextRead = range.lastKey() + 1;
 
             // Sanity
             boolean canProcessRange = true;
@@ -1,11 +1,9 @@
 package org.corfudb.recovery;
 
 import static org.corfudb.protocols.logprotocol.CheckpointEntry.CheckpointDictKey.SNAPSHOT_ADDRESS;
-import com.google.common.collect.ContiguousSet;
-import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Range;
 
-import java.util.Map;
+import java.util.SortedMap;
 import java.util.UUID;
 
 import org.corfudb.protocols.logprotocol.CheckpointEntry;
@@ -77,8 +75,10 @@ public class RecoveryUtils {
     /**
      * Get a range of LogData from the server
      *
-     * This is using the underlying bulk read implementation for
-     * fetching a range of addresses. This read will return
+     * This is using the underlying chunked read implementation for
+     * fetching a range of addresses. The read stops once the size of
+     * the entries reaches the read chunk size of the runtime, so it
+     * may only return a prefix of the range. This read will return
      * a map ordered by address.
      *
      * It uses a ClosedOpen range : [start, end)
@@ -86,11 +86,10 @@ public class RecoveryUtils {
      *
      * @param start start address for the bulk read
      * @param end end address for the bulk read
-     * @return logData map ordered by addresses (increasing)
+     * @return logData map ordered by addresses (increasing), starting at start
      */
-    static Map<Long, ILogData> getLogData(CorfuRuntime runtime, long start, long end) {
-        return runtime.getAddressSpaceView().
-                cacheFetch(ContiguousSet.create(Range.closedOpen(start, end), DiscreteDomain.longs()));
+    static SortedMap<Long, ILogData> getLogData(CorfuRuntime runtime, long start, long end) {
+        return runtime.getAddressSpaceView().readChunk(Range.closed(start, end - 1));
     }
 
     /** Deserialize a logData by getting the logEntry
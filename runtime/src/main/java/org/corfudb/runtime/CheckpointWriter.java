@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -48,8 +49,8 @@ public class CheckpointWriter<T extends Map> {
     private LocalDateTime startTime;
     private long startAddress;
     private long endAddress;
-    private long numEntries = 0;
-    private long numBytes = 0;
+    private final AtomicLong numEntries = new AtomicLong();
+    private final AtomicLong numBytes = new AtomicLong();
 
     // Registry and Timer used for measuring append checkpoint
     private static MetricRegistry metricRegistry = CorfuRuntime.getDefaultMetrics();
@@ -216,21 +217,40 @@ public class CheckpointWriter<T extends Map> {
                 smrEntries.addTo(new SMREntry("put",
                         new Object[]{keyMutator.apply(entry.getKey()),
                                 valueMutator.apply(entry.getValue())},
-                        serializer));
+                        serializer, rt.getParameters().isSmrMethodIdsEnabled()));
             }
 
-            CheckpointEntry cp = new CheckpointEntry(CheckpointEntry
-                    .CheckpointEntryType.CONTINUATION,
-                    author, checkpointId, streamId, mdkv, smrEntries);
-            long pos = nonCachedAppend(cp, checkpointStreamID);
-            postAppendFunc.accept(cp, pos);
-            numEntries++;
-            // CheckpointEntry::serialize() has a side-effect we use
-            // for an accurate count of serialized bytes of SRMEntries.
-            numBytes += cp.getSmrEntriesBytes();
+            appendContinuation(mdkv, smrEntries);
         }
     }
 
+    /** Append a CONTINUATION record holding a batch of updates
+     *  which were already built, for example read back from an
+     *  export of the object's state.
+     *
+     *  <p>Unlike appendObjectState(), this method may be called
+     *  by several threads at once, between startCheckpoint() and
+     *  finishCheckpoint().</p>
+     *
+     * @param smrEntries The updates of the batch.
+     */
+    public void appendUpdates(MultiSMREntry smrEntries) {
+        appendContinuation(ImmutableMap.copyOf(this.mdkv), smrEntries);
+    }
+
+    private void appendContinuation(ImmutableMap<CheckpointEntry.CheckpointDictKey, String> mdkv,
+                                    MultiSMREntry smrEntries) {
+        CheckpointEntry cp = new CheckpointEntry(CheckpointEntry
+                .CheckpointEntryType.CONTINUATION,
+                author, checkpointId, streamId, mdkv, smrEntries);
+        long pos = nonCachedAppend(cp, checkpointStreamID);
+        postAppendFunc.accept(cp, pos);
+        numEntries.incrementAndGet();
+        // CheckpointEntry::serialize() has a side-effect we use
+        // for an accurate count of serialized bytes of SRMEntries.
+        numBytes.addAndGet(cp.getSmrEntriesBytes());
+    }
+
     /** Append a checkpoint END record to this object's stream.
      *
      *  <p>Corfu client transaction management, if desired, is the
@@ -241,10 +261,10 @@ public class CheckpointWriter<T extends Map> {
     public void finishCheckpoint() {
         LocalDateTime endTime = LocalDateTime.now();
         mdkv.put(CheckpointEntry.CheckpointDictKey.END_TIME, endTime.toString());
-        numEntries++;
-        numBytes++;
-        mdkv.put(CheckpointEntry.CheckpointDictKey.ENTRY_COUNT, Long.toString(numEntries));
-        mdkv.put(CheckpointEntry.CheckpointDictKey.BYTE_COUNT, Long.toString(numBytes));
+        mdkv.put(CheckpointEntry.CheckpointDictKey.ENTRY_COUNT,
+                Long.toString(numEntries.incrementAndGet()));
+        mdkv.put(CheckpointEntry.CheckpointDictKey.BYTE_COUNT,
+                Long.toString(numBytes.incrementAndGet()));
 
         CheckpointEntry cp = new CheckpointEntry(CheckpointEntry.CheckpointEntryType.END,
                 author, checkpointId, streamId, mdkv, null);
@@ -39,11 +39,14 @@ import org.corfudb.protocols.wireprotocol.MsgHandlingFilter;
 import org.corfudb.protocols.wireprotocol.VersionInfo;
 import org.corfudb.recovery.FastObjectLoader;
 import org.corfudb.runtime.clients.BaseClient;
+import org.corfudb.runtime.clients.DeadlineTimer;
 import org.corfudb.runtime.clients.IClientRouter;
 import org.corfudb.runtime.clients.LayoutClient;
 import org.corfudb.runtime.clients.LayoutHandler;
 import org.corfudb.runtime.clients.LogUnitHandler;
 import org.corfudb.runtime.clients.ManagementHandler;
+import org.corfudb.runtime.clients.MultiLaneClientRouter;
+import org.corfudb.runtime.clients.MultiLaneClientRouter.Lane;
 import org.corfudb.runtime.clients.NettyClientRouter;
 import org.corfudb.runtime.clients.SequencerHandler;
 import org.corfudb.runtime.exceptions.NetworkException;
@@ -66,6 +69,7 @@ import org.corfudb.util.NodeLocator;
 import org.corfudb.util.Sleep;
 import org.corfudb.util.UuidUtils;
 import org.corfudb.util.Version;
+import org.corfudb.util.concurrent.SingletonResource;
 
 /**
  * Created by mwei on 12/9/15.
@@ -98,12 +102,52 @@ public class CorfuRuntime {
         @Default
         boolean optimisticUndoDisabled = false;
 
+        /**
+         * True, if the SMR entries written by this runtime record the ID of their method
+         * instead of its name, which saves the name on the log and its lookup on every update
+         * applied. Runtimes which do not read method IDs cannot read such entries, so this is
+         * only enabled once every runtime of the cluster reads both formats. Entries already
+         * on the log keep their names, and the SMR methods of an object must not be renamed
+         * once entries with IDs are written.
+         */
+        @Default
+        boolean smrMethodIdsEnabled = false;
+
         /**
          * Max size for a write request.
          */
         @Default
         int maxWriteSize = 0;
 
+        /**
+         * The size in bytes above which a log unit stops reading the entries of a chunk, when
+         * a range of addresses is read one chunk at a time. This bounds the size of each read
+         * response, and the memory held by the readers which consume a range chunk by chunk.
+         */
+        @Default
+        int readChunkSize = 4 * 1024 * 1024;
+
+        /**
+         * The number of conflict keys a transaction reads on a stream above which they are
+         * sent to the sequencer as a Bloom filter, rather than one fingerprint per key.
+         * Disabled by default.
+         */
+        @Default
+        int conflictBloomFilterThreshold = Integer.MAX_VALUE;
+
+        /**
+         * The false positive rate of the Bloom filters of read conflict keys, that is the
+         * rate at which a key written since the snapshot but not read aborts a transaction.
+         */
+        @Default
+        double conflictBloomFilterFpp = 0.01;
+
+        /**
+         * The number of threads reading the shards of a sharded table in parallel.
+         */
+        @Default
+        int shardReadThreads = 4;
+
         /**
          * Use fast loader to restore objects on connection.
          *
@@ -115,11 +159,33 @@ public class CorfuRuntime {
         boolean useFastLoader = false;
 
         /**
-         * Set the bulk read size.
+         * Set the bulk read size, the number of addresses of the first bulk read requests,
+         * or of every request if {@link #bulkReadBytes} is zero.
          */
         @Default
         int bulkReadSize = 10;
 
+        /**
+         * The number of bytes each bulk read request is expected to read. The number of
+         * addresses of a request adapts to the size of the entries read, and to the time the
+         * log units take to read them. Zero disables the adaptation.
+         */
+        @Default
+        int bulkReadBytes = 1024 * 1024;
+
+        /**
+         * The number of bulk read requests in flight at once.
+         */
+        @Default
+        int bulkReadsInFlight = 4;
+
+        /**
+         * The number of addresses read ahead once addresses are read one after the other,
+         * such as by a scan of the log. Zero disables reading ahead.
+         */
+        @Default
+        int sequentialPrefetchWindow = 0;
+
         /**
          * How much time the Fast Loader has to get the maps up to date.
          *
@@ -146,6 +212,33 @@ public class CorfuRuntime {
          */
         @Default Duration holeFillTimeout = Duration.ofSeconds(10);
 
+        /**
+         * Whether the time to wait before hole filling is learned from the observed write
+         * delays, instead of always being {@link #holeFillTimeout}.
+         */
+        @Default
+        boolean adaptiveHoleFillEnabled = false;
+
+        /**
+         * The percentile of the observed write delays to wait for before hole filling,
+         * if adaptive hole filling is enabled.
+         */
+        @Default
+        double holeFillPercentile = 0.99;
+
+        /**
+         * The minimum time to wait before hole filling, if adaptive hole filling is enabled.
+         */
+        @Default
+        Duration holeFillMinTimeout = Duration.ofMillis(100);
+
+        /**
+         * The number of threads reading in parallel the addresses of a quorum bulk read which
+         * a quorum of replicas does not agree on, each of which may be recovered or hole filled.
+         */
+        @Default
+        int quorumRecoveryReadThreads = 4;
+
         /**
          * Whether or not to disable the cache.
          */
@@ -199,6 +292,20 @@ public class CorfuRuntime {
          */
         @Default
         int trimRetry = 2;
+
+        /**
+         * The number of entries of a stream read and deserialized ahead of the entry being
+         * applied, while syncing an object. At most two windows of entries are held. Zero
+         * disables reading ahead.
+         */
+        @Default
+        int streamReadAheadWindow = 256;
+
+        /**
+         * The number of threads reading the entries of the streams ahead.
+         */
+        @Default
+        int streamReadAheadThreads = 2;
         // endregion
 
         //region        Security parameters
@@ -280,12 +387,78 @@ public class CorfuRuntime {
         @Default
         Duration connectionRetryRate = Duration.ofSeconds(1);
 
+        /**
+         * {@link Duration} to back off before resending a request a server rejected as busy.
+         * The backoff doubles with each rejection of the same request, up to
+         * {@link #maxServerBusyBackoff}, and a request is resent until it times out.
+         */
+        @Default
+        Duration serverBusyBackoff = Duration.ofMillis(2);
+
+        /**
+         * Maximum {@link Duration} to back off before resending a request a server rejected
+         * as busy.
+         */
+        @Default
+        Duration maxServerBusyBackoff = Duration.ofMillis(200);
+
+        /**
+         * The number of connections to each node for the small requests, such as tokens,
+         * tails and writes of an entry. At least one connection is used.
+         */
+        @Default
+        int controlConnections = 1;
+
+        /**
+         * The number of connections to each node for reads, or 0 to send them over the
+         * control connections.
+         */
+        @Default
+        int bulkReadConnections = 1;
+
+        /**
+         * The number of connections to each node for large writes, such as the range writes
+         * of a state transfer, or 0 to send them over the control connections.
+         */
+        @Default
+        int bulkWriteConnections = 1;
+
+        /**
+         * Get the number of connections to each node for a lane of requests.
+         *
+         * @param lane The lane.
+         * @return The number of connections of the lane.
+         */
+        public int getLaneConnections(@Nonnull Lane lane) {
+            switch (lane) {
+                case BULK_READ:
+                    return bulkReadConnections;
+                case BULK_WRITE:
+                    return bulkWriteConnections;
+                default:
+                    return controlConnections;
+            }
+        }
+
         /**
          * The period at which the runtime will run garbage collection
          */
         @Default
         Duration runtimeGCPeriod = Duration.ofMinutes(20);
 
+        /**
+         * The maximum time a runtime garbage collection cycle works before yielding,
+         * a cycle is run as a sequence of such slices.
+         */
+        @Default
+        Duration runtimeGCSliceDuration = Duration.ofMillis(10);
+
+        /**
+         * The time the runtime garbage collector pauses between two slices of a cycle.
+         */
+        @Default
+        Duration runtimeGCSliceInterval = Duration.ofMillis(1);
+
         /**
          * The {@link UUID} for this client. Randomly generated by default.
          */
@@ -302,10 +475,11 @@ public class CorfuRuntime {
 
         /**
          * The type of socket which {@link NettyClientRouter}s should use. By default,
-         * an NIO based implementation is used.
+         * the native transport is used when available (epoll on Linux), and NIO otherwise.
+         * It must match the type of the {@code nettyEventLoop}, if one is provided.
          */
         @Default
-        ChannelImplementation socketType = ChannelImplementation.NIO;
+        ChannelImplementation socketType = ChannelImplementation.AUTO;
 
         /**
          * Number of retries to reconnect to an unresponsive system before invoking the
@@ -449,6 +623,12 @@ public class CorfuRuntime {
     @Getter
     private final EventLoopGroup nettyEventLoop;
 
+    /**
+     * The deadlines of the requests of the netty routers.
+     */
+    @Getter
+    private final DeadlineTimer deadlineTimer = new DeadlineTimer("CorfuRuntime-Deadline-%d");
+
     /**
      * A view of the layout service in the Corfu server instance.
      */
@@ -536,6 +716,37 @@ public class CorfuRuntime {
             .setNameFormat("CorfuRuntime-%d")
             .build());
 
+    /**
+     * The threads reading the entries of the streams ahead. The executors below are created on
+     * first use, so that they are neither created nor shut down by the runtimes which do not
+     * use them.
+     */
+    private final SingletonResource<ExecutorService> readAheadExecutor =
+            SingletonResource.withInitial(() -> newFixedThreadPool(
+                    getParameters().getStreamReadAheadThreads(), "CorfuRuntime-ReadAhead-%d"));
+
+    /**
+     * The threads running the bulk reads and the reads ahead of the address space.
+     */
+    private final SingletonResource<ExecutorService> bulkReadExecutor =
+            SingletonResource.withInitial(() -> newFixedThreadPool(
+                    getParameters().getBulkReadsInFlight(), "CorfuRuntime-BulkRead-%d"));
+
+    /**
+     * The threads reading the shards of the sharded tables in parallel.
+     */
+    private final SingletonResource<ExecutorService> shardReadExecutor =
+            SingletonResource.withInitial(() -> newFixedThreadPool(
+                    getParameters().getShardReadThreads(), "CorfuRuntime-ShardRead-%d"));
+
+    /**
+     * The threads reading the addresses of the quorum bulk reads which need to be recovered.
+     */
+    private final SingletonResource<ExecutorService> quorumRecoveryReadExecutor =
+            SingletonResource.withInitial(() -> newFixedThreadPool(
+                    getParameters().getQuorumRecoveryReadThreads(),
+                    "CorfuRuntime-QuorumRecoveryRead-%d"));
+
     /**
      * Latest layout seen by the runtime.
      */
@@ -599,9 +810,10 @@ public class CorfuRuntime {
                     overrideGetRouterFunction.apply(this, address) : (address) -> {
                 NodeLocator node = NodeLocator.parseString(address);
                 // Generate a new router, start it and add it to the table.
-                NettyClientRouter newRouter = new NettyClientRouter(node,
-                        getNettyEventLoop(),
-                        getParameters());
+                MultiLaneClientRouter newRouter = new MultiLaneClientRouter(node,
+                        getParameters(),
+                        () -> new NettyClientRouter(node, getNettyEventLoop(), getParameters(),
+                                getDeadlineTimer()));
                 log.debug("Connecting to new router {}", node);
                 try {
                     newRouter.addClient(new LayoutHandler())
@@ -695,6 +907,50 @@ public class CorfuRuntime {
         }
     }
 
+    /**
+     * Get the threads reading the entries of the streams ahead.
+     *
+     * @return The read ahead executor, created on first use.
+     */
+    public ExecutorService getReadAheadExecutor() {
+        return readAheadExecutor.get();
+    }
+
+    /**
+     * Get the threads running the bulk reads and the reads ahead of the address space.
+     *
+     * @return The bulk read executor, created on first use.
+     */
+    public ExecutorService getBulkReadExecutor() {
+        return bulkReadExecutor.get();
+    }
+
+    /**
+     * Get the threads reading the shards of the sharded tables in parallel.
+     *
+     * @return The shard read executor, created on first use.
+     */
+    public ExecutorService getShardReadExecutor() {
+        return shardReadExecutor.get();
+    }
+
+    /**
+     * Get the threads reading the addresses of the quorum bulk reads which need to be
+     * recovered.
+     *
+     * @return The quorum recovery read executor, created on first use.
+     */
+    public ExecutorService getQuorumRecoveryReadExecutor() {
+        return quorumRecoveryReadExecutor.get();
+    }
+
+    private static ExecutorService newFixedThreadPool(int threads, String nameFormat) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat(nameFormat)
+                .build());
+    }
+
     /**
      * Shuts down the CorfuRuntime.
      * Stops async tasks from fetching the layout.
@@ -714,6 +970,11 @@ public class CorfuRuntime {
         }
 
         stop(true);
+        deadlineTimer.stop();
+        readAheadExecutor.cleanup(ExecutorService::shutdownNow);
+        bulkReadExecutor.cleanup(ExecutorService::shutdownNow);
+        shardReadExecutor.cleanup(ExecutorService::shutdownNow);
+        quorumRecoveryReadExecutor.cleanup(ExecutorService::shutdownNow);
 
         // Shutdown the event loop
         if (parameters.shutdownNettyEventLoop) {
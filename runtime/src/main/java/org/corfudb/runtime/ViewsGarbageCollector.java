@@ -1,13 +1,22 @@
 package org.corfudb.runtime;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.runtime.exceptions.GarbageCollectorException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
+import org.corfudb.runtime.object.CorfuCompileProxy;
+import org.corfudb.runtime.object.ICorfuSMR;
+import org.corfudb.runtime.object.VersionLockedObject;
 import org.corfudb.runtime.view.Address;
+import org.corfudb.runtime.view.stream.IStreamView;
+import org.corfudb.util.CorfuComponent;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +28,11 @@ import java.util.concurrent.TimeUnit;
  * the runtime's views need to remove log metadata that corresponds to the trimmed
  * parts of the log.
  * <p>
+ * A gc cycle is incremental: objects and streams are collected in small time-bounded
+ * slices, between which the collector yields, objects that cannot hold any data below
+ * the trim mark are skipped without taking their lock, and objects which are locked
+ * when visited are collected at the end of the cycle.
+ * <p>
  * Created by Maithem on 11/16/18.
  */
 
@@ -26,6 +40,11 @@ import java.util.concurrent.TimeUnit;
 @NotThreadSafe
 public class ViewsGarbageCollector {
 
+    private static final String GC_CYCLE_TIMER_NAME = CorfuComponent.GARBAGE_COLLECTION
+            + "runtime.cycle";
+
+    private static final String GC_PAUSE_TIMER_NAME = CorfuComponent.GARBAGE_COLLECTION
+            + "runtime.pause";
 
     private long trimMark = Address.NON_ADDRESS;
 
@@ -39,6 +58,11 @@ public class ViewsGarbageCollector {
 
     final CorfuRuntime runtime;
 
+    /**
+     * The time at which the current slice of the gc cycle started.
+     */
+    private long sliceStartTs;
+
     public ViewsGarbageCollector(CorfuRuntime runtime) {
         this.runtime = runtime;
         this.started = false;
@@ -70,7 +94,9 @@ public class ViewsGarbageCollector {
             long currTrimMark = runtime.getAddressSpaceView().getTrimMark().getSequence();
             log.info("runRuntimeGC: starting gc cycle, attempting to remove {} to {}", trimMark,
                     currTrimMark);
-            long startTs = System.currentTimeMillis();
+            MetricRegistry metrics = runtime.getMetrics();
+            long startTs = System.nanoTime();
+            sliceStartTs = startTs;
 
             // Note: the stream layer will defer GC on this trimMark for the next cycle.
             // This is done to avoid data loss whenever the current context is at a version in the trim area. If we GC
@@ -78,13 +104,21 @@ public class ViewsGarbageCollector {
             // so transactions at versions over the trim mark can recover their state.
             // To avoid this, a flag will be set so we start aborting ongoing transactions in this trimmed area and
             // let the next GC cycle discard the data.
-            runtime.getObjectsView().gc(currTrimMark);
-            runtime.getStreamsView().gc(currTrimMark);
-            runtime.getAddressSpaceView().gc(currTrimMark);
-            long endTs = System.currentTimeMillis();
+            int collectedObjects = gcObjects(currTrimMark, metrics);
+            int collectedStreams = gcStreams(currTrimMark);
+            long evictedEntries = runtime.getAddressSpaceView().gc(currTrimMark);
+
+            long cycleTime = System.nanoTime() - startTs;
+            metrics.timer(GC_CYCLE_TIMER_NAME).update(cycleTime, TimeUnit.NANOSECONDS);
             trimMark = currTrimMark;
-            log.info("runRuntimeGC: completed gc in {}ms on {} object(s), new trimMark {}",
-                    endTs - startTs, runtime.getObjectsView().getObjectCache().size(), trimMark);
+            log.info("runRuntimeGC: completed gc in {}ms on {} of {} object(s), {} stream(s) and "
+                            + "{} cache entries, new trimMark {}",
+                    TimeUnit.NANOSECONDS.toMillis(cycleTime), collectedObjects,
+                    runtime.getObjectsView().getObjectCache().size(), collectedStreams,
+                    evictedEntries, trimMark);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new UnrecoverableCorfuInterruptedError(ie);
         } catch (Exception e) {
             if (e.getCause() instanceof InterruptedException) {
                 throw new UnrecoverableCorfuInterruptedError((InterruptedException) e.getCause());
@@ -93,4 +127,90 @@ public class ViewsGarbageCollector {
             }
         }
     }
+
+    /**
+     * Run garbage collection on all opened objects. Note that objects
+     * open with the NO_CACHE options will not be gc'd.
+     *
+     * <p>Objects that do not require gc are skipped, and objects which are locked
+     * when visited are deferred and collected once all other objects have been.</p>
+     *
+     * @param trimMark The trim mark to collect up to.
+     * @param metrics  The registry to publish pause times to.
+     * @return The number of objects collected.
+     */
+    private int gcObjects(long trimMark, MetricRegistry metrics) throws InterruptedException {
+        List<VersionLockedObject<?>> busyObjects = new ArrayList<>();
+        int collected = 0;
+
+        for (Object obj : new ArrayList<>(runtime.getObjectsView().getObjectCache().values())) {
+            VersionLockedObject<?> vlo = ((CorfuCompileProxy<?>) ((ICorfuSMR) obj)
+                    .getCorfuSMRProxy()).getUnderlyingObject();
+            if (!vlo.isGcRequired(trimMark)) {
+                continue;
+            }
+
+            long pauseStartTs = System.nanoTime();
+            if (vlo.tryGc(trimMark)) {
+                metrics.timer(GC_PAUSE_TIMER_NAME).update(System.nanoTime() - pauseStartTs,
+                        TimeUnit.NANOSECONDS);
+                collected++;
+            } else {
+                busyObjects.add(vlo);
+            }
+            yieldIfSliceExpired();
+        }
+
+        for (VersionLockedObject<?> vlo : busyObjects) {
+            long pauseStartTs = System.nanoTime();
+            vlo.gc(trimMark);
+            metrics.timer(GC_PAUSE_TIMER_NAME).update(System.nanoTime() - pauseStartTs,
+                    TimeUnit.NANOSECONDS);
+            collected++;
+            yieldIfSliceExpired();
+        }
+
+        return collected;
+    }
+
+    /**
+     * Run garbage collection on all opened streams. Note that opened
+     * unsafe streams will be excluded.
+     *
+     * @param trimMark The trim mark to collect up to.
+     * @return The number of streams collected.
+     */
+    private int gcStreams(long trimMark) throws InterruptedException {
+        Collection<IStreamView> streamCache = runtime.getStreamsView().getStreamCache().values();
+        List<IStreamView> streams;
+        synchronized (runtime.getStreamsView().getStreamCache()) {
+            streams = new ArrayList<>(streamCache);
+        }
+
+        for (IStreamView streamView : streams) {
+            streamView.gc(trimMark);
+            yieldIfSliceExpired();
+        }
+
+        return streams.size();
+    }
+
+    /**
+     * End the current slice of the gc cycle if it has exceeded its time budget, pausing
+     * the collector before starting the next slice.
+     */
+    private void yieldIfSliceExpired() throws InterruptedException {
+        long sliceDuration = runtime.getParameters().getRuntimeGCSliceDuration().toNanos();
+        if (System.nanoTime() - sliceStartTs < sliceDuration) {
+            return;
+        }
+
+        long interval = runtime.getParameters().getRuntimeGCSliceInterval().toMillis();
+        if (interval > 0) {
+            TimeUnit.MILLISECONDS.sleep(interval);
+        } else {
+            Thread.yield();
+        }
+        sliceStartTs = System.nanoTime();
+    }
 }
@@ -14,6 +14,7 @@ import org.corfudb.protocols.wireprotocol.CorfuPayloadMsg;
 import org.corfudb.protocols.wireprotocol.ExceptionMsg;
 import org.corfudb.protocols.wireprotocol.JSONPayloadMsg;
 import org.corfudb.protocols.wireprotocol.VersionInfo;
+import org.corfudb.runtime.exceptions.ServerBusyException;
 import org.corfudb.runtime.exceptions.ServerNotReadyException;
 import org.corfudb.runtime.exceptions.ShutdownException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
@@ -129,6 +130,21 @@ public class BaseHandler implements IClient {
         throw new ServerNotReadyException();
     }
 
+    /**
+     * Handle a busy response from the server, which rejected the request without
+     * processing it.
+     *
+     * @param msg The busy message
+     * @param ctx The context the message was sent under
+     * @param r   A reference to the router
+     * @return none, throw a server busy exception instead.
+     */
+    @ClientHandler(type = CorfuMsgType.ERROR_SERVER_BUSY)
+    private static Object handleServerBusy(CorfuMsg msg, ChannelHandlerContext ctx,
+                                           IClientRouter r) {
+        throw new ServerBusyException();
+    }
+
     /**
      * Generic handler for a server exception.
      */
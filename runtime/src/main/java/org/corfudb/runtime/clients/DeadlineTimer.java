@@ -0,0 +1,227 @@
+package org.corfudb.runtime.clients;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.util.NodeLocator;
+import org.corfudb.util.metrics.HotPathMetrics;
+import org.corfudb.util.metrics.LabeledMetrics;
+
+/**
+ * The deadlines of the requests sent by the routers of a runtime.
+ *
+ * <p>The deadlines are kept in a hashed wheel, so scheduling a deadline and cancelling it when
+ * the response arrives are O(1), and a cancelled deadline is removed from the wheel at its next
+ * tick. A deadline may fire up to a tick after it expires.</p>
+ *
+ * <p>Each router schedules its deadlines through its own {@link Bucket}, which counts the
+ * deadlines pending and fired for its node. The totals are exported by the
+ * {@link HotPathMetrics}.</p>
+ *
+ * <p>The thread of the wheel is started by the first deadline scheduled.</p>
+ */
+@Slf4j
+public class DeadlineTimer {
+
+    /**
+     * The duration of a tick of the wheel, in milliseconds.
+     */
+    private static final long TICK_MILLIS = 10;
+
+    /**
+     * The number of ticks of the wheel, so that the usual request timeouts take one turn.
+     */
+    private static final int TICKS_PER_WHEEL = 1024;
+
+    private static final int MAX_NODE_LABELS = 64;
+
+    /**
+     * The deadlines pending in all the timers, for each node.
+     */
+    private static final LabeledMetrics<String, LongAdder> PENDING = HotPathMetrics
+            .getDefaultMetrics()
+            .gauges("corfu_runtime_rpc_deadlines_pending",
+                    "Deadlines of requests waiting for a response.", "node", MAX_NODE_LABELS);
+
+    private static final LabeledMetrics<String, LongAdder> TIMEOUTS = HotPathMetrics
+            .getDefaultMetrics()
+            .counters("corfu_runtime_rpc_timeouts_total",
+                    "Requests which timed out without a response.", "node", MAX_NODE_LABELS);
+
+    /**
+     * The timer of the routers which are not created by a runtime.
+     */
+    @Getter
+    private static final DeadlineTimer defaultTimer = new DeadlineTimer("DeadlineTimer-%d");
+
+    private final String threadNameFormat;
+
+    private HashedWheelTimer timer;
+
+    private boolean stopped = false;
+
+    /**
+     * Create a timer.
+     *
+     * @param threadNameFormat The name format of the thread of the wheel.
+     */
+    public DeadlineTimer(@Nonnull String threadNameFormat) {
+        this.threadNameFormat = threadNameFormat;
+    }
+
+    /**
+     * Get the wheel, creating it on first use.
+     *
+     * @return The wheel, or null if the timer is stopped.
+     */
+    private synchronized HashedWheelTimer getTimer() {
+        if (timer == null && !stopped) {
+            timer = new HashedWheelTimer(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat(threadNameFormat)
+                    .build(), TICK_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        }
+        return timer;
+    }
+
+    /**
+     * Get the bucket of the deadlines of a router.
+     *
+     * @param node The node the router connects to.
+     * @return A new bucket.
+     */
+    public Bucket bucket(@Nonnull NodeLocator node) {
+        return new Bucket(node);
+    }
+
+    /**
+     * Stop the timer. The deadlines still pending fire immediately, so that no request waits
+     * for a response forever, and the deadlines scheduled afterwards fire when scheduled.
+     */
+    public void stop() {
+        final HashedWheelTimer stoppedTimer;
+        synchronized (this) {
+            stopped = true;
+            stoppedTimer = timer;
+            timer = null;
+        }
+        if (stoppedTimer == null) {
+            return;
+        }
+        final Set<Timeout> unprocessed = stoppedTimer.stop();
+        log.debug("stop: firing {} pending deadlines", unprocessed.size());
+        for (Timeout timeout : unprocessed) {
+            try {
+                timeout.task().run(timeout);
+            } catch (Exception e) {
+                log.warn("stop: failed to fire deadline", e);
+            }
+        }
+    }
+
+    /**
+     * The deadlines of the requests of a router.
+     */
+    public class Bucket {
+
+        private final LongAdder pending = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder nodePending;
+
+        private final LongAdder nodeTimeouts;
+
+        private Bucket(NodeLocator node) {
+            final String endpoint = node.getHost() + ":" + node.getPort();
+            this.nodePending = PENDING.get(endpoint);
+            this.nodeTimeouts = TIMEOUTS.get(endpoint);
+        }
+
+        /**
+         * Schedule the deadline of a request. The deadline is cancelled when the future of the
+         * request completes.
+         *
+         * @param future        The future of the request.
+         * @param timeoutMillis The time to wait for the response, in milliseconds.
+         * @param onTimeout     Fails the request if the future is not complete at the deadline.
+         */
+        public void schedule(@Nonnull CompletableFuture<?> future, long timeoutMillis,
+                             @Nonnull Runnable onTimeout) {
+            pending.increment();
+            nodePending.increment();
+            final Deadline deadline = new Deadline(onTimeout);
+            final HashedWheelTimer wheel = getTimer();
+            if (wheel == null) {
+                deadline.run(null);
+                return;
+            }
+            final Timeout timeout = wheel.newTimeout(deadline, timeoutMillis,
+                    TimeUnit.MILLISECONDS);
+            future.whenComplete((result, ex) -> deadline.cancel(timeout));
+        }
+
+        /**
+         * A deadline, which either fires or is cancelled, once.
+         */
+        private class Deadline extends AtomicBoolean implements TimerTask {
+
+            private final transient Runnable onTimeout;
+
+            Deadline(Runnable onTimeout) {
+                this.onTimeout = onTimeout;
+            }
+
+            @Override
+            public void run(Timeout timeout) {
+                if (compareAndSet(false, true)) {
+                    pending.decrement();
+                    nodePending.decrement();
+                    timeouts.increment();
+                    nodeTimeouts.increment();
+                    onTimeout.run();
+                }
+            }
+
+            void cancel(Timeout timeout) {
+                if (compareAndSet(false, true)) {
+                    timeout.cancel();
+                    pending.decrement();
+                    nodePending.decrement();
+                }
+            }
+        }
+
+        /**
+         * Get the number of deadlines pending.
+         *
+         * @return The number of requests of the router waiting for a response.
+         */
+        public long getPending() {
+            return pending.sum();
+        }
+
+        /**
+         * Get the number of deadlines fired.
+         *
+         * @return The number of requests of the router which timed out.
+         */
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+    }
+}
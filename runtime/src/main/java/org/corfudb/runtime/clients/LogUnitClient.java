@@ -4,9 +4,6 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.collect.Range;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,17 +21,16 @@ import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.IMetadata;
 import org.corfudb.protocols.wireprotocol.LogData;
 import org.corfudb.protocols.wireprotocol.MultipleReadRequest;
+import org.corfudb.protocols.wireprotocol.ReadChunkRequest;
 import org.corfudb.protocols.wireprotocol.RangeWriteMsg;
 import org.corfudb.protocols.wireprotocol.ReadRequest;
 import org.corfudb.protocols.wireprotocol.ReadResponse;
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TrimRequest;
-import org.corfudb.protocols.wireprotocol.WriteMode;
 import org.corfudb.protocols.wireprotocol.WriteRequest;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.util.CorfuComponent;
-import org.corfudb.util.serializer.Serializers;
 
 
 /**
@@ -91,9 +87,8 @@ public class LogUnitClient extends AbstractClient {
                                             IMetadata.DataRank rank, Object writeObject,
                                             Map<UUID, Long> backpointerMap) {
         Timer.Context context = getTimerContext("writeObject");
-        ByteBuf payload = Unpooled.buffer();
-        Serializers.CORFU.serialize(writeObject, payload);
-        WriteRequest wr = new WriteRequest(WriteMode.NORMAL, null, payload);
+        // The object is serialized straight into the buffer of the request when it is sent.
+        WriteRequest wr = new WriteRequest(new LogData(DataType.DATA, writeObject));
         wr.setRank(rank);
         wr.setBackpointerMap(backpointerMap);
         wr.setGlobalAddress(address);
@@ -129,9 +124,7 @@ public class LogUnitClient extends AbstractClient {
                                                      IMetadata.DataRank rank) {
         Timer.Context context = getTimerContext("writeObject");
         LogEntry entry = new LogEntry(LogEntry.LogEntryType.NOP);
-        ByteBuf payload = Unpooled.buffer();
-        Serializers.CORFU.serialize(entry, payload);
-        WriteRequest wr = new WriteRequest(WriteMode.NORMAL, type, null, payload);
+        WriteRequest wr = new WriteRequest(new LogData(type, entry));
         wr.setRank(rank);
         wr.setGlobalAddress(address);
         CompletableFuture<Boolean> cf = sendMessageWithFuture(CorfuMsgType.WRITE.payloadMsg(wr));
@@ -175,6 +168,25 @@ public class LogUnitClient extends AbstractClient {
         });
     }
 
+    /**
+     * Read a chunk of a range of addresses from the log unit server. The response contains the
+     * entries of the addresses from the start of the range, until the end of the range or until
+     * their size reaches the maximum chunk size.
+     *
+     * @param range        Closed range of global offsets.
+     * @param maxChunkSize The size of the entries in bytes above which the server stops reading.
+     * @return CompletableFuture which returns a ReadResponse on completion.
+     */
+    public CompletableFuture<ReadResponse> readChunk(Range<Long> range, int maxChunkSize) {
+        Timer.Context context = getTimerContext("readChunk");
+        CompletableFuture<ReadResponse> cf = sendMessageWithFuture(
+                CorfuMsgType.READ_CHUNK_REQUEST.payloadMsg(new ReadChunkRequest(range, maxChunkSize)));
+        return cf.thenApply(x -> {
+            context.stop();
+            return x;
+        });
+    }
+
     /**
      * Read data from the log unit server for a list of addresses.
      *
@@ -201,6 +213,15 @@ public class LogUnitClient extends AbstractClient {
         return sendMessageWithFuture(CorfuMsgType.TAIL_REQUEST.msg());
     }
 
+    /**
+     * Get the maximum address the log unit has written, without the tails of the streams.
+     *
+     * @return A CompletableFuture which will complete with the global tail once received.
+     */
+    public CompletableFuture<Long> getLogTail() {
+        return sendMessageWithFuture(CorfuMsgType.LOG_TAIL_REQUEST.msg());
+    }
+
     /**
      * Get the starting address of a log unit.
      * @return A CompletableFuture for the starting address
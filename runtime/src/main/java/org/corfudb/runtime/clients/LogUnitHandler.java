@@ -202,6 +202,12 @@ public class LogUnitHandler implements IClient, IHandler<LogUnitClient> {
      * @param ctx   Context
      * @param r     Router
      */
+    @ClientHandler(type = CorfuMsgType.LOG_TAIL_RESPONSE)
+    private static Object handleLogTailResponse(CorfuPayloadMsg<Long> msg,
+                                                ChannelHandlerContext ctx, IClientRouter r) {
+        return msg.getPayload();
+    }
+
     @ClientHandler(type=CorfuMsgType.TRIM_MARK_RESPONSE)
     private static Object handleTrimMarkResponse(CorfuPayloadMsg<Long> msg,
                                              ChannelHandlerContext ctx, IClientRouter r) {
@@ -0,0 +1,300 @@
+package org.corfudb.runtime.clients;
+
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.wireprotocol.CorfuMsg;
+import org.corfudb.protocols.wireprotocol.CorfuMsgType;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.corfudb.util.NodeLocator;
+
+/**
+ * A client router which sends the requests to a node over several connections, so that large
+ * transfers do not delay the small requests queued behind them on the same socket.
+ *
+ * <p>The requests are classified into {@link Lane}s by message type, and each lane has its own
+ * {@link NettyClientRouter}s, hence its own channels, handshakes and TCP flow control. Within a
+ * lane, a request is sent on the connected router with the fewest requests pending. A lane
+ * configured without connections shares the connections of the {@link Lane#CONTROL} lane.</p>
+ *
+ * <p>The clients added to this router handle the responses of all its routers, and complete
+ * the requests through this router, which finds the router of a request by its ID: the IDs of
+ * each router start at its index shifted by {@link #ROUTER_ID_SHIFT}.</p>
+ */
+@Slf4j
+public class MultiLaneClientRouter implements IClientRouter {
+
+    /**
+     * The lanes of the requests to a node.
+     */
+    public enum Lane {
+        /**
+         * Small requests, such as tokens, tails, writes of an entry and layout requests.
+         */
+        CONTROL,
+        /**
+         * Reads, whose responses may be large.
+         */
+        BULK_READ,
+        /**
+         * Large writes, such as range writes of a state transfer.
+         */
+        BULK_WRITE;
+
+        /**
+         * Get the lane of a message type.
+         *
+         * @param type The type of the request.
+         * @return The lane of the request.
+         */
+        public static Lane of(@Nonnull CorfuMsgType type) {
+            switch (type) {
+                case READ_REQUEST:
+                case MULTIPLE_READ_REQUEST:
+                case READ_CHUNK_REQUEST:
+                    return BULK_READ;
+                case RANGE_WRITE:
+                case BOOTSTRAP_SEQUENCER:
+                    return BULK_WRITE;
+                default:
+                    return CONTROL;
+            }
+        }
+    }
+
+    /**
+     * The request IDs of the router at index i start at i shifted by this number of bits.
+     */
+    static final int ROUTER_ID_SHIFT = 48;
+
+    /**
+     * The node the routers connect to.
+     */
+    @Getter
+    private final NodeLocator node;
+
+    /**
+     * All the routers, the index of a router is the prefix of its request IDs.
+     */
+    private final List<NettyClientRouter> routers = new ArrayList<>();
+
+    /**
+     * The routers of each lane.
+     */
+    private final Map<Lane, NettyClientRouter[]> lanes = new EnumMap<>(Lane.class);
+
+    private final List<IClient> clientList = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger nextRouter = new AtomicInteger();
+
+    /**
+     * Creates a new MultiLaneClientRouter, with the number of connections of each lane given
+     * by the parameters.
+     *
+     * @param node          The node to connect to.
+     * @param parameters    A {@link CorfuRuntimeParameters} with the connections of each lane.
+     * @param routerFactory Creates a router connected to the node.
+     */
+    public MultiLaneClientRouter(@Nonnull NodeLocator node,
+                                 @Nonnull CorfuRuntimeParameters parameters,
+                                 @Nonnull Supplier<NettyClientRouter> routerFactory) {
+        this.node = node;
+        for (Lane lane : Lane.values()) {
+            final int connections = lane == Lane.CONTROL
+                    ? Math.max(1, parameters.getLaneConnections(lane))
+                    : parameters.getLaneConnections(lane);
+            if (connections <= 0) {
+                lanes.put(lane, lanes.get(Lane.CONTROL));
+                continue;
+            }
+            NettyClientRouter[] laneRouters = new NettyClientRouter[connections];
+            for (int i = 0; i < connections; i++) {
+                NettyClientRouter router = routerFactory.get();
+                router.setFirstRequestId((long) routers.size() << ROUTER_ID_SHIFT);
+                routers.add(router);
+                laneRouters[i] = router;
+            }
+            lanes.put(lane, laneRouters);
+        }
+        log.debug("MultiLaneClientRouter[{}]: {} connections", node, routers.size());
+    }
+
+    /**
+     * Get the router to send a request on.
+     *
+     * @param type The type of the request.
+     * @return The connected router of the lane of the request with the fewest requests
+     *         pending, or any router of the lane if none is connected.
+     */
+    private NettyClientRouter getRouter(CorfuMsgType type) {
+        final NettyClientRouter[] laneRouters = lanes.get(Lane.of(type));
+        if (laneRouters.length == 1) {
+            return laneRouters[0];
+        }
+        // Start at a rotating index, so that the ties are spread over the routers.
+        final int start = Math.floorMod(nextRouter.getAndIncrement(), laneRouters.length);
+        NettyClientRouter best = laneRouters[start];
+        boolean bestConnected = isConnected(best);
+        for (int i = 1; i < laneRouters.length; i++) {
+            NettyClientRouter router = laneRouters[(start + i) % laneRouters.length];
+            boolean connected = isConnected(router);
+            if ((connected && !bestConnected) || (connected == bestConnected
+                    && router.getDeadlines().getPending()
+                    < best.getDeadlines().getPending())) {
+                best = router;
+                bestConnected = connected;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isConnected(NettyClientRouter router) {
+        CompletableFuture<Void> connectionFuture = router.getConnectionFuture();
+        return connectionFuture.isDone() && !connectionFuture.isCompletedExceptionally();
+    }
+
+    /**
+     * Get the router which sent a request.
+     *
+     * @param requestId The ID of the request.
+     * @return The router, or null if the ID is not one of this router.
+     */
+    private NettyClientRouter getRouter(long requestId) {
+        final long index = requestId >>> ROUTER_ID_SHIFT;
+        return index < routers.size() ? routers.get((int) index) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The client handles the responses of all the routers.</p>
+     */
+    @Override
+    public IClientRouter addClient(IClient client) {
+        routers.forEach(router -> router.addClient(client));
+        // The routers set themselves as the router of the client, the requests are
+        // completed through this router instead.
+        client.setRouter(this);
+        clientList.add(client);
+        return this;
+    }
+
+    /**
+     * Gets a client that matches a particular type.
+     *
+     * @param clientType The class of the client to match.
+     * @param <T>        The type of the client to match.
+     * @return The first client that matches that type.
+     * @throws NoSuchElementException If there are no clients matching that type.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends IClient> T getClient(Class<T> clientType) {
+        return (T) clientList.stream()
+                .filter(clientType::isInstance)
+                .findFirst().get();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendMessageAndGetCompletable(ChannelHandlerContext ctx,
+                                                                 CorfuMsg message) {
+        return getRouter(message.getMsgType()).sendMessageAndGetCompletable(ctx, message);
+    }
+
+    @Override
+    public void sendMessage(ChannelHandlerContext ctx, CorfuMsg message) {
+        getRouter(message.getMsgType()).sendMessage(ctx, message);
+    }
+
+    @Override
+    public void sendResponseToServer(ChannelHandlerContext ctx, CorfuMsg inMsg, CorfuMsg outMsg) {
+        routers.get(0).sendResponseToServer(ctx, inMsg, outMsg);
+    }
+
+    @Override
+    public <T> void completeRequest(long requestID, T completion) {
+        NettyClientRouter router = getRouter(requestID);
+        if (router != null) {
+            router.completeRequest(requestID, completion);
+        } else {
+            log.warn("completeRequest: no router sent request {}", requestID);
+        }
+    }
+
+    @Override
+    public void completeExceptionally(long requestID, Throwable cause) {
+        NettyClientRouter router = getRouter(requestID);
+        if (router != null) {
+            router.completeExceptionally(requestID, cause);
+        } else {
+            log.warn("completeExceptionally: no router sent request {}", requestID);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated The routers automatically start now, so this function call is no
+     *             longer necessary
+     */
+    @Override
+    @Deprecated
+    public void start() {
+        // Do nothing, legacy call
+    }
+
+    @Override
+    public void stop() {
+        log.debug("stop: Shutting down routers for {}", node);
+        routers.forEach(NettyClientRouter::stop);
+    }
+
+    /** {@inheritDoc}
+     *  @deprecated  Deprecated, stopping a router without shutting it down is no longer supported.
+     *               Please use {@link this#stop()}.
+     */
+    @Override
+    @Deprecated
+    public void stop(boolean shutdown) {
+        stop();
+    }
+
+    @Override
+    public String getHost() {
+        return node.getHost();
+    }
+
+    @Override
+    public Integer getPort() {
+        return node.getPort();
+    }
+
+    @Override
+    public void setTimeoutConnect(long timeoutConnect) {
+        routers.forEach(router -> router.setTimeoutConnect(timeoutConnect));
+    }
+
+    @Override
+    public void setTimeoutRetry(long timeoutRetry) {
+        routers.forEach(router -> router.setTimeoutRetry(timeoutRetry));
+    }
+
+    @Override
+    public void setTimeoutResponse(long timeoutResponse) {
+        routers.forEach(router -> router.setTimeoutResponse(timeoutResponse));
+    }
+}
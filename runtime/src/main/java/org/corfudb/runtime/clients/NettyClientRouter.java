@@ -22,14 +22,16 @@ import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.GlobalEventExecutor;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
@@ -52,13 +54,13 @@ import org.corfudb.protocols.wireprotocol.NettyCorfuMessageEncoder;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
 import org.corfudb.runtime.exceptions.NetworkException;
+import org.corfudb.runtime.exceptions.ServerBusyException;
 import org.corfudb.runtime.exceptions.ShutdownException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
 import org.corfudb.security.sasl.SaslUtils;
 import org.corfudb.security.sasl.plaintext.PlainTextSaslNettyClient;
 import org.corfudb.security.tls.SslContextConstructor;
-import org.corfudb.util.CFUtils;
 import org.corfudb.util.CorfuComponent;
 import org.corfudb.util.MetricsUtils;
 import org.corfudb.util.NodeLocator;
@@ -127,6 +129,11 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
      */
     private boolean shutdownEventLoop = false;
 
+    /** The {@link EventLoopGroup} servicing the I/O of this router, which also resends the
+     *  requests rejected by a busy server.
+     */
+    private final EventLoopGroup eventLoopGroup;
+
     /**
      * Whether or not this router is shutdown.
      */
@@ -153,6 +160,10 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
     private SslContext sslContext;
     private final Map<CorfuMsgType, String> timerNameCache;
 
+    /** The deadlines of the requests of this router, which time them out. */
+    @Getter
+    private final DeadlineTimer.Bucket deadlines;
+
     /**
      * Creates a new NettyClientRouter connected to the specified host and port with the
      * specified tls and sasl options. The new {@link this} will attempt connection to
@@ -165,8 +176,27 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
     public NettyClientRouter(@Nonnull NodeLocator node,
         @Nonnull EventLoopGroup eventLoopGroup,
         @Nonnull CorfuRuntimeParameters parameters) {
+        this(node, eventLoopGroup, parameters, DeadlineTimer.getDefaultTimer());
+    }
+
+    /**
+     * Creates a new NettyClientRouter connected to the specified host and port with the
+     * specified tls and sasl options, which times out its requests with a timer shared
+     * with the other routers of a runtime.
+     *
+     * @param node           The node to connect to.
+     * @param eventLoopGroup The {@link EventLoopGroup} for servicing I/O.
+     * @param parameters     A {@link CorfuRuntimeParameters} with the desired configuration.
+     * @param deadlineTimer  The {@link DeadlineTimer} for the request timeouts.
+     */
+    public NettyClientRouter(@Nonnull NodeLocator node,
+        @Nonnull EventLoopGroup eventLoopGroup,
+        @Nonnull CorfuRuntimeParameters parameters,
+        @Nonnull DeadlineTimer deadlineTimer) {
         this.node = node;
         this.parameters = parameters;
+        this.eventLoopGroup = eventLoopGroup;
+        this.deadlines = deadlineTimer.bucket(node);
 
         // Set timer mapping
         ImmutableMap.Builder<CorfuMsgType, String> mapBuilder = ImmutableMap.builder();
@@ -241,6 +271,17 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
         return this;
     }
 
+    /**
+     * Start the request IDs of this router at an offset, so that the IDs of the routers of a
+     * {@link MultiLaneClientRouter} do not collide. It must be called before any request
+     * is sent.
+     *
+     * @param firstRequestId The ID of the first request.
+     */
+    void setFirstRequestId(long firstRequestId) {
+        requestID.set(firstRequestId);
+    }
+
     /**
      * Gets a client that matches a particular type.
      *
@@ -408,6 +449,69 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
      */
     public <T> CompletableFuture<T> sendMessageAndGetCompletable(ChannelHandlerContext ctx,
         @NonNull CorfuMsg message) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        sendUntilAdmitted(ctx, message, result,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutResponse),
+                parameters.getServerBusyBackoff().toNanos());
+        return result;
+    }
+
+    /**
+     * Send a message, and resend it after a backoff each time the server rejects it as busy,
+     * until the response timeout expires.
+     *
+     * @param ctx      The channel handler context to send the message under.
+     * @param message  The message to send.
+     * @param result   The future to complete with the reply.
+     * @param deadline The time, in nanoseconds, after which the message is not resent.
+     * @param backoff  The backoff, in nanoseconds, if the server rejects the message.
+     * @param <T>      The type of the reply.
+     */
+    private <T> void sendUntilAdmitted(ChannelHandlerContext ctx, CorfuMsg message,
+                                       CompletableFuture<T> result, long deadline,
+                                       long backoff) {
+        this.<T>sendRequest(ctx, message).whenComplete((reply, ex) -> {
+            if (ex == null) {
+                result.complete(reply);
+                return;
+            }
+            final Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            final long delay = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+            if (!(cause instanceof ServerBusyException) || shutdown
+                    || System.nanoTime() + delay > deadline) {
+                result.completeExceptionally(ex);
+                return;
+            }
+
+            log.trace("sendUntilAdmitted: {} busy, resending {} in {} ns", node, message, delay);
+            final long nextBackoff = Math.min(backoff * 2,
+                    parameters.getMaxServerBusyBackoff().toNanos());
+            try {
+                eventLoopGroup.schedule(() -> {
+                    // Do not wait for a reconnection on the event loop: the layout helper
+                    // retries requests which fail while the node is disconnected.
+                    if (!connectionFuture.isDone() || connectionFuture.isCompletedExceptionally()) {
+                        result.completeExceptionally(ex);
+                    } else {
+                        sendUntilAdmitted(ctx, message, result, deadline, nextBackoff);
+                    }
+                }, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException re) {
+                result.completeExceptionally(ex);
+            }
+        });
+    }
+
+    /**
+     * Send a message once.
+     *
+     * @param ctx     The channel handler context to send the message under.
+     * @param message The message to send.
+     * @param <T>     The type of completable to return.
+     * @return A completable future which will be fulfilled by the reply,
+     *     or a timeout in the case there is no response.
+     */
+    private <T> CompletableFuture<T> sendRequest(ChannelHandlerContext ctx, CorfuMsg message) {
         boolean isEnabled = MetricsUtils.isMetricsCollectionEnabled();
 
         // Check the connection future. If connected, continue with sending the message.
@@ -441,6 +545,16 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
         final CompletableFuture<T> cf = new CompletableFuture<>();
         outstandingRequests.put(thisRequest, cf);
 
+        // Schedule the deadline, which fails the future if there is no response in time
+        // and is cancelled by the response.
+        deadlines.schedule(cf, timeoutResponse, () -> {
+            if (outstandingRequests.remove(thisRequest) != null) {
+                log.debug("Remove request {} to {} due to timeout! Message:{}",
+                        thisRequest, node, message);
+            }
+            cf.completeExceptionally(new TimeoutException());
+        });
+
         // Write the message out to the channel.
         if (ctx == null) {
             channel.writeAndFlush(message, channel.voidPromise());
@@ -450,22 +564,10 @@ public class NettyClientRouter extends SimpleChannelInboundHandler<CorfuMsg>
         log.trace("Sent message: {}", message);
 
         // Generate a benchmarked future to measure the underlying request
-        final CompletableFuture<T> cfBenchmarked = cf.thenApply(x -> {
+        return cf.thenApply(x -> {
             MetricsUtils.stopConditionalContext(roundTripMsgContext);
             return x;
         });
-
-        // Generate a timeout future, which will complete exceptionally
-        // if the main future is not completed.
-        final CompletableFuture<T> cfTimeout =
-            CFUtils.within(cfBenchmarked, Duration.ofMillis(timeoutResponse));
-        cfTimeout.exceptionally(e -> {
-            outstandingRequests.remove(thisRequest);
-            log.debug("Remove request {} to {} due to timeout! Message:{}",
-                    thisRequest, node, message);
-            return null;
-        });
-        return cfTimeout;
     }
 
     /**
@@ -7,6 +7,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.corfudb.protocols.wireprotocol.CorfuMsgType;
 import org.corfudb.protocols.wireprotocol.SequencerMetrics;
+import org.corfudb.protocols.wireprotocol.SequencerStandbyUpdateMsg;
 import org.corfudb.protocols.wireprotocol.SequencerTailsRecoveryMsg;
 import org.corfudb.protocols.wireprotocol.TokenRequest;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
@@ -82,6 +83,46 @@ public class SequencerClient extends AbstractClient {
                         bootstrapWithoutTailsUpdate)));
     }
 
+    /**
+     * Promotes a standby sequencer, which extends the state replicated from the previous
+     * primary with the tails of the streams written since, instead of being reset.
+     *
+     * @param initialToken    Token Number which the sequencer starts distributing.
+     * @param streamTails     The tails of the streams written after the standby tail.
+     * @param readyStateEpoch Epoch at which the sequencer is ready and to stamp tokens.
+     * @param standbyTail     The replicated global tail the stream tails were caught up from.
+     * @return A CompletableFuture which completes with false if the standby state has
+     *         changed since, or cannot be promoted.
+     */
+    public CompletableFuture<Boolean> promote(Long initialToken, Map<UUID, Long> streamTails,
+                                              Long readyStateEpoch, Long standbyTail) {
+        return sendMessageWithFuture(CorfuMsgType.BOOTSTRAP_SEQUENCER.payloadMsg(
+                new SequencerTailsRecoveryMsg(initialToken, streamTails, readyStateEpoch,
+                        false, standbyTail)));
+    }
+
+    /**
+     * Fetches the global tail of the state a standby sequencer replicated from the primary.
+     *
+     * @return A CompletableFuture which completes with the replicated global tail, or
+     *         {@link org.corfudb.runtime.view.Address#NON_ADDRESS} if the sequencer has
+     *         no complete replicated state.
+     */
+    public CompletableFuture<Long> getStandbyTail() {
+        return sendMessageWithFuture(CorfuMsgType.SEQUENCER_STANDBY_TAIL_REQUEST.msg());
+    }
+
+    /**
+     * Sends the state changes of this primary to a standby sequencer.
+     *
+     * @param update The state changes.
+     * @return A CompletableFuture which completes with false if the standby could not apply
+     *         the update and requires a full sync.
+     */
+    public CompletableFuture<Boolean> updateStandby(SequencerStandbyUpdateMsg update) {
+        return sendMessageWithFuture(CorfuMsgType.SEQUENCER_STANDBY_UPDATE.payloadMsg(update));
+    }
+
     /**
      * Resets the sequencer with the specified initialToken.
      * BootstrapWithoutTailsUpdate defaulted to false.
@@ -44,6 +44,12 @@ public class SequencerHandler implements IClient, IHandler<SequencerClient> {
         return msg.getPayload();
     }
 
+    @ClientHandler(type = CorfuMsgType.SEQUENCER_STANDBY_TAIL_RESPONSE)
+    private static Object handleStandbyTailResponse(CorfuPayloadMsg<Long> msg,
+                                                    ChannelHandlerContext ctx, IClientRouter r) {
+        return msg.getPayload();
+    }
+
     @ClientHandler(type = CorfuMsgType.TOKEN_RES)
     private static Object handleTokenResponse(CorfuPayloadMsg<TokenResponse> msg,
                                               ChannelHandlerContext ctx, IClientRouter r) {
@@ -19,7 +19,12 @@ import org.corfudb.runtime.object.AbstractCorfuWrapper;
 import sun.misc.CRC16;
 
 /**
- * Created by mwei on 3/29/16.
+ * A map partitioned across a number of {@link SMRMap} streams.
+ *
+ * <p>Created by mwei on 3/29/16.
+ *
+ * @deprecated Use {@link ShardedCorfuTable}, which partitions a {@link CorfuTable}, with its
+ *             secondary indexes, across streams.
  */
 @Deprecated // TODO: Add replacement method that conforms to style
 @SuppressWarnings("checkstyle:abbreviation") // Due to deprecation
@@ -0,0 +1,470 @@
+package org.corfudb.runtime.collections;
+
+import com.google.common.hash.Hashing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.MultiCheckpointWriter;
+import org.corfudb.runtime.object.ICorfuSMR;
+import org.corfudb.runtime.object.ICorfuSMRProxy;
+import org.corfudb.runtime.object.transactions.TransactionType;
+import org.corfudb.runtime.object.transactions.TransactionalContext;
+import org.corfudb.runtime.view.ObjectBuilder;
+import org.corfudb.util.CFUtils;
+
+/** A {@link CorfuTable} whose key space is partitioned across a number of shards.
+ *
+ * <p>Each shard is a {@link CorfuTable} of its own, backed by its own stream and accessed
+ * through its own version locked object. A mutation, or a sync of one shard, therefore only
+ * takes the lock of that shard, and does not invalidate concurrent optimistic readers of
+ * the other shards. This keeps the read throughput of large tables with a heavy read load
+ * stable while the table is being updated.
+ *
+ * <p>The shards cannot share the stream of the table: the version locked object of a shard
+ * applies every update of its stream, so with a shared stream every shard would replay the
+ * updates of all the others, and hold the lock of the table for them. The streams of the
+ * shards are therefore always derived from the id of the table, see
+ * {@link #getShardStreamID(UUID, int)}.
+ *
+ * <p>Keys are assigned to shards by their hash code, so all clients must use the same
+ * number of shards, and keys must have a hash code which is stable across JVMs (e.g.
+ * strings, boxed primitives or UUIDs). Since a key always maps to the same shard, the
+ * conflict parameters of a key are always resolved against the same stream. The streams of
+ * the shards together are the conflict namespace of the table: a transaction which reads
+ * keys of some shards and writes to others aborts if any key it read was updated, just as
+ * on an unsharded table, and updates to other keys of the same shards do not abort it.
+ *
+ * <p>Operations on a single key are delegated to the shard of the key, so a transaction only
+ * reads and writes the shards of the keys it accesses. Operations which update several
+ * shards, such as {@link #putAll(Map)} or {@link #clear()}, are executed in a transaction,
+ * so they update all shards atomically. If a transaction is already in progress, they join it.
+ *
+ * <p>Read only operations which span all shards, such as {@link #size()}, scans or index
+ * lookups, read the shards in parallel outside of a transaction, each shard in a snapshot
+ * transaction of its own at a single snapshot, so they observe all shards at the same
+ * version. Within a transaction, they read the shards one after the other in the transaction.
+ *
+ * <p>Each shard is checkpointed to the checkpoint stream of its own stream, see
+ * {@link #checkpoint(String)}. This class replaces the deprecated {@link FGMap}.
+ *
+ * <p>All shards are created with the same secondary indexes, and index lookups merge the
+ * results of all shards.
+ *
+ * @param <K>   The type of the primary key.
+ * @param <V>   The type of the values to be mapped.
+ */
+public class ShardedCorfuTable<K, V> implements ICorfuMap<K, V> {
+
+    /** The suffix appended to the id of the table to derive the stream of each shard. */
+    public static final String SHARD_SUFFIX = "_shard_";
+
+    /** The id of the table, from which the streams of the shards are derived. */
+    @Getter
+    private final UUID streamID;
+
+    /** The runtime the shards were opened with. */
+    private final CorfuRuntime runtime;
+
+    /** The shards, indexed by shard number. */
+    private final List<CorfuTable<K, V>> shards;
+
+    /** The proxy used to run operations which span several shards in a transaction. */
+    private final ICorfuSMRProxy<?> txProxy;
+
+    /** Open a sharded table.
+     *
+     * <p>The stream name (or id), serializer, options and arguments (such as the
+     * {@link CorfuTable.IndexRegistry}) of the builder are applied to every shard.
+     *
+     * @param builder   A builder describing the table.
+     * @param numShards The number of shards to partition the table into.
+     */
+    public ShardedCorfuTable(@Nonnull ObjectBuilder<?> builder, int numShards) {
+        if (numShards < 1) {
+            throw new IllegalArgumentException("A sharded table requires at least one shard, "
+                    + "but " + numShards + " were requested.");
+        }
+
+        this.streamID = builder.getStreamName() != null
+                ? CorfuRuntime.getStreamID(builder.getStreamName())
+                : Objects.requireNonNull(builder.getStreamID(), "No stream for the table.");
+
+        this.runtime = builder.getRuntime();
+        List<CorfuTable<K, V>> shardList = new ArrayList<>(numShards);
+        for (int shard = 0; shard < numShards; shard++) {
+            shardList.add(builder.getRuntime().getObjectsView().build()
+                    .setTypeToken(CorfuTable.<K, V>getTableType())
+                    .setStreamID(getShardStreamID(streamID, shard))
+                    .setSerializer(builder.getSerializer())
+                    .setOptions(builder.getOptions())
+                    .setArgumentsArray(builder.getArguments())
+                    .open());
+        }
+        this.shards = shardList;
+        this.txProxy = ((ICorfuSMR<?>) shards.get(0)).getCorfuSMRProxy();
+    }
+
+    /** Get the stream id of a shard of a table.
+     *
+     * @param streamID  The id of the table.
+     * @param shard     The shard number.
+     * @return          The id of the stream which backs the shard.
+     */
+    public static UUID getShardStreamID(@Nonnull UUID streamID, int shard) {
+        return CorfuRuntime.getStreamID(streamID.toString() + SHARD_SUFFIX + shard);
+    }
+
+    /** Get the number of shards of this table.
+     *
+     * @return  The number of shards.
+     */
+    public int getNumShards() {
+        return shards.size();
+    }
+
+    /** Get the shards of this table, e.g. to checkpoint them.
+     *
+     * @return  The shards, indexed by shard number.
+     */
+    public List<CorfuTable<K, V>> getShards() {
+        return shards;
+    }
+
+    /** Get the number of the shard that holds the given key.
+     *
+     * @param key   The key.
+     * @return      The shard number of the key.
+     */
+    public int getShardNumber(Object key) {
+        // Spread the hash code, so that keys with poorly distributed hash codes
+        // (e.g. sequential integers) are spread evenly across the shards.
+        final int hash = Hashing.murmur3_32().hashInt(Objects.hashCode(key)).asInt();
+        return Math.floorMod(hash, shards.size());
+    }
+
+    /** Get the shard that holds the given key.
+     *
+     * @param key   The key.
+     * @return      The shard of the key.
+     */
+    CorfuTable<K, V> getShard(Object key) {
+        return shards.get(getShardNumber(key));
+    }
+
+    /** Run a function which accesses several shards in a transaction.
+     *
+     * @param txFunction    The function to run.
+     * @param <R>           The type of the result.
+     * @return              The result of the function.
+     */
+    private <R> R acrossShards(Supplier<R> txFunction) {
+        if (shards.size() == 1) {
+            return txFunction.get();
+        }
+        return txProxy.TXExecute(txFunction);
+    }
+
+    /** Run a read only function on every shard, and collect the results.
+     *
+     * <p>Outside of a transaction, the shards are read in parallel on the shard read executor
+     * of the runtime, each in a snapshot transaction at the current tail of the log. The
+     * function must copy what it reads, as the transaction ends when it returns.
+     *
+     * @param readFunction  The function to run on a shard.
+     * @param <R>           The type of the result of a shard.
+     * @return              The results, indexed by shard number.
+     */
+    private <R> List<R> readShards(Function<CorfuTable<K, V>, R> readFunction) {
+        if (shards.size() == 1 || TransactionalContext.isInTransaction()) {
+            return shards.stream().map(readFunction).collect(Collectors.toList());
+        }
+
+        final Token snapshot = runtime.getSequencerView().query().getToken();
+        final List<CompletableFuture<R>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> {
+                    runtime.getObjectsView().TXBuild()
+                            .type(TransactionType.SNAPSHOT)
+                            .snapshot(snapshot)
+                            .build()
+                            .begin();
+                    try {
+                        return readFunction.apply(shard);
+                    } finally {
+                        runtime.getObjectsView().TXEnd();
+                    }
+                }, runtime.getShardReadExecutor()))
+                .collect(Collectors.toList());
+        return futures.stream()
+                .map(CFUtils::getUninterruptibly)
+                .collect(Collectors.toList());
+    }
+
+    /** Run a read only function which returns a collection on every shard, and merge the
+     * results.
+     *
+     * @param readFunction  The function to run on a shard.
+     * @param <E>           The type of the elements of the collections.
+     * @return              The elements of the collections of all shards.
+     */
+    private <E> List<E> readAllShards(Function<CorfuTable<K, V>,
+            ? extends Collection<E>> readFunction) {
+        final List<List<E>> results =
+                readShards(shard -> new ArrayList<>(readFunction.apply(shard)));
+        final List<E> merged = new ArrayList<>(results.stream().mapToInt(List::size).sum());
+        results.forEach(merged::addAll);
+        return merged;
+    }
+
+    /** Checkpoint every shard of this table, each to the checkpoint stream of its stream.
+     *
+     * @param author    The author of the checkpoints.
+     * @return          The snapshot the shards were checkpointed at.
+     */
+    public Token checkpoint(@Nonnull String author) {
+        MultiCheckpointWriter<CorfuTable<K, V>> writer = new MultiCheckpointWriter<>();
+        writer.addAllMaps(shards);
+        return writer.appendCheckpoints(runtime, author);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return readShards(CorfuTable::size).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        return readShards(CorfuTable::isEmpty).stream().allMatch(Boolean::booleanValue);
+    }
+
+    /** Return whether this table has secondary indexes or not.
+     *
+     * @return  True, if secondary indexes are present. False otherwise.
+     */
+    public boolean hasSecondaryIndices() {
+        return shards.get(0).hasSecondaryIndices();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(Object key) {
+        return getShard(key).containsKey(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsValue(Object value) {
+        return readShards(s -> s.containsValue(value)).stream().anyMatch(Boolean::booleanValue);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V get(Object key) {
+        return getShard(key).get(key);
+    }
+
+    /**
+     * Get a mapping using the specified index function, across all shards.
+     *
+     * @param indexName Name of the the secondary index to query.
+     * @param indexKey  The index key used to query the secondary index
+     * @return A collection of Map.Entry<K, V>
+     */
+    public @Nonnull
+    <I extends Comparable<I>>
+    Collection<Entry<K, V>> getByIndex(@Nonnull CorfuTable.IndexName indexName, I indexKey) {
+        return readAllShards(s -> s.getByIndex(indexName, indexKey));
+    }
+
+    /**
+     * Scan and filter using the specified index function, across all shards.
+     *
+     * @param indexName      Name of the the secondary index to query.
+     * @param entryPredicate The predicate to scan and filter with.
+     * @param indexKey       The index key used to query the secondary index
+     * @return A collection of Map.Entry<K, V>
+     */
+    public @Nonnull
+    <I extends Comparable<I>>
+    Collection<Map.Entry<K, V>> getByIndexAndFilter(@Nonnull CorfuTable.IndexName indexName,
+                                                    @Nonnull Predicate<? super Entry<K, V>>
+                                                            entryPredicate,
+                                                    I indexKey) {
+        return readAllShards(s -> s.getByIndexAndFilter(indexName, entryPredicate, indexKey));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V put(K key, V value) {
+        return getShard(key).put(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void insert(K key, V value) {
+        getShard(key).insert(key, value);
+    }
+
+    /**
+     * Returns a filtered {@link List} view of the values contained in this map.
+     *
+     * @param p java predicate (function to evaluate)
+     * @return a view of the values contained in this map meeting the predicate condition.
+     */
+    public List<V> scanAndFilter(Predicate<? super V> p) {
+        return readAllShards(s -> s.scanAndFilter(p));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Collection<Map.Entry<K, V>> scanAndFilterByEntry(Predicate<? super Map.Entry<K, V>>
+                                                                    entryPredicate) {
+        return readAllShards(s -> s.scanAndFilterByEntry(entryPredicate));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V remove(Object key) {
+        return getShard(key).remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void delete(K key) {
+        getShard(key).delete(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void putAll(@Nonnull Map<? extends K, ? extends V> m) {
+        Map<Integer, Map<K, V>> perShard = new HashMap<>();
+        m.forEach((k, v) -> perShard.computeIfAbsent(getShardNumber(k), s -> new HashMap<>())
+                .put(k, v));
+
+        if (perShard.size() == 1) {
+            perShard.forEach((shard, entries) -> shards.get(shard).putAll(entries));
+            return;
+        }
+
+        acrossShards(() -> {
+            perShard.forEach((shard, entries) -> shards.get(shard).putAll(entries));
+            return null;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        acrossShards(() -> {
+            shards.forEach(CorfuTable::clear);
+            return null;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @Nonnull Set<K> keySet() {
+        return new HashSet<>(readAllShards(CorfuTable::keySet));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @Nonnull Collection<V> values() {
+        return readAllShards(CorfuTable::values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @Nonnull Set<Entry<K, V>> entrySet() {
+        return new HashSet<>(readAllShards(CorfuTable::entrySet));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return getShard(key).getOrDefault(key, defaultValue);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        acrossShards(() -> {
+            shards.forEach(s -> s.forEach(action));
+            return null;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        acrossShards(() -> {
+            shards.forEach(s -> s.replaceAll(function));
+            return null;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return getShard(key).putIfAbsent(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean remove(Object key, Object value) {
+        return getShard(key).remove(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V replace(K key, V value) {
+        return getShard(key).replace(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return getShard(key).computeIfAbsent(key, mappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V>
+            remappingFunction) {
+        return getShard(key).computeIfPresent(key, remappingFunction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V>
+            remappingFunction) {
+        return getShard(key).merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedCorfuTable[" + streamID + ", shards=" + shards.size() + "]";
+    }
+}
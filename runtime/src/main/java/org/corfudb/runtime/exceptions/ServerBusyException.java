@@ -0,0 +1,13 @@
+package org.corfudb.runtime.exceptions;
+
+/**
+ * An exception that is thrown when a server rejects a request because too many requests of
+ * the client are already waiting. The request was not processed, so it can be retried once
+ * the client backed off.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    public ServerBusyException() {
+        super("Server is busy, retry later");
+    }
+}
@@ -131,6 +131,7 @@ public class CorfuCompileProxy<T> implements ICorfuSMRProxyInternal<T> {
      * @param undoTargetMap       undoTargetMap
      * @param undoRecordTargetMap undoRecordTargetMap
      * @param resetSet            resetSet
+     * @param methodTable         methodTable
      */
     @Deprecated // TODO: Add replacement method that conforms to style
     @SuppressWarnings("checkstyle:abbreviation") // Due to deprecation
@@ -139,7 +140,8 @@ public class CorfuCompileProxy<T> implements ICorfuSMRProxyInternal<T> {
                              Map<String, ICorfuSMRUpcallTarget<T>> upcallTargetMap,
                              Map<String, IUndoFunction<T>> undoTargetMap,
                              Map<String, IUndoRecordFunction<T>> undoRecordTargetMap,
-                             Set<String> resetSet
+                             Set<String> resetSet,
+                             String[] methodTable
     ) {
         this.rt = rt;
         this.streamID = streamID;
@@ -152,7 +154,7 @@ public class CorfuCompileProxy<T> implements ICorfuSMRProxyInternal<T> {
         underlyingObject = new VersionLockedObject<T>(this::getNewInstance,
                 new StreamViewSMRAdapter(rt, rt.getStreamsView().getUnsafe(streamID)),
                 upcallTargetMap, undoRecordTargetMap,
-                undoTargetMap, resetSet);
+                undoTargetMap, resetSet, methodTable);
 
         metrics = rt.getMetrics() != null ? rt.getMetrics() : CorfuRuntime.getDefaultMetrics();
         mpObj = CorfuComponent.OBJECT.toString();
@@ -234,7 +236,8 @@ public class CorfuCompileProxy<T> implements ICorfuSMRProxyInternal<T> {
         if (TransactionalContext.isInTransaction()) {
             try {
                 // We generate an entry to avoid exposing the serializer to the tx context.
-                SMREntry entry = new SMREntry(smrUpdateFunction, args, serializer);
+                SMREntry entry = new SMREntry(smrUpdateFunction, args, serializer,
+                        rt.getParameters().isSmrMethodIdsEnabled());
                 return TransactionalContext.getCurrentContext()
                         .logUpdate(this, entry, conflictObject);
             } catch (Exception e) {
@@ -245,7 +248,8 @@ public class CorfuCompileProxy<T> implements ICorfuSMRProxyInternal<T> {
 
         // If we aren't in a transaction, we can just write the modification.
         // We need to add the acquired token into the pending upcall list.
-        SMREntry smrEntry = new SMREntry(smrUpdateFunction, args, serializer);
+        SMREntry smrEntry = new SMREntry(smrUpdateFunction, args, serializer,
+                rt.getParameters().isSmrMethodIdsEnabled());
         long address = underlyingObject.logUpdate(smrEntry, keepUpcallResult);
         log.trace("Update[{}] {}@{} ({}) conflictObj={}",
                 this, smrUpdateFunction, address, args, conflictObject);
@@ -15,6 +15,7 @@ import org.corfudb.util.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -88,30 +89,43 @@ public class VersionLockedObject<T> {
     private WriteSetSMRStream optimisticStream;
 
     /**
-     * The upcall map for this object.
+     * The table of the SMR methods of this object, laid out by method ID.
      */
-    private final Map<String, ICorfuSMRUpcallTarget<T>> upcallTargetMap;
+    private final String[] methodTable;
 
     /**
-     * The undo record function map for this object.
+     * The ID of the method in each slot of the method table.
      */
-    private final Map<String, IUndoRecordFunction<T>> undoRecordFunctionMap;
+    private final short[] methodIds;
 
     /**
-     * The undo target map for this object.
+     * The slot of each method in the method table, for the entries which record the name of
+     * their method instead of its ID.
      */
-    private final Map<String, IUndoFunction<T>> undoFunctionMap;
+    private final Map<String, Integer> methodSlots;
 
     /**
-     * The reset set for this object.
+     * The upcall, undo record function, undo function and reset flag of each slot of
+     * the method table.
      */
-    private final Set<String> resetSet;
+    private final ICorfuSMRUpcallTarget<T>[] upcallTargets;
+    private final IUndoRecordFunction<T>[] undoRecordFunctions;
+    private final IUndoFunction<T>[] undoFunctions;
+    private final boolean[] resetMethods;
 
     /**
      * A function that generates a new instance of this object.
      */
     private final Supplier<T> newObjectFn;
 
+    /**
+     * The trim marks of the last two gc runs on this object, and the lock stamp observed
+     * when the last gc run released the lock. Used to skip gc runs that cannot discard data.
+     */
+    private volatile long lastGcTrimMark = Address.NON_ADDRESS;
+    private volatile long previousGcTrimMark = Address.NON_ADDRESS;
+    private volatile long lastGcStamp = 0L;
+
     /**
      * Correctness Logging
      */
@@ -128,19 +142,38 @@ public class VersionLockedObject<T> {
      * @param undoRecordTargets Undo record function map for this object.
      * @param undoTargets       Undo functions map.
      * @param resetSet          Reset set for this object.
+     * @param methodTable       Method table for this object, see {@link SMRMethodIds}.
      */
+    @SuppressWarnings("unchecked")
     public VersionLockedObject(Supplier<T> newObjectFn,
                                StreamViewSMRAdapter smrStream,
                                Map<String, ICorfuSMRUpcallTarget<T>> upcallTargets,
                                Map<String, IUndoRecordFunction<T>> undoRecordTargets,
                                Map<String, IUndoFunction<T>> undoTargets,
-                               Set<String> resetSet) {
+                               Set<String> resetSet,
+                               String[] methodTable) {
         this.smrStream = smrStream;
 
-        this.upcallTargetMap = upcallTargets;
-        this.undoRecordFunctionMap = undoRecordTargets;
-        this.undoFunctionMap = undoTargets;
-        this.resetSet = resetSet;
+        // Index the functions of each method by its slot, so that applying an update
+        // which records a method ID does not hash the method name.
+        this.methodTable = methodTable;
+        this.methodIds = new short[methodTable.length];
+        this.methodSlots = new HashMap<>();
+        this.upcallTargets = new ICorfuSMRUpcallTarget[methodTable.length];
+        this.undoRecordFunctions = new IUndoRecordFunction[methodTable.length];
+        this.undoFunctions = new IUndoFunction[methodTable.length];
+        this.resetMethods = new boolean[methodTable.length];
+        for (int slot = 0; slot < methodTable.length; slot++) {
+            String method = methodTable[slot];
+            if (method != null) {
+                methodIds[slot] = SMRMethodIds.getId(method);
+                methodSlots.put(method, slot);
+                this.upcallTargets[slot] = upcallTargets.get(method);
+                undoRecordFunctions[slot] = undoRecordTargets.get(method);
+                undoFunctions[slot] = undoTargets.get(method);
+                resetMethods[slot] = resetSet.contains(method);
+            }
+        }
 
         this.newObjectFn = newObjectFn;
         this.object = newObjectFn.get();
@@ -155,15 +188,54 @@ public class VersionLockedObject<T> {
      * synchronization between gc and external object access is needed.
      */
     public void gc(long trimMark) {
-        long ts = 0;
+        gcUnsafe(trimMark, lock.writeLock());
+    }
 
+    /**
+     * Run gc on this object, only if the object lock can be acquired without waiting.
+     *
+     * @param trimMark The trim mark to collect up to.
+     * @return True, if gc was run, false if the object is currently locked.
+     */
+    public boolean tryGc(long trimMark) {
+        final long ts = lock.tryWriteLock();
+        if (ts == 0L) {
+            return false;
+        }
+        gcUnsafe(trimMark, ts);
+        return true;
+    }
+
+    /**
+     * Check whether running gc on this object for the given trim mark could discard any data.
+     *
+     * <p>Since the stream layer defers discarding data up to a trim mark to the next gc
+     * cycle, the object only needs to be collected if the trim mark has changed in either of
+     * the last two cycles, or if the object has been modified (i.e. its write lock has been
+     * acquired) since it was last collected. This check does not take the object lock.</p>
+     *
+     * @param trimMark The trim mark to collect up to.
+     * @return True, if gc needs to be run on this object.
+     */
+    public boolean isGcRequired(long trimMark) {
+        final long stamp = lastGcStamp;
+        return stamp == 0L
+                || lastGcTrimMark != trimMark
+                || previousGcTrimMark != trimMark
+                || !lock.validate(stamp);
+    }
+
+    private void gcUnsafe(long trimMark, long ts) {
         try (Timer.Context vloGcDuration = VloMetricsHelper.getVloGcContext()) {
-            ts = lock.writeLock();
             pendingUpcalls.removeIf(e -> e < trimMark);
             upcallResults.entrySet().removeIf(e -> e.getKey() < trimMark);
             smrStream.gc(trimMark);
+            previousGcTrimMark = lastGcTrimMark;
+            lastGcTrimMark = trimMark;
         } finally {
-            lock.unlock(ts);
+            // Atomically release the lock and observe its state, so that any
+            // modification made after this gc invalidates the observation.
+            lastGcStamp = lock.tryConvertToOptimisticRead(ts);
         }
     }
 
@@ -481,23 +553,47 @@ public class VersionLockedObject<T> {
     }
 
 
+    /**
+     * Find the slot of the method of an entry in the method table. An entry read from the
+     * log with its method ID only gets the name of the method.
+     *
+     * @param entry The entry to find the method of.
+     * @return The slot of the method, or -1 if this object has no such method.
+     */
+    private int getMethodSlot(SMREntry entry) {
+        if (entry.getMethodId() == SMREntry.NO_METHOD_ID) {
+            return methodSlots.getOrDefault(entry.getSMRMethod(), -1);
+        }
+        if (methodTable.length == 0) {
+            return -1;
+        }
+        final int slot = SMRMethodIds.getSlot(methodTable, entry.getMethodId());
+        if (methodTable[slot] == null || methodIds[slot] != entry.getMethodId()) {
+            return -1;
+        }
+        if (entry.getSMRMethod() == null) {
+            entry.setSMRMethod(methodTable[slot]);
+        }
+        return slot;
+    }
+
     /**
      * Given a SMR entry with an undo record, undo the update.
      *
      * @param record The record to undo.
      */
     protected void applyUndoRecordUnsafe(SMREntry record) {
+        final int slot = getMethodSlot(record);
         log.trace("Undo[{}] of {}@{} ({})", this, record.getSMRMethod(),
                 record.getEntry() != null ? record.getEntry().getGlobalAddress() : "OPT",
                 record.getUndoRecord());
-        IUndoFunction<T> undoFunction =
-                undoFunctionMap.get(record.getSMRMethod());
+        IUndoFunction<T> undoFunction = slot < 0 ? null : undoFunctions[slot];
         // If the undo function exists, apply it.
         if (undoFunction != null) {
             undoFunction.doUndo(object, record.getUndoRecord(),
                     record.getSMRArguments());
             return;
-        } else if (resetSet.contains(record.getSMRMethod())) {
+        } else if (slot >= 0 && resetMethods[slot]) {
             // If this is a reset, undo by restoring the
             // previous state.
             object = (T) record.getUndoRecord();
@@ -520,13 +616,15 @@ public class VersionLockedObject<T> {
      * @param entry The entry to apply.
      */
     public Object applyUpdateUnsafe(SMREntry entry) {
+        final int slot = getMethodSlot(entry);
         log.trace("Apply[{}] of {}@{} ({})", this, entry.getSMRMethod(),
                 entry.getEntry() != null ? entry.getEntry().getGlobalAddress() : "OPT",
                 entry.getSMRArguments());
 
-        ICorfuSMRUpcallTarget<T> target = upcallTargetMap.get(entry.getSMRMethod());
+        ICorfuSMRUpcallTarget<T> target = slot < 0 ? null : upcallTargets[slot];
         if (target == null) {
-            throw new RuntimeException("Unknown upcall " + entry.getSMRMethod());
+            throw new RuntimeException("Unknown upcall " + (entry.getSMRMethod() != null
+                    ? entry.getSMRMethod() : "with ID " + entry.getMethodId()));
         }
 
         // No undo record is present
@@ -538,16 +636,14 @@ public class VersionLockedObject<T> {
         // is the case without snapshot isolation
         if (!entry.isUndoable() || entry.getEntry() == null) {
             // Can we generate an undo record?
-            IUndoRecordFunction<T> undoRecordTarget =
-                    undoRecordFunctionMap
-                            .get(entry.getSMRMethod());
+            IUndoRecordFunction<T> undoRecordTarget = undoRecordFunctions[slot];
             // If there was no previously calculated undo entry
             if (undoRecordTarget != null) {
                 // calculate the undo record
                 entry.setUndoRecord(undoRecordTarget
                         .getUndoRecord(object, entry.getSMRArguments()));
                 log.trace("Apply[{}] Undo->{}", this, entry.getUndoRecord());
-            } else if (resetSet.contains(entry.getSMRMethod())) {
+            } else if (resetMethods[slot]) {
                 // This entry actually resets the object. So here
                 // we can safely get a new instance, and add the
                 // previous instance to the undo log.
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.corfudb.protocols.logprotocol.MultiObjectSMREntry;
 import org.corfudb.protocols.logprotocol.SMREntry;
+import org.corfudb.protocols.wireprotocol.ConflictFingerprints;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
@@ -26,7 +27,6 @@ import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -339,9 +339,9 @@ public abstract class AbstractTransactionalContext implements
      * collect all the conflict-params from the write-set for this transaction
      * into a set.
      *
-     * @return A set of longs representing all the conflict params
+     * @return The fingerprints of all the conflict params, per stream
      */
-    Map<UUID, Set<byte[]>> collectWriteConflictParams() {
+    Map<UUID, ConflictFingerprints> collectWriteConflictParams() {
         return getWriteSetInfo().getHashedConflictSet();
     }
 
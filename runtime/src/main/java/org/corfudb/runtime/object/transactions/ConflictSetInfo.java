@@ -6,8 +6,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.corfudb.protocols.wireprotocol.ConflictFingerprints;
 import org.corfudb.runtime.object.ICorfuSMRProxyInternal;
 
 import lombok.Getter;
@@ -28,25 +28,44 @@ public class ConflictSetInfo {
         return p.getSerializer().hash(o);
     }
 
-    /** Get the hashed conflict set.
+    /** Get the hashed conflict set, with the fingerprints of the keys of each stream.
      * @return              The hashed conflict set.
      */
-    public Map<UUID, Set<byte[]>> getHashedConflictSet() {
-        return conflicts.entrySet().stream()
-                .collect(Collectors.toMap(
-                        // Key = UUID
-                        e -> e.getKey().getStreamID(),
-                        // Value = Generated hash.
-                        e -> e.getValue().stream()
-                                .map(o -> ConflictSetInfo.generateHashFromObject(e.getKey(), o))
-                                .collect(Collectors.toSet()),
-                        // Merge function, in case key was already mapped
-                        // (If two proxies have the same stream).
-                        (v1,v2) -> {
-                            // Combine the two sets.
-                            v1.addAll(v2);
-                            return v1;
-                        }));
+    public Map<UUID, ConflictFingerprints> getHashedConflictSet() {
+        return getHashedConflictSet(Integer.MAX_VALUE, 0);
+    }
+
+    /** Get the hashed conflict set, encoding the keys of the streams with more than a
+     * threshold of keys as Bloom filters.
+     * @param bloomFilterThreshold  The number of keys above which a stream is encoded as
+     *                              a Bloom filter.
+     * @param falsePositiveRate     The false positive rate of the Bloom filters.
+     * @return                      The hashed conflict set.
+     */
+    public Map<UUID, ConflictFingerprints> getHashedConflictSet(int bloomFilterThreshold,
+                                                                double falsePositiveRate) {
+        // Proxies of the same stream are merged into one set.
+        Map<UUID, long[]> fingerprints = new HashMap<>();
+        conflicts.forEach((proxy, objects) -> {
+            long[] hashed = new long[objects.size()];
+            int i = 0;
+            for (Object o : objects) {
+                hashed[i++] = ConflictFingerprints.fingerprint(generateHashFromObject(proxy, o));
+            }
+            fingerprints.merge(proxy.getStreamID(), hashed, (v1, v2) -> {
+                long[] merged = Arrays.copyOf(v1, v1.length + v2.length);
+                System.arraycopy(v2, 0, merged, v1.length, v2.length);
+                return merged;
+            });
+        });
+
+        Map<UUID, ConflictFingerprints> hashedConflictSet = new HashMap<>();
+        fingerprints.forEach((stream, hashed) -> {
+            ConflictFingerprints set = ConflictFingerprints.of(hashed);
+            hashedConflictSet.put(stream, set.getSize() > bloomFilterThreshold
+                    ? set.toBloomFilter(falsePositiveRate) : set);
+        });
+        return hashedConflictSet;
     }
 
     /** Merge a conflict set into this conflict set.
@@ -18,6 +18,7 @@ import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
 import org.corfudb.runtime.exceptions.AbortCause;
 import org.corfudb.runtime.exceptions.AppendException;
 import org.corfudb.runtime.exceptions.TransactionAbortedException;
@@ -282,15 +283,18 @@ public class OptimisticTransactionalContext extends AbstractTransactionalContext
         // This step currently happens all at once, and we get an
         // address of -1L if it is rejected.
         long address = -1L;
+        final CorfuRuntimeParameters parameters = this.transaction.runtime.getParameters();
         final TxResolutionInfo txInfo =
             // TxResolution info:
             // 1. snapshot timestamp
-            // 2. a map of conflict params, arranged by streamID's
+            // 2. a map of conflict params, arranged by streamID's,
+            // large read sets encoded as Bloom filters
             // 3. a map of write conflict-params, arranged by
             // streamID's
             new TxResolutionInfo(getTransactionID(),
                 getSnapshotTimestamp(),
-                conflictSet.getHashedConflictSet(),
+                conflictSet.getHashedConflictSet(parameters.getConflictBloomFilterThreshold(),
+                        parameters.getConflictBloomFilterFpp()),
                 getWriteSetInfo().getHashedConflictSet());
 
         try {
@@ -0,0 +1,102 @@
+package org.corfudb.runtime.view;
+
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+
+/**
+ * The number of addresses of each bulk read request, adapted to the size of the entries and
+ * to the time the log units take to read them.
+ *
+ * <p>The first requests read the bulk read size of the runtime. Then each request reads as many
+ * addresses as fit the byte budget, given the average size of the entries read so far, and
+ * no more than the log units are observed to read within a quarter of the request timeout,
+ * so that a large request does not time out. Both averages are exponentially weighted, so
+ * that the size follows the changes of the workload.</p>
+ */
+class AdaptiveBulkReadSize {
+
+    /**
+     * The maximum number of addresses of a request.
+     */
+    static final int MAX_BATCH_SIZE = 1024;
+
+    /**
+     * The weight of the last request in the averages.
+     */
+    private static final double ALPHA = 0.2;
+
+    /**
+     * The fraction of the request timeout a request is expected to take at most.
+     */
+    private static final int TIMEOUT_FRACTION = 4;
+
+    private final CorfuRuntimeParameters parameters;
+
+    /**
+     * The average size of an entry, in bytes, zero until a request is observed.
+     */
+    private double entryBytes = 0;
+
+    /**
+     * The average time to read an entry, in nanoseconds, zero until a request is observed.
+     */
+    private double entryNanos = 0;
+
+    /**
+     * The number of addresses of the next request adapted to the observed requests, zero
+     * until a request is observed.
+     */
+    private volatile int adaptedBatchSize = 0;
+
+    /**
+     * Create a bulk read size.
+     *
+     * @param parameters The parameters of the runtime, whose bulk read size is the size of
+     *                   the first requests, and whose bulk read bytes is the byte budget of
+     *                   each request, or zero to always read the bulk read size.
+     */
+    AdaptiveBulkReadSize(@Nonnull CorfuRuntimeParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Get the number of addresses of the next request.
+     *
+     * @return The number of addresses, at least 1.
+     */
+    int getBatchSize() {
+        final int batchSize = adaptedBatchSize;
+        if (parameters.getBulkReadBytes() <= 0 || batchSize == 0) {
+            return Math.max(parameters.getBulkReadSize(), 1);
+        }
+        return batchSize;
+    }
+
+    /**
+     * Record a completed request, and adapt the size of the next ones.
+     *
+     * @param entries  The number of entries read.
+     * @param bytes    The total size of the entries read.
+     * @param duration The time the request took.
+     */
+    synchronized void record(int entries, long bytes, @Nonnull Duration duration) {
+        if (entries <= 0) {
+            return;
+        }
+        entryBytes = average(entryBytes, (double) Math.max(bytes, 1) / entries);
+        entryNanos = average(entryNanos, (double) Math.max(duration.toNanos(), 1) / entries);
+
+        final double maxRequestNanos =
+                (double) parameters.getRequestTimeout().toNanos() / TIMEOUT_FRACTION;
+        final double size = Math.min(parameters.getBulkReadBytes() / entryBytes,
+                maxRequestNanos / entryNanos);
+        adaptedBatchSize = (int) Math.max(1, Math.min(size, MAX_BATCH_SIZE));
+    }
+
+    private static double average(double average, double sample) {
+        return average == 0 ? sample : ALPHA * sample + (1 - ALPHA) * average;
+    }
+}
@@ -7,24 +7,37 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Range;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import io.netty.handler.timeout.TimeoutException;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.corfudb.protocols.wireprotocol.DataType;
@@ -43,6 +56,7 @@ import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.exceptions.WriteSizeException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
+import org.corfudb.runtime.view.replication.AdaptiveHoleFillPolicy;
 import org.corfudb.util.CFUtils;
 import org.corfudb.util.CorfuComponent;
 import org.corfudb.util.Sleep;
@@ -56,10 +70,22 @@ import org.corfudb.util.Sleep;
 @Slf4j
 public class AddressSpaceView extends AbstractView {
 
+    /**
+     * An index of the addresses present in the read cache, sorted by address. This allows
+     * the garbage collector to evict the entries below the trim mark without scanning the
+     * whole cache.
+     */
+    private final ConcurrentSkipListSet<Long> cachedAddresses = new ConcurrentSkipListSet<>();
+
     /**
      * A cache for read results.
      */
     final LoadingCache<Long, ILogData> readCache = CacheBuilder.newBuilder()
+            .removalListener((RemovalListener<Long, ILogData>) notification -> {
+                if (notification.getCause() != RemovalCause.REPLACED) {
+                    cachedAddresses.remove(notification.getKey());
+                }
+            })
             .maximumSize(runtime.getParameters().getNumCacheEntries())
             .expireAfterAccess(runtime.getParameters().getCacheExpiryTime(), TimeUnit.SECONDS)
             .expireAfterWrite(runtime.getParameters().getCacheExpiryTime(), TimeUnit.SECONDS)
@@ -67,21 +93,55 @@ public class AddressSpaceView extends AbstractView {
             .build(new CacheLoader<Long, ILogData>() {
                 @Override
                 public ILogData load(Long value) throws Exception {
-                    return cacheFetch(value);
+                    ILogData data = cacheFetch(value);
+                    cachedAddresses.add(value);
+                    return data;
                 }
 
                 @Override
                 public Map<Long, ILogData> loadAll(Iterable<? extends Long> keys) throws Exception {
-                    return cacheFetch((Iterable<Long>) keys);
+                    Map<Long, ILogData> data = cacheFetch((Iterable<Long>) keys);
+                    cachedAddresses.addAll(data.keySet());
+                    return data;
                 }
             });
 
+    /**
+     * The hole filling policy which learns the write delays observed by this runtime,
+     * used by the replication protocols if adaptive hole filling is enabled.
+     */
+    @Getter
+    private final AdaptiveHoleFillPolicy adaptiveHoleFillPolicy;
+
+    /**
+     * The number of addresses of the bulk read requests.
+     */
+    private final AdaptiveBulkReadSize bulkReadSize;
+
+    /**
+     * The number of bulk read requests in flight.
+     */
+    private final AtomicInteger bulkReadsInFlight = new AtomicInteger();
+
+    /**
+     * The address read last, to detect sequential reads. Guarded by this.
+     */
+    private long lastReadAddress = -1;
+
+    /**
+     * The last address read ahead, or being read ahead. Guarded by this.
+     */
+    private long lastPrefetchedAddress = -1;
+
     /**
      * Constructor for the Address Space View.
      */
     public AddressSpaceView(@Nonnull final CorfuRuntime runtime) {
         super(runtime);
         MetricRegistry metrics = runtime.getMetrics();
+        adaptiveHoleFillPolicy = new AdaptiveHoleFillPolicy(runtime, metrics,
+                String.format("%s0x%x.hole-fill.", CorfuComponent.ADDRESS_SPACE_VIEW.toString(),
+                        this.hashCode()));
         final String pfx = String.format("%s0x%x.cache.", CorfuComponent.ADDRESS_SPACE_VIEW.toString(),
                                          this.hashCode());
         metrics.register(pfx + "cache-size", (Gauge<Long>) readCache::size);
@@ -89,14 +149,29 @@ public class AddressSpaceView extends AbstractView {
         metrics.register(pfx + "hit-rate", (Gauge<Double>) () -> readCache.stats().hitRate());
         metrics.register(pfx + "hits", (Gauge<Long>) () -> readCache.stats().hitCount());
         metrics.register(pfx + "misses", (Gauge<Long>) () -> readCache.stats().missCount());
+
+        bulkReadSize = new AdaptiveBulkReadSize(runtime.getParameters());
+        metrics.register(pfx + "bulk-read-in-flight", (Gauge<Integer>) bulkReadsInFlight::get);
+        metrics.register(pfx + "bulk-read-batch-size", (Gauge<Integer>) bulkReadSize::getBatchSize);
     }
 
 
     /**
-     * Remove all log entries that are less than the trim mark
+     * Remove all log entries that are less than the trim mark.
+     *
+     * @param trimMark The trim mark.
+     * @return The number of addresses evicted from the cache.
      */
-    public void gc(long trimMark) {
-        readCache.asMap().entrySet().removeIf(e -> e.getKey() < trimMark);
+    public long gc(long trimMark) {
+        long evicted = 0;
+        Iterator<Long> addresses = cachedAddresses.headSet(trimMark).iterator();
+        while (addresses.hasNext()) {
+            Long address = addresses.next();
+            addresses.remove();
+            readCache.invalidate(address);
+            evicted++;
+        }
+        return evicted;
     }
 
     /**
@@ -196,8 +271,13 @@ public class AddressSpaceView extends AbstractView {
             return null;
         }, true);
 
+        if (runtime.getParameters().isAdaptiveHoleFillEnabled()) {
+            adaptiveHoleFillPolicy.recordTokenWritten(token.getSequence());
+        }
+
         // Cache the successful write
         if (!runtime.getParameters().isCacheDisabled() && cacheOption == CacheOption.WRITE_THROUGH) {
+            cachedAddresses.add(token.getSequence());
             readCache.put(token.getSequence(), ld);
         }
     }
@@ -235,6 +315,7 @@ public class AddressSpaceView extends AbstractView {
      */
     public @Nonnull ILogData read(long address) {
         if (!runtime.getParameters().isCacheDisabled()) {
+            prefetchIfSequential(address);
             ILogData data;
             try {
                 data = readCache.get(address);
@@ -260,6 +341,72 @@ public class AddressSpaceView extends AbstractView {
         return fetch(address);
     }
 
+    /**
+     * Read the addresses following an address ahead into the cache, if the address follows
+     * the one read last. The addresses are read without hole filling, so that reading ahead
+     * of slow writers does not fill their addresses, and only the committed addresses are
+     * cached. A new window is read once half of the previous one has been read.
+     *
+     * @param address The address being read.
+     */
+    private void prefetchIfSequential(long address) {
+        final int window = runtime.getParameters().getSequentialPrefetchWindow();
+        if (window <= 0) {
+            return;
+        }
+        final long start;
+        final long end = address + window;
+        synchronized (this) {
+            final boolean sequential = address == lastReadAddress + 1;
+            lastReadAddress = address;
+            if (!sequential || lastPrefetchedAddress - address >= window / 2) {
+                return;
+            }
+            start = Math.max(address + 1, lastPrefetchedAddress + 1);
+            lastPrefetchedAddress = end;
+        }
+
+        try {
+            runtime.getBulkReadExecutor().execute(() -> prefetch(Range.closed(start, end)));
+        } catch (RejectedExecutionException e) {
+            log.debug("prefetchIfSequential: runtime is shut down, not reading ahead");
+        }
+    }
+
+    /**
+     * Read a range of addresses into the cache, without hole filling.
+     *
+     * @param range A closed range of addresses, which is cut at the end of its segment.
+     */
+    private void prefetch(Range<Long> range) {
+        try {
+            Map<Long, ILogData> entries = layoutHelper(e -> {
+                Layout.LayoutSegment segment = e.getLayout().getSegment(range.lowerEndpoint());
+                long end = segment.getEnd() == -1 ? range.upperEndpoint()
+                        : Math.min(range.upperEndpoint(), segment.getEnd() - 1);
+                Set<Long> addresses = new HashSet<>();
+                for (long address = range.lowerEndpoint(); address <= end; address++) {
+                    if (readCache.getIfPresent(address) == null) {
+                        addresses.add(address);
+                    }
+                }
+                return addresses.isEmpty() ? new HashMap<Long, ILogData>()
+                        : segment.getReplicationMode()
+                        .getReplicationProtocol(runtime)
+                        .peekAll(e, addresses);
+            });
+            entries.forEach((address, data) -> {
+                if (data.getType() != DataType.EMPTY && !data.isTrimmed()) {
+                    cachedAddresses.add(address);
+                    readCache.asMap().putIfAbsent(address, data);
+                }
+            });
+            log.trace("prefetch[{}]: read {} entries ahead", range, entries.size());
+        } catch (RuntimeException e) {
+            log.debug("prefetch[{}]: failed to read ahead", range, e);
+        }
+    }
+
     /**
      * Read the given object from a range of addresses.
      *
@@ -442,33 +589,76 @@ public class AddressSpaceView extends AbstractView {
     /**
      * Fetch a collection of addresses for insertion into the cache.
      *
+     * <p>The addresses are read in batches, whose size adapts to the size of the entries
+     * read, and up to the bulk reads in flight of the runtime are read at once.</p>
+     *
      * @param addresses collection of addresses to read from.
      * @return A result to be cached
      */
     public @Nonnull
     Map<Long, ILogData> cacheFetch(Iterable<Long> addresses) {
-        Map<Long, ILogData> allAddresses = new HashMap<>();
+        List<List<Long>> batches = new ArrayList<>();
+        Iterables.partition(addresses, bulkReadSize.getBatchSize()).forEach(batches::add);
 
-        Iterable<List<Long>> batches = Iterables.partition(addresses,
-            runtime.getParameters().getBulkReadSize());
+        if (batches.size() == 1) {
+            return fetchBatch(batches.get(0));
+        }
 
+        List<CompletableFuture<Map<Long, ILogData>>> futures = new ArrayList<>();
         for (List<Long> batch : batches) {
-            try {
-                //doesn't handle the case where some address have a different replication mode
-                allAddresses.putAll(layoutHelper(e -> e.getLayout()
-                        .getReplicationMode(batch.iterator().next())
-                        .getReplicationProtocol(runtime)
-                        .readAll(e, batch)));
-            } catch (Exception e) {
-                log.error("cacheFetch: Couldn't read addresses {}", batch, e);
-                throw new UnrecoverableCorfuError(
-                    "Unexpected error during cacheFetch", e);
-            }
+            futures.add(CompletableFuture.supplyAsync(() -> fetchBatch(batch),
+                    runtime.getBulkReadExecutor()));
         }
 
+        Map<Long, ILogData> allAddresses = new HashMap<>();
+        try {
+            for (CompletableFuture<Map<Long, ILogData>> future : futures) {
+                allAddresses.putAll(future.join());
+            }
+        } catch (CompletionException e) {
+            // Cancelling a batch which has not started yet keeps it from running, but does not
+            // interrupt the running ones: they complete on the bulk read threads, and only
+            // their results are dropped.
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof UnrecoverableCorfuError) {
+                throw (UnrecoverableCorfuError) e.getCause();
+            }
+            throw new UnrecoverableCorfuError("Unexpected error during cacheFetch", e.getCause());
+        }
         return allAddresses;
     }
 
+    /**
+     * Fetch a batch of addresses, and adapt the size of the next batches to it.
+     *
+     * @param batch The addresses to read from.
+     * @return The entries read.
+     */
+    private Map<Long, ILogData> fetchBatch(List<Long> batch) {
+        final long startTime = System.nanoTime();
+        bulkReadsInFlight.incrementAndGet();
+        try {
+            //doesn't handle the case where some address have a different replication mode
+            Map<Long, ILogData> entries = layoutHelper(e -> e.getLayout()
+                    .getReplicationMode(batch.iterator().next())
+                    .getReplicationProtocol(runtime)
+                    .readAll(e, batch));
+            long bytes = 0;
+            for (ILogData entry : entries.values()) {
+                bytes += entry.getSizeEstimate();
+            }
+            bulkReadSize.record(entries.size(), bytes,
+                    Duration.ofNanos(System.nanoTime() - startTime));
+            return entries;
+        } catch (Exception e) {
+            log.error("cacheFetch: Couldn't read addresses {}", batch, e);
+            throw new UnrecoverableCorfuError(
+                "Unexpected error during cacheFetch", e);
+        } finally {
+            bulkReadsInFlight.decrementAndGet();
+        }
+    }
+
     /**
      * Fetch a collection of addresses.
      *
@@ -482,6 +672,59 @@ public class AddressSpaceView extends AbstractView {
                 .readRange(e, addresses));
     }
 
+    /**
+     * Read a chunk of a range of addresses, bypassing the cache. The chunk starts at the
+     * lower endpoint of the range, and ends at the upper endpoint, at the end of the layout
+     * segment, or once the size of the entries read reaches the read chunk size of the runtime.
+     *
+     * @param range A closed range of addresses to read from.
+     * @return The entries of the chunk, sorted by address, hole filling if necessary.
+     */
+    public @Nonnull
+    SortedMap<Long, ILogData> readChunk(Range<Long> range) {
+        final long start = range.lowerEndpoint();
+        final int chunkSize = runtime.getParameters().getReadChunkSize();
+        return layoutHelper(e -> {
+            Layout.LayoutSegment segment = e.getLayout().getSegment(start);
+            long end = segment.getEnd() == -1 ? range.upperEndpoint()
+                    : Math.min(range.upperEndpoint(), segment.getEnd() - 1);
+            return segment.getReplicationMode()
+                    .getReplicationProtocol(runtime)
+                    .readChunk(e, Range.closed(start, end), chunkSize);
+        });
+    }
+
+    /**
+     * Read a range of addresses one chunk at a time, bypassing the cache. A chunk is read
+     * only once the previous one has been consumed, so that the reader holds at most a chunk
+     * of the read chunk size of the runtime, whatever the size of the range.
+     *
+     * @param range A closed range of addresses to read from.
+     * @return An iterator over the chunks of the range, each sorted by address.
+     */
+    public @Nonnull
+    Iterator<SortedMap<Long, ILogData>> readChunks(Range<Long> range) {
+        return new Iterator<SortedMap<Long, ILogData>>() {
+            private long nextAddress = range.lowerEndpoint();
+
+            @Override
+            public boolean hasNext() {
+                return nextAddress <= range.upperEndpoint();
+            }
+
+            @Override
+            public SortedMap<Long, ILogData> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SortedMap<Long, ILogData> chunk =
+                        readChunk(Range.closed(nextAddress, range.upperEndpoint()));
+                nextAddress = chunk.lastKey() + 1;
+                return chunk;
+            }
+        };
+    }
+
     /**
      * Explicitly fetch a given address, bypassing the cache.
      *
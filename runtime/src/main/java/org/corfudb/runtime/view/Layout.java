@@ -4,10 +4,12 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import lombok.ToString;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.exceptions.QuorumUnreachableException;
 import org.corfudb.runtime.view.ClusterStatusReport.ClusterStatus;
@@ -37,6 +39,7 @@ import java.util.stream.Collectors;
  * Created by mwei on 12/8/15.
  */
 @Data
+@ToString(exclude = "segmentIndex")
 public class Layout {
 
     /**
@@ -91,6 +94,15 @@ public class Layout {
     @Getter
     UUID clusterId;
 
+    /**
+     * A sorted interval index over the segments, used to resolve global addresses to
+     * segments and stripes. It is derived state: it is neither serialized nor compared,
+     * and is rebuilt whenever the segment list changes.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile SegmentIndex segmentIndex;
+
     /**
      * Defensive constructor since we can create a Layout from a JSON file.
      * JSON deserialize is forced through this constructor.
@@ -122,6 +134,8 @@ public class Layout {
                 throw new IllegalArgumentException("One segment has an empty list of stripes");
             }
         }
+
+        this.segmentIndex = new SegmentIndex(this.segments);
     }
 
     public Layout(List<String> layoutServers, List<String> sequencers, List<LayoutSegment> segments,
@@ -129,6 +143,21 @@ public class Layout {
         this(layoutServers, sequencers, segments, new ArrayList<String>(), epoch, clusterId);
     }
 
+    /**
+     * Get the segment index for the current segment list, rebuilding it if the segments
+     * have been modified since it was built.
+     *
+     * @return A segment index over the current segments.
+     */
+    SegmentIndex getSegmentIndex() {
+        SegmentIndex index = segmentIndex;
+        if (index == null || !index.isValidFor(segments)) {
+            index = new SegmentIndex(segments);
+            segmentIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Get a layout from a JSON string.
      */
@@ -200,13 +229,12 @@ public class Layout {
      * @param globalAddress The global address
      */
     public long getLocalAddress(long globalAddress) {
-        for (LayoutSegment ls : segments) {
-            if (ls.start <= globalAddress && (ls.end > globalAddress || ls.end == -1)) {
-                // TODO: this does not account for shifting segments.
-                return globalAddress / ls.getNumberOfStripes();
-            }
+        LayoutSegment ls = getSegmentIndex().getSegment(globalAddress);
+        if (ls == null) {
+            throw new RuntimeException("Unmapped address!");
         }
-        throw new RuntimeException("Unmapped address!");
+        // TODO: this does not account for shifting segments.
+        return globalAddress / ls.getNumberOfStripes();
     }
 
     /**
@@ -251,13 +279,12 @@ public class Layout {
      * @param globalAddress The global address.
      */
     public LayoutStripe getStripe(long globalAddress) {
-        for (LayoutSegment ls : segments) {
-            if (ls.start <= globalAddress && (ls.end > globalAddress || ls.end == -1)) {
-                // TODO: this does not account for shifting segments.
-                return ls.getStripes().get((int) (globalAddress % ls.getNumberOfStripes()));
-            }
+        // TODO: this does not account for shifting segments.
+        LayoutStripe stripe = getSegmentIndex().getStripe(globalAddress);
+        if (stripe == null) {
+            throw new RuntimeException("Unmapped address!");
         }
-        throw new RuntimeException("Unmapped address!");
+        return stripe;
     }
 
     /**
@@ -266,12 +293,11 @@ public class Layout {
      * @param globalAddress The global address.
      */
     public LayoutSegment getSegment(long globalAddress) {
-        for (LayoutSegment ls : segments) {
-            if (ls.start <= globalAddress && (ls.end > globalAddress || ls.end == -1)) {
-                return ls;
-            }
+        LayoutSegment ls = getSegmentIndex().getSegment(globalAddress);
+        if (ls == null) {
+            throw new RuntimeException("Unmapped address " + Long.toString(globalAddress) + "!");
         }
-        throw new RuntimeException("Unmapped address " + Long.toString(globalAddress) + "!");
+        return ls;
     }
 
     /**
@@ -320,12 +346,8 @@ public class Layout {
      * @return The replication mode of the segment, or null if empty.
      */
     public ReplicationMode getReplicationMode(long address) {
-        for (LayoutSegment ls : segments) {
-            if (ls.start <= address && (ls.end > address || ls.end == -1)) {
-                return ls.getReplicationMode();
-            }
-        }
-        return null;
+        LayoutSegment ls = getSegmentIndex().getSegment(address);
+        return ls == null ? null : ls.getReplicationMode();
     }
 
     /**
@@ -350,6 +372,7 @@ public class Layout {
         this.unresponsiveServers = layoutCopy.getUnresponsiveServers();
         this.epoch = layoutCopy.getEpoch();
         this.clusterId = layoutCopy.clusterId;
+        this.segmentIndex = new SegmentIndex(this.segments);
     }
 
     public void nextEpoch() {
@@ -392,6 +415,9 @@ public class Layout {
             public IReplicationProtocol getReplicationProtocol(CorfuRuntime r) {
                 if (r.getParameters().isHoleFillingDisabled()) {
                     return new ChainReplicationProtocol(new NeverHoleFillPolicy(100));
+                } else if (r.getParameters().isAdaptiveHoleFillEnabled()) {
+                    return new ChainReplicationProtocol(
+                            r.getAddressSpaceView().getAdaptiveHoleFillPolicy());
                 } else {
                     return new ChainReplicationProtocol(
                             new ReadWaitHoleFillPolicy(r.getParameters().getHoleFillTimeout(),
@@ -435,6 +461,9 @@ public class Layout {
             public IReplicationProtocol getReplicationProtocol(CorfuRuntime r) {
                 if (r.getParameters().isHoleFillingDisabled()) {
                     return new QuorumReplicationProtocol(new NeverHoleFillPolicy(100));
+                } else if (r.getParameters().isAdaptiveHoleFillEnabled()) {
+                    return new QuorumReplicationProtocol(
+                            r.getAddressSpaceView().getAdaptiveHoleFillPolicy());
                 } else {
                     return new QuorumReplicationProtocol(
                             new ReadWaitHoleFillPolicy(r.getParameters().getHoleFillTimeout(),
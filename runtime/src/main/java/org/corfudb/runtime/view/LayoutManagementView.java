@@ -1,8 +1,12 @@
 package org.corfudb.runtime.view;
 
+import static org.corfudb.util.Utils.getLogTail;
 import static org.corfudb.util.Utils.getTails;
 
+import com.google.common.collect.Range;
+
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -19,10 +23,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.corfudb.protocols.wireprotocol.TailsResponse;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.SequencerClient;
 import org.corfudb.runtime.exceptions.LayoutModificationException;
 import org.corfudb.runtime.exceptions.OutrankedException;
 import org.corfudb.runtime.exceptions.QuorumUnreachableException;
 import org.corfudb.runtime.exceptions.RecoveryException;
+import org.corfudb.runtime.view.replication.ChainReplicationProtocol;
 import org.corfudb.util.CFUtils;
 
 /**
@@ -33,6 +39,12 @@ import org.corfudb.util.CFUtils;
 @Slf4j
 public class LayoutManagementView extends AbstractView {
 
+    /**
+     * The maximum number of addresses a standby sequencer is caught up with from the log
+     * units on promotion. A standby lagging further behind is bootstrapped from the tails.
+     */
+    private static final long MAX_STANDBY_CATCH_UP = 100_000L;
+
     public LayoutManagementView(@NonNull CorfuRuntime runtime) {
         super(runtime);
     }
@@ -399,9 +411,10 @@ public class LayoutManagementView extends AbstractView {
 
     /**
      * Reconfigures the sequencer.
-     * If the primary sequencer has changed in the new layout,
-     * the global tail of the log units are queried and used to set
-     * the initial token of the new primary sequencer.
+     * If the primary sequencer has changed in the new layout, and it has replicated the
+     * state of the previous primary as a standby, it is promoted with the tails of the
+     * streams written since its last update. Otherwise the global tail of the log units
+     * are queried and used to set the initial token of the new primary sequencer.
      *
      * @param originalLayout   Current layout to get the latest state of servers.
      * @param newLayout        New Layout to be reconfigured.
@@ -430,12 +443,27 @@ public class LayoutManagementView extends AbstractView {
                         || !originalLayout.getPrimarySequencer()
                         .equals(newLayout.getPrimarySequencer())) {
 
+                    if (promoteStandbySequencer(newLayout)) {
+                        lastKnownSequencerEpoch = newLayout.getEpoch();
+                        log.info("reconfigureSequencerServers: Standby sequencer promoted.");
+                        return;
+                    }
+
                     //TODO(Maithem) why isn't this getting the tails
                     // from utils?
                     TailsResponse tails = runtime.getAddressSpaceView().getAllTails();
 
                     maxTokenRequested = tails.getLogTail();
-                    streamTails = tails.getStreamTails();
+                    // The streams whose entries are all trimmed are evicted by the
+                    // sequencer, so their tails are not sent.
+                    final long trimMark = runtime.getAddressSpaceView().getTrimMark()
+                            .getSequence();
+                    streamTails = new HashMap<>();
+                    for (Map.Entry<UUID, Long> streamTail : tails.getStreamTails().entrySet()) {
+                        if (streamTail.getValue() >= trimMark) {
+                            streamTails.put(streamTail.getKey(), streamTail.getValue());
+                        }
+                    }
                     verifyStreamTailsMap(streamTails);
 
                     // Incrementing the maxTokenRequested value for sequencer reset.
@@ -464,6 +492,65 @@ public class LayoutManagementView extends AbstractView {
         }
     }
 
+    /**
+     * Attempts to promote the primary sequencer of the new layout using the state it
+     * replicated from the previous primary. Only the addresses written after the replicated
+     * global tail are read from the log units, to catch up the tails of their streams.
+     *
+     * @param newLayout New layout, in which the log units are sealed.
+     * @return True if the sequencer was promoted, false if it requires a full bootstrap.
+     */
+    private boolean promoteStandbySequencer(Layout newLayout) {
+        if (newLayout.getLatestSegment().getReplicationMode()
+                != Layout.ReplicationMode.CHAIN_REPLICATION) {
+            return false;
+        }
+
+        try {
+            final RuntimeLayout runtimeLayout = runtime.getLayoutView().getRuntimeLayout(newLayout);
+            final SequencerClient sequencer = runtimeLayout.getPrimarySequencerClient();
+            final long standbyTail = CFUtils.getUninterruptibly(sequencer.getStandbyTail());
+            if (!Address.isAddress(standbyTail)) {
+                log.info("promoteStandbySequencer: {} has no replicated state.",
+                        newLayout.getPrimarySequencer());
+                return false;
+            }
+
+            final long logTail = getLogTail(newLayout, runtime);
+            if (logTail - standbyTail >= MAX_STANDBY_CATCH_UP) {
+                log.info("promoteStandbySequencer: Replicated tail {} too far behind log tail {}.",
+                        standbyTail, logTail);
+                return false;
+            }
+
+            // The log units are sealed, so the addresses which are not written yet can be
+            // hole filled right away.
+            final Map<UUID, Long> streamTails = new HashMap<>();
+            final int batchSize = runtime.getParameters().getBulkReadSize();
+            for (long start = standbyTail; start <= logTail; start += batchSize) {
+                final long end = Math.min(logTail, start + batchSize - 1);
+                ChainReplicationProtocol protocol = (ChainReplicationProtocol) newLayout
+                        .getReplicationMode(start).getReplicationProtocol(runtime);
+                protocol.readRange(runtimeLayout, Range.closed(start, end), false)
+                        .forEach((address, data) -> data.getStreams().forEach(stream ->
+                                streamTails.merge(stream, address, Math::max)));
+            }
+            verifyStreamTailsMap(streamTails);
+
+            final boolean promoted = CFUtils.getUninterruptibly(sequencer.promote(logTail + 1,
+                    streamTails, newLayout.getEpoch(), standbyTail));
+            log.info("promoteStandbySequencer: Promotion of {} from replicated tail {} to log "
+                            + "tail {} with {} streams, success = {}",
+                    newLayout.getPrimarySequencer(), standbyTail, logTail, streamTails.size(),
+                    promoted);
+            return promoted;
+        } catch (RuntimeException e) {
+            log.warn("promoteStandbySequencer: Failed to promote {}, bootstrapping instead.",
+                    newLayout.getPrimarySequencer(), e);
+            return false;
+        }
+    }
+
     /**
      * Triggers a new task to bootstrap the sequencer for the specified layout. If there is already
      * a task in progress, this is a no-op.
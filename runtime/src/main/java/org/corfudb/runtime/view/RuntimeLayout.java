@@ -6,11 +6,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.annotation.Nonnull;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import org.corfudb.runtime.CorfuRuntime;
@@ -25,6 +29,7 @@ import org.corfudb.runtime.exceptions.QuorumUnreachableException;
 import org.corfudb.runtime.exceptions.WrongEpochException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuError;
 import org.corfudb.runtime.view.Layout.LayoutSegment;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
 
 /**
  * This is a wrapper over the layout to provide the clients required to communicate with the nodes.
@@ -32,6 +37,7 @@ import org.corfudb.runtime.view.Layout.LayoutSegment;
  */
 @Slf4j
 @Data
+@ToString(exclude = "stripeClients")
 public class RuntimeLayout {
 
     @Getter
@@ -138,8 +144,62 @@ public class RuntimeLayout {
         return (SequencerClient) getClient(SequencerClient.class, endpoint);
     }
 
+    /**
+     * Log unit clients resolved per stripe, indexed by the stripe ordinal of the segment index
+     * they were resolved against. Resolving a log unit client by address is on the path of
+     * every read and write, so the clients for each stripe are cached in an array rather than
+     * being looked up through the sender client map on every call.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile StripeClients stripeClients;
+
+    /**
+     * The log unit clients of every stripe of a segment index.
+     */
+    private static class StripeClients {
+        final SegmentIndex segmentIndex;
+        final AtomicReferenceArray<LogUnitClient[]> clients;
+
+        StripeClients(SegmentIndex segmentIndex) {
+            this.segmentIndex = segmentIndex;
+            this.clients = new AtomicReferenceArray<>(segmentIndex.getNumberOfStripes());
+        }
+    }
+
+    /**
+     * Get the log unit client for the given address and index within the stripe.
+     *
+     * @param address The global address.
+     * @param index   The index of the log unit server in the stripe.
+     * @return The log unit client.
+     */
     public LogUnitClient getLogUnitClient(long address, int index) {
-        return getLogUnitClient(layout.getStripe(address).getLogServers().get(index));
+        final SegmentIndex segmentIndex = layout.getSegmentIndex();
+        StripeClients current = stripeClients;
+        if (current == null || current.segmentIndex != segmentIndex) {
+            current = new StripeClients(segmentIndex);
+            stripeClients = current;
+        }
+
+        final int ordinal = segmentIndex.getStripeOrdinal(address);
+        if (ordinal < 0) {
+            throw new RuntimeException("Unmapped address!");
+        }
+        final LayoutStripe stripe = segmentIndex.getStripeByOrdinal(ordinal);
+
+        LogUnitClient[] clients = current.clients.get(ordinal);
+        if (clients == null || clients.length != stripe.getLogServers().size()) {
+            clients = new LogUnitClient[stripe.getLogServers().size()];
+            current.clients.set(ordinal, clients);
+        }
+
+        LogUnitClient client = clients[index];
+        if (client == null) {
+            client = getLogUnitClient(stripe.getLogServers().get(index));
+            clients[index] = client;
+        }
+        return client;
     }
 
     public LogUnitClient getLogUnitClient(String endpoint) {
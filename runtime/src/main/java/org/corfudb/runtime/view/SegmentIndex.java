@@ -0,0 +1,232 @@
+package org.corfudb.runtime.view;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+
+import org.corfudb.runtime.view.Layout.LayoutSegment;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
+
+/**
+ * An immutable, sorted interval index over the segments of a {@link Layout}.
+ *
+ * <p>Resolving a global address to its segment or stripe is on the path of every read, write
+ * and hole fill. Rather than scanning the segment list linearly, the segment boundaries are
+ * flattened into primitive arrays once, and lookups are a binary search over the segment
+ * start addresses, with a fast path for the open (last) segment which receives all new
+ * writes.</p>
+ *
+ * <p>Every stripe of every segment is also assigned a dense ordinal, so that callers can
+ * cache per-stripe state (such as resolved log unit clients) in flat arrays.</p>
+ *
+ * <p>The index is a snapshot of the segment list it was built from. Since layouts are
+ * sometimes modified in place (e.g. by the {@link LayoutBuilder} on a copy), the owning
+ * layout validates the index through {@link #isValidFor(List)} and rebuilds it if the
+ * segment list has changed.</p>
+ */
+final class SegmentIndex {
+
+    /**
+     * The segment list this index was built from.
+     */
+    private final List<LayoutSegment> source;
+
+    /**
+     * The segments, in the order of the source list.
+     */
+    private final LayoutSegment[] segments;
+
+    /**
+     * The start address of each segment (inclusive).
+     */
+    private final long[] starts;
+
+    /**
+     * The end address of each segment (exclusive), -1 if the segment is open ended.
+     */
+    private final long[] ends;
+
+    /**
+     * The ordinal of the first stripe of each segment.
+     */
+    private final int[] firstStripeOrdinal;
+
+    /**
+     * The stripes of all segments, indexed by stripe ordinal.
+     */
+    private final LayoutStripe[] stripes;
+
+    /**
+     * Whether the segments are sorted by start address and do not overlap, which is required
+     * for the binary search. If not, lookups fall back to a linear scan to preserve the
+     * first-match semantics of the segment list.
+     */
+    private final boolean ordered;
+
+    /**
+     * The total number of stripes across all segments.
+     */
+    @Getter
+    private final int numberOfStripes;
+
+    /**
+     * Build an index over the given segments.
+     *
+     * @param segments The segments of a layout.
+     */
+    SegmentIndex(@Nonnull List<LayoutSegment> segments) {
+        final int size = segments.size();
+        this.source = segments;
+        this.segments = segments.toArray(new LayoutSegment[size]);
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.firstStripeOrdinal = new int[size];
+
+        boolean isOrdered = true;
+        int ordinal = 0;
+        for (int i = 0; i < size; i++) {
+            LayoutSegment segment = this.segments[i];
+            starts[i] = segment.getStart();
+            ends[i] = segment.getEnd();
+            firstStripeOrdinal[i] = ordinal;
+            ordinal += segment.getNumberOfStripes();
+
+            if (i > 0 && (ends[i - 1] == -1 || ends[i - 1] > starts[i])) {
+                isOrdered = false;
+            }
+        }
+        this.ordered = isOrdered;
+        this.numberOfStripes = ordinal;
+
+        this.stripes = new LayoutStripe[ordinal];
+        for (int i = 0; i < size; i++) {
+            List<LayoutStripe> segmentStripes = this.segments[i].getStripes();
+            for (int j = 0; j < segmentStripes.size(); j++) {
+                stripes[firstStripeOrdinal[i] + j] = segmentStripes.get(j);
+            }
+        }
+    }
+
+    /**
+     * Check whether this index still describes the given segment list. This is a constant
+     * time check, which detects replacement of the list, segments being added or removed and
+     * the open segment being replaced or closed.
+     *
+     * @param segments The current segment list of the layout.
+     * @return True, if the index can be used to resolve addresses of the list.
+     */
+    boolean isValidFor(@Nullable List<LayoutSegment> segments) {
+        if (segments != source || segments.size() != this.segments.length) {
+            return false;
+        }
+        final int last = this.segments.length - 1;
+        if (last < 0) {
+            return true;
+        }
+        LayoutSegment lastSegment = segments.get(last);
+        return lastSegment == this.segments[last]
+                && lastSegment.getStart() == starts[last]
+                && lastSegment.getEnd() == ends[last];
+    }
+
+    /**
+     * Find the position of the segment that contains the given global address.
+     *
+     * @param globalAddress The global address.
+     * @return The position of the segment, or -1 if the address is unmapped.
+     */
+    int indexOf(long globalAddress) {
+        final int last = segments.length - 1;
+        if (last < 0) {
+            return -1;
+        }
+
+        // Fast path: most addresses resolve to the open segment at the tail of the log.
+        if (ordered && starts[last] <= globalAddress
+                && (ends[last] == -1 || ends[last] > globalAddress)) {
+            return last;
+        }
+
+        if (!ordered) {
+            for (int i = 0; i <= last; i++) {
+                if (contains(i, globalAddress)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Find the last segment whose start is less than or equal to the address.
+        int low = 0;
+        int high = last;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (starts[mid] <= globalAddress) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return high >= 0 && contains(high, globalAddress) ? high : -1;
+    }
+
+    /**
+     * Return the segment that contains the given global address.
+     *
+     * @param globalAddress The global address.
+     * @return The segment, or null if the address is unmapped.
+     */
+    @Nullable
+    LayoutSegment getSegment(long globalAddress) {
+        final int index = indexOf(globalAddress);
+        return index < 0 ? null : segments[index];
+    }
+
+    /**
+     * Return the stripe that contains the given global address.
+     *
+     * @param globalAddress The global address.
+     * @return The stripe, or null if the address is unmapped.
+     */
+    @Nullable
+    LayoutStripe getStripe(long globalAddress) {
+        final int ordinal = getStripeOrdinal(globalAddress);
+        return ordinal < 0 ? null : stripes[ordinal];
+    }
+
+    /**
+     * Return the stripe with the given ordinal.
+     *
+     * @param ordinal The stripe ordinal, as returned by {@link #getStripeOrdinal(long)}.
+     * @return The stripe.
+     */
+    @Nonnull
+    LayoutStripe getStripeByOrdinal(int ordinal) {
+        return stripes[ordinal];
+    }
+
+    /**
+     * Return the dense ordinal of the stripe that contains the given global address.
+     *
+     * @param globalAddress The global address.
+     * @return The stripe ordinal, in [0, {@link #getNumberOfStripes()}), or -1 if the address
+     *         is unmapped.
+     */
+    int getStripeOrdinal(long globalAddress) {
+        final int index = indexOf(globalAddress);
+        if (index < 0) {
+            return -1;
+        }
+        return firstStripeOrdinal[index]
+                + (int) (globalAddress % segments[index].getNumberOfStripes());
+    }
+
+    private boolean contains(int index, long globalAddress) {
+        return starts[index] <= globalAddress
+                && (ends[index] > globalAddress || ends[index] == -1);
+    }
+}
@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.collect.Lists;
 import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.protocols.wireprotocol.TokenType;
 import org.corfudb.protocols.wireprotocol.TxResolutionInfo;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.util.CFUtils;
@@ -83,8 +84,8 @@ public class SequencerView extends AbstractView {
      */
     public TokenResponse next(UUID ... streamIds) {
         try (Timer.Context context = MetricsUtils.getConditionalContext(sequencerNextOneStream)){
-            return layoutHelper(e -> CFUtils.getUninterruptibly(e.getPrimarySequencerClient()
-                    .nextToken(Arrays.asList(streamIds), 1)));
+            return recordIssued(layoutHelper(e -> CFUtils.getUninterruptibly(
+                    e.getPrimarySequencerClient().nextToken(Arrays.asList(streamIds), 1))));
         }
     }
 
@@ -98,9 +99,26 @@ public class SequencerView extends AbstractView {
      */
     public TokenResponse next(TxResolutionInfo conflictInfo, UUID ... streamIds) {
         try (Timer.Context context = MetricsUtils.getConditionalContext(sequencerNextMultipleStream)) {
-            return layoutHelper(e -> CFUtils.getUninterruptibly(e.getPrimarySequencerClient()
-                    .nextToken(Arrays.asList(streamIds), 1, conflictInfo)));
+            return recordIssued(layoutHelper(e -> CFUtils.getUninterruptibly(
+                    e.getPrimarySequencerClient()
+                            .nextToken(Arrays.asList(streamIds), 1, conflictInfo))));
+        }
+    }
+
+    /**
+     * Record the time a token was issued at, which the adaptive hole fill policy learns the
+     * write delays from.
+     *
+     * @param tokenResponse The token issued.
+     * @return The token issued.
+     */
+    private TokenResponse recordIssued(TokenResponse tokenResponse) {
+        if (runtime.getParameters().isAdaptiveHoleFillEnabled()
+                && tokenResponse.getRespType() == TokenType.NORMAL) {
+            runtime.getAddressSpaceView().getAdaptiveHoleFillPolicy()
+                    .recordTokenIssued(tokenResponse.getSequence());
         }
+        return tokenResponse;
     }
 
     /**
@@ -96,19 +96,6 @@ public class StreamsView extends AbstractView {
                 .getReplicationMode().getUnsafeStreamView(runtime, stream, options);
     }
 
-    /**
-     * Run garbage collection on all opened streams. Note that opened
-     * unsafe streams will be excluded (because its unsafe for the garbage
-     * collector thread to operate on them while being used by a different
-     * thread).
-     *
-     */
-    public void gc(long trimMark) {
-        for (IStreamView streamView : getStreamCache().values()) {
-            streamView.gc(trimMark);
-        }
-    }
-
     /**
      * Append to multiple streams simultaneously, possibly providing
      * information on how to resolve conflicts.
@@ -0,0 +1,235 @@
+package org.corfudb.runtime.view.replication;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.exceptions.HoleFillRequiredException;
+import org.corfudb.util.Sleep;
+
+/**
+ * A hole filling policy which, instead of waiting a static amount of time, waits
+ * for as long as writers in this cluster are observed to take to complete a write.
+ *
+ * <p>The policy learns the distribution of the delay between an address being issued
+ * by the sequencer and its data being written, from the tokens issued to this runtime
+ * and written by it. The waits of readers are not learned from, as a reader starts
+ * waiting at some point after the address was issued. A reader which finds
+ * an empty address which the sequencer has issued fills it once it has waited for
+ * the configured percentile of that distribution, bounded by the hole fill timeout.
+ * Until enough delays have been observed, the hole fill timeout is used.</p>
+ *
+ * <p>The tails are also used to detect addresses which are not going to be written
+ * by their token holder: once the epoch in which an address was issued is sealed, a
+ * write with that token is rejected, so an empty address below the tail of the log
+ * units is filled right away.</p>
+ *
+ * <p>The state of the policy is shared by all the replication protocols of a runtime,
+ * see {@link org.corfudb.runtime.view.AddressSpaceView#getAdaptiveHoleFillPolicy()}.</p>
+ */
+@Slf4j
+public class AdaptiveHoleFillPolicy implements IHoleFillPolicy {
+
+    /**
+     * The number of observed delays required before the learned threshold is used.
+     */
+    static final int MIN_SAMPLES = 100;
+
+    /**
+     * The maximum number of tokens issued to this runtime and not written yet which are
+     * kept, the oldest are dropped first.
+     */
+    static final int MAX_PENDING_TOKENS = 10_000;
+
+    private final CorfuRuntime runtime;
+
+    /**
+     * The observed delays between an address being issued and written, in microseconds.
+     */
+    private final Histogram writeDelays;
+
+    /**
+     * The time each token issued to this runtime and not written yet was issued at, in
+     * nanoseconds, by address.
+     */
+    private final ConcurrentSkipListMap<Long, Long> pendingTokens = new ConcurrentSkipListMap<>();
+
+    /**
+     * The number of entries of {@link #pendingTokens}, whose size is not constant time.
+     */
+    private final AtomicInteger numPendingTokens = new AtomicInteger();
+
+    /**
+     * Hole fills done because the learned threshold (or the timeout) elapsed.
+     */
+    private final Meter timeoutHoleFills;
+
+    /**
+     * Hole fills done because the address was abandoned by its token holder.
+     */
+    private final Meter abandonedHoleFills;
+
+    /**
+     * Reads which found an address empty and waited until it was written.
+     */
+    private final Meter lateWrites;
+
+    /**
+     * Create a new adaptive hole fill policy.
+     *
+     * @param runtime       The runtime whose parameters bound the learned threshold.
+     * @param metrics       The registry to register the metrics of the policy with.
+     * @param metricsPrefix The prefix of the metrics names.
+     */
+    public AdaptiveHoleFillPolicy(@Nonnull CorfuRuntime runtime, @Nonnull MetricRegistry metrics,
+                                  @Nonnull String metricsPrefix) {
+        this.runtime = runtime;
+        this.writeDelays = metrics.histogram(metricsPrefix + "write-delay-us");
+        this.timeoutHoleFills = metrics.meter(metricsPrefix + "timeout-fills");
+        this.abandonedHoleFills = metrics.meter(metricsPrefix + "abandoned-fills");
+        this.lateWrites = metrics.meter(metricsPrefix + "late-writes");
+        metrics.register(metricsPrefix + "threshold-ms",
+                (Gauge<Long>) () -> getHoleFillThreshold().toMillis());
+    }
+
+    /**
+     * Record that the sequencer issued an address to this runtime.
+     *
+     * @param address The address issued.
+     */
+    public void recordTokenIssued(long address) {
+        if (pendingTokens.put(address, System.nanoTime()) == null
+                && numPendingTokens.incrementAndGet() > MAX_PENDING_TOKENS) {
+            // Tokens which are never written, such as those of aborted appends.
+            if (pendingTokens.pollFirstEntry() != null) {
+                numPendingTokens.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Record that this runtime wrote an address, and learn the delay since the address was
+     * issued to it.
+     *
+     * @param address The address written.
+     */
+    public void recordTokenWritten(long address) {
+        final Long issueTime = pendingTokens.remove(address);
+        if (issueTime != null) {
+            numPendingTokens.decrementAndGet();
+            recordWriteDelay(Duration.ofNanos(System.nanoTime() - issueTime));
+        }
+    }
+
+    /**
+     * Record the time a writer took to write an address.
+     *
+     * @param delay The delay between the address being issued and written.
+     */
+    public void recordWriteDelay(@Nonnull Duration delay) {
+        writeDelays.update(TimeUnit.NANOSECONDS.toMicros(delay.toNanos()));
+    }
+
+    /**
+     * Get the number of write delays learned.
+     *
+     * @return The number of delays recorded.
+     */
+    long getWriteDelayCount() {
+        return writeDelays.getCount();
+    }
+
+    /**
+     * Get how long a reader waits for an issued address to be written before filling it.
+     *
+     * @return The configured percentile of the observed write delays, bounded by the
+     *         minimum hole fill timeout and the hole fill timeout.
+     */
+    public Duration getHoleFillThreshold() {
+        final CorfuRuntime.CorfuRuntimeParameters parameters = runtime.getParameters();
+        if (writeDelays.getCount() < MIN_SAMPLES) {
+            return parameters.getHoleFillTimeout();
+        }
+
+        final long learnedMicros = (long) writeDelays.getSnapshot()
+                .getValue(parameters.getHoleFillPercentile());
+        final long thresholdMicros = Math.min(
+                Math.max(learnedMicros, TimeUnit.NANOSECONDS.toMicros(
+                        parameters.getHoleFillMinTimeout().toNanos())),
+                TimeUnit.NANOSECONDS.toMicros(parameters.getHoleFillTimeout().toNanos()));
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(thresholdMicros));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nonnull
+    @Override
+    public ILogData peekUntilHoleFillRequired(long address, Function<Long, ILogData> peekFunction)
+            throws HoleFillRequiredException {
+        ILogData data = peekFunction.apply(address);
+        if (data != null) {
+            return data;
+        }
+
+        final long startTime = System.nanoTime();
+        // If the sequencer has not issued the address yet, nobody is writing it, so
+        // there is no write delay to wait for: fall back to the hole fill timeout.
+        final TokenResponse tail = runtime.getSequencerView().query();
+        final boolean issued = address <= tail.getSequence();
+        final Duration threshold = issued ? getHoleFillThreshold()
+                : runtime.getParameters().getHoleFillTimeout();
+        final Duration retryWaitThreshold = runtime.getParameters().getHoleFillRetryThreshold();
+        long checkedEpoch = tail.getEpoch();
+        long backoffMillis = 1;
+
+        while (true) {
+            final Duration waited = Duration.ofNanos(System.nanoTime() - startTime);
+            if (waited.compareTo(threshold) >= 0) {
+                log.debug("peekUntilHoleFillRequired: Address {} empty after {}ms, hole-filling.",
+                        address, waited.toMillis());
+                timeoutHoleFills.mark();
+                throw new HoleFillRequiredException("No data after " + waited.toMillis() + "ms.");
+            }
+
+            final long epoch = runtime.getLayoutView().getLayout().getEpoch();
+            if (issued && epoch > checkedEpoch) {
+                checkedEpoch = epoch;
+                if (address <= runtime.getAddressSpaceView().getAllTails().getLogTail()) {
+                    log.debug("peekUntilHoleFillRequired: Address {} issued in sealed epoch {},"
+                            + " hole-filling.", address, tail.getEpoch());
+                    abandonedHoleFills.mark();
+                    throw new HoleFillRequiredException("Address abandoned in epoch "
+                            + tail.getEpoch() + ".");
+                }
+            }
+
+            final long remainingMillis = threshold.minus(waited).toMillis();
+            Sleep.MILLISECONDS.sleepUninterruptibly(Math.max(1, Math.min(backoffMillis,
+                    Math.min(remainingMillis, retryWaitThreshold.toMillis()))));
+            backoffMillis *= 2;
+
+            data = peekFunction.apply(address);
+            if (data != null) {
+                lateWrites.mark();
+                return data;
+            }
+            log.trace("peekUntilHoleFillRequired: Attempted read at address {}, "
+                    + "but data absent. Retrying.", address);
+        }
+    }
+}
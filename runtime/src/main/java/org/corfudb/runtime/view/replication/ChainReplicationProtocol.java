@@ -12,9 +12,12 @@ import org.corfudb.runtime.view.RuntimeLayout;
 import org.corfudb.util.CFUtils;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 
@@ -101,6 +104,9 @@ public class ChainReplicationProtocol extends AbstractReplicationProtocol {
      * In case the flag is set to false, none of the reads wait for write completion and the empty address is hole
      * filled right away.
      *
+     * <p>The range is read one chunk at a time, so that the log unit never sends the whole range
+     * in a single response.</p>
+     *
      * @param runtimeLayout Runtime layout.
      * @param range         Range of addresses to read.
      * @param waitForWrite  Flag whether wait for write is required or hole fill directly.
@@ -110,19 +116,120 @@ public class ChainReplicationProtocol extends AbstractReplicationProtocol {
         long startAddress = range.lowerEndpoint();
         long endAddress = range.upperEndpoint();
         int numUnits = runtimeLayout.getLayout().getSegmentLength(startAddress);
+        int chunkSize = runtimeLayout.getRuntime().getParameters().getReadChunkSize();
         log.trace("readRange[{}-{}]: chain {}/{}", startAddress, endAddress, numUnits, numUnits);
 
-        Map<Long, LogData> logResult = CFUtils.getUninterruptibly(
+        Map<Long, LogData> logResult = new HashMap<>();
+        for (long chunkStart = startAddress; chunkStart <= endAddress; ) {
+            Map<Long, LogData> chunk = readChunkFromTail(runtimeLayout, chunkStart, endAddress,
+                    chunkSize, numUnits);
+            logResult.putAll(chunk);
+            chunkStart += chunk.size();
+        }
+
+        return fillHoles(runtimeLayout, startAddress, logResult, waitForWrite);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The chunk is read from the tail of the chain with a single request, unless the
+     * segment is striped, in which case consecutive addresses are on different chains.</p>
+     */
+    @Override
+    public SortedMap<Long, ILogData> readChunk(RuntimeLayout runtimeLayout, Range<Long> range,
+                                               int maxChunkSize) {
+        long startAddress = range.lowerEndpoint();
+        if (runtimeLayout.getLayout().getSegment(startAddress).getNumberOfStripes() > 1) {
+            return super.readChunk(runtimeLayout, range, maxChunkSize);
+        }
+        int numUnits = runtimeLayout.getLayout().getSegmentLength(startAddress);
+        log.trace("readChunk[{}-{}]: chain {}/{}", startAddress, range.upperEndpoint(),
+                numUnits, numUnits);
+
+        Map<Long, LogData> logResult = readChunkFromTail(runtimeLayout, startAddress,
+                range.upperEndpoint(), maxChunkSize, numUnits);
+        return fillHoles(runtimeLayout, startAddress, logResult, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The range enclosing the addresses is read from the tail of the chain, one chunk per
+     * request, unless the segment is striped.</p>
+     */
+    @Override
+    public Map<Long, ILogData> peekAll(RuntimeLayout runtimeLayout, Set<Long> globalAddresses) {
+        if (globalAddresses.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Range<Long> range = Range.encloseAll(globalAddresses);
+        long startAddress = range.lowerEndpoint();
+        long endAddress = range.upperEndpoint();
+        if (runtimeLayout.getLayout().getSegment(startAddress).getNumberOfStripes() > 1) {
+            return super.peekAll(runtimeLayout, globalAddresses);
+        }
+        int numUnits = runtimeLayout.getLayout().getSegmentLength(startAddress);
+        int chunkSize = runtimeLayout.getRuntime().getParameters().getReadChunkSize();
+        log.trace("peekAll[{}-{}]: chain {}/{}", startAddress, endAddress, numUnits, numUnits);
+
+        Map<Long, ILogData> result = new HashMap<>();
+        for (long chunkStart = startAddress; chunkStart <= endAddress; ) {
+            Map<Long, LogData> chunk = readChunkFromTail(runtimeLayout, chunkStart, endAddress,
+                    chunkSize, numUnits);
+            chunk.forEach((address, value) -> {
+                if (value != null && !value.isEmpty() && globalAddresses.contains(address)) {
+                    result.put(address, value);
+                }
+            });
+            chunkStart += chunk.size();
+        }
+        return result;
+    }
+
+    /**
+     * Read a chunk of addresses from the last unit of the chain, without hole filling.
+     *
+     * @param runtimeLayout Runtime layout.
+     * @param startAddress  The first address of the chunk.
+     * @param endAddress    The last address which may be in the chunk.
+     * @param maxChunkSize  The size in bytes above which the log unit stops reading.
+     * @param numUnits      The length of the chain.
+     * @return The entries of the chunk, one for each address from the start of the chunk.
+     */
+    private Map<Long, LogData> readChunkFromTail(RuntimeLayout runtimeLayout, long startAddress,
+                                                 long endAddress, int maxChunkSize, int numUnits) {
+        Map<Long, LogData> chunk = CFUtils.getUninterruptibly(
                 runtimeLayout
                         .getLogUnitClient(startAddress, numUnits - 1)
-                        .read(range)).getAddresses();
+                        .readChunk(Range.closed(startAddress, endAddress), maxChunkSize))
+                .getAddresses();
+        if (chunk.isEmpty()) {
+            throw new IllegalStateException("Empty chunk read at address " + startAddress);
+        }
+        return chunk;
+    }
 
-        // In case of holes, use the standard backoff policy for hole fill for
-        // the first entry in the list. All subsequent holes in the list can
-        // be hole filled without waiting as we have already waited for the first
-        // hole.
+    /**
+     * Fill the holes of a range of addresses read from the chain.
+     *
+     * <p>In case of holes, use the standard backoff policy for hole fill for
+     * the first entry in the list. All subsequent holes in the list can
+     * be hole filled without waiting as we have already waited for the first
+     * hole.</p>
+     *
+     * @param runtimeLayout Runtime layout.
+     * @param startAddress  The first address read.
+     * @param logResult     The entries read.
+     * @param waitForWrite  Flag whether wait for write is required or hole fill directly.
+     * @return The entries read, sorted by address, with the holes filled.
+     */
+    private SortedMap<Long, ILogData> fillHoles(RuntimeLayout runtimeLayout, long startAddress,
+                                                Map<Long, LogData> logResult,
+                                                boolean waitForWrite) {
+        int numUnits = runtimeLayout.getLayout().getSegmentLength(startAddress);
         boolean wait = !waitForWrite;
-        Map<Long, ILogData> returnResult = new TreeMap<>();
+        SortedMap<Long, ILogData> returnResult = new TreeMap<>();
         for (Map.Entry<Long, LogData> entry : logResult.entrySet()) {
             long address = entry.getKey();
             ILogData value = entry.getValue();
@@ -1,12 +1,17 @@
 package org.corfudb.runtime.view.replication;
 
+import com.google.common.collect.Range;
+
 import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
+import org.corfudb.protocols.wireprotocol.DataType;
 import org.corfudb.protocols.wireprotocol.ILogData;
 import org.corfudb.runtime.exceptions.OverwriteException;
 import org.corfudb.runtime.view.RuntimeLayout;
@@ -96,6 +101,36 @@ public interface IReplicationProtocol {
                 .collect(Collectors.toMap(r -> r.getKey(), r -> r.getValue()));
     }
 
+    /** Read a chunk of a range of addresses.
+     *
+     * <p>This method reads the addresses from the start of the range, until the end
+     * of the range or until the size of the entries read reaches the maximum chunk
+     * size, so that a large range can be read with bounded memory, one chunk at a time.
+     *
+     * <p>An implementation may read the chunk with a single request, but the default
+     * implementation just reads one address at a time.
+     *
+     * @param runtimeLayout         The RuntimeLayout stamped with layout to use for the readChunk.
+     * @param range                 A closed range of addresses to read from.
+     * @param maxChunkSize          The size of the entries in bytes above which to stop reading.
+     * @return                      A map of the addresses from the start of the range to
+     *                              committed addresses, hole filling if necessary. It contains
+     *                              at least the start of the range.
+     */
+    default @Nonnull
+    SortedMap<Long, ILogData> readChunk(RuntimeLayout runtimeLayout, Range<Long> range,
+                                        int maxChunkSize) {
+        SortedMap<Long, ILogData> chunk = new TreeMap<>();
+        long chunkSize = 0;
+        for (long address = range.lowerEndpoint();
+                address <= range.upperEndpoint() && chunkSize < maxChunkSize; address++) {
+            ILogData data = read(runtimeLayout, address);
+            chunk.put(address, data);
+            chunkSize += data.getType() == DataType.DATA ? data.getSizeEstimate() : 1;
+        }
+        return chunk;
+    }
+
     /** Peek data from a given address.
      *
      * <p>This function -may- return null if there was no entry
@@ -122,13 +157,15 @@ public interface IReplicationProtocol {
      *
      * @param runtimeLayout         The RuntimeLayout stamped with layout to use for the peekAll.
      * @param globalAddresses       A set of addresses to read from.
-     * @return                      A map of addresses to uncommitted
-     *                              addresses, without hole filling.
+     * @return                      A map of the committed addresses to
+     *                              their data, without hole filling. The
+     *                              addresses not committed are absent.
      */
     default @Nonnull Map<Long, ILogData> peekAll(RuntimeLayout runtimeLayout,
                                                  Set<Long> globalAddresses) {
         return globalAddresses.parallelStream()
                 .map(a -> new AbstractMap.SimpleImmutableEntry<>(a, peek(runtimeLayout, a)))
+                .filter(r -> r.getValue() != null)
                 .collect(Collectors.toMap(r -> r.getKey(), r -> r.getValue()));
     }
 
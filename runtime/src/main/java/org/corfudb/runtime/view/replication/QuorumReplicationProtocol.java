@@ -7,9 +7,15 @@
 package org.corfudb.runtime.view.replication;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -32,6 +38,7 @@ import org.corfudb.runtime.exceptions.QuorumUnreachableException;
 import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.exceptions.ValueAdoptedException;
 import org.corfudb.runtime.exceptions.unrecoverable.UnrecoverableCorfuInterruptedError;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
 import org.corfudb.runtime.view.QuorumFuturesFactory;
 import org.corfudb.runtime.view.RuntimeLayout;
 import org.corfudb.util.CFUtils;
@@ -98,6 +105,163 @@ public class QuorumReplicationProtocol extends AbstractReplicationProtocol {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The addresses are read with one request per replica of each stripe, instead of a
+     * quorum of requests per address. Only the addresses which a quorum of replicas does not
+     * agree on are read one by one, in parallel, which recovers them or hole fills them.</p>
+     */
+    @Override
+    public Map<Long, ILogData> readAll(RuntimeLayout runtimeLayout, List<Long> globalAddresses) {
+        return readBatch(runtimeLayout, globalAddresses);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The addresses are read like {@link #readAll(RuntimeLayout, List)}.</p>
+     */
+    @Override
+    public Map<Long, ILogData> readRange(RuntimeLayout runtimeLayout, Set<Long> globalAddresses) {
+        return readBatch(runtimeLayout, new ArrayList<>(globalAddresses));
+    }
+
+    private Map<Long, ILogData> readBatch(RuntimeLayout runtimeLayout, List<Long> globalAddresses) {
+        // The replicas of an address are the log units of its stripe.
+        final Map<LayoutStripe, List<Long>> stripes = new LinkedHashMap<>();
+        for (long address : globalAddresses) {
+            stripes.computeIfAbsent(runtimeLayout.getLayout().getStripe(address),
+                    stripe -> new ArrayList<>()).add(address);
+        }
+
+        final Map<Long, ILogData> result = new HashMap<>();
+        final List<Long> unresolved = new ArrayList<>();
+        for (List<Long> batch : stripes.values()) {
+            List<ReadResponse> responses = readQuorum(runtimeLayout, batch);
+            final int quorum = runtimeLayout.getLayout().getSegmentLength(batch.get(0)) / 2 + 1;
+            for (long address : batch) {
+                LogData committed = getCommitted(address, responses, quorum);
+                if (committed != null) {
+                    result.put(address, committed);
+                } else {
+                    unresolved.add(address);
+                }
+            }
+        }
+
+        log.trace("readBatch: {} addresses, {} read one by one", globalAddresses.size(),
+                unresolved.size());
+        if (unresolved.size() == 1) {
+            result.put(unresolved.get(0), read(runtimeLayout, unresolved.get(0)));
+            return result;
+        }
+        // The unresolved addresses are read in parallel, as each one may wait for a hole fill,
+        // on threads of the runtime which are not the bulk read threads running this read.
+        final ExecutorService executor =
+                runtimeLayout.getRuntime().getQuorumRecoveryReadExecutor();
+        final Map<Long, CompletableFuture<ILogData>> reads = new LinkedHashMap<>();
+        for (long address : unresolved) {
+            reads.put(address, CompletableFuture.supplyAsync(
+                    () -> read(runtimeLayout, address), executor));
+        }
+        reads.forEach((address, read) ->
+                result.put(address, CFUtils.getUninterruptibly(read)));
+        return result;
+    }
+
+    /**
+     * Read a batch of addresses of the same stripe from each of its replicas, and wait for
+     * the responses of a quorum of them.
+     *
+     * @param runtimeLayout The runtime layout.
+     * @param addresses     The addresses, which belong to the same stripe.
+     * @return The responses received, at least a quorum of them.
+     * @throws QuorumUnreachableException If a quorum of replicas cannot respond.
+     */
+    private List<ReadResponse> readQuorum(RuntimeLayout runtimeLayout, List<Long> addresses) {
+        final long firstAddress = addresses.get(0);
+        final int numUnits = runtimeLayout.getLayout().getSegmentLength(firstAddress);
+        final int quorum = numUnits / 2 + 1;
+        log.trace("readQuorum[{}]: {} addresses, quorum {}/{}", firstAddress, addresses.size(),
+                quorum, numUnits);
+
+        final List<ReadResponse> responses = new ArrayList<>(numUnits);
+        final AtomicInteger failures = new AtomicInteger();
+        final CompletableFuture<Void> quorumReached = new CompletableFuture<>();
+        for (int i = 0; i < numUnits; i++) {
+            runtimeLayout.getLogUnitClient(firstAddress, i).read(addresses)
+                    .whenComplete((response, ex) -> {
+                        if (ex == null) {
+                            synchronized (responses) {
+                                responses.add(response);
+                                if (responses.size() >= quorum) {
+                                    quorumReached.complete(null);
+                                }
+                            }
+                        } else if (failures.incrementAndGet() > numUnits - quorum) {
+                            quorumReached.completeExceptionally(new QuorumUnreachableException(
+                                    numUnits - failures.get(), quorum));
+                        }
+                    });
+        }
+        CFUtils.getUninterruptibly(quorumReached, QuorumUnreachableException.class);
+        synchronized (responses) {
+            return new ArrayList<>(responses);
+        }
+    }
+
+    /**
+     * Get the value committed at an address, that is the data which a quorum of replicas
+     * stores with the same rank.
+     *
+     * @param address   The address.
+     * @param responses The responses of the replicas.
+     * @param quorum    The size of a quorum.
+     * @return The committed data, or null if it cannot be decided from the responses.
+     * @throws TrimmedException If a replica has trimmed the address.
+     */
+    private LogData getCommitted(long address, List<ReadResponse> responses, int quorum) {
+        for (ReadResponse candidate : responses) {
+            LogData data = candidate.getAddresses().get(address);
+            if (data == null || isEmptyType(data.getType())) {
+                continue;
+            }
+            int agreeing = 0;
+            for (ReadResponse response : responses) {
+                LogData other = response.getAddresses().get(address);
+                if (other != null && !isEmptyType(other.getType())
+                        && compareRanks(data, other) == 0) {
+                    agreeing++;
+                }
+            }
+            if (agreeing >= quorum) {
+                return data;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compare the ranks of the values read from two replicas.
+     *
+     * @throws TrimmedException If either address is trimmed.
+     */
+    private static int compareRanks(LogData ld1, LogData ld2) {
+        if (ld1.isTrimmed() || ld2.isTrimmed()) {
+            throw new TrimmedException();
+        }
+        IMetadata.DataRank rank1 = ld1.getRank();
+        IMetadata.DataRank rank2 = ld2.getRank();
+        if (rank1 == null) {
+            return rank2 == null ? 0 : 1;
+        }
+        if (rank2 == null) {
+            return -1;
+        }
+        return rank1.compareTo(rank2);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -202,7 +366,7 @@ public class QuorumReplicationProtocol extends AbstractReplicationProtocol {
                             LogData logDataExisting = rr.getAddresses().get(address);
                             logDataExisting.releaseBuffer();
                             logDataExisting.setRank(dh.getRef().getRank());
-                            dh.setRef(logDataExisting.getSerializedForm().getSerialized());
+                            dh.setRef(logDataExisting);
                             otherValueAdopted.set(true);
                             // value adopted - continue on phase 2
                         } else {
@@ -210,9 +374,11 @@ public class QuorumReplicationProtocol extends AbstractReplicationProtocol {
                         }
                     }
                     // phase 2 - only if exception is not thrown from phase 1
-                    future = getWriteFuture(runtimeLayout, dh.getRef());
-                    CFUtils.getUninterruptibly(future, QuorumUnreachableException.class,
-                            OverwriteException.class, DataOutrankedException.class);
+                    try (ILogData.SerializationHandle ph2 = dh.getRef().getSerializedForm()) {
+                        future = getWriteFuture(runtimeLayout, ph2.getSerialized());
+                        CFUtils.getUninterruptibly(future, QuorumUnreachableException.class,
+                                OverwriteException.class, DataOutrankedException.class);
+                    }
                     log.trace("Write done[{}]: {}", address);
                     return dh.getRef();
                 } catch (QuorumUnreachableException | DataOutrankedException e) {
@@ -271,20 +437,8 @@ public class QuorumReplicationProtocol extends AbstractReplicationProtocol {
 
         @Override
         public int compare(ReadResponse o1, ReadResponse o2) {
-            LogData ld1 = o1.getAddresses().get(logPosition);
-            LogData ld2 = o2.getAddresses().get(logPosition);
-            if(ld1.isTrimmed() || ld2.isTrimmed()) {
-                throw new TrimmedException();
-            }
-            IMetadata.DataRank rank1 = ld1.getRank();
-            IMetadata.DataRank rank2 = ld2.getRank();
-            if (rank1 == null) {
-                return rank2 == null ? 0 : 1;
-            }
-            if (rank2 == null) {
-                return -1;
-            }
-            return rank1.compareTo(rank2);
+            return compareRanks(o1.getAddresses().get(logPosition),
+                    o2.getAddresses().get(logPosition));
         }
     }
 }
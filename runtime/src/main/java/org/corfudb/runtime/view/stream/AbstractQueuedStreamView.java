@@ -2,9 +2,7 @@ package org.corfudb.runtime.view.stream;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.NavigableSet;
 import java.util.Optional;
-import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -42,6 +40,9 @@ public abstract class AbstractQueuedStreamView extends
         AbstractContextStreamView<AbstractQueuedStreamView
                 .QueuedStreamContext> {
 
+    /** The entries read ahead of the entry returned by getNextEntry(). */
+    private final ReadAheadBuffer<ILogData> readAhead;
+
     /** Create a new queued stream view.
      *
      * @param streamId  The ID of the stream
@@ -50,6 +51,27 @@ public abstract class AbstractQueuedStreamView extends
     public AbstractQueuedStreamView(final CorfuRuntime runtime,
                                     final UUID streamId) {
         super(runtime, streamId, QueuedStreamContext::new);
+        this.readAhead = new ReadAheadBuffer<>(runtime.getParameters().getStreamReadAheadWindow(),
+                this::readAll, this::deserialize,
+                task -> runtime.getReadAheadExecutor().execute(task));
+    }
+
+    /** Deserialize the payload of an entry read ahead, so that it is ready to be applied.
+     * @param data  The entry read ahead.
+     */
+    private void deserialize(ILogData data) {
+        if (data.getType() == DataType.DATA) {
+            data.getPayload(runtime);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        readAhead.clear();
     }
 
     /** Add the given address to the resolved queue of the
@@ -88,7 +110,7 @@ public abstract class AbstractQueuedStreamView extends
         }
 
         // If checkpoint data is available, get from readCpQueue first
-        NavigableSet<Long> getFrom;
+        AddressSet getFrom;
         if (context.readCpQueue.size() > 0) {
             getFrom = context.readCpQueue;
             // Note: this is a checkpoint, we do not need to verify it is before the trim mark, it actually should be
@@ -107,7 +129,10 @@ public abstract class AbstractQueuedStreamView extends
         // Otherwise we remove entries one at a time from the read queue.
         if (getFrom.size() > 0) {
             final long thisRead = getFrom.pollFirst();
-            ILogData ld = read(thisRead);
+            // Read the next entries of the queue ahead, while this one is applied.
+            final AddressSet remaining = getFrom == context.readQueue
+                    ? context.readQueue.headSet(maxGlobal, true) : context.readCpQueue;
+            ILogData ld = readAhead.read(thisRead, remaining, this::read);
             if (getFrom == context.readQueue) {
                 addToResolvedQueue(context, thisRead, ld);
             }
@@ -128,7 +153,7 @@ public abstract class AbstractQueuedStreamView extends
     @Override
     protected List<ILogData> getNextEntries(QueuedStreamContext context, long maxGlobal,
                                             Function<ILogData, Boolean> contextCheckFn) {
-        NavigableSet<Long> readSet = new TreeSet<>();
+        AddressSet readSet = new AddressSet();
 
         // Scan backward in the stream to find interesting
         // log records less than or equal to maxGlobal.
@@ -374,8 +399,7 @@ public abstract class AbstractQueuedStreamView extends
 
 
         /** A queue of addresses which have already been resolved. */
-        final NavigableSet<Long> resolvedQueue
-                = new TreeSet<>();
+        final AddressSet resolvedQueue = new AddressSet();
 
         /** The minimum global address which we have resolved this
          * stream to.
@@ -390,12 +414,11 @@ public abstract class AbstractQueuedStreamView extends
         /**
          * A priority queue of potential addresses to be read from.
          */
-        final NavigableSet<Long> readQueue
-                = new TreeSet<>();
+        final AddressSet readQueue = new AddressSet();
 
         /** List of checkpoint records, if a successful checkpoint has been observed.
          */
-        final NavigableSet<Long> readCpQueue = new TreeSet<>();
+        final AddressSet readCpQueue = new AddressSet();
 
         /** Info on checkpoint we used for initial stream replay,
          *  other checkpoint-related info & stats.  Hodgepodge, clarify.
@@ -0,0 +1,886 @@
+package org.corfudb.runtime.view.stream;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A sorted set of log addresses, stored compressed, for the queues of the stream views.
+ *
+ * <p>A {@code TreeSet<Long>} takes a tree node and a boxed Long, about 60 bytes, per address,
+ * so the queues of a stream with millions of entries take hundreds of megabytes. This set
+ * splits the addresses into chunks of {@link #CHUNK_SIZE} consecutive addresses, like a
+ * roaring bitmap: the addresses of a chunk are stored in a sorted array of 16-bit offsets while
+ * the chunk is sparse, and in a bitmap of the chunk, 1 bit per address, once it holds more than
+ * {@link #MAX_ARRAY_SIZE} addresses. An address takes at most 2 bytes, and 1 bit in the dense
+ * chunks of a stream which owns most of its part of the log.</p>
+ *
+ * <p>The set is a {@link NavigableSet}, with the ascending {@link #headSet}, {@link #subSet}
+ * and {@link #tailSet} views of a {@code TreeSet}, so clearing a view removes its addresses
+ * from the set. The views are address sets too, so copying a range of addresses between
+ * sets does not box them, and {@link #forEachAddress(LongConsumer)} iterates a range without
+ * boxing. Descending views are not supported.</p>
+ *
+ * <p>Only addresses, that is non-negative values, can be added, but any value can be used
+ * as a bound of a view or a search. This class is not thread safe: lookups can run
+ * concurrently, but not with an update, and its iterators are not fail-fast. The stream views
+ * access their queues under their lock.</p>
+ */
+public class AddressSet extends AbstractSet<Long> implements NavigableSet<Long> {
+
+    /**
+     * The number of bits of the offset of an address in its chunk.
+     */
+    private static final int CHUNK_BITS = 16;
+
+    /**
+     * The number of consecutive addresses of a chunk.
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int OFFSET_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The maximum number of addresses of a chunk stored as an array, beyond which the bitmap
+     * of the chunk is smaller.
+     */
+    static final int MAX_ARRAY_SIZE = 4096;
+
+    /**
+     * The value returned by the searches which find no address.
+     */
+    private static final long NONE = -1L;
+
+    /**
+     * The estimated bytes taken by a chunk in the map of chunks: the entry, its boxed key and
+     * the header of the chunk.
+     */
+    private static final int CHUNK_OVERHEAD_BYTES = 80;
+
+    /**
+     * The addresses, which are shared by a set and its views.
+     */
+    private final Chunks chunks;
+
+    /**
+     * The lowest address of this view, inclusive.
+     */
+    private final long from;
+
+    /**
+     * The highest address of this view, inclusive.
+     */
+    private final long to;
+
+    /**
+     * Create an empty set.
+     */
+    public AddressSet() {
+        this(new Chunks(), 0L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a set of addresses.
+     *
+     * @param addresses The addresses to add.
+     */
+    public AddressSet(@Nonnull Collection<Long> addresses) {
+        this();
+        addAll(addresses);
+    }
+
+    private AddressSet(Chunks chunks, long from, long to) {
+        this.chunks = chunks;
+        this.from = from;
+        this.to = to;
+    }
+
+    private boolean isView() {
+        return from != 0L || to != Long.MAX_VALUE;
+    }
+
+    private boolean inRange(long address) {
+        return address >= from && address <= to;
+    }
+
+    /**
+     * Get the lowest address of the set which is at least a value.
+     *
+     * @return The address, or {@link #NONE}.
+     */
+    private long ceilingAddress(long value) {
+        final long address = chunks.ceiling(Math.max(value, from));
+        return address != NONE && address <= to ? address : NONE;
+    }
+
+    /**
+     * Get the highest address of the set which is at most a value.
+     *
+     * @return The address, or {@link #NONE}.
+     */
+    private long floorAddress(long value) {
+        if (value < from) {
+            return NONE;
+        }
+        final long address = chunks.floor(Math.min(value, to));
+        return address != NONE && address >= from ? address : NONE;
+    }
+
+    private static Long boxed(long address) {
+        return address == NONE ? null : address;
+    }
+
+    /**
+     * Add an address.
+     *
+     * @param address The address.
+     * @return True if the address was not in the set.
+     * @throws IllegalArgumentException If the address is negative or outside of this view.
+     */
+    public boolean add(long address) {
+        if (address < 0) {
+            throw new IllegalArgumentException("Invalid address " + address);
+        }
+        if (!inRange(address)) {
+            throw new IllegalArgumentException("Address " + address + " out of range");
+        }
+        return chunks.add(address);
+    }
+
+    @Override
+    public boolean add(Long address) {
+        return add(address.longValue());
+    }
+
+    @Override
+    public boolean addAll(@Nonnull Collection<? extends Long> addresses) {
+        if (addresses instanceof AddressSet) {
+            final long sizeBefore = chunks.size;
+            ((AddressSet) addresses).forEachAddress(this::add);
+            return chunks.size != sizeBefore;
+        }
+        return super.addAll(addresses);
+    }
+
+    /**
+     * Check whether the set contains an address.
+     *
+     * @param address The address.
+     * @return True if the address is in the set.
+     */
+    public boolean contains(long address) {
+        return inRange(address) && chunks.contains(address);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    /**
+     * Remove an address.
+     *
+     * @param address The address.
+     * @return True if the address was in the set.
+     */
+    public boolean remove(long address) {
+        return inRange(address) && chunks.remove(address);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Long && remove(((Long) o).longValue());
+    }
+
+    @Override
+    public int size() {
+        final long size = isView() ? chunks.count(from, to) : chunks.size;
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ceilingAddress(from) == NONE;
+    }
+
+    @Override
+    public void clear() {
+        if (isView()) {
+            chunks.removeRange(from, to);
+        } else {
+            chunks.clear();
+        }
+    }
+
+    /**
+     * Apply an action to each address of the set, in ascending order, without boxing them.
+     * The action must not modify this set.
+     *
+     * @param action The action.
+     */
+    public void forEachAddress(@Nonnull LongConsumer action) {
+        chunks.forEach(from, to, action);
+    }
+
+    @Override
+    public Long lower(Long value) {
+        return value == Long.MIN_VALUE ? null : boxed(floorAddress(value - 1));
+    }
+
+    @Override
+    public Long floor(Long value) {
+        return boxed(floorAddress(value));
+    }
+
+    @Override
+    public Long ceiling(Long value) {
+        return boxed(ceilingAddress(value));
+    }
+
+    @Override
+    public Long higher(Long value) {
+        return value == Long.MAX_VALUE ? null : boxed(ceilingAddress(value + 1));
+    }
+
+    @Override
+    public Long first() {
+        final long address = ceilingAddress(from);
+        if (address == NONE) {
+            throw new NoSuchElementException();
+        }
+        return address;
+    }
+
+    @Override
+    public Long last() {
+        final long address = floorAddress(to);
+        if (address == NONE) {
+            throw new NoSuchElementException();
+        }
+        return address;
+    }
+
+    @Override
+    public Long pollFirst() {
+        final long address = ceilingAddress(from);
+        if (address == NONE) {
+            return null;
+        }
+        chunks.remove(address);
+        return address;
+    }
+
+    @Override
+    public Long pollLast() {
+        final long address = floorAddress(to);
+        if (address == NONE) {
+            return null;
+        }
+        chunks.remove(address);
+        return address;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new AddressIterator(true);
+    }
+
+    @Override
+    public Iterator<Long> descendingIterator() {
+        return new AddressIterator(false);
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public NavigableSet<Long> descendingSet() {
+        throw new UnsupportedOperationException("Descending views are not supported");
+    }
+
+    @Override
+    public Comparator<? super Long> comparator() {
+        return null;
+    }
+
+    /**
+     * Get the view of the addresses of this set in a range, bounded by the range of this set.
+     */
+    private AddressSet view(long lowest, long highest) {
+        return new AddressSet(chunks, Math.max(lowest, from), Math.min(highest, to));
+    }
+
+    @Override
+    public AddressSet subSet(Long fromElement, boolean fromInclusive,
+                             Long toElement, boolean toInclusive) {
+        if (fromElement > toElement) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return headSet(toElement, toInclusive).tailSet(fromElement, fromInclusive);
+    }
+
+    @Override
+    public AddressSet headSet(Long toElement, boolean inclusive) {
+        if (!inclusive && toElement == Long.MIN_VALUE) {
+            return view(Long.MAX_VALUE, Long.MIN_VALUE);
+        }
+        return view(Long.MIN_VALUE, inclusive ? toElement : toElement - 1);
+    }
+
+    @Override
+    public AddressSet tailSet(Long fromElement, boolean inclusive) {
+        if (!inclusive && fromElement == Long.MAX_VALUE) {
+            return view(Long.MAX_VALUE, Long.MIN_VALUE);
+        }
+        return view(inclusive ? fromElement : fromElement + 1, Long.MAX_VALUE);
+    }
+
+    @Override
+    public SortedSet<Long> subSet(Long fromElement, Long toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<Long> headSet(Long toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<Long> tailSet(Long fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    /**
+     * Get the memory taken by the addresses of the set, shared with its views.
+     *
+     * @return The estimated size of the chunks, in bytes.
+     */
+    public long getMemoryFootprint() {
+        return chunks.getMemoryFootprint();
+    }
+
+    /**
+     * Iterates the addresses of this view.
+     */
+    private class AddressIterator implements Iterator<Long> {
+
+        private final boolean ascending;
+
+        private long next;
+
+        private long last = NONE;
+
+        AddressIterator(boolean ascending) {
+            this.ascending = ascending;
+            this.next = ascending ? ceilingAddress(from) : floorAddress(to);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != NONE;
+        }
+
+        @Override
+        public Long next() {
+            if (next == NONE) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            if (ascending) {
+                next = last == to ? NONE : ceilingAddress(last + 1);
+            } else {
+                next = last == from ? NONE : floorAddress(last - 1);
+            }
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == NONE) {
+                throw new IllegalStateException();
+            }
+            chunks.remove(last);
+            last = NONE;
+        }
+    }
+
+    /**
+     * The chunks of addresses of a set, by the index of the chunk, that is the address
+     * shifted by {@link #CHUNK_BITS}.
+     */
+    private static class Chunks {
+
+        private final TreeMap<Long, Chunk> chunks = new TreeMap<>();
+
+        private long size = 0;
+
+        /**
+         * The last chunk updated, as the addresses are mostly added in order. Only the updates
+         * use it, so that the lookups do not write and can run concurrently.
+         */
+        private long cachedIndex = NONE;
+
+        private Chunk cachedChunk;
+
+        private Chunk getForUpdate(long index) {
+            if (index != cachedIndex) {
+                cachedIndex = index;
+                cachedChunk = chunks.get(index);
+            }
+            return cachedChunk;
+        }
+
+        private void put(long index, Chunk chunk) {
+            chunks.put(index, chunk);
+            cachedIndex = index;
+            cachedChunk = chunk;
+        }
+
+        private void delete(long index) {
+            chunks.remove(index);
+            cachedIndex = NONE;
+            cachedChunk = null;
+        }
+
+        boolean add(long address) {
+            final long index = address >>> CHUNK_BITS;
+            final int offset = (int) (address & OFFSET_MASK);
+            Chunk chunk = getForUpdate(index);
+            if (chunk == null) {
+                chunk = new ArrayChunk();
+                put(index, chunk);
+            }
+            if (!chunk.add(offset)) {
+                return false;
+            }
+            size++;
+            if (chunk instanceof ArrayChunk && chunk.getSize() > MAX_ARRAY_SIZE) {
+                put(index, new BitmapChunk((ArrayChunk) chunk));
+            }
+            return true;
+        }
+
+        boolean contains(long address) {
+            if (address < 0) {
+                return false;
+            }
+            final Chunk chunk = chunks.get(address >>> CHUNK_BITS);
+            return chunk != null && chunk.contains((int) (address & OFFSET_MASK));
+        }
+
+        boolean remove(long address) {
+            if (address < 0) {
+                return false;
+            }
+            final long index = address >>> CHUNK_BITS;
+            final Chunk chunk = getForUpdate(index);
+            if (chunk == null || !chunk.remove((int) (address & OFFSET_MASK))) {
+                return false;
+            }
+            size--;
+            compact(index, chunk);
+            return true;
+        }
+
+        /**
+         * Drop an empty chunk, or store a sparse bitmap as an array.
+         */
+        private void compact(long index, Chunk chunk) {
+            if (chunk.getSize() == 0) {
+                delete(index);
+            } else if (chunk instanceof BitmapChunk && chunk.getSize() <= MAX_ARRAY_SIZE / 2) {
+                put(index, new ArrayChunk((BitmapChunk) chunk));
+            }
+        }
+
+        void clear() {
+            chunks.clear();
+            size = 0;
+            cachedIndex = NONE;
+            cachedChunk = null;
+        }
+
+        long ceiling(long value) {
+            final long address = Math.max(value, 0L);
+            final long index = address >>> CHUNK_BITS;
+            final Chunk chunk = chunks.get(index);
+            if (chunk != null) {
+                final int offset = chunk.ceiling((int) (address & OFFSET_MASK));
+                if (offset != NONE) {
+                    return (index << CHUNK_BITS) | offset;
+                }
+            }
+            final Map.Entry<Long, Chunk> next = chunks.higherEntry(index);
+            return next == null ? NONE : (next.getKey() << CHUNK_BITS) | next.getValue().first();
+        }
+
+        long floor(long value) {
+            if (value < 0) {
+                return NONE;
+            }
+            final long index = value >>> CHUNK_BITS;
+            final Chunk chunk = chunks.get(index);
+            if (chunk != null) {
+                final int offset = chunk.floor((int) (value & OFFSET_MASK));
+                if (offset != NONE) {
+                    return (index << CHUNK_BITS) | offset;
+                }
+            }
+            final Map.Entry<Long, Chunk> previous = chunks.lowerEntry(index);
+            return previous == null ? NONE
+                    : (previous.getKey() << CHUNK_BITS) | previous.getValue().last();
+        }
+
+        /**
+         * Apply an action to the chunks which intersect a range of addresses, with the range
+         * of offsets of the chunk in the range.
+         */
+        private void forEachChunk(long from, long to, ChunkAction action) {
+            if (to < 0 || from > to) {
+                return;
+            }
+            final long lowest = Math.max(from, 0L);
+            final long fromIndex = lowest >>> CHUNK_BITS;
+            final long toIndex = to >>> CHUNK_BITS;
+            // Copy the chunks, as the action may remove them from the map.
+            final Map<Long, Chunk> range = chunks.subMap(fromIndex, true, toIndex, true);
+            final long[] indexes = new long[range.size()];
+            final Chunk[] rangeChunks = new Chunk[range.size()];
+            int i = 0;
+            for (Map.Entry<Long, Chunk> entry : range.entrySet()) {
+                indexes[i] = entry.getKey();
+                rangeChunks[i++] = entry.getValue();
+            }
+            for (i = 0; i < indexes.length; i++) {
+                final long index = indexes[i];
+                final int fromOffset = index == fromIndex ? (int) (lowest & OFFSET_MASK) : 0;
+                final int toOffset = index == toIndex ? (int) (to & OFFSET_MASK) : OFFSET_MASK;
+                action.apply(index, rangeChunks[i], fromOffset, toOffset);
+            }
+        }
+
+        long count(long from, long to) {
+            final long[] count = new long[1];
+            forEachChunk(from, to, (index, chunk, fromOffset, toOffset) ->
+                    count[0] += fromOffset == 0 && toOffset == OFFSET_MASK
+                            ? chunk.getSize() : chunk.count(fromOffset, toOffset));
+            return count[0];
+        }
+
+        void removeRange(long from, long to) {
+            forEachChunk(from, to, (index, chunk, fromOffset, toOffset) -> {
+                size -= chunk.removeRange(fromOffset, toOffset);
+                compact(index, chunk);
+            });
+        }
+
+        void forEach(long from, long to, LongConsumer action) {
+            forEachChunk(from, to, (index, chunk, fromOffset, toOffset) ->
+                    chunk.forEach(fromOffset, toOffset, index << CHUNK_BITS, action));
+        }
+
+        long getMemoryFootprint() {
+            long bytes = 0;
+            for (Chunk chunk : chunks.values()) {
+                bytes += CHUNK_OVERHEAD_BYTES + chunk.getMemoryFootprint();
+            }
+            return bytes;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void apply(long index, Chunk chunk, int fromOffset, int toOffset);
+    }
+
+    /**
+     * The offsets of the addresses of a chunk. The searches return {@link #NONE} if they find
+     * no offset, and the ranges are inclusive.
+     */
+    private abstract static class Chunk {
+
+        abstract int getSize();
+
+        abstract boolean add(int offset);
+
+        abstract boolean remove(int offset);
+
+        abstract boolean contains(int offset);
+
+        abstract int ceiling(int offset);
+
+        abstract int floor(int offset);
+
+        int first() {
+            return ceiling(0);
+        }
+
+        int last() {
+            return floor(OFFSET_MASK);
+        }
+
+        abstract int count(int fromOffset, int toOffset);
+
+        /**
+         * Remove a range of offsets.
+         *
+         * @return The number of offsets removed.
+         */
+        abstract int removeRange(int fromOffset, int toOffset);
+
+        abstract void forEach(int fromOffset, int toOffset, long base, LongConsumer action);
+
+        abstract long getMemoryFootprint();
+    }
+
+    /**
+     * A sparse chunk, as a sorted array of offsets.
+     */
+    private static class ArrayChunk extends Chunk {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private char[] offsets;
+
+        private int size;
+
+        ArrayChunk() {
+            offsets = new char[INITIAL_CAPACITY];
+        }
+
+        ArrayChunk(BitmapChunk bitmap) {
+            offsets = new char[bitmap.getSize()];
+            bitmap.forEach(0, OFFSET_MASK, 0, offset -> offsets[size++] = (char) offset);
+        }
+
+        @Override
+        int getSize() {
+            return size;
+        }
+
+        private int search(int offset) {
+            return Arrays.binarySearch(offsets, 0, size, (char) offset);
+        }
+
+        /**
+         * Get the index of the first offset which is at least an offset.
+         */
+        private int lowerBound(int offset) {
+            if (offset > OFFSET_MASK) {
+                return size;
+            }
+            final int i = search(offset);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        @Override
+        boolean add(int offset) {
+            final int i = search(offset);
+            if (i >= 0) {
+                return false;
+            }
+            final int insertion = -i - 1;
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.min(size * 2, MAX_ARRAY_SIZE + 1));
+            }
+            System.arraycopy(offsets, insertion, offsets, insertion + 1, size - insertion);
+            offsets[insertion] = (char) offset;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean remove(int offset) {
+            final int i = search(offset);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(offsets, i + 1, offsets, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        boolean contains(int offset) {
+            return search(offset) >= 0;
+        }
+
+        @Override
+        int ceiling(int offset) {
+            final int i = lowerBound(offset);
+            return i < size ? offsets[i] : (int) NONE;
+        }
+
+        @Override
+        int floor(int offset) {
+            final int i = lowerBound(offset + 1);
+            return i > 0 ? offsets[i - 1] : (int) NONE;
+        }
+
+        @Override
+        int count(int fromOffset, int toOffset) {
+            return lowerBound(toOffset + 1) - lowerBound(fromOffset);
+        }
+
+        @Override
+        int removeRange(int fromOffset, int toOffset) {
+            final int start = lowerBound(fromOffset);
+            final int end = lowerBound(toOffset + 1);
+            System.arraycopy(offsets, end, offsets, start, size - end);
+            size -= end - start;
+            return end - start;
+        }
+
+        @Override
+        void forEach(int fromOffset, int toOffset, long base, LongConsumer action) {
+            final int end = lowerBound(toOffset + 1);
+            for (int i = lowerBound(fromOffset); i < end; i++) {
+                action.accept(base | offsets[i]);
+            }
+        }
+
+        @Override
+        long getMemoryFootprint() {
+            return (long) offsets.length * Character.BYTES;
+        }
+    }
+
+    /**
+     * A dense chunk, as a bitmap of its addresses.
+     */
+    private static class BitmapChunk extends Chunk {
+
+        private static final int WORDS = CHUNK_SIZE / Long.SIZE;
+
+        private final long[] words = new long[WORDS];
+
+        private int size;
+
+        BitmapChunk(ArrayChunk array) {
+            array.forEach(0, OFFSET_MASK, 0, offset -> add((int) offset));
+        }
+
+        @Override
+        int getSize() {
+            return size;
+        }
+
+        @Override
+        boolean add(int offset) {
+            final int word = offset >>> 6;
+            final long bit = 1L << offset;
+            if ((words[word] & bit) != 0) {
+                return false;
+            }
+            words[word] |= bit;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean remove(int offset) {
+            final int word = offset >>> 6;
+            final long bit = 1L << offset;
+            if ((words[word] & bit) == 0) {
+                return false;
+            }
+            words[word] &= ~bit;
+            size--;
+            return true;
+        }
+
+        @Override
+        boolean contains(int offset) {
+            return (words[offset >>> 6] & (1L << offset)) != 0;
+        }
+
+        @Override
+        int ceiling(int offset) {
+            int word = offset >>> 6;
+            long bits = words[word] & (-1L << offset);
+            while (bits == 0) {
+                if (++word == WORDS) {
+                    return (int) NONE;
+                }
+                bits = words[word];
+            }
+            return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+        }
+
+        @Override
+        int floor(int offset) {
+            int word = offset >>> 6;
+            long bits = words[word] & (-1L >>> (Long.SIZE - 1 - (offset & (Long.SIZE - 1))));
+            while (bits == 0) {
+                if (--word < 0) {
+                    return (int) NONE;
+                }
+                bits = words[word];
+            }
+            return word * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(bits);
+        }
+
+        /**
+         * Get the bits of a word which are in a range of offsets.
+         */
+        private static long mask(int word, int fromOffset, int toOffset) {
+            long mask = -1L;
+            if (word == fromOffset >>> 6) {
+                mask &= -1L << fromOffset;
+            }
+            if (word == toOffset >>> 6) {
+                mask &= -1L >>> (Long.SIZE - 1 - (toOffset & (Long.SIZE - 1)));
+            }
+            return mask;
+        }
+
+        @Override
+        int count(int fromOffset, int toOffset) {
+            int count = 0;
+            for (int word = fromOffset >>> 6; word <= toOffset >>> 6; word++) {
+                count += Long.bitCount(words[word] & mask(word, fromOffset, toOffset));
+            }
+            return count;
+        }
+
+        @Override
+        int removeRange(int fromOffset, int toOffset) {
+            int removed = 0;
+            for (int word = fromOffset >>> 6; word <= toOffset >>> 6; word++) {
+                final long mask = mask(word, fromOffset, toOffset);
+                removed += Long.bitCount(words[word] & mask);
+                words[word] &= ~mask;
+            }
+            size -= removed;
+            return removed;
+        }
+
+        @Override
+        void forEach(int fromOffset, int toOffset, long base, LongConsumer action) {
+            for (int word = fromOffset >>> 6; word <= toOffset >>> 6; word++) {
+                long bits = words[word] & mask(word, fromOffset, toOffset);
+                while (bits != 0) {
+                    action.accept(base | (word * Long.SIZE + Long.numberOfTrailingZeros(bits)));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        @Override
+        long getMemoryFootprint() {
+            return (long) WORDS * Long.BYTES;
+        }
+    }
+}
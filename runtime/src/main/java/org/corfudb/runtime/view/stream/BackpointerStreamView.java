@@ -5,7 +5,6 @@ import com.google.common.annotations.VisibleForTesting;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -274,7 +273,7 @@ public class BackpointerStreamView extends AbstractQueuedStreamView {
         }
         // Get the subset of the resolved queue, which starts at
         // globalPointer and ends at maxAddress inclusive.
-        NavigableSet<Long> resolvedSet =
+        AddressSet resolvedSet =
                 context.resolvedQueue.subSet(context.getGlobalPointer(),
                         false, maxGlobal, true);
 
@@ -297,7 +296,7 @@ public class BackpointerStreamView extends AbstractQueuedStreamView {
     }
 
     protected boolean followBackpointers(final UUID streamId,
-                                      final NavigableSet<Long> queue,
+                                      final AddressSet queue,
                                       final long startAddress,
                                       final long stopAddress,
                                       final Function<ILogData, BackpointerOp> filter) {
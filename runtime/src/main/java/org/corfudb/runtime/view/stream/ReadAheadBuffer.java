@@ -0,0 +1,193 @@
+package org.corfudb.runtime.view.stream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import javax.annotation.Nonnull;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the entries of a stream ahead of the reader, in windows of entries.
+ *
+ * <p>When the reader reads an address which was not read ahead, the window of addresses
+ * starting at it is read in bulk on the thread of the reader, and the next window is read in
+ * the background while the reader consumes the first one, so that the reads overlap with the
+ * application of the entries. The payloads of the entries read in the background are
+ * deserialized by the background thread too. At most two windows of entries are held, so the
+ * memory taken does not depend on how far behind the reader is.</p>
+ *
+ * <p>The entries read ahead are only hints: if reading a window fails, the entries of the window
+ * are read again by the reader, so that the failure is handled on the thread of the reader.</p>
+ *
+ * <p>This class is not thread safe: it is used under the lock of its stream view.</p>
+ */
+@Slf4j
+class ReadAheadBuffer<T> {
+
+    /**
+     * The maximum number of entries read per window.
+     */
+    private final int window;
+
+    /**
+     * Reads the entries of a window, in the order of the addresses.
+     */
+    private final Function<List<Long>, List<T>> reader;
+
+    /**
+     * Prepares an entry read ahead to be consumed, in the background.
+     */
+    private final Consumer<T> preparer;
+
+    private final Executor executor;
+
+    /**
+     * The entries read, or being read, ahead, by address.
+     */
+    private final Map<Long, CompletableFuture<T>> entries = new HashMap<>();
+
+    /**
+     * The highest address read ahead.
+     */
+    private long windowEnd = -1L;
+
+    /**
+     * Create a read ahead buffer.
+     *
+     * @param window   The maximum number of entries read per window, 0 to disable reading ahead.
+     * @param reader   Reads the entries of a window, in the order of the addresses.
+     * @param preparer Prepares an entry to be consumed, for example deserializes it.
+     * @param executor Runs the reads of the next windows.
+     */
+    ReadAheadBuffer(int window, @Nonnull Function<List<Long>, List<T>> reader,
+                    @Nonnull Consumer<T> preparer, @Nonnull Executor executor) {
+        this.window = window;
+        this.reader = reader;
+        this.preparer = preparer;
+        this.executor = executor;
+    }
+
+    /**
+     * Read the entry at an address, and the entries at the next addresses ahead.
+     *
+     * @param address   The address to read.
+     * @param remaining The addresses which will be read next, in ascending order.
+     * @param readOne   Reads the entry at the address if it was not read ahead.
+     * @return The entry at the address.
+     */
+    T read(long address, @Nonnull AddressSet remaining, @Nonnull LongFunction<T> readOne) {
+        if (window <= 0) {
+            return readOne.apply(address);
+        }
+
+        CompletableFuture<T> entry = entries.remove(address);
+        if (entry == null) {
+            // The reader moved away from the entries read ahead, start a new window here. The
+            // reader needs its first entry right away, so the window is read on its thread.
+            clear();
+            final List<Long> addresses = new ArrayList<>(window);
+            addresses.add(address);
+            fillWindow(addresses, remaining);
+            try {
+                putWindow(addresses, CompletableFuture.completedFuture(reader.apply(addresses)));
+            } catch (RuntimeException e) {
+                log.debug("read: failed to read the window at {}, reading it alone", address, e);
+                return readOne.apply(address);
+            }
+            entry = entries.remove(address);
+        }
+        if (entries.size() < window) {
+            addWindow(new ArrayList<>(window), remaining.tailSet(windowEnd, false));
+        }
+
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            log.debug("read: failed to read {} ahead, reading it again", address, e.getCause());
+            return readOne.apply(address);
+        }
+    }
+
+    /**
+     * Complete a window of addresses with the next addresses to read.
+     *
+     * @param addresses The addresses of the window.
+     * @param remaining The addresses to complete the window with.
+     */
+    private void fillWindow(List<Long> addresses, AddressSet remaining) {
+        for (Long next : remaining) {
+            if (addresses.size() >= window) {
+                break;
+            }
+            addresses.add(next);
+        }
+    }
+
+    /**
+     * Read the next window of addresses ahead, in the background.
+     *
+     * @param addresses The addresses of the window.
+     * @param remaining The addresses to complete the window with.
+     */
+    private void addWindow(List<Long> addresses, AddressSet remaining) {
+        fillWindow(addresses, remaining);
+        if (addresses.isEmpty()) {
+            return;
+        }
+
+        final CompletableFuture<List<T>> read;
+        try {
+            read = CompletableFuture.supplyAsync(() -> {
+                final List<T> data = reader.apply(addresses);
+                data.forEach(preparer);
+                return data;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // The runtime is shutting down, the reader reads the entries itself.
+            log.debug("addWindow: read ahead rejected", e);
+            return;
+        }
+        putWindow(addresses, read);
+    }
+
+    /**
+     * Hold the entries of a window.
+     *
+     * @param addresses The addresses of the window.
+     * @param read      The entries of the window, in the order of the addresses.
+     */
+    private void putWindow(List<Long> addresses, CompletableFuture<List<T>> read) {
+        for (int i = 0; i < addresses.size(); i++) {
+            final int index = i;
+            entries.put(addresses.get(i), read.thenApply(data -> data.get(index)));
+        }
+        windowEnd = addresses.get(addresses.size() - 1);
+    }
+
+    /**
+     * Drop the entries read ahead.
+     */
+    void clear() {
+        entries.clear();
+        windowEnd = -1L;
+    }
+
+    /**
+     * Get the number of entries read, or being read, ahead.
+     *
+     * @return The number of entries held.
+     */
+    int size() {
+        return entries.size();
+    }
+}
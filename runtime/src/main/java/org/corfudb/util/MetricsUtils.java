@@ -17,10 +17,12 @@ import com.github.benmanes.caffeine.cache.Cache;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.corfudb.util.metrics.HotPathMetrics;
 import org.ehcache.sizeof.SizeOf;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.nio.file.Paths;
 import java.lang.ref.WeakReference;
 import java.util.concurrent.TimeUnit;
 
@@ -43,6 +45,9 @@ public class MetricsUtils {
     // JVM flags used for configuration of collection and reporting of metrics
     private static final String PROPERTY_CSV_FOLDER = "corfu.metrics.csv.folder";
     private static final String PROPERTY_CSV_INTERVAL = "corfu.metrics.csv.interval";
+    private static final String PROPERTY_HOT_PATH_COLLECTION = "corfu.metrics.hotpath";
+    private static final String PROPERTY_HOT_PATH_FILE = "corfu.metrics.hotpath.file";
+    private static final String PROPERTY_HOT_PATH_INTERVAL = "corfu.metrics.hotpath.interval";
     private static final String PROPERTY_JMX_REPORTING = "corfu.metrics.jmxreporting";
     private static final String PROPERTY_JVM_METRICS_COLLECTION = "corfu.metrics.jvm";
     private static final String PROPERTY_LOG_INTERVAL = "corfu.metrics.log.interval";
@@ -55,9 +60,12 @@ public class MetricsUtils {
     private static long metricsCsvInterval;
     private static long metricsLogInterval;
     private static String metricsCsvFolder;
+    private static long metricsHotPathInterval;
+    private static String metricsHotPathFile;
     @Getter
     private static boolean metricsCollectionEnabled = false;
     private static boolean metricsCsvReportingEnabled = false;
+    private static boolean metricsHotPathCollectionEnabled = false;
     private static boolean metricsJmxReportingEnabled = false;
     private static boolean metricsJvmCollectionEnabled = false;
     private static boolean metricsSlf4jReportingEnabled = false;
@@ -88,6 +96,11 @@ public class MetricsUtils {
      * A positive value indicates the reporting is enabled at provided intervals.
      * <li> metricsCsvFolder: String taken from jvm corfu.metrics.csv.folder
      * property for destination path of csv reporting.
+     * <li> metricsHotPathCollectionEnabled: Boolean taken from jvm corfu.metrics.hotpath
+     * property to enable the collection of the {@link HotPathMetrics}.
+     * <li> metricsHotPathInterval: Integer taken from jvm corfu.metrics.hotpath.interval
+     * property for enabling and setting the intervals of dumping the hot path metrics to
+     * the file corfu.metrics.hotpath.file, in the Prometheus text format (in seconds).
      * </ul>
      *
      * <p>This method will be called to set the value of above-mentioned properties
@@ -101,7 +114,10 @@ public class MetricsUtils {
      * -Dcorfu.metrics.jmxreporting=True
      * -Dcorfu.metrics.log.analysis=True
      * -Dcorfu.metrics.jvm=True
-     * -Dcorfu.metrics.log.interval=60}
+     * -Dcorfu.metrics.log.interval=60
+     * -Dcorfu.metrics.hotpath=True
+     * -Dcorfu.metrics.hotpath.interval=15
+     * -Dcorfu.metrics.hotpath.file=/var/lib/node_exporter/corfu.prom}
      */
     private static void loadVmProperties() {
         metricsCollectionEnabled = Boolean.valueOf(System.getProperty(PROPERTY_METRICS_COLLECTION));
@@ -115,6 +131,11 @@ public class MetricsUtils {
         metricsCsvInterval = Long.valueOf(System.getProperty(PROPERTY_CSV_INTERVAL, "0"));
         metricsCsvFolder = String.valueOf(System.getProperty(PROPERTY_CSV_FOLDER));
         metricsCsvReportingEnabled = metricsCsvInterval > 0;
+
+        metricsHotPathCollectionEnabled =
+                Boolean.valueOf(System.getProperty(PROPERTY_HOT_PATH_COLLECTION));
+        metricsHotPathInterval = Long.valueOf(System.getProperty(PROPERTY_HOT_PATH_INTERVAL, "0"));
+        metricsHotPathFile = System.getProperty(PROPERTY_HOT_PATH_FILE);
     }
 
     /**
@@ -152,6 +173,21 @@ public class MetricsUtils {
         } else {
             log.info("Corfu metrics collection and all reporting types are disabled");
         }
+
+        setupHotPathMetrics();
+    }
+
+    // If enabled, record the hot path metrics and periodically dump them to a file
+    private static void setupHotPathMetrics() {
+        if (!metricsHotPathCollectionEnabled) return;
+
+        HotPathMetrics.setEnabled(true);
+        if (metricsHotPathInterval > 0 && metricsHotPathFile == null) {
+            log.warn("Hot path metrics are not dumped, {} is not set", PROPERTY_HOT_PATH_FILE);
+        } else if (metricsHotPathInterval > 0) {
+            HotPathMetrics.getDefaultMetrics().startFileDump(Paths.get(metricsHotPathFile),
+                    metricsHotPathInterval, TimeUnit.SECONDS);
+        }
     }
 
     // If enabled, setup jmx reporting
@@ -518,4 +518,33 @@ public class Utils {
 
         return getTails(luResponses);
     }
+
+    /**
+     * Fetches the max global log tail from the log unit cluster, like
+     * {@link #getTails(Layout, CorfuRuntime)}, without fetching the tails of the streams.
+     *
+     * @param layout  Latest layout to get clients to fetch tails.
+     * @return The max global log tail obtained from the log unit servers.
+     */
+    public static long getLogTail(Layout layout, CorfuRuntime runtime) {
+        long logTail = Address.NON_ADDRESS;
+
+        Layout.LayoutSegment segment = layout.getLatestSegment();
+
+        // Query the tail of the head log unit in every stripe.
+        if (segment.getReplicationMode().equals(Layout.ReplicationMode.CHAIN_REPLICATION)) {
+            for (Layout.LayoutStripe stripe : segment.getStripes()) {
+                long stripeTail = CFUtils.getUninterruptibly(
+                        runtime.getLayoutView().getRuntimeLayout(layout)
+                                .getLogUnitClient(stripe.getLogServers().get(0))
+                                .getLogTail());
+                logTail = Math.max(logTail, stripeTail);
+            }
+        } else if (segment.getReplicationMode()
+                .equals(Layout.ReplicationMode.QUORUM_REPLICATION)) {
+            throw new UnsupportedOperationException();
+        }
+
+        return logTail;
+    }
 }
@@ -0,0 +1,287 @@
+package org.corfudb.util.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A registry of the metrics recorded on the hot paths of the servers and the runtime, such as
+ * the latency of each message type, which are cheap enough to record on every request.
+ *
+ * <p>Unlike the Dropwizard timers of {@link org.corfudb.util.MetricsUtils}, recording does not
+ * take locks or allocate: latencies are recorded in {@link LatencyHistogram}s and counts in
+ * {@link LongAdder}s, and labelled metrics are bounded by {@link LabeledMetrics}.</p>
+ *
+ * <p>The metrics are exported in the Prometheus text exposition format, either by
+ * {@link #scrape()} or periodically to a file by {@link #startFileDump(Path, long, TimeUnit)},
+ * which can be collected by the textfile collector of the node exporter. Latencies are
+ * exported in seconds, as summaries.</p>
+ */
+@Slf4j
+public class HotPathMetrics {
+
+    /**
+     * The registry of the servers and runtimes of this JVM.
+     */
+    @Getter
+    private static final HotPathMetrics defaultMetrics = new HotPathMetrics();
+
+    /**
+     * Whether the hot path metrics are recorded. Callers check it before reading the clock.
+     */
+    @Getter
+    @Setter
+    private static volatile boolean enabled = false;
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private static final String SUMMARY = "summary";
+
+    private static final String COUNTER = "counter";
+
+    private static final String GAUGE = "gauge";
+
+    /**
+     * The metric families, sorted by name.
+     */
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private ScheduledExecutorService dumpExecutor;
+
+    /**
+     * A named metric, with its help text and Prometheus type.
+     */
+    @AllArgsConstructor
+    private static class Family {
+        final String help;
+        final String type;
+        final Object metric;
+    }
+
+    /**
+     * A family of gauges with a label, one for each instance measured, such as the server of
+     * a node, which reads its value when the metrics are exported.
+     */
+    @AllArgsConstructor
+    private static class GaugeFamily {
+        final String label;
+        final Map<String, Supplier<? extends Number>> gauges = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Get or register a family.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T register(String name, String help, String type, Supplier<T> metric) {
+        Family family = families.computeIfAbsent(name,
+                n -> new Family(help, type, metric.get()));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + family.type);
+        }
+        return (T) family.metric;
+    }
+
+    /**
+     * Get or register a latency histogram.
+     *
+     * @param name The name of the metric, such as corfu_runtime_write_seconds.
+     * @param help The description of the metric.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(@Nonnull String name, @Nonnull String help) {
+        return register(name, help, SUMMARY, LatencyHistogram::new);
+    }
+
+    /**
+     * Get or register a family of latency histograms with a label.
+     *
+     * @param name      The name of the metric.
+     * @param help      The description of the metric.
+     * @param label     The name of the label.
+     * @param maxLabels The maximum number of label values.
+     * @param <K>       The type of the label values.
+     * @return The histograms.
+     */
+    public <K> LabeledMetrics<K, LatencyHistogram> histograms(@Nonnull String name,
+                                                              @Nonnull String help,
+                                                              @Nonnull String label,
+                                                              int maxLabels) {
+        return register(name, help, SUMMARY,
+                () -> new LabeledMetrics<>(label, maxLabels, LatencyHistogram::new));
+    }
+
+    /**
+     * Get or register a family of counters with a label.
+     *
+     * @param name      The name of the metric, such as corfu_server_stream_appends_total.
+     * @param help      The description of the metric.
+     * @param label     The name of the label.
+     * @param maxLabels The maximum number of label values.
+     * @param <K>       The type of the label values.
+     * @return The counters.
+     */
+    public <K> LabeledMetrics<K, LongAdder> counters(@Nonnull String name, @Nonnull String help,
+                                                     @Nonnull String label, int maxLabels) {
+        return register(name, help, COUNTER,
+                () -> new LabeledMetrics<>(label, maxLabels, LongAdder::new));
+    }
+
+    /**
+     * Get or register a family of gauges with a label, which are incremented and decremented
+     * as the value they measure changes, such as the number of requests waiting.
+     *
+     * @param name      The name of the metric, such as corfu_logunit_client_queue_depth.
+     * @param help      The description of the metric.
+     * @param label     The name of the label.
+     * @param maxLabels The maximum number of label values.
+     * @param <K>       The type of the label values.
+     * @return The gauges.
+     */
+    public <K> LabeledMetrics<K, LongAdder> gauges(@Nonnull String name, @Nonnull String help,
+                                                   @Nonnull String label, int maxLabels) {
+        return register(name, help, GAUGE,
+                () -> new LabeledMetrics<>(label, maxLabels, LongAdder::new));
+    }
+
+    /**
+     * Register the gauge of an instance, such as the server of a node, in a family of gauges
+     * with a label. The instance must remove its gauge with {@link #removeGauge(String, String)}
+     * when it shuts down, as the gauge references it.
+     *
+     * @param name       The name of the metric.
+     * @param help       The description of the metric.
+     * @param label      The name of the label, such as node.
+     * @param labelValue The label value of the instance, which replaces the gauge previously
+     *                   registered with the same value.
+     * @param gauge      Supplies the value of the gauge when the metrics are exported.
+     */
+    public void gauge(@Nonnull String name, @Nonnull String help, @Nonnull String label,
+                      @Nonnull String labelValue, @Nonnull Supplier<? extends Number> gauge) {
+        GaugeFamily family = register(name, help, GAUGE, () -> new GaugeFamily(label));
+        family.gauges.put(labelValue, gauge);
+    }
+
+    /**
+     * Remove the gauge of an instance.
+     *
+     * @param name       The name of the metric.
+     * @param labelValue The label value of the instance.
+     */
+    public void removeGauge(@Nonnull String name, @Nonnull String labelValue) {
+        Family family = families.get(name);
+        if (family != null && family.metric instanceof GaugeFamily) {
+            ((GaugeFamily) family.metric).gauges.remove(labelValue);
+        }
+    }
+
+    /**
+     * Export the metrics.
+     *
+     * @return The metrics in the Prometheus text exposition format.
+     */
+    @SuppressWarnings("unchecked")
+    public String scrape() {
+        StringBuilder sb = new StringBuilder();
+        families.forEach((name, family) -> {
+            sb.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            sb.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            if (family.metric instanceof LatencyHistogram) {
+                writeSummary(sb, name, "", (LatencyHistogram) family.metric);
+            } else if (family.metric instanceof LabeledMetrics) {
+                LabeledMetrics<?, Object> labeled = (LabeledMetrics<?, Object>) family.metric;
+                labeled.forEach((value, metric) -> {
+                    String labels = labeled.getLabel() + "=\"" + escape(value) + "\"";
+                    if (metric instanceof LatencyHistogram) {
+                        writeSummary(sb, name, labels, (LatencyHistogram) metric);
+                    } else {
+                        writeSample(sb, name, labels, ((LongAdder) metric).sum());
+                    }
+                });
+            } else {
+                GaugeFamily gauges = (GaugeFamily) family.metric;
+                gauges.gauges.forEach((value, gauge) -> writeSample(sb, name,
+                        gauges.label + "=\"" + escape(value) + "\"", gauge.get()));
+            }
+        });
+        return sb.toString();
+    }
+
+    private static void writeSummary(StringBuilder sb, String name, String labels,
+                                     LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        final String separator = labels.isEmpty() ? "" : ",";
+        for (double quantile : QUANTILES) {
+            writeSample(sb, name, labels + separator + "quantile=\"" + quantile + "\"",
+                    snapshot.getValueAtQuantile(quantile) / NANOS_PER_SECOND);
+        }
+        writeSample(sb, name + "_sum", labels, snapshot.getSum() / NANOS_PER_SECOND);
+        writeSample(sb, name + "_count", labels, snapshot.getCount());
+    }
+
+    private static void writeSample(StringBuilder sb, String name, String labels, Number value) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Start writing the metrics to a file periodically. The file is replaced atomically, so
+     * a collector never reads a partial export. Only the first call starts a dump.
+     *
+     * @param file     The file to write.
+     * @param interval The interval between dumps.
+     * @param unit     The unit of the interval.
+     */
+    public synchronized void startFileDump(@Nonnull Path file, long interval,
+                                           @Nonnull TimeUnit unit) {
+        if (dumpExecutor != null) {
+            log.debug("startFileDump: metrics are already dumped, ignoring {}", file);
+            return;
+        }
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("HotPathMetrics-Dump-%d")
+                .build());
+        dumpExecutor.scheduleAtFixedRate(() -> dump(file), interval, interval, unit);
+        log.info("startFileDump: dumping metrics to {} every {} {}", file, interval, unit);
+    }
+
+    private void dump(Path file) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(tmp, scrape().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("dump: failed to write metrics to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.corfudb.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import lombok.Getter;
+
+/**
+ * A family of metrics of the same kind, one for each value of a label such as a stream ID or a
+ * message type.
+ *
+ * <p>The number of labels is bounded, so that a client creating streams or connecting with
+ * new IDs cannot grow the metrics without bound: once {@code maxLabels} labels exist, new
+ * labels share the metric of the {@link #OTHER} label. Labels created concurrently may exceed
+ * the bound by the number of recording threads.</p>
+ *
+ * @param <K> The type of the label values.
+ * @param <M> The type of the metrics.
+ */
+public class LabeledMetrics<K, M> {
+
+    /**
+     * The label value of the metric shared by the labels beyond the bound.
+     */
+    public static final String OTHER = "other";
+
+    /**
+     * The name of the label.
+     */
+    @Getter
+    private final String label;
+
+    private final int maxLabels;
+
+    private final Supplier<M> factory;
+
+    private final Map<K, M> metrics = new ConcurrentHashMap<>();
+
+    private final M other;
+
+    /**
+     * Create an empty family of metrics.
+     *
+     * @param label     The name of the label.
+     * @param maxLabels The maximum number of label values.
+     * @param factory   Creates the metric of a label value.
+     */
+    public LabeledMetrics(@Nonnull String label, int maxLabels, @Nonnull Supplier<M> factory) {
+        if (maxLabels < 1) {
+            throw new IllegalArgumentException("Invalid maximum number of labels " + maxLabels);
+        }
+        this.label = label;
+        this.maxLabels = maxLabels;
+        this.factory = factory;
+        this.other = factory.get();
+    }
+
+    /**
+     * Get the metric of a label value, creating it if the bound is not reached.
+     *
+     * @param value The label value.
+     * @return The metric of the label value, or the metric of {@link #OTHER}.
+     */
+    public M get(@Nonnull K value) {
+        M metric = metrics.get(value);
+        if (metric != null) {
+            return metric;
+        }
+        if (metrics.size() >= maxLabels) {
+            return other;
+        }
+        return metrics.computeIfAbsent(value, v -> factory.get());
+    }
+
+    /**
+     * Apply an action to the metric of each label value, and to the metric of {@link #OTHER}
+     * if the bound was reached.
+     *
+     * @param action Receives the label value as a string, and its metric.
+     */
+    public void forEach(@Nonnull BiConsumer<String, M> action) {
+        metrics.forEach((value, metric) -> action.accept(value.toString(), metric));
+        if (metrics.size() >= maxLabels) {
+            action.accept(OTHER, other);
+        }
+    }
+}
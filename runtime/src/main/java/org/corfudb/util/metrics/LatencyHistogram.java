@@ -0,0 +1,242 @@
+package org.corfudb.util.metrics;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import lombok.Getter;
+
+/**
+ * A histogram of latencies in nanoseconds, recorded by each thread into its own buckets.
+ *
+ * <p>Values are counted in log-linear buckets, as in an HDR histogram: each power of two is
+ * split into {@link #SUB_BUCKETS} linear buckets, so the value reported for any quantile is
+ * within about 3% of the recorded one, from a nanosecond up to {@link #MAX_VALUE}.</p>
+ *
+ * <p>Recording does not lock and does not contend: each thread increments the counts of its
+ * own recorder with ordered writes, and only the reader, which merges the recorders into a
+ * {@link Snapshot}, pays for the synchronization. The counts of the recorders whose thread
+ * died are folded into a retired recorder, so that pools which replace their threads do not
+ * grow the histogram.</p>
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits of a value kept by its bucket.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The number of linear buckets in each power of two.
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The highest power of two of the values recorded.
+     */
+    private static final int MAX_VALUE_BITS = 40;
+
+    /**
+     * The highest value recorded, about 18 minutes in nanoseconds. Larger values are recorded
+     * as this one.
+     */
+    public static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    /**
+     * The number of buckets, and the index of the sum of the values in the counts of a
+     * recorder.
+     */
+    private static final int BUCKETS = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * The recorders of live threads, and the retired recorder.
+     */
+    private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+
+    /**
+     * The counts of the recorders whose thread died, only updated by the reader.
+     */
+    private final Recorder retired = new Recorder(null);
+
+    private final ThreadLocal<Recorder> recorder = ThreadLocal.withInitial(() -> {
+        Recorder r = new Recorder(Thread.currentThread());
+        recorders.add(r);
+        return r;
+    });
+
+    /**
+     * Record a value.
+     *
+     * @param value The value, in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        recorder.get().record(Math.min(Math.max(value, 0), MAX_VALUE));
+    }
+
+    /**
+     * Record the time elapsed since a start time.
+     *
+     * @param startNanos The start time, as returned by {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Merge the counts recorded by all the threads so far.
+     *
+     * @return A snapshot of the histogram.
+     */
+    public synchronized Snapshot getSnapshot() {
+        long[] counts = new long[BUCKETS + 1];
+        retired.addTo(counts);
+        for (Recorder r : recorders) {
+            r.addTo(counts);
+            if (r.isRetired()) {
+                r.addTo(retired);
+                recorders.remove(r);
+            }
+        }
+        return new Snapshot(counts);
+    }
+
+    /**
+     * Get the bucket of a value.
+     *
+     * @param value A value between 0 and {@link #MAX_VALUE}.
+     * @return The index of its bucket.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Get the highest value counted in a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * The counts recorded by a single thread, and the sum of its values in the last slot.
+     */
+    private static class Recorder {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+
+        private final WeakReference<Thread> owner;
+
+        Recorder(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        /**
+         * Count a value. Only called by the owner thread, so the read-increment-write does
+         * not need to be atomic and an ordered write makes it visible to the reader.
+         */
+        void record(long value) {
+            final int bucket = bucketOf(value);
+            counts.lazySet(bucket, counts.get(bucket) + 1);
+            counts.lazySet(BUCKETS, counts.get(BUCKETS) + value);
+        }
+
+        boolean isRetired() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        void addTo(long[] target) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += counts.get(i);
+            }
+        }
+
+        /**
+         * Fold the counts of a recorder whose owner died into this one.
+         */
+        void addTo(Recorder target) {
+            for (int i = 0; i <= BUCKETS; i++) {
+                target.counts.lazySet(i, target.counts.get(i) + counts.get(i));
+            }
+        }
+    }
+
+    /**
+     * The counts of a histogram at a point in time.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+
+        /**
+         * The number of values recorded.
+         */
+        @Getter
+        private final long count;
+
+        /**
+         * The sum of the values recorded, in nanoseconds.
+         */
+        @Getter
+        private final long sum;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            this.sum = counts[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += counts[i];
+            }
+            this.count = total;
+        }
+
+        /**
+         * Get the value at a quantile.
+         *
+         * @param quantile The quantile, between 0 and 1.
+         * @return The highest value of the bucket of the quantile, in nanoseconds, or 0 if
+         *         no value was recorded.
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return highestValueOf(i);
+                }
+            }
+            return MAX_VALUE;
+        }
+
+        /**
+         * Get the highest value recorded.
+         *
+         * @return The highest value of the highest bucket counted, or 0.
+         */
+        public long getMax() {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestValueOf(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
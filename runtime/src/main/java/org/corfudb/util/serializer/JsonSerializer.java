@@ -10,6 +10,7 @@ import io.netty.buffer.ByteBufOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.util.UUID;
 
 import lombok.extern.slf4j.Slf4j;
@@ -87,22 +88,16 @@ public class JsonSerializer implements ISerializer {
         String className = o == null ? "null" : o.getClass().getName();
         if (className.endsWith(ICorfuSMR.CORFUSMR_SUFFIX)) {
             className = "CorfuObject";
-            byte[] classNameBytes = className.getBytes();
-            b.writeShort(classNameBytes.length);
-            b.writeBytes(classNameBytes);
+            writeString(className, b);
             String smrClass = className.split("\\$")[0];
-            byte[] smrClassNameBytes = smrClass.getBytes();
-            b.writeShort(smrClassNameBytes.length);
-            b.writeBytes(smrClassNameBytes);
+            writeString(smrClass, b);
             UUID id = ((ICorfuSMR) o).getCorfuStreamID();
             log.trace("Serializing a CorfuObject of type {} as a stream pointer to {}",
                     smrClass, id);
             b.writeLong(id.getMostSignificantBits());
             b.writeLong(id.getLeastSignificantBits());
         } else {
-            byte[] classNameBytes = className.getBytes();
-            b.writeShort(classNameBytes.length);
-            b.writeBytes(classNameBytes);
+            writeString(className, b);
             if (o == null) {
                 return;
             }
@@ -115,4 +110,17 @@ public class JsonSerializer implements ISerializer {
             }
         }
     }
+
+    /**
+     * Write a string preceded by its length straight into a buffer, without copying its bytes.
+     *
+     * @param string The string to write.
+     * @param b      The bytebuf to write it into.
+     */
+    private static void writeString(String string, ByteBuf b) {
+        final int lengthIndex = b.writerIndex();
+        b.writeShort(0);
+        final int length = b.writeCharSequence(string, Charset.defaultCharset());
+        b.setShort(lengthIndex, length);
+    }
 }
@@ -0,0 +1,81 @@
+package org.corfudb.util.serializer;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Pooled buffers to serialize entries and messages into.
+ *
+ * <p>The buffers are direct buffers taken from the pooled allocator of netty, which rounds the
+ * requested capacities up to size classes and caches the released buffers per thread, so that
+ * serializing an entry neither allocates a new buffer, nor needs another copy to be written to
+ * a channel or a file. A buffer must be released once it is not used anymore.</p>
+ *
+ * <p>Tests can enable leak detection, which takes the buffers from an allocator without caches,
+ * so that the number of buffers not released yet can be checked.</p>
+ */
+public class SerializationBuffers {
+
+    private static volatile PooledByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+
+    private SerializationBuffers() {
+        //prevent creating instances
+    }
+
+    /**
+     * Allocate a buffer of the default initial capacity, which grows as it is written.
+     *
+     * @return A pooled buffer, to be released.
+     */
+    public static ByteBuf allocate() {
+        return allocator.directBuffer();
+    }
+
+    /**
+     * Allocate a buffer for a given number of bytes, which grows if more are written.
+     *
+     * @param initialCapacity The number of bytes the buffer is expected to hold.
+     * @return A pooled buffer, to be released.
+     */
+    public static ByteBuf allocate(int initialCapacity) {
+        return allocator.directBuffer(initialCapacity);
+    }
+
+    /**
+     * Enable or disable leak detection. The buffers allocated while leak detection is enabled
+     * are counted until they are released, see {@link #getUnreleasedBuffers()}.
+     *
+     * @param enabled True to enable leak detection.
+     */
+    @VisibleForTesting
+    public static synchronized void setLeakDetection(boolean enabled) {
+        if (enabled) {
+            // No thread caches: buffers released are returned to the arena and counted.
+            allocator = new PooledByteBufAllocator(true, 0, 1,
+                    PooledByteBufAllocator.defaultPageSize(),
+                    PooledByteBufAllocator.defaultMaxOrder(), 0, 0, 0);
+        } else {
+            allocator = PooledByteBufAllocator.DEFAULT;
+        }
+    }
+
+    /**
+     * Get the number of buffers allocated since leak detection was enabled, and not released.
+     *
+     * @return The number of buffers not released yet.
+     * @throws IllegalStateException If leak detection is not enabled.
+     */
+    @VisibleForTesting
+    public static long getUnreleasedBuffers() {
+        final PooledByteBufAllocator current = allocator;
+        if (current == PooledByteBufAllocator.DEFAULT) {
+            throw new IllegalStateException("Leak detection is not enabled");
+        }
+        return current.metric().directArenas().stream()
+                .mapToLong(PoolArenaMetric::numActiveAllocations)
+                .sum();
+    }
+}
@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+
+if [ "$JAVA_HOME" != "" ]; then
+  JAVA="$JAVA_HOME/bin/java"
+else
+  JAVA=java
+fi
+
+SOURCE="${BASH_SOURCE[0]}"
+while [ -h "$SOURCE" ]; do # resolve $SOURCE until the file is no longer a symlink
+  DIR="$( cd -P "$( dirname "$SOURCE" )" && pwd )"
+  SOURCE="$(readlink "$SOURCE")"
+  [[ $SOURCE != /* ]] && SOURCE="$DIR/$SOURCE" # if $SOURCE was a relative symlink, we need to resolve it relative to the path where the symlink file was located
+done
+DIR="$( cd -P "$( dirname "$SOURCE" )" && pwd )"
+
+BENCHMARKS_JAR="${DIR}/../benchmarks/target/benchmarks.jar"
+
+usage() { echo "Usage: $0 [-b (build the benchmarks first)] [-o <results.json>] [-- <jmh options>]
+Runs the JMH benchmarks and writes the results in JSON format, to compare runs.
+results.json: the file to write the results to [default: benchmarks/target/jmh-result-<timestamp>.json].
+jmh options: passed to JMH as is, e.g. a benchmark regex, or -p payloadSize=64 (see -h)." 1>&2; exit 1; }
+
+build=false
+results="${DIR}/../benchmarks/target/jmh-result-$(date +%Y%m%d-%H%M%S).json"
+
+while getopts ":bo:h" opt; do
+    case $opt in
+        b) build=true
+        ;;
+        o) results="$OPTARG"
+        ;;
+        *) usage
+        ;;
+    esac
+done
+shift $((OPTIND-1))
+
+if $build || [ ! -f "$BENCHMARKS_JAR" ]; then
+  (cd "${DIR}/.." && mvn -B -pl benchmarks -am install -DskipTests) || exit 1
+fi
+
+"$JAVA" -jar "$BENCHMARKS_JAR" -rf json -rff "$results" "$@"
@@ -1,5 +1,6 @@
 package org.corfudb.infrastructure;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import lombok.Getter;
 import org.assertj.core.api.Assertions;
 import org.corfudb.AbstractCorfuTest;
@@ -19,6 +20,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -83,6 +87,23 @@ public abstract class AbstractServerTest extends AbstractCorfuTest {
                 .setRequestID(requestCounter.getAndIncrement())
                 .setEpoch(0L);
         router.sendServerMessage(message);
+        waitForResponse(message.getRequestID());
+    }
+
+    /**
+     * Wait for the response to a request, as servers may respond from completion callbacks
+     * after the handler returns. Gives up after a short timeout, for requests which get no
+     * response.
+     *
+     * @param requestId The ID of the request.
+     */
+    private void waitForResponse(long requestId) {
+        try {
+            Uninterruptibles.getUninterruptibly(router.getResponseFuture(requestId),
+                    PARAMETERS.TIMEOUT_SHORT.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // No response, the test checks the responses it expects.
+        }
     }
 
     /**
@@ -27,6 +27,13 @@ public class BaseServerTest extends AbstractServerTest {
                 .isEqualTo(CorfuMsgType.PONG);
     }
 
+    @Test
+    public void onlyNonBlockingHandlersRunInline() {
+        CorfuMsgHandler handler = getDefaultServer().getHandler();
+        Assertions.assertThat(handler.isInline(CorfuMsgType.PING)).isTrue();
+        Assertions.assertThat(handler.isInline(CorfuMsgType.SET_EPOCH)).isFalse();
+    }
+
     @Test
     public void shutdownServerDoesNotRespond() {
         getDefaultServer().shutdown();
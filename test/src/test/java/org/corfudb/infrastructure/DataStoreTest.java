@@ -11,6 +11,7 @@ import java.util.function.Consumer;
 
 import org.corfudb.AbstractCorfuTest;
 import org.corfudb.runtime.exceptions.DataCorruptionException;
+import org.corfudb.runtime.view.Layout;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -168,4 +169,42 @@ public class DataStoreTest extends AbstractCorfuTest {
             assertThat(dataStore.get(String.class, "test", "key")).isEqualTo("NEW_VALUE");
         }
     }
+
+    @Test
+    public void testServerContextReloadsPersistedEpochs() {
+        final long serverEpoch = 5L;
+        final long sequencerEpoch = 4L;
+        final String serviceDirPath = PARAMETERS.TEST_TEMP_DIR;
+        ServerContext serverContext = new ServerContextBuilder()
+                .setMemory(false)
+                .setLogPath(serviceDirPath)
+                .setServerRouter(new TestServerRouter())
+                .build();
+        Layout layout = new TestLayoutBuilder()
+                .setEpoch(serverEpoch)
+                .addLayoutServer(SERVERS.PORT_0)
+                .addSequencer(SERVERS.PORT_0)
+                .buildSegment()
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_0)
+                .addToSegment()
+                .addToLayout()
+                .build();
+
+        serverContext.setServerEpoch(serverEpoch, serverContext.getServerRouter());
+        serverContext.setSequencerEpoch(sequencerEpoch);
+        serverContext.setCurrentLayout(layout);
+        assertThat(serverContext.getServerEpoch()).isEqualTo(serverEpoch);
+        assertThat(serverContext.getSequencerEpoch()).isEqualTo(sequencerEpoch);
+        assertThat(serverContext.getCurrentLayout()).isEqualTo(layout);
+
+        // A restarted server reads the values it keeps in memory from the data store.
+        ServerContext restarted = new ServerContextBuilder()
+                .setMemory(false)
+                .setLogPath(serviceDirPath)
+                .build();
+        assertThat(restarted.getServerEpoch()).isEqualTo(serverEpoch);
+        assertThat(restarted.getSequencerEpoch()).isEqualTo(sequencerEpoch);
+        assertThat(restarted.getCurrentLayout()).isEqualTo(layout);
+    }
 }
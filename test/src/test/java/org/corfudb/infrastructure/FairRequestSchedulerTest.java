@@ -0,0 +1,114 @@
+package org.corfudb.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+
+import org.corfudb.AbstractCorfuTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FairRequestSchedulerTest extends AbstractCorfuTest {
+
+    private static final int MAX_QUEUE_DEPTH = 8;
+
+    private final UUID clientA = UUID.randomUUID();
+
+    private final UUID clientB = UUID.randomUUID();
+
+    /** The tasks submitted to the executor, which run when the test runs them. */
+    private final Queue<Runnable> executed = new ArrayDeque<>();
+
+    /** The names of the requests, in the order they ran. */
+    private final List<String> ran = new ArrayList<>();
+
+    private FairRequestScheduler scheduler;
+
+    @Before
+    public void createScheduler() {
+        scheduler = new FairRequestScheduler("corfu_test", executed::add, 1, MAX_QUEUE_DEPTH);
+    }
+
+    private boolean submit(UUID clientId, int cost, String name) {
+        return scheduler.submit(clientId, cost, () -> ran.add(name));
+    }
+
+    private void runAll() {
+        while (!executed.isEmpty()) {
+            executed.poll().run();
+        }
+    }
+
+    /** Test that the requests beyond the queue depth of a client are rejected. */
+    @Test
+    public void fullQueueRejectsRequests() {
+        // The first request runs at once, the next ones wait.
+        for (int i = 0; i <= MAX_QUEUE_DEPTH; i++) {
+            assertThat(submit(clientA, 1, "a" + i)).isTrue();
+        }
+        assertThat(scheduler.getQueueDepth(clientA)).isEqualTo(MAX_QUEUE_DEPTH);
+        assertThat(submit(clientA, 1, "rejected")).isFalse();
+
+        // The queue of a client does not limit the other clients.
+        assertThat(submit(clientB, 1, "b0")).isTrue();
+
+        runAll();
+        assertThat(ran).hasSize(MAX_QUEUE_DEPTH + 2).doesNotContain("rejected");
+        assertThat(scheduler.getQueueDepth(clientA)).isZero();
+        assertThat(submit(clientA, 1, "accepted")).isTrue();
+    }
+
+    /** Test that a client flooding the server does not delay the requests of another. */
+    @Test
+    public void clientsTakeTurns() {
+        for (int i = 0; i < MAX_QUEUE_DEPTH; i++) {
+            submit(clientA, 1, "a" + i);
+        }
+        submit(clientB, 1, "b0");
+        submit(clientB, 1, "b1");
+        runAll();
+
+        // The first request of client A runs at once, then client A runs a turn of requests,
+        // and client B runs both of its requests.
+        assertThat(ran.subList(0, FairRequestScheduler.QUANTUM + 3))
+                .startsWith("a0")
+                .endsWith("b0", "b1");
+        assertThat(ran).hasSize(MAX_QUEUE_DEPTH + 2);
+    }
+
+    /** Test that a request costing more than a turn waits for the turns of the others. */
+    @Test
+    public void costlyRequestsWaitForMoreTurns() {
+        submit(clientA, 1, "a0");
+        submit(clientA, FairRequestScheduler.QUANTUM * 2, "large");
+        for (int i = 0; i < FairRequestScheduler.QUANTUM + 2; i++) {
+            submit(clientB, 1, "b" + i);
+        }
+        runAll();
+
+        // The large request needs two turns of client A, so client B runs a turn first.
+        assertThat(ran).containsExactly("a0", "b0", "b1", "b2", "b3", "large", "b4", "b5");
+    }
+
+    /** Test that a client runs requests in proportion to its weight. */
+    @Test
+    public void weightsShareTurns() {
+        scheduler.setWeight(clientB, 2);
+        submit(clientA, 1, "a0");
+        for (int i = 0; i < FairRequestScheduler.QUANTUM * 2; i++) {
+            submit(clientA, 1, "a" + (i + 1));
+            submit(clientB, 1, "b" + i);
+        }
+        runAll();
+
+        // After a0 and a turn of client A, client B runs twice as many requests in a turn.
+        final int turnOfB = FairRequestScheduler.QUANTUM + 1;
+        assertThat(ran.subList(turnOfB, turnOfB + FairRequestScheduler.QUANTUM * 2))
+                .allMatch(name -> name.startsWith("b"));
+        assertThat(ran.get(turnOfB - 1)).startsWith("a");
+    }
+}
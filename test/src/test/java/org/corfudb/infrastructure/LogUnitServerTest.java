@@ -1,5 +1,6 @@
 package org.corfudb.infrastructure;
 
+import com.google.common.collect.Range;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.assertj.core.api.Assertions;
@@ -278,6 +279,82 @@ public class LogUnitServerTest extends AbstractServerTest {
         assertThat(entry.getGlobalAddress()).isEqualTo(globalAddress);
     }
 
+    /**
+     * A chunk read stops once the size of the entries reaches the size requested, and the
+     * rest of the range can be read from the address which follows the chunk.
+     */
+    @Test
+    public void readChunkIsBoundedBySize() {
+        LogUnitServer s1 = new LogUnitServer(new ServerContextBuilder().build());
+        setServer(s1);
+
+        final int numEntries = 10;
+        final int chunkEntries = 3;
+        for (long address = 0; address < numEntries; address++) {
+            ByteBuf b = Unpooled.buffer();
+            Serializers.CORFU.serialize("payload".getBytes(), b);
+            WriteRequest m = WriteRequest.builder()
+                    .writeMode(WriteMode.NORMAL)
+                    .data(new LogData(DataType.DATA, b))
+                    .build();
+            m.setGlobalAddress(address);
+            m.setBackpointerMap(Collections.emptyMap());
+            sendMessage(CorfuMsgType.WRITE.payloadMsg(m));
+            assertThat(getLastMessage().getMsgType()).isEqualTo(CorfuMsgType.WRITE_OK);
+        }
+
+        final int entrySize = ((LogData) s1.getDataCache().get(0L)).getData().length;
+        final long rangeEnd = numEntries + chunkEntries;
+
+        sendMessage(CorfuMsgType.READ_CHUNK_REQUEST.payloadMsg(
+                new ReadChunkRequest(Range.closed(0L, rangeEnd), entrySize * chunkEntries)));
+        Map<Long, LogData> chunk = getLastPayloadMessageAs(ReadResponse.class).getAddresses();
+        assertThat(chunk.keySet()).containsExactlyInAnyOrder(0L, 1L, 2L);
+
+        // The rest of the range fits in a chunk, and ends with the unwritten addresses.
+        sendMessage(CorfuMsgType.READ_CHUNK_REQUEST.payloadMsg(
+                new ReadChunkRequest(Range.closed((long) chunkEntries, rangeEnd), Integer.MAX_VALUE)));
+        chunk = getLastPayloadMessageAs(ReadResponse.class).getAddresses();
+        assertThat(chunk).hasSize((int) (rangeEnd - chunkEntries + 1));
+        for (long address = chunkEntries; address < numEntries; address++) {
+            assertThat(chunk.get(address).getType()).isEqualTo(DataType.DATA);
+        }
+        for (long address = numEntries; address <= rangeEnd; address++) {
+            assertThat(chunk.get(address).isEmpty()).isTrue();
+        }
+    }
+
+    /**
+     * The entries a chunk read takes from the stream log are not loaded into the cache.
+     */
+    @Test
+    public void readChunkDoesNotLoadTheCache() {
+        LogUnitServer s1 = new LogUnitServer(new ServerContextBuilder().build());
+        setServer(s1);
+
+        final int numEntries = 10;
+        for (long address = 0; address < numEntries; address++) {
+            ByteBuf b = Unpooled.buffer();
+            Serializers.CORFU.serialize("payload".getBytes(), b);
+            WriteRequest m = WriteRequest.builder()
+                    .writeMode(WriteMode.NORMAL)
+                    .data(new LogData(DataType.DATA, b))
+                    .build();
+            m.setGlobalAddress(address);
+            m.setBackpointerMap(Collections.emptyMap());
+            sendMessage(CorfuMsgType.WRITE.payloadMsg(m));
+            assertThat(getLastMessage().getMsgType()).isEqualTo(CorfuMsgType.WRITE_OK);
+        }
+        s1.getDataCache().invalidateAll();
+
+        sendMessage(CorfuMsgType.READ_CHUNK_REQUEST.payloadMsg(
+                new ReadChunkRequest(Range.closed(0L, numEntries - 1L), Integer.MAX_VALUE)));
+        Map<Long, LogData> chunk = getLastPayloadMessageAs(ReadResponse.class).getAddresses();
+        assertThat(chunk).hasSize(numEntries);
+        chunk.values().forEach(e -> assertThat(e.getType()).isEqualTo(DataType.DATA));
+        assertThat(s1.getDataCache().asMap()).isEmpty();
+    }
+
     private String createLogFile(String path, int version, boolean noVerify) throws IOException {
         // Generate a log file and manually change the version
         File logDir = new File(path + File.separator + "log");
@@ -0,0 +1,55 @@
+package org.corfudb.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.corfudb.protocols.wireprotocol.ConflictFingerprints;
+import org.corfudb.runtime.view.Address;
+import org.junit.Test;
+
+public class RecentWritesWindowTest {
+
+    private static final int CAPACITY = 4096;
+
+    private final UUID stream = UUID.randomUUID();
+
+    /** Write one key at each address from 1, whose fingerprint is its address. */
+    private RecentWritesWindow writeKeys(int numKeys) {
+        RecentWritesWindow window = new RecentWritesWindow(CAPACITY);
+        for (long address = 1; address <= numKeys; address++) {
+            window.add(address, stream, address);
+        }
+        return window;
+    }
+
+    private long findConflict(RecentWritesWindow window, long fingerprint, long snapshot) {
+        int slot = window.findConflict(stream,
+                ConflictFingerprints.of(new long[]{fingerprint}), snapshot);
+        return slot == -1 ? Address.NOT_FOUND : window.getAddress(slot);
+    }
+
+    /** Test that the oldest keys are kept when the window grows past its initial size. */
+    @Test
+    public void growingKeepsOldestKeys() {
+        final int numKeys = 1500;
+        RecentWritesWindow window = writeKeys(numKeys);
+
+        assertThat(findConflict(window, 1, 0)).isEqualTo(1);
+        assertThat(findConflict(window, 2, 0)).isEqualTo(2);
+        assertThat(findConflict(window, numKeys, 0)).isEqualTo(numKeys);
+        assertThat(findConflict(window, 1, Address.NON_ADDRESS)).isEqualTo(1);
+        assertThat(window.getEvictedTail()).isEqualTo(Address.NOT_FOUND);
+    }
+
+    /** Test that the oldest keys are dropped once the window is at its capacity. */
+    @Test
+    public void fullWindowDropsOldestKeys() {
+        final int numKeys = CAPACITY + 2;
+        RecentWritesWindow window = writeKeys(numKeys);
+
+        assertThat(findConflict(window, 2, 0)).isEqualTo(Address.NOT_FOUND);
+        assertThat(findConflict(window, 3, 0)).isEqualTo(3);
+        assertThat(window.getEvictedTail()).isEqualTo(2);
+    }
+}
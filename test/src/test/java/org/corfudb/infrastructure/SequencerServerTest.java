@@ -285,4 +285,74 @@ public class SequencerServerTest extends AbstractServerTest {
                         Collections.emptyMap(), Collections.emptyList()));
     }
 
+    /**
+     * Verifies that the streams whose tail is below the trim mark are evicted, and are
+     * answered as streams which were never written.
+     */
+    @Test
+    public void streamTailsBelowTrimMarkAreEvicted() {
+        UUID streamA = UUID.nameUUIDFromBytes("streamA".getBytes());
+        UUID streamB = UUID.nameUUIDFromBytes("streamB".getBytes());
+
+        // streamA at 0, streamB at 10
+        final long streamBTail = 10;
+        sendMessage(CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(1L, Collections.singletonList(streamA))));
+        sendMessage(CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(streamBTail - 1, Collections.emptyList())));
+        sendMessage(CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(1L, Collections.singletonList(streamB))));
+
+        final long trimMark = 5;
+        sendMessage(CorfuMsgType.SEQUENCER_TRIM_REQ.payloadMsg(trimMark));
+        assertThat(getLastMessage().getMsgType()).isEqualTo(CorfuMsgType.ACK);
+
+        sendMessage(CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(0L, Collections.singletonList(streamA))));
+        assertThat(getLastPayloadMessageAs(TokenResponse.class).getToken().getSequence())
+                .isEqualTo(Address.NON_EXIST);
+        sendMessage(CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(0L, Collections.singletonList(streamB))));
+        assertThat(getLastPayloadMessageAs(TokenResponse.class).getToken().getSequence())
+                .isEqualTo(streamBTail);
+
+        // The next write to streamA has no backpointer.
+        sendMessage(CorfuMsgType.TOKEN_REQ.payloadMsg(
+                new TokenRequest(1L, Collections.singletonList(streamA))));
+        assertThat(getLastPayloadMessageAs(TokenResponse.class).getBackpointerMap())
+                .containsEntry(streamA, Address.NON_EXIST);
+    }
+
+    /**
+     * Verifies the tails of many streams through growth and eviction, and that the table
+     * shrinks when they are evicted.
+     */
+    @Test
+    public void streamTailMapGrowsAndShrinks() {
+        final int numStreams = 100_000;
+        final long trimMark = numStreams - PARAMETERS.NUM_ITERATIONS_LOW;
+        StreamTailMap tails = new StreamTailMap();
+        for (int i = 0; i < numStreams; i++) {
+            assertThat(tails.put(new UUID(i, i), i)).isEqualTo(Address.NON_EXIST);
+        }
+        assertThat(tails.put(new UUID(0, 0), 1)).isEqualTo(0);
+        assertThat(tails.getSize()).isEqualTo(numStreams);
+
+        // The table is at least half full.
+        final long maxBytesPerStream = 4 * StreamTailMap.SLOT_BYTES;
+        assertThat(tails.getMemoryFootprint()).isLessThanOrEqualTo(numStreams * maxBytesPerStream);
+        final long footprint = tails.getMemoryFootprint();
+
+        assertThat(tails.evictBelow(trimMark)).isEqualTo((int) trimMark);
+        assertThat(tails.getSize()).isEqualTo(PARAMETERS.NUM_ITERATIONS_LOW);
+        assertThat(tails.getEvictedBelow()).isEqualTo(trimMark);
+        assertThat(tails.getMemoryFootprint()).isLessThan(footprint);
+        for (int i = 0; i < numStreams; i++) {
+            assertThat(tails.get(new UUID(i, i))).isEqualTo(i < trimMark ? Address.NON_EXIST : i);
+        }
+
+        Map<UUID, Long> copy = tails.toMap();
+        assertThat(copy).hasSize(PARAMETERS.NUM_ITERATIONS_LOW)
+                .containsEntry(new UUID(trimMark, trimMark), trimMark);
+    }
 }
@@ -45,6 +45,7 @@ public class ServerContextBuilder {
     String handshakeTimeout = "10";
     String prefix = "";
     String retention = "1000";
+    boolean phiAccrualFailureDetector = false;
 
     String clusterId = "auto";
     boolean isTest = true;
@@ -63,7 +64,8 @@ public class ServerContextBuilder {
                 .put("--HandshakeTimeout", handshakeTimeout)
                 .put("--sequencer-cache-size", seqCache)
                 .put("--batch-size", batchSize)
-                .put("--metadata-retention", retention);
+                .put("--metadata-retention", retention)
+                .put("--phi-accrual-failure-detector", phiAccrualFailureDetector);
         if (logPath != null) {
          builder.put("--log-path", logPath);
         }
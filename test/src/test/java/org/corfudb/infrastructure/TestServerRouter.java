@@ -14,7 +14,9 @@ import org.corfudb.runtime.clients.TestRule;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -26,6 +28,11 @@ public class TestServerRouter implements IServerRouter {
     @Getter
     public List<CorfuMsg> responseMessages;
 
+    /**
+     * The response to each request ID, completed when the response is sent.
+     */
+    private Map<Long, CompletableFuture<CorfuMsg>> responseFutures;
+
     @Getter
     public Map<CorfuMsgType, AbstractServer> handlerMap;
 
@@ -52,7 +59,8 @@ public class TestServerRouter implements IServerRouter {
     }
 
     public void reset() {
-        this.responseMessages = new ArrayList<>();
+        this.responseMessages = new CopyOnWriteArrayList<>();
+        this.responseFutures = new ConcurrentHashMap<>();
         this.requestCounter = new AtomicLong();
         this.servers = new ArrayList<>();
         this.handlerMap = new ConcurrentHashMap<>();
@@ -70,10 +78,22 @@ public class TestServerRouter implements IServerRouter {
                 ctx.writeAndFlush(outMsg);
             } else {
                 this.responseMessages.add(outMsg);
+                getResponseFuture(outMsg.getRequestID()).complete(outMsg);
             }
         }
     }
 
+    /**
+     * Get a future completed with the first response to a request, which is sent
+     * without a channel context.
+     *
+     * @param requestId The ID of the request.
+     * @return A future completed with the response.
+     */
+    public CompletableFuture<CorfuMsg> getResponseFuture(long requestId) {
+        return responseFutures.computeIfAbsent(requestId, id -> new CompletableFuture<>());
+    }
+
     /**
      * Register a server to route messages to
      *
@@ -0,0 +1,226 @@
+package org.corfudb.infrastructure.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.corfudb.infrastructure.TestLayoutBuilder;
+import org.corfudb.infrastructure.management.ClusterStateContext.HeartbeatCounter;
+import org.corfudb.protocols.wireprotocol.CorfuMsgType;
+import org.corfudb.protocols.wireprotocol.SequencerMetrics;
+import org.corfudb.protocols.wireprotocol.failuredetector.NodeConnectivity.ConnectionStatus;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.TestRule;
+import org.corfudb.runtime.view.AbstractViewTest;
+import org.corfudb.runtime.view.Layout;
+import org.corfudb.util.Sleep;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the phi-accrual failure detector: the suspicion model on a simulated clock, and the
+ * detection time and false positive rate of heartbeats sent to test servers.
+ */
+public class PhiAccrualFailureDetectorTest extends AbstractViewTest {
+
+    private static final long HEARTBEAT_INTERVAL_MS = 50L;
+
+    private static final long MIN_STD_DEVIATION_MS = 25L;
+
+    private static final long ACCEPTABLE_PAUSE_MS = 100L;
+
+    private static final double PHI_THRESHOLD = 8.0;
+
+    /**
+     * The polling failure detector needs at least three rounds of two second timeouts.
+     */
+    private static final Duration MAX_DETECTION_TIME = Duration.ofSeconds(2);
+
+    private static final double MAX_FALSE_POSITIVE_RATE = 0.05;
+
+    private static final long POLL_INTERVAL_MS = 10L;
+
+    private PhiAccrualFailureDetector detector;
+
+    @After
+    public void shutdownDetector() {
+        if (detector != null) {
+            detector.shutdown();
+        }
+    }
+
+    private HeartbeatArrivalWindow newWindow(long now) {
+        final int windowSize = 100;
+        return new HeartbeatArrivalWindow(windowSize, HEARTBEAT_INTERVAL_MS, MIN_STD_DEVIATION_MS,
+                ACCEPTABLE_PAUSE_MS, TimeUnit.MILLISECONDS, now);
+    }
+
+    @Test
+    public void phiGrowsWithSilence() {
+        final long interval = TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_INTERVAL_MS);
+        final int heartbeats = 20;
+        long now = 0;
+        HeartbeatArrivalWindow window = newWindow(now);
+        for (int i = 0; i < heartbeats; i++) {
+            now += interval;
+            window.heartbeat(now);
+        }
+
+        // On time, the link is not suspicious.
+        assertThat(window.phi(now + interval)).isLessThan(1.0);
+
+        double previous = 0;
+        final int steps = 10;
+        for (int i = 1; i <= steps; i++) {
+            double phi = window.phi(now + i * interval);
+            assertThat(phi).isGreaterThanOrEqualTo(previous);
+            previous = phi;
+        }
+
+        // Silent for a second, the link is suspected.
+        final long silence = TimeUnit.SECONDS.toNanos(1);
+        assertThat(window.phi(now + silence)).isGreaterThan(PHI_THRESHOLD);
+
+        // A reset forgets the silence.
+        window.reset(now + silence);
+        assertThat(window.phi(now + silence + interval)).isLessThan(1.0);
+    }
+
+    @Test
+    public void irregularHeartbeatsAreLessSuspicious() {
+        final long interval = TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_INTERVAL_MS);
+        final int heartbeats = 20;
+        long regularNow = 0;
+        long irregularNow = 0;
+        HeartbeatArrivalWindow regular = newWindow(regularNow);
+        HeartbeatArrivalWindow irregular = newWindow(irregularNow);
+        for (int i = 0; i < heartbeats; i++) {
+            regularNow += interval;
+            regular.heartbeat(regularNow);
+            irregularNow += i % 2 == 0 ? interval / 4 : interval * 7 / 4;
+            irregular.heartbeat(irregularNow);
+        }
+
+        final long delay = interval * 5;
+        assertThat(irregular.phi(irregularNow + delay)).isLessThan(regular.phi(regularNow + delay));
+    }
+
+    private Layout getThreeNodeLayout() {
+        addServer(SERVERS.PORT_0);
+        addServer(SERVERS.PORT_1);
+        addServer(SERVERS.PORT_2);
+
+        Layout l = new TestLayoutBuilder()
+                .setEpoch(1L)
+                .addLayoutServer(SERVERS.PORT_0)
+                .addLayoutServer(SERVERS.PORT_1)
+                .addLayoutServer(SERVERS.PORT_2)
+                .addSequencer(SERVERS.PORT_0)
+                .buildSegment()
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_0)
+                .addLogUnit(SERVERS.PORT_1)
+                .addLogUnit(SERVERS.PORT_2)
+                .addToSegment()
+                .addToLayout()
+                .setClusterId(UUID.randomUUID())
+                .build();
+        bootstrapAllServers(l);
+        return l;
+    }
+
+    /**
+     * Start a detector on PORT_0 and poll it until it has heard from all the nodes.
+     */
+    private PollReport startDetector(Layout layout, CorfuRuntime corfuRuntime) {
+        detector = new PhiAccrualFailureDetector(new HeartbeatCounter(), SERVERS.ENDPOINT_0);
+        detector.setHeartbeatInterval(HEARTBEAT_INTERVAL_MS);
+        detector.setMinStdDeviation(MIN_STD_DEVIATION_MS);
+        detector.setAcceptableHeartbeatPause(ACCEPTABLE_PAUSE_MS);
+        detector.setPhiThreshold(PHI_THRESHOLD);
+
+        PollReport report = detector.poll(layout, corfuRuntime, SequencerMetrics.READY);
+        for (int i = 0; i < PARAMETERS.NUM_ITERATIONS_MODERATE
+                && !report.getClusterState().isReady(); i++) {
+            Sleep.MILLISECONDS.sleepUninterruptibly(POLL_INTERVAL_MS);
+            report = detector.poll(layout, corfuRuntime, SequencerMetrics.READY);
+        }
+        return report;
+    }
+
+    /**
+     * A node which stops responding is suspected well before a polling round would end.
+     */
+    @Test
+    public void detectsFailedNode() {
+        Layout layout = getThreeNodeLayout();
+        CorfuRuntime corfuRuntime = getRuntime(layout).connect();
+
+        PollReport report = startDetector(layout, corfuRuntime);
+        assertThat(report.getClusterState().isReady()).isTrue();
+        assertThat(report.getFailedNodes()).isEmpty();
+        assertThat(report.getConnectedNodes()).containsExactlyInAnyOrder(
+                SERVERS.ENDPOINT_0, SERVERS.ENDPOINT_1, SERVERS.ENDPOINT_2);
+
+        final long start = System.nanoTime();
+        addServerRule(SERVERS.PORT_2, new TestRule().always().drop());
+
+        while (!report.getFailedNodes().contains(SERVERS.ENDPOINT_2)
+                && System.nanoTime() - start < PARAMETERS.TIMEOUT_NORMAL.toNanos()) {
+            Sleep.MILLISECONDS.sleepUninterruptibly(POLL_INTERVAL_MS);
+            report = detector.poll(layout, corfuRuntime, SequencerMetrics.READY);
+        }
+        final Duration detectionTime = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(report.getFailedNodes()).containsExactly(SERVERS.ENDPOINT_2);
+        assertThat(detectionTime).as("detection time").isLessThan(MAX_DETECTION_TIME);
+        assertThat(report.getClusterState().getNode(SERVERS.ENDPOINT_0).get()
+                .getConnectivity().getConnectionStatus(SERVERS.ENDPOINT_2))
+                .isEqualTo(ConnectionStatus.FAILED);
+
+        // The node is connected again as soon as it responds.
+        clearServerRules(SERVERS.PORT_2);
+        final long recovery = System.nanoTime();
+        while (!report.getFailedNodes().isEmpty()
+                && System.nanoTime() - recovery < PARAMETERS.TIMEOUT_NORMAL.toNanos()) {
+            Sleep.MILLISECONDS.sleepUninterruptibly(POLL_INTERVAL_MS);
+            report = detector.poll(layout, corfuRuntime, SequencerMetrics.READY);
+        }
+        assertThat(report.getFailedNodes()).isEmpty();
+    }
+
+    /**
+     * A node whose heartbeats are delayed by up to twice the heartbeat interval is rarely
+     * suspected, as the model learns the variance of its intervals.
+     */
+    @Test
+    public void injectedLatencyFalsePositiveRate() {
+        Layout layout = getThreeNodeLayout();
+        CorfuRuntime corfuRuntime = getRuntime(layout).connect();
+
+        addServerRule(SERVERS.PORT_1, new TestRule()
+                .matches(msg -> msg.getMsgType() == CorfuMsgType.NODE_STATE_RESPONSE)
+                .transform(msg -> Sleep.MILLISECONDS.sleepUninterruptibly(
+                        ThreadLocalRandom.current().nextLong(2 * HEARTBEAT_INTERVAL_MS))));
+
+        PollReport report = startDetector(layout, corfuRuntime);
+        assertThat(report.getClusterState().isReady()).isTrue();
+
+        final int polls = PARAMETERS.NUM_ITERATIONS_LOW;
+        int falsePositives = 0;
+        for (int i = 0; i < polls; i++) {
+            Sleep.MILLISECONDS.sleepUninterruptibly(POLL_INTERVAL_MS);
+            report = detector.poll(layout, corfuRuntime, SequencerMetrics.READY);
+            if (!report.getFailedNodes().isEmpty()) {
+                falsePositives++;
+            }
+        }
+
+        final double falsePositiveRate = (double) falsePositives / polls;
+        assertThat(falsePositiveRate).as("false positive rate")
+                .isLessThanOrEqualTo(MAX_FALSE_POSITIVE_RATE);
+    }
+}
@@ -0,0 +1,79 @@
+package org.corfudb.protocols.wireprotocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import org.corfudb.util.Utils;
+import org.junit.Test;
+
+public class ConflictFingerprintsTest {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private ConflictFingerprints serializeAndDeserialize(ConflictFingerprints fingerprints) {
+        ByteBuf buf = Unpooled.buffer();
+        fingerprints.doSerialize(buf);
+        return new ConflictFingerprints(buf);
+    }
+
+    private void assertFingerprints(ConflictFingerprints fingerprints, long[] expected) {
+        assertThat(fingerprints.getSize()).isEqualTo(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(fingerprints.get(i)).isEqualTo(expected[i]);
+        }
+    }
+
+    @Test
+    public void fingerprintsAreSortedWithoutDuplicates() {
+        final long[] keys = {3L, -1L, 2L, 3L, 2L};
+        final long[] expected = {-1L, 2L, 3L};
+        ConflictFingerprints fingerprints = ConflictFingerprints.of(keys);
+
+        assertFingerprints(fingerprints, expected);
+        assertThat(fingerprints.mightContain(expected[1])).isTrue();
+        assertThat(fingerprints.mightContain(1L)).isFalse();
+    }
+
+    @Test
+    public void fingerprintOfLongHashIsTheHash() {
+        final long hash = 0x0123456789ABCDEFL;
+        final long fingerprint = ConflictFingerprints.fingerprint(
+                Utils.longToBigEndianByteArray(hash));
+
+        assertThat(fingerprint).isEqualTo(hash);
+        assertThat(ConflictFingerprints.toConflictKey(fingerprint))
+                .isEqualTo(Utils.longToBigEndianByteArray(hash));
+    }
+
+    @Test
+    public void sortedFingerprintsSerialize() {
+        final long[] keys = {7L, 5L, 7L};
+        final long[] expected = {5L, 7L};
+        ConflictFingerprints fingerprints = serializeAndDeserialize(ConflictFingerprints.of(keys));
+
+        assertThat(fingerprints.isBloomFilter()).isFalse();
+        assertFingerprints(fingerprints, expected);
+    }
+
+    @Test
+    public void bloomFilterContainsAllFingerprints() {
+        final int numKeys = 1000;
+        final long[] keys = new long[numKeys];
+        for (int i = 0; i < numKeys; i++) {
+            keys[i] = i;
+        }
+        ConflictFingerprints fingerprints = serializeAndDeserialize(
+                ConflictFingerprints.of(keys).toBloomFilter(FALSE_POSITIVE_RATE));
+
+        assertThat(fingerprints.isBloomFilter()).isTrue();
+        assertThat(fingerprints.getSize()).isEqualTo(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            assertThat(fingerprints.mightContain(i)).isTrue();
+        }
+        assertThatThrownBy(() -> fingerprints.get(0))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -416,16 +416,18 @@ public class FastObjectLoaderTest extends AbstractViewTest {
                 .getSequencerClient(getDefaultConfigurationString());
 
         long address = seq.nextToken(Collections.emptyList(),1).get().getSequence();
-        ILogData data = Helpers.createEmptyData(address, DataType.RANK_ONLY,  new IMetadata.DataRank(2))
-                .getSerialized();
-        luc.write(data).get();
+        try (ILogData.SerializationHandle data = Helpers.createEmptyData(address,
+                DataType.RANK_ONLY,  new IMetadata.DataRank(2))) {
+            luc.write(data.getSerialized()).get();
+        }
 
         populateMaps(1, getDefaultRuntime(), CorfuTable.class, false, 1);
 
         address = seq.nextToken(Collections.emptyList(),1).get().getSequence();
-        data = Helpers.createEmptyData(address, DataType.RANK_ONLY,  new IMetadata.DataRank(2))
-                .getSerialized();
-        luc.write(data).get();
+        try (ILogData.SerializationHandle data = Helpers.createEmptyData(address,
+                DataType.RANK_ONLY,  new IMetadata.DataRank(2))) {
+            luc.write(data.getSerialized()).get();
+        }
 
         populateMaps(1, getDefaultRuntime(), CorfuTable.class, false, 1);
 
@@ -0,0 +1,84 @@
+package org.corfudb.runtime.clients;
+
+import org.corfudb.AbstractCorfuTest;
+import org.corfudb.util.NodeLocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeadlineTimerTest extends AbstractCorfuTest {
+
+    private static final NodeLocator NODE = NodeLocator.builder()
+            .host("localhost")
+            .port(0)
+            .build();
+
+    private DeadlineTimer timer;
+
+    @Before
+    public void createTimer() {
+        timer = new DeadlineTimer("DeadlineTimerTest-%d");
+    }
+
+    @After
+    public void stopTimer() {
+        timer.stop();
+    }
+
+    private static Runnable failWithTimeout(CompletableFuture<?> future) {
+        return () -> future.completeExceptionally(new TimeoutException());
+    }
+
+    /** Test that a request without a response is failed at its deadline. */
+    @Test
+    public void deadlineFailsRequest() {
+        DeadlineTimer.Bucket bucket = timer.bucket(NODE);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        bucket.schedule(future, PARAMETERS.TIMEOUT_VERY_SHORT.toMillis(), failWithTimeout(future));
+        assertThat(bucket.getPending()).isEqualTo(1);
+
+        assertThatThrownBy(() -> future.get(PARAMETERS.TIMEOUT_NORMAL.toMillis(),
+                TimeUnit.MILLISECONDS))
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(bucket.getPending()).isZero();
+        assertThat(bucket.getTimeouts()).isEqualTo(1);
+    }
+
+    /** Test that the response of a request cancels its deadline. */
+    @Test
+    public void responseCancelsDeadline() {
+        DeadlineTimer.Bucket bucket = timer.bucket(NODE);
+        final int requests = 100;
+        for (int i = 0; i < requests; i++) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            bucket.schedule(future, PARAMETERS.TIMEOUT_LONG.toMillis(), failWithTimeout(future));
+            future.complete(null);
+        }
+        assertThat(bucket.getPending()).isZero();
+        assertThat(bucket.getTimeouts()).isZero();
+    }
+
+    /** Test that stopping the timer fails the requests still waiting. */
+    @Test
+    public void stopFailsPendingRequests() {
+        DeadlineTimer.Bucket bucket = timer.bucket(NODE);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        bucket.schedule(future, PARAMETERS.TIMEOUT_LONG.toMillis(), failWithTimeout(future));
+
+        timer.stop();
+        assertThat(future).isCompletedExceptionally();
+        assertThat(bucket.getPending()).isZero();
+
+        CompletableFuture<Void> late = new CompletableFuture<>();
+        bucket.schedule(late, PARAMETERS.TIMEOUT_LONG.toMillis(), failWithTimeout(late));
+        assertThat(late).isCompletedExceptionally();
+        assertThat(bucket.getTimeouts()).isEqualTo(2);
+    }
+}
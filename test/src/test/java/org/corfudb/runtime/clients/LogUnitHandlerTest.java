@@ -268,9 +268,9 @@ public class LogUnitHandlerTest extends AbstractClientTest {
         assertThat(r.getPayload(new CorfuRuntime()))
                 .isEqualTo(testString);
 
-        try {
-            ILogData data = createEmptyData(0, DataType.RANK_ONLY,  new IMetadata.DataRank(2)).getSerialized();
-            client.write(data).get();
+        try (ILogData.SerializationHandle data =
+                     createEmptyData(0, DataType.RANK_ONLY,  new IMetadata.DataRank(2))) {
+            client.write(data.getSerialized()).get();
             fail();
         } catch (Exception e) {
             // expected
@@ -12,6 +12,7 @@ import org.corfudb.infrastructure.CorfuServer;
 import org.corfudb.infrastructure.NettyServerRouter;
 import org.corfudb.infrastructure.ServerContext;
 import org.corfudb.infrastructure.ServerContextBuilder;
+import org.corfudb.protocols.wireprotocol.CorfuMsgType;
 import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
 import org.corfudb.util.NodeLocator;
 import org.junit.Rule;
@@ -83,6 +84,46 @@ public class NettyCommTest extends AbstractCorfuTest {
             });
     }
 
+    @Test
+    public void nettyServerClientPingableOverLanes() throws Exception {
+        int port = findRandomOpenPort();
+        NettyServerData d = new NettyServerData(ServerContextBuilder.defaultContext(port));
+        d.bootstrapServer();
+
+        NodeLocator node = NodeLocator.builder().host("localhost").port(port).build();
+        CorfuRuntimeParameters parameters = CorfuRuntimeParameters.builder()
+                .controlConnections(2)
+                .bulkWriteConnections(0)
+                .build();
+        MultiLaneClientRouter r = new MultiLaneClientRouter(node, parameters,
+                () -> new NettyClientRouter(node, parameters));
+        r.addClient(new BaseHandler());
+        try {
+            // The pings are balanced over both control connections, and each response
+            // completes its request through the router which sent it.
+            final int pings = 10;
+            for (int i = 0; i < pings; i++) {
+                assertThat(getBaseClient(r).pingSync())
+                        .isTrue();
+            }
+        } finally {
+            r.stop();
+            d.shutdownServer();
+        }
+    }
+
+    @Test
+    public void requestsAreClassifiedIntoLanes() {
+        assertThat(MultiLaneClientRouter.Lane.of(CorfuMsgType.TOKEN_REQ))
+                .isEqualTo(MultiLaneClientRouter.Lane.CONTROL);
+        assertThat(MultiLaneClientRouter.Lane.of(CorfuMsgType.WRITE))
+                .isEqualTo(MultiLaneClientRouter.Lane.CONTROL);
+        assertThat(MultiLaneClientRouter.Lane.of(CorfuMsgType.MULTIPLE_READ_REQUEST))
+                .isEqualTo(MultiLaneClientRouter.Lane.BULK_READ);
+        assertThat(MultiLaneClientRouter.Lane.of(CorfuMsgType.RANGE_WRITE))
+                .isEqualTo(MultiLaneClientRouter.Lane.BULK_WRITE);
+    }
+
     @Test
     public void nettyTlsNoMutualAuth() throws Exception {
         runWithBaseServer(
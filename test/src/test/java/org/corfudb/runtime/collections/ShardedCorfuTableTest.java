@@ -0,0 +1,193 @@
+package org.corfudb.runtime.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.exceptions.TransactionAbortedException;
+import org.corfudb.runtime.object.ICorfuSMRProxyInternal;
+import org.corfudb.runtime.object.transactions.TransactionalContext;
+import org.corfudb.runtime.view.AbstractViewTest;
+import org.corfudb.runtime.view.Address;
+import org.junit.Test;
+
+public class ShardedCorfuTableTest extends AbstractViewTest {
+
+    private static final int NUM_SHARDS = 4;
+
+    private static final int NUM_KEYS = 100;
+
+    private ShardedCorfuTable<String, String> openTable(CorfuRuntime rt) {
+        return new ShardedCorfuTable<>(rt.getObjectsView().build()
+                .setStreamName("test")
+                .setArguments(new StringIndexer()), NUM_SHARDS);
+    }
+
+    @Test
+    public void keysArePartitionedAcrossShards() {
+        ShardedCorfuTable<String, String> table = openTable(getDefaultRuntime());
+
+        for (int i = 0; i < NUM_KEYS; i++) {
+            table.put("k" + i, "v" + i);
+        }
+
+        assertThat(table.size()).isEqualTo(NUM_KEYS);
+        assertThat(table.keySet()).hasSize(NUM_KEYS);
+        for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            final int shardNumber = shard;
+            CorfuTable<String, String> shardTable = table.getShards().get(shard);
+            assertThat(shardTable.size()).isGreaterThan(0);
+            assertThat(shardTable.keySet())
+                    .allMatch(key -> table.getShardNumber(key) == shardNumber);
+        }
+
+        // A new client opening the table resolves every key to the same shard.
+        ShardedCorfuTable<String, String> otherTable = openTable(getNewRuntime(getDefaultNode())
+                .connect());
+        for (int i = 0; i < NUM_KEYS; i++) {
+            assertThat(otherTable.get("k" + i)).isEqualTo("v" + i);
+        }
+        assertThat(otherTable.remove("k0")).isEqualTo("v0");
+        assertThat(table.containsKey("k0")).isFalse();
+        assertThat(table.size()).isEqualTo(NUM_KEYS - 1);
+    }
+
+    @Test
+    public void indexLookupsMergeAllShards() {
+        ShardedCorfuTable<String, String> table = openTable(getDefaultRuntime());
+        assertThat(table.hasSecondaryIndices()).isTrue();
+
+        for (int i = 0; i < NUM_KEYS; i++) {
+            table.put("k" + i, (i % 2 == 0 ? "a" : "b") + i);
+        }
+
+        assertThat(table.getByIndex(StringIndexer.BY_FIRST_LETTER, "a"))
+                .hasSize(NUM_KEYS / 2)
+                .allMatch(e -> e.getValue().startsWith("a"));
+        assertThat(table.getByIndex(StringIndexer.BY_VALUE, "b1"))
+                .extracting(Map.Entry::getKey)
+                .containsExactly("k1");
+        assertThat(table.getByIndexAndFilter(StringIndexer.BY_FIRST_LETTER,
+                e -> e.getKey().equals("k2"), "a"))
+                .extracting(Map.Entry::getValue)
+                .containsExactly("a2");
+        assertThat(table.scanAndFilter(v -> v.startsWith("b"))).hasSize(NUM_KEYS / 2);
+    }
+
+    @Test
+    public void transactionsSpanShards() {
+        ShardedCorfuTable<String, String> table = openTable(getDefaultRuntime());
+        Map<String, String> entries = ImmutableMap.of("k1", "v1", "k2", "v2", "k3", "v3",
+                "k4", "v4", "k5", "v5");
+        assertThat(entries.keySet().stream().map(table::getShardNumber)
+                .collect(Collectors.toSet()).size()).isGreaterThan(1);
+
+        getDefaultRuntime().getObjectsView().TXBegin();
+        table.putAll(entries);
+        assertThat(table.size()).isEqualTo(entries.size());
+        getDefaultRuntime().getObjectsView().TXAbort();
+        assertThat(table.isEmpty()).isTrue();
+
+        getDefaultRuntime().getObjectsView().TXBegin();
+        table.putAll(entries);
+        getDefaultRuntime().getObjectsView().TXEnd();
+        assertThat(table.entrySet()).hasSize(entries.size());
+        assertThat(table).containsAllEntriesOf(entries);
+
+        table.clear();
+        assertThat(table.isEmpty()).isTrue();
+        assertThat(table.getShards()).allMatch(CorfuTable::isEmpty);
+    }
+
+    @Test
+    public void transactionsReadOnlyAccessedShards() {
+        ShardedCorfuTable<String, String> table = openTable(getDefaultRuntime());
+        table.put("k1", "v1");
+
+        getDefaultRuntime().getObjectsView().TXBegin();
+        assertThat(table.get("k1")).isEqualTo("v1");
+        assertThat(TransactionalContext.getCurrentContext().getReadSetInfo().getConflicts()
+                .keySet().stream()
+                .map(ICorfuSMRProxyInternal::getStreamID)
+                .collect(Collectors.toSet()))
+                .containsExactly(ShardedCorfuTable.getShardStreamID(table.getStreamID(),
+                        table.getShardNumber("k1")));
+        getDefaultRuntime().getObjectsView().TXAbort();
+    }
+
+    /**
+     * A transaction which reads a key of one shard and writes to another shard aborts once the
+     * key it read is updated, whatever the shard of the update.
+     */
+    @Test
+    public void conflictsAcrossShardsAreDetected() {
+        ShardedCorfuTable<String, String> table = openTable(getDefaultRuntime());
+        ShardedCorfuTable<String, String> otherTable = openTable(getNewRuntime(getDefaultNode())
+                .connect());
+        final String readKey = "k0";
+        final String sameShardKey = IntStream.range(1, NUM_KEYS)
+                .mapToObj(i -> "k" + i)
+                .filter(k -> table.getShardNumber(k) == table.getShardNumber(readKey))
+                .findFirst().get();
+        final String writeKey = IntStream.range(1, NUM_KEYS)
+                .mapToObj(i -> "k" + i)
+                .filter(k -> table.getShardNumber(k) != table.getShardNumber(readKey))
+                .findFirst().get();
+        table.put(readKey, "v0");
+
+        // An update of the key read by the transaction aborts it.
+        getDefaultRuntime().getObjectsView().TXBegin();
+        assertThat(table.get(readKey)).isEqualTo("v0");
+        table.put(writeKey, "v1");
+        CompletableFuture.runAsync(() -> otherTable.put(readKey, "v2")).join();
+        assertThatThrownBy(() -> getDefaultRuntime().getObjectsView().TXEnd())
+                .isInstanceOf(TransactionAbortedException.class);
+        assertThat(table.containsKey(writeKey)).isFalse();
+
+        // An update of another key of the same shard does not.
+        getDefaultRuntime().getObjectsView().TXBegin();
+        assertThat(table.get(readKey)).isEqualTo("v2");
+        table.put(writeKey, "v1");
+        CompletableFuture.runAsync(() -> otherTable.put(sameShardKey, "v3")).join();
+        getDefaultRuntime().getObjectsView().TXEnd();
+        assertThat(table.get(writeKey)).isEqualTo("v1");
+    }
+
+    @Test
+    public void shardsAreCheckpointedSeparately() {
+        ShardedCorfuTable<String, String> table = openTable(getDefaultRuntime());
+        for (int i = 0; i < NUM_KEYS; i++) {
+            table.put("k" + i, "v" + i);
+        }
+
+        Token snapshot = table.checkpoint("ShardedCorfuTableTest");
+        for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            UUID checkpointStream = CorfuRuntime.getCheckpointStreamIdFromId(
+                    ShardedCorfuTable.getShardStreamID(table.getStreamID(), shard));
+            assertThat(Address.isAddress(getDefaultRuntime().getSequencerView()
+                    .query(checkpointStream).getToken().getSequence())).isTrue();
+        }
+
+        // Trim the updates covered by the checkpoints, so that they cannot be replayed.
+        getDefaultRuntime().getAddressSpaceView().prefixTrim(snapshot);
+        getDefaultRuntime().getAddressSpaceView().gc();
+        getDefaultRuntime().getAddressSpaceView().invalidateServerCaches();
+        getDefaultRuntime().getAddressSpaceView().invalidateClientCache();
+
+        // A new client loads the shards from their checkpoints.
+        ShardedCorfuTable<String, String> otherTable = openTable(getNewRuntime(getDefaultNode())
+                .connect());
+        assertThat(otherTable.size()).isEqualTo(NUM_KEYS);
+        assertThat(otherTable.scanAndFilterByEntry(e -> true)).hasSize(NUM_KEYS);
+        assertThat(otherTable).containsAllEntriesOf(table);
+    }
+}
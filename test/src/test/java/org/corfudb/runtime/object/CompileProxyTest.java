@@ -1,11 +1,17 @@
 package org.corfudb.runtime.object;
 
 import com.google.common.reflect.TypeToken;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.corfudb.protocols.logprotocol.LogEntry;
+import org.corfudb.protocols.logprotocol.SMREntry;
 import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.CorfuTable;
 import org.corfudb.runtime.collections.SMRMap;
 import org.corfudb.runtime.exceptions.TrimmedException;
 import org.corfudb.runtime.view.AbstractViewTest;
+import org.corfudb.util.serializer.Serializers;
 import org.junit.Test;
 
 import java.util.Map;
@@ -449,4 +455,86 @@ public class CompileProxyTest extends AbstractViewTest {
 
     }
 
+    /**
+     * Once enabled on the runtime, SMR entries record the ID of their method instead of its
+     * name, which the object resolves to the name.
+     */
+    @Test
+    public void smrEntriesRecordMethodIds() {
+        SMREntry entry = new SMREntry("put", new Object[]{"k", "v"}, Serializers.JSON, true);
+        ByteBuf buf = Unpooled.buffer();
+        entry.serialize(buf);
+
+        SMREntry read = (SMREntry) LogEntry.deserialize(buf, getDefaultRuntime());
+        assertThat(read.getSMRMethod()).isNull();
+        assertThat(read.getMethodId()).isEqualTo(SMRMethodIds.getId("put"));
+        assertThat(read.getSMRArguments()).containsExactly("k", "v");
+
+        CorfuRuntime rt = getDefaultRuntime();
+        rt.getParameters().setSmrMethodIdsEnabled(true);
+        Map<String, String> map = rt.getObjectsView().build()
+                .setStreamName("ids")
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .open();
+        map.put("k", "v");
+        rt.getObjectsView().TXBegin();
+        map.clear();
+        rt.getObjectsView().TXAbort();
+        assertThat(map).containsEntry("k", "v");
+
+        // A runtime which writes method names still reads the entries with method IDs.
+        Map<String, String> otherMap = getNewRuntime(getDefaultNode()).connect()
+                .getObjectsView().build()
+                .setStreamName("ids")
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .open();
+        assertThat(otherMap).containsEntry("k", "v");
+    }
+
+    /**
+     * By default, SMR entries are written in the format of the runtimes before method IDs,
+     * which starts with the length of the method name.
+     */
+    @Test
+    public void smrEntriesRecordNamesByDefault() {
+        SMREntry entry = new SMREntry("put", new Object[]{"k", "v"}, Serializers.JSON);
+        assertThat(entry.getMethodId()).isEqualTo(SMREntry.NO_METHOD_ID);
+        ByteBuf buf = Unpooled.buffer();
+        entry.serialize(buf);
+
+        buf.readByte();
+        assertThat(buf.readShort()).isEqualTo((short) "put".length());
+    }
+
+    /**
+     * Entries written before method IDs, which record the name of their method, are still
+     * applied.
+     */
+    @Test
+    public void legacyEntriesWithMethodNamesAreApplied() {
+        CorfuRuntime rt = getDefaultRuntime();
+        SMREntry legacy = new SMREntry("put", new Object[]{"k", "v"}, Serializers.JSON) {
+            @Override
+            public void serialize(ByteBuf b) {
+                b.writeByte(LogEntry.LogEntryType.SMR.asByte());
+                b.writeShort(getSMRMethod().length());
+                b.writeBytes(getSMRMethod().getBytes());
+                b.writeByte(getSerializerType().getType());
+                b.writeByte(getSMRArguments().length);
+                for (Object arg : getSMRArguments()) {
+                    ByteBuf argBuf = Unpooled.buffer();
+                    getSerializerType().serialize(arg, argBuf);
+                    b.writeInt(argBuf.readableBytes());
+                    b.writeBytes(argBuf);
+                }
+            }
+        };
+        rt.getStreamsView().get(CorfuRuntime.getStreamID("legacy")).append(legacy);
+
+        Map<String, String> map = rt.getObjectsView().build()
+                .setStreamName("legacy")
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .open();
+        assertThat(map).containsEntry("k", "v");
+    }
 }
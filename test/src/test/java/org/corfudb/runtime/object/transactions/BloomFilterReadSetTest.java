@@ -0,0 +1,126 @@
+package org.corfudb.runtime.object.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.corfudb.runtime.exceptions.AbortCause;
+import org.corfudb.runtime.exceptions.TransactionAbortedException;
+import org.corfudb.runtime.object.ICorfuSMRProxyInternal;
+import org.junit.Test;
+
+/**
+ * Tests the read sets sent to the sequencer as Bloom filters, which the sequencer checks
+ * against the keys written since the snapshot of the transaction.
+ */
+public class BloomFilterReadSetTest extends AbstractTransactionContextTest {
+
+    /**
+     * The keys each transaction reads.
+     */
+    private static final int READS = 100;
+
+    /**
+     * The keys written by another client while each transaction runs.
+     */
+    private static final int CONCURRENT_WRITES = 10;
+
+    /**
+     * A transaction falsely aborts if any of the concurrent writes is a false positive of
+     * its read set, at a rate of about {@code CONCURRENT_WRITES * FALSE_POSITIVE_RATE}.
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final double MAX_FALSE_ABORT_RATE = 0.3;
+
+    @Override
+    public void TXBegin() {
+        OptimisticTXBegin();
+    }
+
+    private void encodeReadSetsAsBloomFilters() {
+        getRuntime().getParameters().setConflictBloomFilterThreshold(0);
+        getRuntime().getParameters().setConflictBloomFilterFpp(FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Run transactions which read keys that other clients do not write, while another
+     * client writes other keys of the same stream in a transaction.
+     *
+     * @param trials The number of transactions.
+     * @return The number of transactions which aborted.
+     */
+    private int countAbortsOnDisjointWrites(int trials) {
+        int aborts = 0;
+        for (int trial = 0; trial < trials; trial++) {
+            final int txn = trial;
+            t1(this::TXBegin);
+            t1(() -> {
+                for (int i = 0; i < READS; i++) {
+                    get("read-" + txn + "-" + i);
+                }
+            });
+            t2(this::TXBegin);
+            t2(() -> {
+                for (int i = 0; i < CONCURRENT_WRITES; i++) {
+                    write("write-" + txn + "-" + i, "value");
+                }
+            });
+            t2(this::TXEnd);
+            t1(() -> write("own-" + txn, "value"));
+            final boolean aborted = t1(() -> {
+                try {
+                    TXEnd();
+                    return false;
+                } catch (TransactionAbortedException tae) {
+                    assertThat(tae.getAbortCause()).isEqualTo(AbortCause.CONFLICT);
+                    return true;
+                }
+            }).result();
+            if (aborted) {
+                aborts++;
+            }
+        }
+        return aborts;
+    }
+
+    @Test
+    public void exactReadSetsDoNotAbortOnDisjointWrites() {
+        assertThat(countAbortsOnDisjointWrites(PARAMETERS.NUM_ITERATIONS_LOW)).isZero();
+    }
+
+    @Test
+    public void bloomFilterReadSetsAbortOnConflict() {
+        encodeReadSetsAsBloomFilters();
+        final String key = "key";
+
+        t1(this::TXBegin);
+        t1(() -> get(key));
+        t2(this::TXBegin);
+        t2(() -> write(key, "value"));
+        t2(this::TXEnd);
+        t1(() -> write("other", "value"));
+        t1(() -> {
+            try {
+                TXEnd();
+                return false;
+            } catch (TransactionAbortedException tae) {
+                assertThat(tae.getAbortCause()).isEqualTo(AbortCause.CONFLICT);
+                // The conflict key is the hash of the key written.
+                final ICorfuSMRProxyInternal proxyInternal = tae.getContext()
+                        .getReadSetInfo().getConflicts().keySet().stream().findFirst().get();
+                final byte[] keyHash = ConflictSetInfo.generateHashFromObject(proxyInternal, key);
+                assertThat(Arrays.equals(keyHash, tae.getConflictKey())).isTrue();
+                return true;
+            }
+        }).assertResult().isEqualTo(true);
+    }
+
+    @Test
+    public void bloomFilterReadSetsFalseAbortRate() {
+        encodeReadSetsAsBloomFilters();
+        final int trials = PARAMETERS.NUM_ITERATIONS_LOW;
+        final double falseAbortRate = (double) countAbortsOnDisjointWrites(trials) / trials;
+        assertThat(falseAbortRate).isLessThanOrEqualTo(MAX_FALSE_ABORT_RATE);
+    }
+}
@@ -0,0 +1,76 @@
+package org.corfudb.runtime.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.corfudb.AbstractCorfuTest;
+import org.corfudb.runtime.CorfuRuntime.CorfuRuntimeParameters;
+import org.junit.Test;
+
+public class AdaptiveBulkReadSizeTest extends AbstractCorfuTest {
+
+    private static final int BULK_READ_SIZE = 10;
+
+    private static final int BULK_READ_BYTES = 64 * 1024;
+
+    private static final Duration FAST_READ = Duration.ofMillis(1);
+
+    private final CorfuRuntimeParameters parameters = CorfuRuntimeParameters.builder()
+            .bulkReadSize(BULK_READ_SIZE)
+            .bulkReadBytes(BULK_READ_BYTES)
+            .requestTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AdaptiveBulkReadSize bulkReadSize = new AdaptiveBulkReadSize(parameters);
+
+    /** Test that the requests read the bulk read size until a request is observed. */
+    @Test
+    public void startsWithBulkReadSize() {
+        assertThat(bulkReadSize.getBatchSize()).isEqualTo(BULK_READ_SIZE);
+    }
+
+    /** Test that the size fits the byte budget to the size of the entries. */
+    @Test
+    public void fitsByteBudget() {
+        final int entries = 10;
+        final int smallEntry = 128;
+        bulkReadSize.record(entries, entries * smallEntry, FAST_READ);
+        assertThat(bulkReadSize.getBatchSize()).isEqualTo(BULK_READ_BYTES / smallEntry);
+
+        // Once the entries grow, the averages converge to fewer addresses per request.
+        final int largeEntry = 16 * 1024;
+        for (int i = 0; i < entries * 2; i++) {
+            bulkReadSize.record(entries, entries * largeEntry, FAST_READ);
+        }
+        assertThat(bulkReadSize.getBatchSize()).isBetween(BULK_READ_BYTES / largeEntry,
+                BULK_READ_BYTES / largeEntry + 1);
+    }
+
+    /** Test that the size is bounded, so that slow requests do not time out. */
+    @Test
+    public void boundedBySlowReads() {
+        final int entries = 10;
+        final int maxEntries = 2;
+        // Reading an entry takes a tenth of the timeout, so 2 fit in a quarter of it.
+        bulkReadSize.record(entries, entries, parameters.getRequestTimeout());
+        assertThat(bulkReadSize.getBatchSize()).isEqualTo(maxEntries);
+    }
+
+    /** Test that the size is at most the maximum batch size, however small the entries. */
+    @Test
+    public void boundedByMaxBatchSize() {
+        final int entries = 10;
+        bulkReadSize.record(entries, entries, FAST_READ);
+        assertThat(bulkReadSize.getBatchSize()).isEqualTo(AdaptiveBulkReadSize.MAX_BATCH_SIZE);
+    }
+
+    /** Test that a zero byte budget disables the adaptation. */
+    @Test
+    public void zeroBytesDisablesAdaptation() {
+        parameters.setBulkReadBytes(0);
+        final int entries = 10;
+        bulkReadSize.record(entries, entries, FAST_READ);
+        assertThat(bulkReadSize.getBatchSize()).isEqualTo(BULK_READ_SIZE);
+    }
+}
@@ -8,6 +8,7 @@ import org.corfudb.infrastructure.LogUnitServerAssertions;
 import org.corfudb.infrastructure.TestLayoutBuilder;
 import org.corfudb.protocols.wireprotocol.*;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.util.Sleep;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -194,4 +195,94 @@ public class AddressSpaceViewTest extends AbstractViewTest {
         assertThat(m.get(ADDRESS_1).isHole());
         assertThat(m.get(ADDRESS_2).isHole());
     }
-}
\ No newline at end of file
+
+    /**
+     * A range read chunk by chunk returns each address once, in order, in chunks bounded
+     * by the read chunk size.
+     */
+    @Test
+    public void readChunksReturnsRangeInOrder() {
+        CorfuRuntime r = getRuntime().connect();
+        r.getParameters().setReadChunkSize(1);
+
+        final long numEntries = 5;
+        for (long address = 0; address < numEntries; address++) {
+            Token token = new Token(r.getLayoutView().getLayout().getEpoch(), address);
+            r.getAddressSpaceView().write(token, Long.toString(address).getBytes());
+        }
+
+        Iterator<SortedMap<Long, ILogData>> chunks = r.getAddressSpaceView()
+                .readChunks(Range.closed(0L, numEntries - 1));
+        long expectedAddress = 0;
+        int numChunks = 0;
+        while (chunks.hasNext()) {
+            for (Map.Entry<Long, ILogData> entry : chunks.next().entrySet()) {
+                assertThat(entry.getKey()).isEqualTo(expectedAddress);
+                assertThat(entry.getValue().getPayload(r))
+                        .isEqualTo(Long.toString(expectedAddress).getBytes());
+                expectedAddress++;
+            }
+            numChunks++;
+        }
+
+        assertThat(expectedAddress).isEqualTo(numEntries);
+        // An entry is larger than the chunk size, so each chunk holds a single entry.
+        assertThat(numChunks).isEqualTo((int) numEntries);
+    }
+
+    /**
+     * A read of more addresses than a batch is split into batches read in parallel, which
+     * together return every address.
+     */
+    @Test
+    public void bulkReadReturnsAllBatches() {
+        CorfuRuntime r = getRuntime().connect();
+        r.getParameters().setBulkReadSize(2);
+        r.getParameters().setBulkReadBytes(0);
+
+        final long numEntries = 9;
+        for (long address = 0; address < numEntries; address++) {
+            Token token = new Token(r.getLayoutView().getLayout().getEpoch(), address);
+            r.getAddressSpaceView().write(token, Long.toString(address).getBytes());
+        }
+        r.getAddressSpaceView().invalidateClientCache();
+
+        Map<Long, ILogData> entries = r.getAddressSpaceView().read(ContiguousSet.create(
+                Range.closed(0L, numEntries - 1), DiscreteDomain.longs()));
+
+        assertThat(entries).hasSize((int) numEntries);
+        entries.forEach((address, entry) -> assertThat(entry.getPayload(r))
+                .isEqualTo(Long.toString(address).getBytes()));
+    }
+
+    /**
+     * Sequential reads read the following addresses ahead into the cache, without filling
+     * the addresses not written yet.
+     */
+    @Test
+    public void sequentialReadsPrefetchWrittenAddresses() {
+        CorfuRuntime r = getRuntime().connect();
+        final int window = 8;
+        r.getParameters().setSequentialPrefetchWindow(window);
+
+        final long numEntries = 4;
+        for (long address = 0; address < numEntries; address++) {
+            Token token = new Token(r.getLayoutView().getLayout().getEpoch(), address);
+            r.getAddressSpaceView().write(token, Long.toString(address).getBytes());
+        }
+        r.getAddressSpaceView().invalidateClientCache();
+        LoadingCache<Long, ILogData> clientCache = r.getAddressSpaceView().getReadCache();
+
+        r.getAddressSpaceView().read(0L);
+        final long deadline = System.nanoTime() + PARAMETERS.TIMEOUT_NORMAL.toNanos();
+        while (clientCache.getIfPresent(numEntries - 1) == null
+                && System.nanoTime() < deadline) {
+            Sleep.sleepUninterruptibly(PARAMETERS.TIMEOUT_VERY_SHORT);
+        }
+
+        assertThat(clientCache.getIfPresent(numEntries - 1).getPayload(r))
+                .isEqualTo(Long.toString(numEntries - 1).getBytes());
+        assertThat(clientCache.getIfPresent(numEntries)).isNull();
+        assertThat(r.getAddressSpaceView().peek(numEntries)).isNull();
+    }
+}
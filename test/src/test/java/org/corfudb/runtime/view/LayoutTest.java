@@ -11,6 +11,13 @@ import static java.lang.reflect.Modifier.TRANSIENT;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.corfudb.runtime.view.Layout.LayoutSegment;
+import org.corfudb.runtime.view.Layout.LayoutStripe;
+import org.corfudb.runtime.view.Layout.ReplicationMode;
 
 
 /**
@@ -83,4 +90,72 @@ public class LayoutTest {
         Layout shouldYieldException = Layout.fromJSONString(JSONEmptySequencerListLayout);
     }
 
+    private static final int FIRST_STRIPE_PORT = 9000;
+    private static final int SECOND_STRIPE_PORT = 10000;
+    private static final int NUM_SEGMENTS = 50;
+    private static final long SEGMENT_SIZE = 10L;
+
+    /* Helper */
+    private Layout getLayoutWithSegments(int numSegments, long segmentSize) {
+        List<LayoutSegment> segments = new ArrayList<>();
+        for (int i = 0; i < numSegments; i++) {
+            List<LayoutStripe> stripes = new ArrayList<>();
+            stripes.add(new LayoutStripe(new ArrayList<>(
+                    Collections.singletonList("localhost:" + (FIRST_STRIPE_PORT + i)))));
+            stripes.add(new LayoutStripe(new ArrayList<>(
+                    Collections.singletonList("localhost:" + (SECOND_STRIPE_PORT + i)))));
+            long end = i == numSegments - 1 ? -1L : (i + 1) * segmentSize;
+            segments.add(new LayoutSegment(ReplicationMode.CHAIN_REPLICATION,
+                    i * segmentSize, end, stripes));
+        }
+        return new Layout(Collections.singletonList("localhost:9000"),
+                Collections.singletonList("localhost:9000"), segments, 0L, null);
+    }
+
+    @Test
+    public void segmentLookupResolvesEveryAddress() {
+        Layout layout = getLayoutWithSegments(NUM_SEGMENTS, SEGMENT_SIZE);
+
+        for (long address = 0; address < NUM_SEGMENTS * SEGMENT_SIZE * 2; address++) {
+            int expectedSegment = (int) Math.min(address / SEGMENT_SIZE, NUM_SEGMENTS - 1);
+            LayoutSegment segment = layout.getSegments().get(expectedSegment);
+            assertThat(layout.getSegment(address)).isSameAs(segment);
+            assertThat(layout.getStripe(address))
+                    .isSameAs(segment.getStripes().get((int) (address % 2)));
+            assertThat(layout.getReplicationMode(address))
+                    .isEqualTo(ReplicationMode.CHAIN_REPLICATION);
+        }
+    }
+
+    @Test
+    public void unmappedAddressIsNotResolved() {
+        Layout layout = getLayoutWithSegments(2, SEGMENT_SIZE);
+        layout.getSegments().remove(0);
+
+        assertThat(layout.getReplicationMode(0L)).isNull();
+        assertThat(layout.getSegment(SEGMENT_SIZE)).isSameAs(layout.getSegments().get(0));
+    }
+
+    @Test
+    public void segmentLookupReflectsModifiedSegments() {
+        final long splitAddress = SEGMENT_SIZE * 2;
+        Layout layout = getLayoutWithSegments(2, SEGMENT_SIZE);
+        assertThat(layout.getSegment(splitAddress + 1)).isSameAs(layout.getSegments().get(1));
+
+        // Split the open segment, as the layout builder does when adding a node.
+        LayoutSegment open = layout.getSegments().remove(1);
+        LayoutSegment closed = new LayoutSegment(open.getReplicationMode(), open.getStart(),
+                splitAddress, open.getStripes());
+        LayoutSegment newOpen = new LayoutSegment(open.getReplicationMode(), splitAddress, -1L,
+                open.getStripes());
+        layout.getSegments().add(closed);
+        layout.getSegments().add(newOpen);
+
+        assertThat(layout.getSegment(splitAddress - 1)).isSameAs(closed);
+        assertThat(layout.getSegment(splitAddress + 1)).isSameAs(newOpen);
+
+        Layout copy = new Layout(layout);
+        assertThat(copy.getSegment(splitAddress + 1)).isEqualTo(newOpen);
+        assertThat(copy).isEqualTo(layout);
+    }
 }
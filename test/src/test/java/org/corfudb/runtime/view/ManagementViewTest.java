@@ -47,7 +47,6 @@ import org.corfudb.runtime.clients.TestRule;
 import org.corfudb.runtime.collections.CorfuTable;
 import org.corfudb.runtime.collections.ISMRMap;
 import org.corfudb.runtime.collections.SMRMap;
-import org.corfudb.runtime.exceptions.AbortCause;
 import org.corfudb.runtime.exceptions.OutrankedException;
 import org.corfudb.runtime.exceptions.ServerNotReadyException;
 import org.corfudb.runtime.exceptions.TransactionAbortedException;
@@ -659,8 +658,8 @@ public class ManagementViewTest extends AbstractViewTest {
 
         // now, the tail of the log is at nUpdates;
         // kill the sequencer, wait for a failover,
-        // and then resume the transaction above; it should abort
-        // (unnecessarily, but we are being conservative)
+        // and then resume the transaction above; it should commit,
+        // as the promoted standby sequencer kept the conflict state of the primary
         //
         induceSequencerFailureAndWait();
         t(0, () -> {
@@ -669,11 +668,10 @@ public class ManagementViewTest extends AbstractViewTest {
             try {
                 TXEnd();
             } catch (TransactionAbortedException ta) {
-                assertThat(ta.getAbortCause()).isEqualTo(AbortCause.NEW_SEQUENCER);
                 commit = false;
             }
             assertThat(commit)
-                    .isFalse();
+                    .isTrue();
         });
 
         // now, check that the same scenario, starting a new, can succeed
@@ -731,8 +729,8 @@ public class ManagementViewTest extends AbstractViewTest {
 
         // now, the tail of the log is at nUpdates;
         // kill the sequencer, wait for a failover,
-        // and then resume the transaction above; it should abort
-        // (unnecessarily, but we are being conservative)
+        // and then resume the transaction above; it should commit,
+        // as the promoted standby sequencer kept the conflict state of the primary
         //
         induceSequencerFailureAndWait();
 
@@ -742,11 +740,10 @@ public class ManagementViewTest extends AbstractViewTest {
             try {
                 TXEnd();
             } catch (TransactionAbortedException ta) {
-                assertThat(ta.getAbortCause()).isEqualTo(AbortCause.NEW_SEQUENCER);
                 commit = false;
             }
             assertThat(commit)
-                    .isFalse();
+                    .isTrue();
         });
 
         // now, check that the same scenario, starting anew, can succeed
@@ -1548,6 +1545,9 @@ public class ManagementViewTest extends AbstractViewTest {
         runtime_1.getLayoutManagementView().reconfigureSequencerServers(layout_1, layout_2, false);
 
         clearClientRules(runtime_1);
+        // The promotion of the standby sequencer does not go through the stale layout of
+        // runtime_1, fetch the new layout so that runtime_1 is the new client.
+        runtime_1.invalidateLayout();
 
         // Using the stale client with view of epoch 1, request 10 tokens.
         final int tokenCount = 5;
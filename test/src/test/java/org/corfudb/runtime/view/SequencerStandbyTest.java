@@ -0,0 +1,218 @@
+package org.corfudb.runtime.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.reflect.TypeToken;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.corfudb.infrastructure.TestLayoutBuilder;
+import org.corfudb.protocols.wireprotocol.CorfuMsgType;
+import org.corfudb.protocols.wireprotocol.TokenResponse;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.TestRule;
+import org.corfudb.runtime.collections.CorfuTable;
+import org.corfudb.runtime.exceptions.TransactionAbortedException;
+import org.corfudb.util.CFUtils;
+import org.corfudb.util.Sleep;
+import org.junit.Test;
+
+/**
+ * Tests the promotion of a standby sequencer which replicated the state of the primary.
+ */
+@Slf4j
+public class SequencerStandbyTest extends AbstractViewTest {
+
+    private static final int NUM_TRANSACTIONS = 5;
+
+    private CorfuRuntime runtime;
+
+    private Layout setUpLayout() {
+        addServer(SERVERS.PORT_0);
+        addServer(SERVERS.PORT_1);
+        addServer(SERVERS.PORT_2);
+        Layout layout = new TestLayoutBuilder()
+                .setEpoch(1L)
+                .addLayoutServer(SERVERS.PORT_0)
+                .addLayoutServer(SERVERS.PORT_1)
+                .addLayoutServer(SERVERS.PORT_2)
+                .addSequencer(SERVERS.PORT_0)
+                .addSequencer(SERVERS.PORT_1)
+                .buildSegment()
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_2)
+                .addToSegment()
+                .addToLayout()
+                .build();
+        bootstrapAllServers(layout);
+        runtime = getRuntime(layout).connect();
+
+        // Reconfigurations are done by the test.
+        getManagementServer(SERVERS.PORT_0).shutdown();
+        getManagementServer(SERVERS.PORT_1).shutdown();
+        getManagementServer(SERVERS.PORT_2).shutdown();
+        return layout;
+    }
+
+    private CorfuTable<String, String> openTable(CorfuRuntime rt) {
+        return rt.getObjectsView().build()
+                .setTypeToken(new TypeToken<CorfuTable<String, String>>() {})
+                .setStreamName("table")
+                .open();
+    }
+
+    private void waitForStandby(Layout layout) {
+        final long primaryTail = getSequencer(SERVERS.PORT_0).getGlobalLogTail().get();
+        for (int i = 0; i < PARAMETERS.NUM_ITERATIONS_MODERATE; i++) {
+            long standbyTail = CFUtils.getUninterruptibly(runtime.getLayoutView()
+                    .getRuntimeLayout(layout).getSequencerClient(SERVERS.ENDPOINT_1)
+                    .getStandbyTail());
+            if (standbyTail == primaryTail) {
+                return;
+            }
+            Sleep.sleepUninterruptibly(PARAMETERS.TIMEOUT_VERY_SHORT);
+        }
+        throw new AssertionError("Standby did not replicate the primary tail " + primaryTail);
+    }
+
+    /**
+     * Stop the primary from replicating its state, so that the following writes are only
+     * known to the log unit.
+     */
+    private void stopStandbyUpdates() {
+        runtimeRouterMap.values().forEach(routers -> routers.values()
+                .forEach(router -> router.rules.add(new TestRule()
+                        .matches(m -> m.getMsgType() == CorfuMsgType.SEQUENCER_STANDBY_UPDATE)
+                        .drop())));
+    }
+
+    /**
+     * Fail over the primary sequencer to the standby, and return the time it took.
+     */
+    private Duration failover(Layout layout) throws Exception {
+        Layout newLayout = new TestLayoutBuilder()
+                .setEpoch(layout.getEpoch() + 1)
+                .addLayoutServer(SERVERS.PORT_0)
+                .addLayoutServer(SERVERS.PORT_1)
+                .addLayoutServer(SERVERS.PORT_2)
+                .addSequencer(SERVERS.PORT_1)
+                .addSequencer(SERVERS.PORT_0)
+                .buildSegment()
+                .buildStripe()
+                .addLogUnit(SERVERS.PORT_2)
+                .addToSegment()
+                .addToLayout()
+                .build();
+
+        final long start = System.nanoTime();
+        runtime.getLayoutView().getRuntimeLayout(newLayout).sealMinServerSet();
+        runtime.getLayoutView().updateLayout(newLayout, newLayout.getEpoch());
+        runtime.getLayoutManagementView().reconfigureSequencerServers(layout, newLayout, false);
+        final Duration failoverTime = Duration.ofNanos(System.nanoTime() - start);
+        runtime.invalidateLayout();
+        return failoverTime;
+    }
+
+    /**
+     * The promoted standby keeps the stream tails and the conflict window of the previous
+     * primary, so the transactions in flight during the failover can still commit.
+     */
+    @Test
+    public void promotedStandbyKeepsInFlightTransactions() throws Exception {
+        Layout layout = setUpLayout();
+        CorfuTable<String, String> table = openTable(runtime);
+        for (int i = 0; i < PARAMETERS.NUM_ITERATIONS_LOW; i++) {
+            table.put("key" + i, "value" + i);
+        }
+        waitForStandby(layout);
+
+        // Writes which the standby did not get before the failover are caught up from the
+        // log unit.
+        stopStandbyUpdates();
+        table.put("late", "value");
+
+        CountDownLatch inFlight = new CountDownLatch(NUM_TRANSACTIONS);
+        CountDownLatch failedOver = new CountDownLatch(1);
+        AtomicInteger aborts = new AtomicInteger();
+        List<Thread> transactions = new ArrayList<>();
+        for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+            final String key = "key" + i;
+            Thread t = new Thread(() -> {
+                runtime.getObjectsView().TXBegin();
+                table.get(key);
+                inFlight.countDown();
+                try {
+                    failedOver.await();
+                    table.put(key, "updated");
+                    runtime.getObjectsView().TXEnd();
+                } catch (TransactionAbortedException e) {
+                    aborts.incrementAndGet();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            t.start();
+            transactions.add(t);
+        }
+        inFlight.await();
+
+        final long primaryTail = getSequencer(SERVERS.PORT_0).getGlobalLogTail().get();
+        Duration failoverTime = failover(layout);
+        log.info("Standby promoted in {}ms", failoverTime.toMillis());
+        failedOver.countDown();
+        for (Thread t : transactions) {
+            t.join();
+        }
+
+        assertThat(aborts.get()).isZero();
+        assertThat(getSequencer(SERVERS.PORT_1).getSequencerEpoch())
+                .isEqualTo(layout.getEpoch() + 1);
+
+        // The new primary continues after the tokens of the previous primary, with the
+        // stream tails caught up to the last write.
+        TokenResponse tail = runtime.getSequencerView().query();
+        assertThat(tail.getSequence()).isEqualTo(primaryTail - 1 + NUM_TRANSACTIONS);
+        CorfuTable<String, String> otherTable = openTable(getRuntime(runtime.getLayoutView()
+                .getLayout()).connect());
+        assertThat(otherTable.get("late")).isEqualTo("value");
+        assertThat(otherTable.get("key0")).isEqualTo("updated");
+        assertThat(otherTable.size()).isEqualTo(PARAMETERS.NUM_ITERATIONS_LOW + 1);
+    }
+
+    /**
+     * A transaction which conflicts with a write the standby did not get before the
+     * failover still aborts.
+     */
+    @Test
+    public void promotedStandbyDetectsConflictsWithUnreplicatedWrites() throws Exception {
+        Layout layout = setUpLayout();
+        CorfuTable<String, String> table = openTable(runtime);
+        table.put("key", "value");
+        waitForStandby(layout);
+        stopStandbyUpdates();
+
+        runtime.getObjectsView().TXBegin();
+        table.get("key");
+
+        Thread writer = new Thread(() -> {
+            runtime.getObjectsView().TXBegin();
+            table.put("key", "concurrent");
+            runtime.getObjectsView().TXEnd();
+        });
+        writer.start();
+        writer.join();
+
+        failover(layout);
+        table.put("key", "updated");
+        assertThatThrownBy(() -> runtime.getObjectsView().TXEnd())
+                .isInstanceOf(TransactionAbortedException.class);
+        assertThat(table.get("key")).isEqualTo("concurrent");
+    }
+}
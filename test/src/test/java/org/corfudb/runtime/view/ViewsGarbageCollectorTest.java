@@ -4,6 +4,9 @@ import org.corfudb.protocols.wireprotocol.Token;
 import org.corfudb.runtime.CorfuRuntime;
 import org.corfudb.runtime.MultiCheckpointWriter;
 import org.corfudb.runtime.collections.CorfuTable;
+import org.corfudb.runtime.object.CorfuCompileProxy;
+import org.corfudb.runtime.object.ICorfuSMR;
+import org.corfudb.runtime.object.VersionLockedObject;
 
 import org.ehcache.sizeof.SizeOf;
 import org.junit.Test;
@@ -59,4 +62,71 @@ public class ViewsGarbageCollectorTest extends AbstractViewTest {
         rt.shutdown();
         assertThat(rt.getGarbageCollector().isStarted()).isFalse();
     }
+
+    @Test
+    public void testRuntimeGCSkipsUnmodifiedObjects() throws Exception {
+        CorfuRuntime rt = getDefaultRuntime();
+
+        CorfuTable<String, String> table = rt.getObjectsView()
+                .build()
+                .setType(CorfuTable.class)
+                .setStreamName("table1")
+                .open();
+        VersionLockedObject vlo = ((CorfuCompileProxy) ((ICorfuSMR) table)
+                .getCorfuSMRProxy()).getUnderlyingObject();
+
+        final int numWrites = 10;
+        for (int x = 0; x < numWrites; x++) {
+            table.put(String.valueOf(x), String.valueOf(x));
+        }
+
+        MultiCheckpointWriter mcw = new MultiCheckpointWriter();
+        mcw.addMap(table);
+        Token trimMark = mcw.appendCheckpoints(rt, "cp1");
+        rt.getAddressSpaceView().prefixTrim(trimMark);
+        long gcTrimMark = rt.getAddressSpaceView().getTrimMark().getSequence();
+
+        // The stream layer defers discarding data to the next cycle, so the
+        // object needs to be collected twice for the same trim mark.
+        assertThat(vlo.isGcRequired(gcTrimMark)).isTrue();
+        rt.getGarbageCollector().runRuntimeGC();
+        assertThat(vlo.isGcRequired(gcTrimMark)).isTrue();
+        rt.getGarbageCollector().runRuntimeGC();
+        assertThat(vlo.isGcRequired(gcTrimMark)).isFalse();
+
+        // Any access that modifies the object requires a new collection.
+        table.put(String.valueOf(numWrites), String.valueOf(numWrites));
+        table.get(String.valueOf(numWrites));
+        assertThat(vlo.isGcRequired(gcTrimMark)).isTrue();
+        assertThat(vlo.tryGc(gcTrimMark)).isTrue();
+        assertThat(vlo.isGcRequired(gcTrimMark)).isFalse();
+    }
+
+    @Test
+    public void testAddressSpaceGCEvictsOnlyTrimmedEntries() throws Exception {
+        CorfuRuntime rt = getDefaultRuntime();
+
+        CorfuTable<String, String> table = rt.getObjectsView()
+                .build()
+                .setType(CorfuTable.class)
+                .setStreamName("table1")
+                .open();
+
+        final int numWrites = 10;
+        for (int x = 0; x < numWrites; x++) {
+            table.put(String.valueOf(x), String.valueOf(x));
+        }
+
+        final long gcTrimMark = numWrites / 2;
+        for (long address = 0; address < numWrites; address++) {
+            rt.getAddressSpaceView().read(address);
+        }
+        assertThat(rt.getAddressSpaceView().getReadCache().asMap()).hasSize(numWrites);
+
+        assertThat(rt.getAddressSpaceView().gc(gcTrimMark)).isEqualTo(gcTrimMark);
+        assertThat(rt.getAddressSpaceView().getReadCache().asMap().keySet())
+                .allMatch(address -> address >= gcTrimMark)
+                .hasSize((int) (numWrites - gcTrimMark));
+        assertThat(rt.getAddressSpaceView().gc(gcTrimMark)).isZero();
+    }
 }
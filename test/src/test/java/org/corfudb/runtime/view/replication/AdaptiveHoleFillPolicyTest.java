@@ -0,0 +1,94 @@
+package org.corfudb.runtime.view.replication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.view.AbstractViewTest;
+import org.junit.Test;
+
+public class AdaptiveHoleFillPolicyTest extends AbstractViewTest {
+
+    private static final Duration WRITE_DELAY = Duration.ofMillis(20);
+
+    private CorfuRuntime getAdaptiveRuntime() {
+        CorfuRuntime rt = getDefaultRuntime();
+        rt.getParameters().setAdaptiveHoleFillEnabled(true);
+        rt.getParameters().setHoleFillMinTimeout(Duration.ofMillis(1));
+        rt.getParameters().setHoleFillTimeout(Duration.ofMinutes(1));
+        return rt;
+    }
+
+    @Test
+    public void thresholdFollowsObservedWriteDelays() {
+        CorfuRuntime rt = getAdaptiveRuntime();
+        AdaptiveHoleFillPolicy policy = rt.getAddressSpaceView().getAdaptiveHoleFillPolicy();
+
+        // Not enough samples, wait for the whole timeout.
+        assertThat(policy.getHoleFillThreshold()).isEqualTo(Duration.ofMinutes(1));
+
+        for (int i = 0; i < AdaptiveHoleFillPolicy.MIN_SAMPLES; i++) {
+            policy.recordWriteDelay(WRITE_DELAY);
+        }
+        assertThat(policy.getHoleFillThreshold()).isEqualTo(WRITE_DELAY);
+
+        // The learned threshold is bounded by the minimum and maximum timeouts.
+        rt.getParameters().setHoleFillMinTimeout(WRITE_DELAY.multipliedBy(2));
+        assertThat(policy.getHoleFillThreshold()).isEqualTo(WRITE_DELAY.multipliedBy(2));
+        rt.getParameters().setHoleFillTimeout(WRITE_DELAY.dividedBy(2));
+        assertThat(policy.getHoleFillThreshold()).isEqualTo(WRITE_DELAY.dividedBy(2));
+    }
+
+    @Test
+    public void issuedAddressIsFilledAfterLearnedThreshold() {
+        CorfuRuntime rt = getAdaptiveRuntime();
+        AdaptiveHoleFillPolicy policy = rt.getAddressSpaceView().getAdaptiveHoleFillPolicy();
+
+        // Writes done by the runtime are recorded as observed delays.
+        for (int i = 0; i < AdaptiveHoleFillPolicy.MIN_SAMPLES; i++) {
+            rt.getStreamsView().get(CorfuRuntime.getStreamID("s")).append("x".getBytes());
+        }
+        for (int i = 0; i < AdaptiveHoleFillPolicy.MIN_SAMPLES; i++) {
+            policy.recordWriteDelay(WRITE_DELAY);
+        }
+        assertThat(policy.getHoleFillThreshold()).isLessThan(Duration.ofMinutes(1));
+
+        // An address which is issued but never written is filled without waiting
+        // for the hole fill timeout.
+        final long address = rt.getSequencerView().next().getSequence();
+        ILogData data = rt.getAddressSpaceView().read(address);
+        assertThat(data.getType()).isEqualTo(DataType.HOLE);
+    }
+
+    @Test
+    public void delaysAreLearnedFromTokensWritten() {
+        CorfuRuntime rt = getAdaptiveRuntime();
+        AdaptiveHoleFillPolicy policy = rt.getAddressSpaceView().getAdaptiveHoleFillPolicy();
+
+        rt.getStreamsView().get(CorfuRuntime.getStreamID("s")).append("x".getBytes());
+        assertThat(policy.getWriteDelayCount()).isEqualTo(1);
+
+        // An address written without a token issued to this runtime is not learned from.
+        policy.recordTokenWritten(Long.MAX_VALUE);
+        assertThat(policy.getWriteDelayCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void pendingTokensAreBounded() {
+        CorfuRuntime rt = getAdaptiveRuntime();
+        AdaptiveHoleFillPolicy policy = rt.getAddressSpaceView().getAdaptiveHoleFillPolicy();
+
+        for (long address = 0; address <= AdaptiveHoleFillPolicy.MAX_PENDING_TOKENS; address++) {
+            policy.recordTokenIssued(address);
+        }
+
+        // The oldest token was dropped, the newest is still learned from once written.
+        policy.recordTokenWritten(0);
+        assertThat(policy.getWriteDelayCount()).isZero();
+        policy.recordTokenWritten(AdaptiveHoleFillPolicy.MAX_PENDING_TOKENS);
+        assertThat(policy.getWriteDelayCount()).isEqualTo(1);
+    }
+}
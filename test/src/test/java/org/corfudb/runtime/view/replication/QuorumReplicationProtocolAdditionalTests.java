@@ -21,17 +21,23 @@ import org.corfudb.protocols.wireprotocol.TokenResponse;
 import org.corfudb.protocols.wireprotocol.WriteMode;
 import org.corfudb.protocols.wireprotocol.WriteRequest;
 import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.clients.TestRule;
 import org.corfudb.runtime.view.AbstractViewTest;
 import org.corfudb.runtime.view.Address;
 import org.corfudb.runtime.view.Layout;
 import org.corfudb.runtime.view.stream.IStreamView;
+import org.corfudb.util.serializer.SerializationBuffers;
 import org.corfudb.util.serializer.Serializers;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertNotNull;
@@ -138,6 +144,47 @@ public class QuorumReplicationProtocolAdditionalTests extends AbstractViewTest {
 
     }
 
+    /**
+     * Recovering a lost quorum adopts the value found by the first phase and writes it
+     * again, the serialized forms of both the hole and the adopted value must be released.
+     */
+    @Test
+    public void checkRecoveryWriteReleasesSerializationBuffers() throws Exception {
+        SerializationBuffers.setLeakDetection(true);
+        try {
+            CorfuRuntime r = getDefaultRuntime();
+
+            LogUnitServer u0 = getLogUnit(SERVERS.PORT_0);
+            LogUnitServer u1 = getLogUnit(SERVERS.PORT_1);
+            LogUnitServer u2 = getLogUnit(SERVERS.PORT_2);
+
+            final long ADDRESS_0 = 0L;
+
+            ByteBuf b = Unpooled.buffer();
+            Serializers.CORFU.serialize("0".getBytes(), b);
+            WriteRequest m = WriteRequest.builder()
+                    .writeMode(WriteMode.NORMAL)
+                    .data(new LogData(DataType.DATA, b))
+                    .build();
+            m.setGlobalAddress(ADDRESS_0);
+            m.setRank(new IMetadata.DataRank(0));
+            m.setBackpointerMap(Collections.emptyMap());
+            sendMessage(u1, CorfuMsgType.WRITE.payloadMsg(m));
+            sendMessage(u2, CorfuMsgType.WRITE.payloadMsg(m));
+            u2.setShutdown(true);
+            u2.shutdown();
+
+            assertThat(r.getAddressSpaceView().read(ADDRESS_0).getPayload(getRuntime()))
+                    .isEqualTo("0".getBytes());
+            LogUnitServerAssertions.assertThat(u0)
+                    .matchesDataAtAddress(ADDRESS_0, "0".getBytes());
+
+            assertThat(SerializationBuffers.getUnreleasedBuffers()).isZero();
+        } finally {
+            SerializationBuffers.setLeakDetection(false);
+        }
+    }
+
 
 
     @Test
@@ -294,6 +341,57 @@ public class QuorumReplicationProtocolAdditionalTests extends AbstractViewTest {
 
 
 
+    @Test
+    public void readAllSendsOneRequestPerReplica()
+            throws Exception {
+        CorfuRuntime r = getDefaultRuntime();
+        final int numAddresses = 50;
+        UUID streamA = UUID.nameUUIDFromBytes("stream A".getBytes());
+        for (int i = 0; i < numAddresses; i++) {
+            r.getAddressSpaceView().write(new TokenResponse(
+                            new Token(r.getLayoutView().getLayout().getEpoch(), i),
+                            Collections.singletonMap(streamA, Address.NO_BACKPOINTER)),
+                    Integer.toString(i).getBytes());
+        }
+
+        // The last address is only written to one replica, so it has to be recovered.
+        final long partialAddress = numAddresses;
+        ByteBuf b = Unpooled.buffer();
+        Serializers.CORFU.serialize("partial".getBytes(), b);
+        WriteRequest m = WriteRequest.builder()
+                .writeMode(WriteMode.NORMAL)
+                .data(new LogData(DataType.DATA, b))
+                .build();
+        m.setGlobalAddress(partialAddress);
+        m.setRank(new IMetadata.DataRank(0));
+        m.setBackpointerMap(Collections.emptyMap());
+        sendMessage(getLogUnit(SERVERS.PORT_1), CorfuMsgType.WRITE.payloadMsg(m));
+
+        AtomicInteger multipleReads = new AtomicInteger();
+        AtomicInteger singleReads = new AtomicInteger();
+        addClientRule(r, new TestRule()
+                .matches(msg -> msg.getMsgType() == CorfuMsgType.MULTIPLE_READ_REQUEST)
+                .transform(msg -> multipleReads.incrementAndGet()));
+        addClientRule(r, new TestRule()
+                .matches(msg -> msg.getMsgType() == CorfuMsgType.READ_REQUEST)
+                .transform(msg -> singleReads.incrementAndGet()));
+
+        List<Long> addresses = LongStream.rangeClosed(0, partialAddress).boxed()
+                .collect(Collectors.toList());
+        Map<Long, ILogData> result = new QuorumReplicationProtocol(new AlwaysHoleFillPolicy())
+                .readAll(r.getLayoutView().getRuntimeLayout(), addresses);
+
+        assertThat(result).hasSize(numAddresses + 1);
+        for (int i = 0; i < numAddresses; i++) {
+            assertThat(result.get((long) i).getPayload(r)).isEqualTo(Integer.toString(i).getBytes());
+        }
+        assertThat(result.get(partialAddress).getPayload(r)).isEqualTo("partial".getBytes());
+
+        // One batch per replica, and single reads for the recovered address only.
+        assertThat(multipleReads.get()).isEqualTo(layout.getSegment(0L).getAllLogServers().size());
+        assertThat(singleReads.get()).isLessThan(numAddresses);
+    }
+
     public void sendMessage(LogUnitServer s, CorfuMsg message) {
         TestServerRouter router = new TestServerRouter();
         router.addServer(s);
@@ -0,0 +1,147 @@
+package org.corfudb.runtime.view.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.corfudb.AbstractCorfuTest;
+import org.junit.Test;
+
+public class AddressSetTest extends AbstractCorfuTest {
+
+    private static final long SEED = 42L;
+
+    /**
+     * Addresses spread over a few chunks, some of them dense enough to be stored as bitmaps.
+     */
+    private static final int SPAN = 4 * AddressSet.CHUNK_SIZE;
+
+    /**
+     * Add the same addresses to a set and a TreeSet: addresses spread over a few chunks, and
+     * most of the addresses of a range of the second chunk, so that it is stored as a bitmap.
+     */
+    private void populate(Random random, TreeSet<Long> expected, AddressSet set) {
+        final long denseStart = AddressSet.CHUNK_SIZE + random.nextInt(AddressSet.CHUNK_SIZE / 2);
+        final int denseSize = AddressSet.MAX_ARRAY_SIZE * 2;
+        for (long address = denseStart; address < denseStart + denseSize; address++) {
+            if (random.nextInt(Byte.SIZE) != 0) {
+                assertThat(set.add(address)).isEqualTo(expected.add(address));
+            }
+        }
+        for (int i = 0; i < PARAMETERS.NUM_ITERATIONS_LARGE; i++) {
+            final long address = random.nextInt(SPAN);
+            assertThat(set.add(address)).isEqualTo(expected.add(address));
+        }
+    }
+
+    /** Test that the searches of a set match those of a TreeSet. */
+    @Test
+    public void searchesMatchTreeSet() {
+        final Random random = new Random(SEED);
+        final TreeSet<Long> expected = new TreeSet<>();
+        final AddressSet set = new AddressSet();
+        populate(random, expected, set);
+
+        assertThat(set).hasSameSizeAs(expected);
+        assertThat(set.first()).isEqualTo(expected.first());
+        assertThat(set.last()).isEqualTo(expected.last());
+        for (int i = 0; i < PARAMETERS.NUM_ITERATIONS_LOW; i++) {
+            final long value = random.nextInt(SPAN + 2) - 1L;
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+            assertThat(set.ceiling(value)).isEqualTo(expected.ceiling(value));
+            assertThat(set.floor(value)).isEqualTo(expected.floor(value));
+            assertThat(set.higher(value)).isEqualTo(expected.higher(value));
+            assertThat(set.lower(value)).isEqualTo(expected.lower(value));
+        }
+    }
+
+    /** Test that the views of a set contain its addresses in their range. */
+    @Test
+    public void viewsMatchTreeSet() {
+        final Random random = new Random(SEED);
+        final TreeSet<Long> expected = new TreeSet<>();
+        final AddressSet set = new AddressSet();
+        populate(random, expected, set);
+
+        for (int i = 0; i < PARAMETERS.NUM_ITERATIONS_LOW; i++) {
+            final long from = random.nextInt(SPAN);
+            final long to = from + random.nextInt(SPAN);
+            assertThat(set.subSet(from, false, to, true))
+                    .containsExactlyElementsOf(expected.subSet(from, false, to, true));
+            assertThat(set.headSet(from, true)).hasSameSizeAs(expected.headSet(from, true));
+            assertThat(set.tailSet(from)).hasSameSizeAs(expected.tailSet(from));
+
+            final List<Long> visited = new ArrayList<>();
+            set.headSet(to).tailSet(from).forEachAddress(visited::add);
+            assertThat(visited).containsExactlyElementsOf(expected.subSet(from, to));
+        }
+    }
+
+    /** Test that clearing a view removes its range, and only its range, from the set. */
+    @Test
+    public void clearViewRemovesRange() {
+        final Random random = new Random(SEED);
+        final TreeSet<Long> expected = new TreeSet<>();
+        final AddressSet set = new AddressSet();
+        populate(random, expected, set);
+
+        while (!expected.isEmpty()) {
+            final long from = random.nextInt(SPAN);
+            final long to = from + random.nextInt(AddressSet.CHUNK_SIZE);
+            expected.subSet(from, true, to, true).clear();
+            set.subSet(from, true, to, true).clear();
+            assertThat(set).isEqualTo(expected);
+
+            expected.pollFirst();
+            set.pollFirst();
+        }
+        assertThat(set).isEmpty();
+        assertThat(set.getMemoryFootprint()).isZero();
+    }
+
+    /** Test that a dense chunk is stored as a bitmap, and as an array again once sparse. */
+    @Test
+    public void denseChunkIsCompressed() {
+        final AddressSet set = new AddressSet();
+        for (long address = 0; address < AddressSet.CHUNK_SIZE; address++) {
+            set.add(address);
+        }
+        final long bitmapFootprint = set.getMemoryFootprint();
+        assertThat(bitmapFootprint).isLessThan(AddressSet.CHUNK_SIZE / Byte.SIZE * 2);
+
+        set.headSet(AddressSet.CHUNK_SIZE - 2L).clear();
+        assertThat(set).containsExactly(AddressSet.CHUNK_SIZE - 2L, AddressSet.CHUNK_SIZE - 1L);
+        assertThat(set.getMemoryFootprint()).isLessThan(bitmapFootprint);
+    }
+
+    /** Test that copying a view between sets copies its range. */
+    @Test
+    public void addAllCopiesView() {
+        final AddressSet set = new AddressSet();
+        for (long address = 0; address < PARAMETERS.NUM_ITERATIONS_LOW; address++) {
+            set.add(address * 2);
+        }
+        final AddressSet copy = new AddressSet();
+        final long from = 10L;
+        final long to = 20L;
+        assertThat(copy.addAll(set.subSet(from, false, to, true))).isTrue();
+        assertThat(copy).containsExactly(12L, 14L, 16L, 18L, 20L);
+        assertThat(copy.addAll(set.subSet(from, false, to, true))).isFalse();
+    }
+
+    /** Test that negative addresses are rejected, but searched for. */
+    @Test
+    public void negativeAddressesAreRejected() {
+        final AddressSet set = new AddressSet();
+        set.add(0L);
+        assertThatThrownBy(() -> set.add(-1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(set.contains(-1L)).isFalse();
+        assertThat(set.headSet(-1L)).isEmpty();
+        assertThat(set.ceiling(-1L)).isEqualTo(0L);
+        assertThat(set.tailSet(-1L)).containsExactly(0L);
+    }
+}
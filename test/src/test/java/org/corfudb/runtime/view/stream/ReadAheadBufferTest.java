@@ -0,0 +1,156 @@
+package org.corfudb.runtime.view.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.corfudb.AbstractCorfuTest;
+import org.junit.Test;
+
+public class ReadAheadBufferTest extends AbstractCorfuTest {
+
+    private static final int WINDOW = 8;
+
+    /**
+     * Consume a queue of addresses through a buffer, as getNextEntry() does.
+     *
+     * @return The entries read.
+     */
+    private static List<Long> consume(ReadAheadBuffer<Long> buffer, AddressSet queue,
+                                      Function<Long, Long> readOne, AtomicInteger maxHeld) {
+        final List<Long> read = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            final long address = queue.pollFirst();
+            read.add(buffer.read(address, queue, readOne::apply));
+            maxHeld.accumulateAndGet(buffer.size(), Math::max);
+        }
+        return read;
+    }
+
+    private static AddressSet queueOf(int entries) {
+        final AddressSet queue = new AddressSet();
+        for (long address = 0; address < entries; address++) {
+            queue.add(address * 2);
+        }
+        return queue;
+    }
+
+    /** Test that the entries are read in windows, and at most two windows are held. */
+    @Test
+    public void entriesAreReadInWindows() {
+        final AtomicInteger windows = new AtomicInteger();
+        final AtomicInteger readOnes = new AtomicInteger();
+        final ReadAheadBuffer<Long> buffer = new ReadAheadBuffer<>(WINDOW, addresses -> {
+            windows.incrementAndGet();
+            assertThat(addresses).hasSizeLessThanOrEqualTo(WINDOW);
+            return addresses.stream().map(a -> a + 1).collect(Collectors.toList());
+        }, entry -> { }, Runnable::run);
+
+        final int entries = WINDOW * PARAMETERS.NUM_ITERATIONS_LOW;
+        final AddressSet queue = queueOf(entries);
+        final List<Long> expected = queue.stream().map(a -> a + 1).collect(Collectors.toList());
+        final AtomicInteger maxHeld = new AtomicInteger();
+
+        assertThat(consume(buffer, queue, a -> {
+            readOnes.incrementAndGet();
+            return a + 1;
+        }, maxHeld)).containsExactlyElementsOf(expected);
+        assertThat(windows.get()).isEqualTo(entries / WINDOW);
+        assertThat(readOnes.get()).isZero();
+        assertThat(maxHeld.get()).isLessThan(2 * WINDOW);
+        assertThat(buffer.size()).isZero();
+    }
+
+    /**
+     * Test that the first window is read by the reader, and that the next windows are read
+     * and prepared by the threads reading ahead.
+     */
+    @Test
+    public void entriesArePreparedAhead() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Thread reader = Thread.currentThread();
+            final AtomicInteger windowsReadByReader = new AtomicInteger();
+            final AtomicInteger preparedByReader = new AtomicInteger();
+            final AtomicInteger prepared = new AtomicInteger();
+            final ReadAheadBuffer<Long> buffer = new ReadAheadBuffer<>(WINDOW, addresses -> {
+                if (Thread.currentThread() == reader) {
+                    windowsReadByReader.incrementAndGet();
+                }
+                return new ArrayList<>(addresses);
+            }, entry -> {
+                prepared.incrementAndGet();
+                if (Thread.currentThread() == reader) {
+                    preparedByReader.incrementAndGet();
+                }
+            }, executor);
+
+            final AddressSet queue = queueOf(PARAMETERS.NUM_ITERATIONS_LOW);
+            final List<Long> expected = new ArrayList<>(queue);
+            assertThat(consume(buffer, queue, a -> a, new AtomicInteger()))
+                    .containsExactlyElementsOf(expected);
+            assertThat(windowsReadByReader.get()).isEqualTo(1);
+            assertThat(prepared.get()).isEqualTo(PARAMETERS.NUM_ITERATIONS_LOW - WINDOW);
+            assertThat(preparedByReader.get()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Test that an entry which could not be read ahead is read by the reader. */
+    @Test
+    public void failedReadIsReadAgain() {
+        final AtomicInteger readOnes = new AtomicInteger();
+        final ReadAheadBuffer<Long> buffer = new ReadAheadBuffer<>(WINDOW, addresses -> {
+            throw new IllegalStateException();
+        }, entry -> { }, Runnable::run);
+
+        final AddressSet queue = queueOf(WINDOW * 2);
+        final List<Long> expected = new ArrayList<>(queue);
+        assertThat(consume(buffer, queue, a -> {
+            readOnes.incrementAndGet();
+            return a;
+        }, new AtomicInteger())).containsExactlyElementsOf(expected);
+        assertThat(readOnes.get()).isEqualTo(WINDOW * 2);
+    }
+
+    /** Test that reading an address which was not read ahead drops the entries read ahead. */
+    @Test
+    public void seekDropsEntriesReadAhead() {
+        final ReadAheadBuffer<Long> buffer = new ReadAheadBuffer<>(WINDOW,
+                addresses -> new ArrayList<>(addresses), entry -> { }, Runnable::run);
+        final AddressSet queue = queueOf(WINDOW * 4);
+
+        final long first = queue.pollFirst();
+        assertThat(buffer.read(first, queue, a -> a)).isEqualTo(first);
+        assertThat(buffer.size()).isEqualTo(2 * WINDOW - 1);
+
+        // Skip to the last address, as a seek would.
+        final long last = queue.pollLast();
+        queue.clear();
+        assertThat(buffer.read(last, queue, a -> a)).isEqualTo(last);
+        assertThat(buffer.size()).isZero();
+    }
+
+    /** Test that a buffer without window reads every entry through the reader. */
+    @Test
+    public void disabledBufferReadsEachEntry() {
+        final AtomicInteger readOnes = new AtomicInteger();
+        final ReadAheadBuffer<Long> buffer = new ReadAheadBuffer<>(0, addresses -> {
+            throw new IllegalStateException();
+        }, entry -> { }, Runnable::run);
+
+        final AddressSet queue = queueOf(WINDOW);
+        consume(buffer, queue, a -> {
+            readOnes.incrementAndGet();
+            return a;
+        }, new AtomicInteger());
+        assertThat(readOnes.get()).isEqualTo(WINDOW);
+    }
+}
@@ -0,0 +1,157 @@
+package org.corfudb.shell;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.corfudb.protocols.wireprotocol.Token;
+import org.corfudb.runtime.CorfuRuntime;
+import org.corfudb.runtime.collections.CorfuTable;
+import org.corfudb.runtime.view.AbstractViewTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SnapshotTest extends AbstractViewTest {
+
+    private static final int NUM_TABLES = 4;
+
+    private static final int PARALLELISM = 4;
+
+    private CorfuRuntime rt;
+
+    private Path directory;
+
+    @Before
+    public void setRuntime() {
+        rt = getDefaultRuntime().connect();
+        directory = Paths.get(PARAMETERS.TEST_TEMP_DIR, "snapshot");
+    }
+
+    private CorfuTable<String, String> openTable(CorfuRuntime runtime, String name) {
+        return runtime.getObjectsView()
+                .build()
+                .setType(CorfuTable.class)
+                .setStreamName(name)
+                .open();
+    }
+
+    private List<String> getTableNames() {
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < NUM_TABLES; i++) {
+            names.add("table" + i);
+        }
+        return names;
+    }
+
+    /**
+     * Fill the tables, table i with i * NUM_ITERATIONS_LOW entries, so that one of them is
+     * empty.
+     *
+     * @return The expected state of the tables, by name.
+     */
+    private Map<String, Map<String, String>> fillTables() {
+        final Map<String, Map<String, String>> expected = new HashMap<>();
+        final List<String> names = getTableNames();
+        for (int i = 0; i < names.size(); i++) {
+            final CorfuTable<String, String> table = openTable(rt, names.get(i));
+            for (int key = 0; key < i * PARAMETERS.NUM_ITERATIONS_LOW; key++) {
+                table.put(Integer.toString(key), names.get(i) + key);
+            }
+            expected.put(names.get(i), new HashMap<>(table));
+        }
+        return expected;
+    }
+
+    private List<Path> listChunks() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(SnapshotChunk.SUFFIX))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /** Test that importing an export restores the state of the tables at the snapshot. */
+    @Test
+    public void importRestoresExportedState() throws Exception {
+        final Map<String, Map<String, String>> expected = fillTables();
+        final SnapshotExporter exporter = new SnapshotExporter(rt, directory, PARALLELISM);
+        exporter.setChunkSize(PARAMETERS.NUM_ITERATIONS_LOW);
+        final Token snapshot = exporter.export(getTableNames());
+
+        // Update the tables after the snapshot.
+        for (String name : getTableNames()) {
+            final CorfuTable<String, String> table = openTable(rt, name);
+            table.clear();
+            table.put("after", "snapshot");
+        }
+
+        assertThat(new SnapshotImporter(rt, directory, PARALLELISM).importTables())
+                .isEqualTo(snapshot);
+
+        final CorfuRuntime newRuntime = getNewRuntime(getDefaultNode()).connect();
+        for (String name : getTableNames()) {
+            assertThat(new HashMap<>(openTable(newRuntime, name)))
+                    .isEqualTo(expected.get(name));
+        }
+    }
+
+    /** Test that updates made after an import are applied on top of the imported state. */
+    @Test
+    public void updatesAfterImportAreApplied() throws Exception {
+        final Map<String, Map<String, String>> expected = fillTables();
+        new SnapshotExporter(rt, directory, PARALLELISM).export(getTableNames());
+        new SnapshotImporter(rt, directory, PARALLELISM).importTables();
+
+        final String name = getTableNames().get(1);
+        openTable(rt, name).put("after", "import");
+        expected.get(name).put("after", "import");
+
+        final CorfuRuntime newRuntime = getNewRuntime(getDefaultNode()).connect();
+        assertThat(new HashMap<>(openTable(newRuntime, name))).isEqualTo(expected.get(name));
+    }
+
+    /** Test that each table is split in chunks of at most the chunk size. */
+    @Test
+    public void tablesAreSplitInChunks() throws Exception {
+        fillTables();
+        final SnapshotExporter exporter = new SnapshotExporter(rt, directory, PARALLELISM);
+        exporter.setChunkSize(PARAMETERS.NUM_ITERATIONS_LOW);
+        exporter.export(getTableNames());
+
+        // Table i has i chunks, and the empty table one.
+        int expectedChunks = 1;
+        for (int i = 1; i < NUM_TABLES; i++) {
+            expectedChunks += i;
+        }
+        assertThat(listChunks()).hasSize(expectedChunks);
+    }
+
+    /** Test that a chunk which was not completely written is not imported. */
+    @Test
+    public void truncatedChunkIsRejected() throws Exception {
+        fillTables();
+        new SnapshotExporter(rt, directory, PARALLELISM).export(getTableNames());
+
+        final File chunk = listChunks().stream()
+                .max((a, b) -> Long.compare(a.toFile().length(), b.toFile().length()))
+                .get()
+                .toFile();
+        try (RandomAccessFile file = new RandomAccessFile(chunk, "rw")) {
+            file.setLength(file.length() - Integer.BYTES);
+        }
+
+        assertThatThrownBy(() -> new SnapshotImporter(rt, directory, PARALLELISM).importTables())
+                .isInstanceOf(IOException.class);
+    }
+}
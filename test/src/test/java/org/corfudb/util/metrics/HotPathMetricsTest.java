@@ -0,0 +1,116 @@
+package org.corfudb.util.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Test;
+
+public class HotPathMetricsTest {
+
+    /** Test that each value falls in a bucket which reports it within the relative error. */
+    @Test
+    public void bucketsBoundRelativeError() {
+        final double maxError = 1.0 / LatencyHistogram.SUB_BUCKETS;
+        for (long value = 1; value < LatencyHistogram.MAX_VALUE; value = value * 3 + 1) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value));
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat((double) (highest - value) / value).isLessThanOrEqualTo(maxError);
+        }
+        assertThat(LatencyHistogram.highestValueOf(
+                LatencyHistogram.bucketOf(LatencyHistogram.MAX_VALUE)))
+                .isEqualTo(LatencyHistogram.MAX_VALUE);
+    }
+
+    /** Test that the values recorded by several threads, including dead ones, are merged. */
+    @Test
+    public void mergesValuesOfAllThreads() throws Exception {
+        final int threads = 4;
+        final int values = 1000;
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                for (int v = 1; v <= values; v++) {
+                    histogram.record(v);
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+
+        // Twice, as the recorders of the dead threads are retired by the first snapshot.
+        for (int i = 0; i < 2; i++) {
+            LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+            assertThat(snapshot.getCount()).isEqualTo(threads * values);
+            assertThat(snapshot.getSum()).isEqualTo(threads * values * (values + 1L) / 2);
+            final double maxError = 1.0 / LatencyHistogram.SUB_BUCKETS;
+            assertThat((double) snapshot.getValueAtQuantile(0.5))
+                    .isCloseTo(values / 2.0, within(values * maxError));
+            assertThat((double) snapshot.getMax())
+                    .isCloseTo(values, within(values * maxError));
+        }
+    }
+
+    /** Test that the labels beyond the bound share the metric of the other label. */
+    @Test
+    public void labelsAreBounded() {
+        final int maxLabels = 2;
+        LabeledMetrics<Integer, LongAdder> counters =
+                new LabeledMetrics<>("key", maxLabels, LongAdder::new);
+        final int labels = 5;
+        for (int i = 0; i < labels; i++) {
+            counters.get(i).increment();
+        }
+        counters.get(0).increment();
+
+        LongAdder total = new LongAdder();
+        LongAdder others = new LongAdder();
+        counters.forEach((label, counter) -> {
+            total.add(counter.sum());
+            if (label.equals(LabeledMetrics.OTHER)) {
+                others.add(counter.sum());
+            }
+        });
+        assertThat(total.sum()).isEqualTo(labels + 1);
+        assertThat(others.sum()).isEqualTo(labels - maxLabels);
+    }
+
+    /** Test the Prometheus text format of each kind of metric. */
+    @Test
+    public void scrapeUsesTextFormat() {
+        HotPathMetrics metrics = new HotPathMetrics();
+        final long latency = 2_000_000L;
+        metrics.histogram("test_seconds", "A latency.").record(latency);
+        metrics.<String>counters("test_total", "A count.", "stream", 1)
+                .get("a").add(3);
+        metrics.gauge("test_size", "A size.", "node", "a:9000", () -> 7);
+
+        String scrape = metrics.scrape();
+        assertThat(scrape)
+                .contains("# TYPE test_seconds summary\n")
+                .contains("test_seconds_count 1\n")
+                .contains("test_seconds_sum 0.002\n")
+                .contains("test_seconds{quantile=\"0.99\"} ")
+                .contains("# TYPE test_total counter\n")
+                .contains("test_total{stream=\"a\"} 3\n")
+                .contains("# TYPE test_size gauge\n")
+                .contains("test_size{node=\"a:9000\"} 7\n");
+    }
+
+    /** Gauges of different instances are exported side by side, until removed. */
+    @Test
+    public void gaugesAreKeptPerInstance() {
+        HotPathMetrics metrics = new HotPathMetrics();
+        metrics.gauge("test_size", "A size.", "node", "a:9000", () -> 1);
+        metrics.gauge("test_size", "A size.", "node", "b:9000", () -> 2);
+        assertThat(metrics.scrape())
+                .contains("test_size{node=\"a:9000\"} 1\n")
+                .contains("test_size{node=\"b:9000\"} 2\n");
+
+        metrics.removeGauge("test_size", "a:9000");
+        assertThat(metrics.scrape())
+                .doesNotContain("node=\"a:9000\"")
+                .contains("test_size{node=\"b:9000\"} 2\n");
+    }
+}
@@ -0,0 +1,99 @@
+package org.corfudb.util.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.corfudb.AbstractCorfuTest;
+import org.corfudb.infrastructure.ServerContext;
+import org.corfudb.infrastructure.ServerContextBuilder;
+import org.corfudb.infrastructure.log.StreamLog;
+import org.corfudb.infrastructure.log.StreamLogFiles;
+import org.corfudb.infrastructure.log.StreamLogFiles.Checksum;
+import org.corfudb.protocols.wireprotocol.DataType;
+import org.corfudb.protocols.wireprotocol.ILogData;
+import org.corfudb.protocols.wireprotocol.LogData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SerializationBuffersTest extends AbstractCorfuTest {
+
+    @Before
+    public void enableLeakDetection() {
+        SerializationBuffers.setLeakDetection(true);
+    }
+
+    @After
+    public void disableLeakDetection() {
+        SerializationBuffers.setLeakDetection(false);
+    }
+
+    private LogData getEntry(long address) {
+        ByteBuf b = SerializationBuffers.allocate();
+        Serializers.CORFU.serialize(("Payload" + address).getBytes(), b);
+        LogData ld = new LogData(DataType.DATA, b);
+        b.release();
+        ld.setGlobalAddress(address);
+        return ld;
+    }
+
+    /** Test that the serialized form of an entry is released once all its handles are. */
+    @Test
+    public void serializedFormIsReleased() {
+        LogData ld = getEntry(0L);
+        try (ILogData.SerializationHandle first = ld.getSerializedForm()) {
+            try (ILogData.SerializationHandle second = ld.getSerializedForm()) {
+                assertThat(SerializationBuffers.getUnreleasedBuffers()).isEqualTo(1L);
+            }
+            assertThat(SerializationBuffers.getUnreleasedBuffers()).isEqualTo(1L);
+        }
+        assertThat(SerializationBuffers.getUnreleasedBuffers()).isZero();
+
+        ByteBuf expected = SerializationBuffers.allocate();
+        ld.doSerialize(expected);
+        assertThat(ld.getSizeEstimate()).isEqualTo(expected.readableBytes());
+        expected.release();
+        assertThat(SerializationBuffers.getUnreleasedBuffers()).isZero();
+    }
+
+    /** Test that the records written to a log are checksummed, and their buffers released. */
+    @Test
+    public void logRecordsAreReleased() {
+        ServerContext sc = new ServerContextBuilder()
+                .setLogPath(PARAMETERS.TEST_TEMP_DIR)
+                .setMemory(false)
+                .build();
+        StreamLog log = new StreamLogFiles(sc, false);
+
+        List<LogData> entries = new ArrayList<>();
+        for (long address = 0; address < PARAMETERS.NUM_ITERATIONS_LOW; address++) {
+            entries.add(getEntry(address));
+        }
+        log.append(entries.get(0).getGlobalAddress(), entries.get(0));
+        log.append(entries.subList(1, entries.size()));
+        log.sync(true);
+        assertThat(SerializationBuffers.getUnreleasedBuffers()).isZero();
+
+        // Reopening the log verifies the checksums of the records.
+        StreamLog log2 = new StreamLogFiles(sc, false);
+        for (LogData entry : entries) {
+            assertThat(log2.read(entry.getGlobalAddress())).isEqualTo(entry);
+        }
+        log.close();
+        log2.close();
+    }
+
+    /** Test that the checksum of a buffer is that of the same bytes in an array. */
+    @Test
+    public void bufferChecksumMatchesArray() {
+        final byte[] bytes = "checksum".getBytes();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        assertThat(Checksum.getChecksum(buffer)).isEqualTo(Checksum.getChecksum(bytes));
+    }
+}